@@ -1,9 +1,15 @@
 package com.anil.crm.config;
 
+import com.anil.crm.security.BoundedPasswordEncoder;
 import com.anil.crm.security.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -23,6 +29,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.List;
+import java.util.Set;
 
 @Configuration
 @EnableWebSecurity
@@ -33,6 +40,18 @@ public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
 
+    @Value("${application.security.password-hashing.threads:2}")
+    private int passwordHashingThreads;
+
+    @Value("${application.security.password-hashing.queue-capacity:32}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${application.security.password-hashing.retry-after-seconds:1}")
+    private long passwordHashingRetryAfterSeconds;
+
+    // Port the actuator's own server listens on, once it has started; -1 when actuator shares the API port.
+    private volatile int managementPort = -1;
+
     private static final String[] WHITE_LIST_URLS = {
             "/api/auth/**",
             "/swagger-ui/**",
@@ -43,6 +62,13 @@ public class SecurityConfig {
             "/api/customers"
     };
 
+    // Scraped by a local Prometheus without credentials, but only on the management port, which listens on localhost.
+    // Everywhere else, and for the remaining actuator endpoints, an admin token is needed.
+    private static final Set<String> SCRAPE_URLS = Set.of(
+            "/actuator/health",
+            "/actuator/prometheus"
+    );
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -54,7 +80,12 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 .authorizeHttpRequests(auth -> auth
+                        // The dispatch that finishes an SSE or streaming response belongs to a request that was
+                        // already authorized; the JWT filter does not run again for it.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(WHITE_LIST_URLS).permitAll()
+                        .requestMatchers(this::isManagementScrape).permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                         .anyRequest().authenticated()
                 )
 
@@ -64,6 +95,18 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private boolean isManagementScrape(HttpServletRequest request) {
+        return request.getLocalPort() == managementPort && SCRAPE_URLS.contains(request.getRequestURI());
+    }
+
+    // The management server is started by a child context whose events reach this one; its port may be random (0).
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if ("management".equals(event.getApplicationContext().getServerNamespace())) {
+            managementPort = event.getWebServer().getPort();
+        }
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -77,9 +120,11 @@ public class SecurityConfig {
         return source;
     }
 
+    // BCrypt never gets more than these threads, whatever the login rate.
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingThreads,
+                passwordHashingQueueCapacity, passwordHashingRetryAfterSeconds);
     }
 
     @Bean
@@ -0,0 +1,31 @@
+package com.anil.crm.config;
+
+import com.anil.crm.web.models.FieldSet;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+
+/**
+ * Puts the {@link FieldSet#FILTER} Jackson filter on the DTOs a {@code ?fields=} parameter can prune. Registered on
+ * Spring's ObjectMapper only; without a per-request fieldset every field is written as before.
+ */
+@Component
+public class SparseFieldsModule extends SimpleModule {
+
+    public SparseFieldsModule() {
+        super("SparseFieldsModule");
+        FieldSet.FILTERED_TYPES.forEach(type -> setMixInAnnotation(type, Filtered.class));
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        // A filtered type written without a FilterProvider fails, so exports and events get the write-all default.
+        ((ObjectMapper) context.getOwner()).setFilterProvider(FieldSet.ALL.filters());
+    }
+
+    @JsonFilter(FieldSet.FILTER)
+    private interface Filtered {
+    }
+}
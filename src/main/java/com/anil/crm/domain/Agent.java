@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
@@ -15,10 +17,12 @@ import java.time.LocalDateTime;
 @Builder
 @Entity
 @Table(name = "agents")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "agent")
 public class Agent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "agents_id_seq")
+    @SequenceGenerator(name = "agents_id_seq", sequenceName = "agents_id_seq", allocationSize = 50)
     private Long id;
 
     @Version
@@ -5,7 +5,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.Objects;
 
@@ -15,10 +18,13 @@ import java.util.Objects;
 @Builder
 @Entity
 @Table(name = "departments")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "department")
+@NaturalIdCache(region = "department-natural-id")
 public class Department {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "departments_id_seq")
+    @SequenceGenerator(name = "departments_id_seq", sequenceName = "departments_id_seq", allocationSize = 50)
     private Long id;
 
 
@@ -29,6 +35,10 @@ public class Department {
     @Column(length = 255)
     private String description;
 
+    // Folded name for searches, generated by the database (V7); only use it in queries.
+    @Column(name = "search_name", insertable = false, updatable = false)
+    private String searchName;
+
 
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,65 @@
+package com.anil.crm.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A ticket event waiting in the outbox, written in the same transaction as the change it describes. The columns
+ * mirror {@code TicketEvent}; {@code eventType} holds the name of its {@code TicketEvent.Type}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_id_seq")
+    @SequenceGenerator(name = "outbox_events_id_seq", sequenceName = "outbox_events_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "event_type", length = 50, nullable = false)
+    private String eventType;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(name = "assigned_agent_id")
+    private Long assignedAgentId;
+
+    @Column(name = "status", length = 50)
+    @Enumerated(EnumType.STRING)
+    private TicketStatus status;
+
+    @Column(name = "previous_status", length = 50)
+    @Enumerated(EnumType.STRING)
+    private TicketStatus previousStatus;
+
+    @Column(name = "previous_agent_id")
+    private Long previousAgentId;
+
+    @Column(name = "comment_id")
+    private Long commentId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
@@ -19,18 +19,20 @@ import java.time.LocalDateTime;
 public class TicketComment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_comments_id_seq")
+    @SequenceGenerator(name = "ticket_comments_id_seq", sequenceName = "ticket_comments_id_seq", allocationSize = 50)
     private Long id;
 
     @Version
     private Long version;
 
 
-    @ManyToOne(optional = false)
+    // Lazy: listing comments reads TicketCommentView rows and never needs the ticket or the author entity.
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "ticket_id")
     private Ticket ticket;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "author_user_id")
     private User author;
 
@@ -0,0 +1,29 @@
+package com.anil.crm.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a deleted ticket so {@code /api/tickets/changes} can tell sync clients to drop it; the ticket row itself is
+ * gone. Ticket IDs are never reused, so the ticket's ID is the key.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "ticket_tombstones")
+public class TicketTombstone {
+
+    @Id
+    @Column(name = "ticket_id")
+    private Long ticketId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
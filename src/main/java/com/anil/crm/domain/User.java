@@ -2,6 +2,8 @@ package com.anil.crm.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,10 +18,12 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "_user")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "_user_id_seq")
+    @SequenceGenerator(name = "_user_id_seq", sequenceName = "_user_id_seq", allocationSize = 50)
     private Long id;
 
     private String firstName;
@@ -35,13 +39,19 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private Role role;
 
-    @ToString.Exclude
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private Customer customer;
+    // Bumped whenever the email or password changes; tokens carrying an older version are rejected.
+    @Builder.Default
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion = 0;
 
-    @ToString.Exclude
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private Agent agent;
+    // Folded "first last" name that name searches match against. The database generates it (V7); the in-memory
+    // value is not refreshed after a rename, so only use it in queries.
+    @EqualsAndHashCode.Exclude
+    @Column(name = "search_name", insertable = false, updatable = false)
+    private String searchName;
+
+    // Customer and Agent own the one-to-one (user_id). There is deliberately no mapped-by side here: it cannot be
+    // lazy, so every User load - including the per-request JWT lookup and L2 cache hits - would run two extra selects.
 
 
     @Override
@@ -0,0 +1,13 @@
+package com.anil.crm.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class TicketEventsBusyException extends RuntimeException {
+
+    public TicketEventsBusyException(String message) {
+        super(message);
+    }
+}
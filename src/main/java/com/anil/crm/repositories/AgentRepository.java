@@ -1,23 +1,30 @@
 package com.anil.crm.repositories;
 
 import com.anil.crm.domain.Agent;
+import com.anil.crm.domain.TicketStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface AgentRepository extends JpaRepository<Agent, Long> {
+public interface AgentRepository extends JpaRepository<Agent, Long>, AgentSearchRepository {
 
 
     @Query("SELECT a FROM Agent a WHERE a.user.email = :email")
     Optional<Agent> findAgentByUserEmail(String email);
 
 
-    @Query("SELECT a FROM Agent a WHERE " +
-            "LOWER(a.user.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
-            "LOWER(a.user.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
+    // searchName and crm_fold come from V7: Turkish-aware folding, trigram-indexed on _user.
+    @Query("SELECT a FROM Agent a JOIN FETCH a.user u " +
+            "WHERE u.searchName LIKE CONCAT('%', FUNCTION('crm_fold', :name), '%')")
     List<Agent> findAgentsByUserFirstNameContainingOrUserLastNameContaining(String name, String name2);
 
 
@@ -25,13 +32,35 @@ public interface AgentRepository extends JpaRepository<Agent, Long> {
 
     boolean existsByDepartmentId(Long id);
 
-    @Query("SELECT a FROM Agent a " +
-            "WHERE LOWER(a.department.name) LIKE LOWER(CONCAT('%', :departmentName, '%')) " +
-            "AND (LOWER(a.user.firstName) LIKE LOWER(CONCAT('%', :name, '%')) " +
-            "OR LOWER(a.user.lastName) LIKE LOWER(CONCAT('%', :name, '%')))")
+    @Query("SELECT a FROM Agent a JOIN FETCH a.user u JOIN a.department d " +
+            "WHERE d.searchName LIKE CONCAT('%', FUNCTION('crm_fold', :departmentName), '%') " +
+            "AND u.searchName LIKE CONCAT('%', FUNCTION('crm_fold', :name), '%')")
     List<Agent> findByDepartmentNameContainingAndUserNameContaining(
             @Param("departmentName") String departmentName,
             @Param("name") String name);
 
+    @Query("SELECT a FROM Agent a JOIN FETCH a.user JOIN a.department d " +
+            "WHERE d.searchName LIKE CONCAT('%', FUNCTION('crm_fold', :departmentName), '%')")
     List<Agent> findAgentsByDepartmentNameContainingIgnoreCase(String departmentName);
-}
\ No newline at end of file
+
+    @Query("SELECT a.id FROM Agent a WHERE a.id IN :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    // Side-loads the agents of a ticket page, users and departments included, in one statement.
+    @Query("SELECT a FROM Agent a JOIN FETCH a.user LEFT JOIN FETCH a.department WHERE a.id IN :ids")
+    List<Agent> findAllWithUserByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.anil.crm.repositories.AgentTicketLoad(a.id, a.department.id, t.priority, COUNT(t)) " +
+            "FROM Agent a LEFT JOIN Ticket t ON t.assignedAgent = a AND t.status IN :activeStatuses " +
+            "GROUP BY a.id, a.department.id, t.priority")
+    List<AgentTicketLoad> findTicketLoads(Collection<TicketStatus> activeStatuses);
+
+    // Must be consumed inside a transaction and closed; rows arrive in id order, a fetch at a time.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.anil.crm.repositories.TypeaheadEntry(a.id, u.firstName, u.lastName, u.email, d.name) " +
+            "FROM Agent a JOIN a.user u LEFT JOIN a.department d ORDER BY a.id")
+    Stream<TypeaheadEntry> streamTypeaheadEntries();
+}
@@ -0,0 +1,17 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.web.models.AgentDto;
+import com.anil.crm.web.models.FieldSet;
+
+import java.util.List;
+
+public interface AgentSearchRepository {
+
+    /**
+     * Agents whose name contains {@code name} and whose department name contains {@code departmentName}, each
+     * folded like the JPQL searches and skipped when {@code null}; ordered by ID. Selects only the columns behind
+     * {@code fields} and joins the user and department tables only when a field or filter needs them; the other
+     * fields stay null. The ID is always read.
+     */
+    List<AgentDto> findSparse(String name, String departmentName, FieldSet fields);
+}
@@ -0,0 +1,64 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.Agent;
+import com.anil.crm.domain.Department;
+import com.anil.crm.domain.User;
+import com.anil.crm.web.models.AgentDto;
+import com.anil.crm.web.models.FieldSet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AgentSearchRepositoryImpl implements AgentSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AgentDto> findSparse(String name, String departmentName, FieldSet fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Agent> a = query.from(Agent.class);
+        SparseColumns<AgentDto.AgentDtoBuilder> columns = new SparseColumns<>(fields, AgentDto::builder);
+        List<Predicate> predicates = new ArrayList<>();
+
+        columns.always(a.get("id"), AgentDto.AgentDtoBuilder::id);
+        columns.add("createdAt", a.get("createdAt"), AgentDto.AgentDtoBuilder::createdAt);
+        columns.add("updatedAt", a.get("updatedAt"), AgentDto.AgentDtoBuilder::updatedAt);
+
+        if (name != null || fields.includesAny("firstName", "lastName", "email")) {
+            Join<Agent, User> u = a.join("user");
+            columns.add("firstName", u.get("firstName"), AgentDto.AgentDtoBuilder::firstName);
+            columns.add("lastName", u.get("lastName"), AgentDto.AgentDtoBuilder::lastName);
+            columns.add("email", u.get("email"), AgentDto.AgentDtoBuilder::email);
+            if (name != null) {
+                predicates.add(NameSearch.contains(cb, u.get("searchName"), name));
+            }
+        }
+
+        if (departmentName != null || fields.includes("departmentName")) {
+            Join<Agent, Department> d = a.join("department");
+            columns.add("departmentName", d.get("name"), AgentDto.AgentDtoBuilder::departmentName);
+            if (departmentName != null) {
+                predicates.add(NameSearch.contains(cb, d.get("searchName"), departmentName));
+            }
+        }
+
+        query.multiselect(columns.selections());
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(cb.asc(a.get("id")));
+
+        return entityManager.createQuery(query)
+                .getResultStream()
+                .map(row -> columns.read(row).build())
+                .toList();
+    }
+}
@@ -0,0 +1,19 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.TicketPriority;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * One row of the agent load aggregate: how many active tickets of one priority an agent holds. An agent without any
+ * active ticket still gets a row, with a {@code null} priority and a count of zero.
+ */
+@Value
+@AllArgsConstructor
+public class AgentTicketLoad {
+
+    Long agentId;
+    Long departmentId;
+    TicketPriority priority;
+    long tickets;
+}
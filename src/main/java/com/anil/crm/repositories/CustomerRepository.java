@@ -1,21 +1,43 @@
 package com.anil.crm.repositories;
 
 import com.anil.crm.domain.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerSearchRepository {
 
 
     @Query("SELECT c FROM Customer c WHERE c.user.email = :email")
     Optional<Customer> findCustomerByUserEmail(String email);
 
 
-    @Query("SELECT c FROM Customer c WHERE " +
-            "LOWER(c.user.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
-            "LOWER(c.user.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
+    // searchName and crm_fold come from V7: Turkish-aware folding of "first last", trigram-indexed.
+    @Query("SELECT c FROM Customer c JOIN FETCH c.user u " +
+            "WHERE u.searchName LIKE CONCAT('%', FUNCTION('crm_fold', :name), '%')")
     List<Customer> findCustomersByUserFirstNameContainingOrUserLastNameContaining(String name, String name2);
-}
\ No newline at end of file
+
+    @Query("SELECT c.id FROM Customer c WHERE c.id IN :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    // Side-loads the customers of a ticket page, users included, in one statement.
+    @Query("SELECT c FROM Customer c JOIN FETCH c.user WHERE c.id IN :ids")
+    List<Customer> findAllWithUserByIdIn(Collection<Long> ids);
+
+    // Must be consumed inside a transaction and closed; rows arrive in id order, a fetch at a time.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.anil.crm.repositories.TypeaheadEntry(c.id, u.firstName, u.lastName, u.email, c.phone) " +
+            "FROM Customer c JOIN c.user u ORDER BY c.id")
+    Stream<TypeaheadEntry> streamTypeaheadEntries();
+}
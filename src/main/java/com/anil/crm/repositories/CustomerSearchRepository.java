@@ -0,0 +1,16 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.web.models.CustomerDto;
+import com.anil.crm.web.models.FieldSet;
+
+import java.util.List;
+
+public interface CustomerSearchRepository {
+
+    /**
+     * Customers whose name contains {@code name}, folded like the JPQL name search, or every customer when it is
+     * {@code null}; ordered by ID. Selects only the columns behind {@code fields} and joins the user table only for
+     * the name fields or the filter; the other fields stay null. The ID is always read.
+     */
+    List<CustomerDto> findSparse(String name, FieldSet fields);
+}
@@ -0,0 +1,52 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.Customer;
+import com.anil.crm.domain.User;
+import com.anil.crm.web.models.CustomerDto;
+import com.anil.crm.web.models.FieldSet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+
+import java.util.List;
+
+public class CustomerSearchRepositoryImpl implements CustomerSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CustomerDto> findSparse(String name, FieldSet fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Customer> c = query.from(Customer.class);
+        SparseColumns<CustomerDto.CustomerDtoBuilder> columns = new SparseColumns<>(fields, CustomerDto::builder);
+
+        columns.always(c.get("id"), CustomerDto.CustomerDtoBuilder::id);
+        columns.add("createdAt", c.get("createdAt"), CustomerDto.CustomerDtoBuilder::createdAt);
+        columns.add("updatedAt", c.get("updatedAt"), CustomerDto.CustomerDtoBuilder::updatedAt);
+        columns.add("phone", c.get("phone"), CustomerDto.CustomerDtoBuilder::phone);
+
+        if (name != null || fields.includesAny("firstName", "lastName", "email")) {
+            Join<Customer, User> u = c.join("user");
+            columns.add("firstName", u.get("firstName"), CustomerDto.CustomerDtoBuilder::firstName);
+            columns.add("lastName", u.get("lastName"), CustomerDto.CustomerDtoBuilder::lastName);
+            columns.add("email", u.get("email"), CustomerDto.CustomerDtoBuilder::email);
+            if (name != null) {
+                query.where(NameSearch.contains(cb, u.get("searchName"), name));
+            }
+        }
+
+        query.multiselect(columns.selections());
+        query.orderBy(cb.asc(c.get("id")));
+
+        return entityManager.createQuery(query)
+                .getResultStream()
+                .map(row -> columns.read(row).build())
+                .toList();
+    }
+}
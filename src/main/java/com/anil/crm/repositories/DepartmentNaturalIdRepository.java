@@ -0,0 +1,14 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.Department;
+
+import java.util.Optional;
+
+public interface DepartmentNaturalIdRepository {
+
+    /**
+     * Loads a department by its {@code @NaturalId} name through the natural-id cache, so repeated lookups
+     * of the same name are served without a query.
+     */
+    Optional<Department> findByName(String name);
+}
@@ -0,0 +1,25 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.Department;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+public class DepartmentNaturalIdRepositoryImpl implements DepartmentNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Department> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        // A derived "WHERE name = ?" query would always hit the database; bySimpleNaturalId consults the caches first.
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Department.class)
+                .loadOptional(name);
+    }
+}
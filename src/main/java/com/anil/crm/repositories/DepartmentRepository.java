@@ -1,15 +1,17 @@
 package com.anil.crm.repositories;
 
 import com.anil.crm.domain.Department;
-import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
-public interface DepartmentRepository extends JpaRepository<Department, Long> {
-
-    Optional<Department> findByName(@NotBlank(message = "Departman adı boş olamaz") String name);
+public interface DepartmentRepository extends JpaRepository<Department, Long>, DepartmentNaturalIdRepository {
 
     List<Department> findByNameContainingIgnoreCase(String name);
+
+    @Query("SELECT d.id FROM Department d WHERE d.id IN :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
 }
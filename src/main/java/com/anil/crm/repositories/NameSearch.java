@@ -0,0 +1,20 @@
+package com.anil.crm.repositories;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Criteria form of the name filters in {@link CustomerRepository} and {@link AgentRepository}.
+ */
+final class NameSearch {
+
+    private NameSearch() {
+    }
+
+    // searchName and crm_fold come from V7: Turkish-aware folding, trigram-indexed.
+    static Predicate contains(CriteriaBuilder cb, Expression<String> searchName, String text) {
+        Expression<String> folded = cb.function("crm_fold", String.class, cb.literal(text));
+        return cb.like(searchName, cb.concat(cb.concat("%", folded), "%"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxRelayRepository {
+
+    /**
+     * Writes one {@code eventType} event per ticket in {@code ticketIds} with a single INSERT ... SELECT, taking the
+     * department, agent and status from the tickets as they are now. Used after bulk updates, which never load them.
+     *
+     * @return the number of events written
+     */
+    int appendForTickets(Long[] ticketIds, String eventType, LocalDateTime occurredAt);
+
+    /**
+     * Locks and returns up to {@code limit} of the oldest events due at {@code now}. Rows another relay has locked are
+     * skipped, not waited on, so several relays split the outbox between them.
+     */
+    List<OutboxEvent> lockNextBatch(LocalDateTime now, int limit);
+
+    /**
+     * Deletes the delivered events with one statement.
+     */
+    int deleteByIds(Long[] ids);
+
+    /**
+     * Records a failed delivery for every event in {@code ids} with one statement: {@code errors} runs parallel to
+     * {@code ids}, and each event waits twice as long as before its next attempt, up to ten minutes.
+     */
+    int retryLater(Long[] ids, String[] errors, LocalDateTime now);
+}
@@ -0,0 +1,74 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.OutboxEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class OutboxRelayRepositoryImpl implements OutboxRelayRepository {
+
+    private static final String APPEND_FOR_TICKETS = "INSERT INTO outbox_events " +
+            "(event_type, ticket_id, department_id, assigned_agent_id, status, occurred_at, next_attempt_at) " +
+            "SELECT :eventType, t.id, t.department_id, t.assigned_agent_id, t.status, :occurredAt, :occurredAt " +
+            "FROM tickets t WHERE t.id = ANY(CAST(:ids AS bigint[])) ORDER BY t.id";
+
+    private static final String LOCK_NEXT_BATCH = "SELECT * FROM outbox_events " +
+            "WHERE next_attempt_at <= :now ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED";
+
+    private static final String DELETE = "DELETE FROM outbox_events WHERE id = ANY(CAST(:ids AS bigint[]))";
+
+    // 1, 2, 4 ... seconds after each failure, capped at ten minutes.
+    private static final String RETRY_LATER = "UPDATE outbox_events o " +
+            "SET attempts = o.attempts + 1, last_error = LEFT(r.error, 1000), " +
+            "next_attempt_at = CAST(:now AS timestamp) + make_interval(secs => LEAST(power(2, o.attempts), 600)) " +
+            "FROM unnest(CAST(:ids AS bigint[]), CAST(:errors AS varchar[])) AS r(id, error) " +
+            "WHERE o.id = r.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int appendForTickets(Long[] ticketIds, String eventType, LocalDateTime occurredAt) {
+        return update(APPEND_FOR_TICKETS)
+                .setParameter("eventType", eventType)
+                .setParameter("occurredAt", occurredAt)
+                .setParameter("ids", ticketIds)
+                .executeUpdate();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<OutboxEvent> lockNextBatch(LocalDateTime now, int limit) {
+        return entityManager.createNativeQuery(LOCK_NEXT_BATCH, OutboxEvent.class)
+                .setParameter("now", now)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    @Override
+    public int deleteByIds(Long[] ids) {
+        return update(DELETE)
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    @Override
+    public int retryLater(Long[] ids, String[] errors, LocalDateTime now) {
+        return update(RETRY_LATER)
+                .setParameter("ids", ids)
+                .setParameter("errors", errors)
+                .setParameter("now", now)
+                .executeUpdate();
+    }
+
+    // Without a declared table Hibernate assumes a native write may touch anything and clears the whole second-level
+    // cache; these statements only ever touch outbox_events, which is not cached.
+    private NativeQuery<?> update(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(OutboxEvent.class);
+    }
+}
@@ -0,0 +1,7 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long>, OutboxRelayRepository {
+}
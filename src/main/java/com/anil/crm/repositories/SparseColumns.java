@@ -0,0 +1,53 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.web.models.FieldSet;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Selected columns of a sparse read, each with the builder setter its value goes to.
+ *
+ * @param <B> the builder a result row is read into
+ */
+final class SparseColumns<B> {
+
+    private final FieldSet fields;
+    private final Supplier<B> builders;
+    private final List<Selection<?>> selections = new ArrayList<>();
+    private final List<BiConsumer<B, Object>> setters = new ArrayList<>();
+
+    SparseColumns(FieldSet fields, Supplier<B> builders) {
+        this.fields = fields;
+        this.builders = builders;
+    }
+
+    <T> void add(String path, Path<T> column, BiConsumer<B, T> setter) {
+        if (fields.includes(path)) {
+            always(column, setter);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> void always(Path<T> column, BiConsumer<B, T> setter) {
+        selections.add(column);
+        setters.add((builder, value) -> setter.accept(builder, (T) value));
+    }
+
+    List<Selection<?>> selections() {
+        return selections;
+    }
+
+    B read(Tuple row) {
+        B builder = builders.get();
+        for (int i = 0; i < setters.size(); i++) {
+            setters.get(i).accept(builder, row.get(i));
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,31 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.TicketPriority;
+import com.anil.crm.domain.TicketStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface TicketBulkUpdateRepository {
+
+    /**
+     * Sets {@code status} on every ticket in {@code ids} with one UPDATE and bumps its version. {@code expectedVersions}
+     * runs parallel to {@code ids}; a non-null entry only lets the row change if its version still matches.
+     *
+     * @return the rows that were updated, by ID
+     */
+    Map<Long, UpdatedTicket> updateStatus(Long[] ids, Long[] expectedVersions, TicketStatus status, LocalDateTime updatedAt);
+
+    /**
+     * Same as {@link #updateStatus}, assigning {@code agentId} instead.
+     */
+    Map<Long, UpdatedTicket> assignAgent(Long[] ids, Long[] expectedVersions, Long agentId, LocalDateTime updatedAt);
+
+    /**
+     * A row as the UPDATE left it, with the agent and status it had before, so callers can apply the change without
+     * reading the tickets again.
+     */
+    record UpdatedTicket(Long version, Long previousAgentId, TicketStatus previousStatus,
+                         Long agentId, TicketStatus status, TicketPriority priority) {
+    }
+}
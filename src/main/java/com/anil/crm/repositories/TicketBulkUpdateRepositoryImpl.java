@@ -0,0 +1,65 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.TicketPriority;
+import com.anil.crm.domain.TicketStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TicketBulkUpdateRepositoryImpl implements TicketBulkUpdateRepository {
+
+    // unnest pairs each ID with its expected version, so the whole chunk is still one statement and one round trip.
+    // RETURNING only sees the new row; the locked self-join reads the values the UPDATE replaces. FOR UPDATE makes it
+    // wait for, and then read, a concurrent change the UPDATE itself would wait for.
+    private static final String UPDATE = "UPDATE tickets t SET %s, version = t.version + 1, updated_at = :updatedAt " +
+            "FROM (SELECT p.id, p.assigned_agent_id, p.status, r.version AS expected_version " +
+            "FROM unnest(CAST(:ids AS bigint[]), CAST(:versions AS bigint[])) AS r(id, version) " +
+            "JOIN tickets p ON p.id = r.id FOR UPDATE OF p) AS old " +
+            "WHERE t.id = old.id AND (old.expected_version IS NULL OR t.version = old.expected_version) " +
+            "RETURNING t.id, t.version, old.assigned_agent_id, old.status, t.assigned_agent_id, t.status, t.priority";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<Long, UpdatedTicket> updateStatus(Long[] ids, Long[] expectedVersions, TicketStatus status, LocalDateTime updatedAt) {
+        return update("status = :value", status.name(), ids, expectedVersions, updatedAt);
+    }
+
+    @Override
+    public Map<Long, UpdatedTicket> assignAgent(Long[] ids, Long[] expectedVersions, Long agentId, LocalDateTime updatedAt) {
+        return update("assigned_agent_id = :value", agentId, ids, expectedVersions, updatedAt);
+    }
+
+    private Map<Long, UpdatedTicket> update(String assignment, Object value, Long[] ids, Long[] expectedVersions,
+                                   LocalDateTime updatedAt) {
+        Query query = entityManager.createNativeQuery(String.format(UPDATE, assignment))
+                .setParameter("value", value)
+                .setParameter("ids", ids)
+                .setParameter("versions", expectedVersions)
+                .setParameter("updatedAt", updatedAt);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        Map<Long, UpdatedTicket> updated = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            updated.put(((Number) row[0]).longValue(), new UpdatedTicket(
+                    ((Number) row[1]).longValue(), id(row[2]), value(TicketStatus.class, row[3]),
+                    id(row[4]), value(TicketStatus.class, row[5]), value(TicketPriority.class, row[6])));
+        }
+        return updated;
+    }
+
+    private static Long id(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private static <E extends Enum<E>> E value(Class<E> type, Object value) {
+        return value != null ? Enum.valueOf(type, (String) value) : null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.anil.crm.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface TicketClaimRepository {
+
+    /**
+     * Assigns the highest-priority, oldest unassigned OPEN ticket of {@code departmentId} to {@code agentId} and returns
+     * its ID, or empty if there is none. Tickets another transaction is claiming right now are skipped, not waited on.
+     */
+    Optional<Long> claimNext(Long departmentId, Long agentId, LocalDateTime updatedAt);
+}
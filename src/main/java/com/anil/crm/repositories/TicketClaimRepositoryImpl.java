@@ -0,0 +1,38 @@
+package com.anil.crm.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public class TicketClaimRepositoryImpl implements TicketClaimRepository {
+
+    // Must match the expression in idx_tickets_claim_queue (V5) for the queue head to be read from the index.
+    static final String PRIORITY_RANK =
+            "(CASE priority WHEN 'URGENT' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 ELSE 3 END)";
+
+    // SKIP LOCKED: concurrent claimers each lock a different row instead of queueing behind the same one.
+    private static final String CLAIM_NEXT = "UPDATE tickets t " +
+            "SET assigned_agent_id = :agentId, version = t.version + 1, updated_at = :updatedAt " +
+            "WHERE t.id = (" +
+            "SELECT q.id FROM tickets q " +
+            "WHERE q.department_id = :departmentId AND q.status = 'OPEN' AND q.assigned_agent_id IS NULL " +
+            "ORDER BY " + PRIORITY_RANK + ", q.created_at, q.id " +
+            "LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+            "RETURNING t.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Long> claimNext(Long departmentId, Long agentId, LocalDateTime updatedAt) {
+        List<?> claimed = entityManager.createNativeQuery(CLAIM_NEXT)
+                .setParameter("departmentId", departmentId)
+                .setParameter("agentId", agentId)
+                .setParameter("updatedAt", updatedAt)
+                .getResultList();
+        return claimed.stream().findFirst().map(id -> ((Number) id).longValue());
+    }
+}
@@ -1,15 +1,26 @@
 package com.anil.crm.repositories;
 
 import com.anil.crm.domain.TicketComment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TicketCommentRepository extends JpaRepository<TicketComment, Long> {
 
+    String VIEW_SELECT = "SELECT new com.anil.crm.repositories.TicketCommentView(" +
+            "tc.id, tc.createdAt, tc.ticket.id, tc.comment, u.firstName, u.lastName, u.role) " +
+            "FROM TicketComment tc JOIN tc.author u ";
 
-    List<TicketComment> findByTicketIdOrderByCreatedAtAsc(Long ticketId);
-
-    List<TicketComment> findByAuthorIdOrderByCreatedAtDesc(Long authorId);
+    // A ticket's thread reads oldest first: rows strictly after the (createdAt, id) cursor.
+    @Query(VIEW_SELECT + "WHERE tc.ticket.id = :ticketId AND (tc.createdAt, tc.id) > (:createdAt, :id) " +
+            "ORDER BY tc.createdAt, tc.id")
+    List<TicketCommentView> findThreadPage(Long ticketId, LocalDateTime createdAt, Long id, Limit limit);
 
+    // An author's feed reads newest first: rows strictly before the (createdAt, id) cursor.
+    @Query(VIEW_SELECT + "WHERE tc.author.id = :authorId AND (tc.createdAt, tc.id) < (:createdAt, :id) " +
+            "ORDER BY tc.createdAt DESC, tc.id DESC")
+    List<TicketCommentView> findAuthorFeedPage(Long authorId, LocalDateTime createdAt, Long id, Limit limit);
 }
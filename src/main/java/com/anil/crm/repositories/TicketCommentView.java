@@ -0,0 +1,24 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.Role;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only comment row: the comment's own columns plus its author's name and role, joined from the user without
+ * loading the user or the ticket.
+ */
+@Value
+@AllArgsConstructor
+public class TicketCommentView {
+
+    Long id;
+    LocalDateTime createdAt;
+    Long ticketId;
+    String comment;
+    String authorFirstName;
+    String authorLastName;
+    Role authorRole;
+}
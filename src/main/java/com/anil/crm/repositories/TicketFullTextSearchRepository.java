@@ -0,0 +1,16 @@
+package com.anil.crm.repositories;
+
+public interface TicketFullTextSearchRepository {
+
+    // Control characters cannot occur in ticket text, so callers can escape the fragments and then mark these.
+    String MATCH_START = "\u0002";
+    String MATCH_END = "\u0003";
+
+    /**
+     * Tickets whose subject, description or comments match {@code query} (web search syntax: quoted phrases,
+     * {@code or}, {@code -word}), ordered by rank and then id, both descending, starting after (rank, id).
+     * A query that matches too many tickets or comments ranks only the newest of them and says so; the candidates are
+     * picked by id, so the same query over the same data always ranks the same rows and its pages line up.
+     */
+    TicketTextMatches searchText(String query, float afterRank, Long afterId, int limit);
+}
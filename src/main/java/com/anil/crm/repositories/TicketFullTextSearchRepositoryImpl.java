@@ -0,0 +1,85 @@
+package com.anil.crm.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public class TicketFullTextSearchRepositoryImpl implements TicketFullTextSearchRepository {
+
+    // Must be the configuration the search_vector columns are generated with (V6), or stems will not line up.
+    static final String CONFIG = "crm_turkish";
+
+    // A comment match counts half as much as the same match in the ticket itself.
+    static final float COMMENT_WEIGHT = 0.5f;
+
+    // Ranking reads every candidate's vector, so a word found in hundreds of thousands of tickets would take seconds.
+    // At most this many of the newest matching tickets, and as many of the newest matching comments, are ranked.
+    // Newest by id rather than a sample, so repeating a query ranks the same rows and the (rank, id) cursor holds.
+    static final int MAX_CANDIDATES = 2000;
+
+    private static final String SUBJECT_OPTIONS = "HighlightAll=true, StartSel=" + MATCH_START + ", StopSel=" + MATCH_END;
+    private static final String SNIPPET_OPTIONS =
+            "MaxFragments=2, MaxWords=20, MinWords=8, StartSel=" + MATCH_START + ", StopSel=" + MATCH_END;
+
+    // Both GIN indexes find the matching rows; one past the cap is read to tell whether the cap cut the matches off.
+    // Only the capped candidates are ranked. Headlines are expensive, so they are built for the requested page alone,
+    // after the limit. The one-row stats side keeps the flag in the result even when the page is empty.
+    private static final String SEARCH = "WITH query AS (SELECT websearch_to_tsquery('" + CONFIG + "', :query) AS q), " +
+            "ticket_hits AS (SELECT t.id FROM tickets t, query WHERE t.search_vector @@ query.q " +
+            "ORDER BY t.id DESC LIMIT :candidates + 1), " +
+            "comment_hits AS (SELECT c.id FROM ticket_comments c, query WHERE c.search_vector @@ query.q " +
+            "ORDER BY c.id DESC LIMIT :candidates + 1), " +
+            "stats AS (SELECT (SELECT count(*) FROM ticket_hits) > :candidates " +
+            "OR (SELECT count(*) FROM comment_hits) > :candidates AS approximate), " +
+            "matches AS (" +
+            "SELECT t.id, ts_rank(t.search_vector, query.q) AS rank " +
+            "FROM (SELECT id FROM ticket_hits ORDER BY id DESC LIMIT :candidates) h " +
+            "JOIN tickets t ON t.id = h.id CROSS JOIN query " +
+            "UNION ALL " +
+            "SELECT c.ticket_id, ts_rank(c.search_vector, query.q) * " + COMMENT_WEIGHT + " " +
+            "FROM (SELECT id FROM comment_hits ORDER BY id DESC LIMIT :candidates) h " +
+            "JOIN ticket_comments c ON c.id = h.id CROSS JOIN query), " +
+            "ranked AS (SELECT id, CAST(max(rank) AS real) AS rank FROM matches GROUP BY id), " +
+            "page AS (SELECT id, rank FROM ranked WHERE (rank, id) < (CAST(:afterRank AS real), :afterId) " +
+            "ORDER BY rank DESC, id DESC LIMIT :limit) " +
+            "SELECT p.id, p.rank, " +
+            "ts_headline('" + CONFIG + "', t.subject, query.q, :subjectOptions), " +
+            "CASE WHEN t.search_vector @@ query.q " +
+            "THEN ts_headline('" + CONFIG + "', coalesce(t.description, ''), query.q, :snippetOptions) " +
+            "ELSE (SELECT ts_headline('" + CONFIG + "', c.comment, query.q, :snippetOptions) FROM ticket_comments c " +
+            "WHERE c.ticket_id = t.id AND c.search_vector @@ query.q " +
+            "ORDER BY ts_rank(c.search_vector, query.q) DESC, c.id LIMIT 1) END, " +
+            "s.approximate " +
+            "FROM stats s LEFT JOIN (page p JOIN tickets t ON t.id = p.id CROSS JOIN query) ON true " +
+            "ORDER BY p.rank DESC, p.id DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TicketTextMatches searchText(String query, float afterRank, Long afterId, int limit) {
+        List<?> rows = entityManager.createNativeQuery(SEARCH)
+                .setParameter("query", query)
+                .setParameter("candidates", MAX_CANDIDATES)
+                .setParameter("afterRank", afterRank)
+                .setParameter("afterId", afterId)
+                .setParameter("limit", limit)
+                .setParameter("subjectOptions", SUBJECT_OPTIONS)
+                .setParameter("snippetOptions", SNIPPET_OPTIONS)
+                .getResultList();
+        boolean approximate = rows.stream().map(Object[].class::cast).anyMatch(row -> Boolean.TRUE.equals(row[4]));
+        List<TicketTextMatch> matches = rows.stream()
+                .map(Object[].class::cast)
+                .filter(row -> row[0] != null)
+                .map(row -> new TicketTextMatch(
+                        ((Number) row[0]).longValue(),
+                        ((Number) row[1]).floatValue(),
+                        (String) row[2],
+                        (String) row[3]))
+                .toList();
+        return new TicketTextMatches(matches, approximate);
+    }
+}
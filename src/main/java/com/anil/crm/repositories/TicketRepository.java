@@ -3,25 +3,73 @@ package com.anil.crm.repositories;
 import com.anil.crm.domain.Ticket;
 import com.anil.crm.domain.TicketPriority;
 import com.anil.crm.domain.TicketStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
+public interface TicketRepository extends JpaRepository<Ticket, Long>, TicketSearchRepository, TicketBulkUpdateRepository,
+        TicketClaimRepository, TicketFullTextSearchRepository {
+
+    // Read path: flat TicketSummary rows selected column by column, never hydrated as entities.
+    String SUMMARY_SELECT = "SELECT new com.anil.crm.repositories.TicketSummary(" +
+            "t.id, t.version, t.createdAt, t.updatedAt, t.subject, t.description, t.status, t.priority, " +
+            "c.id, c.createdAt, c.updatedAt, cu.firstName, cu.lastName, cu.email, c.phone, " +
+            "d.id, d.name, d.description, " +
+            "a.id, a.createdAt, a.updatedAt, au.firstName, au.lastName, au.email, ad.name) " +
+            "FROM Ticket t " +
+            "JOIN t.customer c JOIN c.user cu " +
+            "JOIN t.department d " +
+            "LEFT JOIN t.assignedAgent a LEFT JOIN a.user au LEFT JOIN a.department ad ";
+
+    // Keyset pagination: rows strictly after the (createdAt, id) cursor, newest first.
+    String KEYSET_AFTER = "(t.createdAt, t.id) < (:createdAt, :id)";
+    String KEYSET_ORDER = " ORDER BY t.createdAt DESC, t.id DESC";
+
+    @Override
+    @EntityGraph(Ticket.SUMMARY_GRAPH)
+    Optional<Ticket> findById(Long id);
+
+    @Query(SUMMARY_SELECT + "WHERE t.id = :id")
+    Optional<TicketSummary> findSummaryById(Long id);
+
+    @Query(SUMMARY_SELECT + "WHERE " + KEYSET_AFTER + KEYSET_ORDER)
+    List<TicketSummary> findAllTickets(LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE t.customer.id = :customerId AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<TicketSummary> findTicketsByCustomerId(Long customerId, LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE t.status = :status AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<TicketSummary> findTicketsByStatus(TicketStatus status, LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE t.priority = :priority AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<TicketSummary> getTicketsByPriority(TicketPriority priority, LocalDateTime createdAt, Long id, Limit limit);
 
-    List<Ticket> findTicketsByCustomerId(Long customerId);
-    List<Ticket> findTicketsByStatus(TicketStatus status);
-    List<Ticket> getTicketsByPriority(TicketPriority priority);
     boolean existsByCustomerId(Long customerId);
 
-    List<Ticket> findTicketsByAssignedAgentId(Long agentId);
+    @Query(SUMMARY_SELECT + "WHERE t.assignedAgent.id = :agentId AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<TicketSummary> findTicketsByAssignedAgentId(Long agentId, LocalDateTime createdAt, Long id, Limit limit);
 
 
     boolean existsByAssignedAgentId(Long agentId);
 
 
-    List<Ticket> findTicketsByDepartmentId(Long departmentId);
+    @Query(SUMMARY_SELECT + "WHERE t.department.id = :departmentId AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<TicketSummary> findTicketsByDepartmentId(Long departmentId, LocalDateTime createdAt, Long id, Limit limit);
 
     boolean existsByDepartmentId(Long departmentId);
 
-}
\ No newline at end of file
+    // Change feed: oldest change first, strictly after the (updatedAt, id) cursor and before the settled bound.
+    @Query(SUMMARY_SELECT + "WHERE (t.updatedAt, t.id) > (:updatedAt, :id) AND t.updatedAt < :until " +
+            "ORDER BY t.updatedAt, t.id")
+    List<TicketSummary> findChangedSince(LocalDateTime updatedAt, Long id, LocalDateTime until, Limit limit);
+
+    @Query("SELECT t.id FROM Ticket t WHERE t.id IN :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+}
@@ -0,0 +1,30 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.Ticket;
+import com.anil.crm.web.models.FieldSet;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TicketSearchRepository {
+
+    /**
+     * Runs {@code spec} as a {@link TicketSummary} projection ordered by (createdAt, id) descending.
+     */
+    List<TicketSummary> findSummaries(Specification<Ticket> spec, Limit limit);
+
+    /**
+     * Same filter and order as {@link #findSummaries(Specification, Limit)}, but selects only the columns behind
+     * {@code fields} and joins only the tables they live in; the other summary fields stay null. The ID and
+     * creation time are always read, the page cursor is built from them.
+     */
+    List<TicketSummary> findSummaries(Specification<Ticket> spec, FieldSet fields, Limit limit);
+
+    /**
+     * Same projection and order as {@link #findSummaries}, read through a database cursor {@code fetchSize} rows
+     * at a time. Must be consumed and closed inside a transaction.
+     */
+    Stream<TicketSummary> streamSummaries(Specification<Ticket> spec, int fetchSize);
+}
@@ -0,0 +1,138 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.*;
+import com.anil.crm.web.models.FieldSet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TicketSearchRepositoryImpl implements TicketSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TicketSummary> findSummaries(Specification<Ticket> spec, Limit limit) {
+        return summaryQuery(spec)
+                .setMaxResults(limit.max())
+                .getResultList();
+    }
+
+    @Override
+    public List<TicketSummary> findSummaries(Specification<Ticket> spec, FieldSet fields, Limit limit) {
+        if (fields.isAll()) {
+            return findSummaries(spec, limit);
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Ticket> t = query.from(Ticket.class);
+        SparseColumns<TicketSummary.TicketSummaryBuilder> columns = new SparseColumns<>(fields, TicketSummary::builder);
+
+        columns.always(t.get("id"), TicketSummary.TicketSummaryBuilder::id);
+        columns.always(t.get("createdAt"), TicketSummary.TicketSummaryBuilder::createdAt);
+        columns.add("version", t.get("version"), TicketSummary.TicketSummaryBuilder::version);
+        columns.add("updatedAt", t.get("updatedAt"), TicketSummary.TicketSummaryBuilder::updatedAt);
+        columns.add("subject", t.get("subject"), TicketSummary.TicketSummaryBuilder::subject);
+        columns.add("description", t.get("description"), TicketSummary.TicketSummaryBuilder::description);
+        columns.add("status", t.get("status"), TicketSummary.TicketSummaryBuilder::status);
+        columns.add("priority", t.get("priority"), TicketSummary.TicketSummaryBuilder::priority);
+
+        // The foreign key columns live on tickets; only fields beyond a related ID need a join.
+        columns.add("customer", t.get("customer").get("id"), TicketSummary.TicketSummaryBuilder::customerId);
+        if (fields.includesAny("customer.createdAt", "customer.updatedAt", "customer.phone",
+                "customer.firstName", "customer.lastName", "customer.email")) {
+            Join<Ticket, Customer> c = t.join("customer");
+            columns.add("customer.createdAt", c.get("createdAt"), TicketSummary.TicketSummaryBuilder::customerCreatedAt);
+            columns.add("customer.updatedAt", c.get("updatedAt"), TicketSummary.TicketSummaryBuilder::customerUpdatedAt);
+            columns.add("customer.phone", c.get("phone"), TicketSummary.TicketSummaryBuilder::customerPhone);
+            if (fields.includesAny("customer.firstName", "customer.lastName", "customer.email")) {
+                Join<Customer, User> cu = c.join("user");
+                columns.add("customer.firstName", cu.get("firstName"), TicketSummary.TicketSummaryBuilder::customerFirstName);
+                columns.add("customer.lastName", cu.get("lastName"), TicketSummary.TicketSummaryBuilder::customerLastName);
+                columns.add("customer.email", cu.get("email"), TicketSummary.TicketSummaryBuilder::customerEmail);
+            }
+        }
+
+        columns.add("department", t.get("department").get("id"), TicketSummary.TicketSummaryBuilder::departmentId);
+        if (fields.includesAny("department.name", "department.description")) {
+            Join<Ticket, Department> d = t.join("department");
+            columns.add("department.name", d.get("name"), TicketSummary.TicketSummaryBuilder::departmentName);
+            columns.add("department.description", d.get("description"), TicketSummary.TicketSummaryBuilder::departmentDescription);
+        }
+
+        columns.add("assignedAgent", t.get("assignedAgent").get("id"), TicketSummary.TicketSummaryBuilder::assignedAgentId);
+        if (fields.includesAny("assignedAgent.createdAt", "assignedAgent.updatedAt", "assignedAgent.firstName",
+                "assignedAgent.lastName", "assignedAgent.email", "assignedAgent.departmentName")) {
+            Join<Ticket, Agent> a = t.join("assignedAgent", JoinType.LEFT);
+            columns.add("assignedAgent.createdAt", a.get("createdAt"), TicketSummary.TicketSummaryBuilder::assignedAgentCreatedAt);
+            columns.add("assignedAgent.updatedAt", a.get("updatedAt"), TicketSummary.TicketSummaryBuilder::assignedAgentUpdatedAt);
+            if (fields.includesAny("assignedAgent.firstName", "assignedAgent.lastName", "assignedAgent.email")) {
+                Join<Agent, User> au = a.join("user", JoinType.LEFT);
+                columns.add("assignedAgent.firstName", au.get("firstName"), TicketSummary.TicketSummaryBuilder::assignedAgentFirstName);
+                columns.add("assignedAgent.lastName", au.get("lastName"), TicketSummary.TicketSummaryBuilder::assignedAgentLastName);
+                columns.add("assignedAgent.email", au.get("email"), TicketSummary.TicketSummaryBuilder::assignedAgentEmail);
+            }
+            if (fields.includes("assignedAgent.departmentName")) {
+                Join<Agent, Department> ad = a.join("department", JoinType.LEFT);
+                columns.add("assignedAgent.departmentName", ad.get("name"), TicketSummary.TicketSummaryBuilder::assignedAgentDepartmentName);
+            }
+        }
+
+        query.multiselect(columns.selections());
+        Predicate predicate = spec.toPredicate(t, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.desc(t.get("createdAt")), cb.desc(t.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit.max())
+                .getResultStream()
+                .map(row -> columns.read(row).build())
+                .toList();
+    }
+
+    @Override
+    public Stream<TicketSummary> streamSummaries(Specification<Ticket> spec, int fetchSize) {
+        // Constructor projections never enter the persistence context, so nothing accumulates while streaming.
+        return summaryQuery(spec)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private TypedQuery<TicketSummary> summaryQuery(Specification<Ticket> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketSummary> query = cb.createQuery(TicketSummary.class);
+
+        Root<Ticket> t = query.from(Ticket.class);
+        Join<Ticket, Customer> c = t.join("customer");
+        Join<Customer, User> cu = c.join("user");
+        Join<Ticket, Department> d = t.join("department");
+        Join<Ticket, Agent> a = t.join("assignedAgent", JoinType.LEFT);
+        Join<Agent, User> au = a.join("user", JoinType.LEFT);
+        Join<Agent, Department> ad = a.join("department", JoinType.LEFT);
+
+        query.select(cb.construct(TicketSummary.class,
+                t.get("id"), t.get("version"), t.get("createdAt"), t.get("updatedAt"), t.get("subject"), t.get("description"), t.get("status"), t.get("priority"),
+                c.get("id"), c.get("createdAt"), c.get("updatedAt"), cu.get("firstName"), cu.get("lastName"), cu.get("email"), c.get("phone"),
+                d.get("id"), d.get("name"), d.get("description"),
+                a.get("id"), a.get("createdAt"), a.get("updatedAt"), au.get("firstName"), au.get("lastName"), au.get("email"), ad.get("name")));
+
+        Predicate predicate = spec.toPredicate(t, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.desc(t.get("createdAt")), cb.desc(t.get("id")));
+
+        return entityManager.createQuery(query);
+    }
+}
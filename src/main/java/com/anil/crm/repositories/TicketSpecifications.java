@@ -0,0 +1,78 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.Ticket;
+import com.anil.crm.domain.TicketPriority;
+import com.anil.crm.domain.TicketStatus;
+import com.anil.crm.web.models.TicketSearchCriteria;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Composable ticket filters. A {@code null} argument yields a specification without a
+ * predicate, so callers can combine every filter and only the supplied ones reach SQL.
+ */
+public final class TicketSpecifications {
+
+    private TicketSpecifications() {
+    }
+
+    /**
+     * Every filter of {@code criteria}, combined; fields left empty do not restrict the result.
+     */
+    public static Specification<Ticket> matching(TicketSearchCriteria criteria) {
+        return Specification.allOf(
+                ofCustomer(criteria.getCustomerId()),
+                hasStatus(criteria.getStatus()),
+                hasPriority(criteria.getPriority()),
+                inDepartment(criteria.getDepartmentId()),
+                assignedTo(criteria.getAssignedAgentId()),
+                createdFrom(criteria.getCreatedFrom()),
+                createdBefore(criteria.getCreatedTo()));
+    }
+
+    public static Specification<Ticket> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids == null ? null : root.get("id").in(ids);
+    }
+
+    public static Specification<Ticket> ofCustomer(Long customerId) {
+        return (root, query, cb) -> customerId == null ? null : cb.equal(root.get("customer").get("id"), customerId);
+    }
+
+    public static Specification<Ticket> hasStatus(TicketStatus status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Ticket> hasPriority(TicketPriority priority) {
+        return (root, query, cb) -> priority == null ? null : cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Ticket> inDepartment(Long departmentId) {
+        return (root, query, cb) -> departmentId == null ? null : cb.equal(root.get("department").get("id"), departmentId);
+    }
+
+    public static Specification<Ticket> assignedTo(Long agentId) {
+        return (root, query, cb) -> agentId == null ? null : cb.equal(root.get("assignedAgent").get("id"), agentId);
+    }
+
+    public static Specification<Ticket> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<Ticket> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThan(root.get("createdAt"), to);
+    }
+
+    /**
+     * Keyset predicate for {@code ORDER BY createdAt DESC, id DESC}: the leading
+     * {@code createdAt <= :createdAt} bound is index-searchable, the rest only breaks ties.
+     */
+    public static Specification<Ticket> after(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("createdAt"), createdAt),
+                cb.or(
+                        cb.lessThan(root.get("createdAt"), createdAt),
+                        cb.lessThan(root.get("id"), id)));
+    }
+}
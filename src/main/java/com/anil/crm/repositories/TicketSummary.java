@@ -0,0 +1,49 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.TicketPriority;
+import com.anil.crm.domain.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only, flat row with exactly the columns {@code TicketDto} exposes.
+ * Built by a JPQL constructor expression, so no managed entities are created.
+ * Sparse reads build it column by column and leave the unread columns null.
+ */
+@Value
+@AllArgsConstructor
+@Builder
+public class TicketSummary {
+
+    Long id;
+    Long version;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    String subject;
+    String description;
+    TicketStatus status;
+    TicketPriority priority;
+
+    Long customerId;
+    LocalDateTime customerCreatedAt;
+    LocalDateTime customerUpdatedAt;
+    String customerFirstName;
+    String customerLastName;
+    String customerEmail;
+    String customerPhone;
+
+    Long departmentId;
+    String departmentName;
+    String departmentDescription;
+
+    Long assignedAgentId;
+    LocalDateTime assignedAgentCreatedAt;
+    LocalDateTime assignedAgentUpdatedAt;
+    String assignedAgentFirstName;
+    String assignedAgentLastName;
+    String assignedAgentEmail;
+    String assignedAgentDepartmentName;
+}
@@ -0,0 +1,8 @@
+package com.anil.crm.repositories;
+
+/**
+ * One full-text hit: the ticket, its relevance and the highlighted fragments. Matched terms are wrapped in
+ * {@link TicketFullTextSearchRepository#MATCH_START} / {@link TicketFullTextSearchRepository#MATCH_END}.
+ */
+public record TicketTextMatch(Long ticketId, float rank, String subject, String snippet) {
+}
@@ -0,0 +1,10 @@
+package com.anil.crm.repositories;
+
+import java.util.List;
+
+/**
+ * A page of full-text hits. {@code approximate} is set when the query matched more rows than are ranked, so only the
+ * newest of them were considered; see {@link TicketFullTextSearchRepositoryImpl#MAX_CANDIDATES}.
+ */
+public record TicketTextMatches(List<TicketTextMatch> matches, boolean approximate) {
+}
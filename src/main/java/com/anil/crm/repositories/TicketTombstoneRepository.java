@@ -0,0 +1,27 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.TicketTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TicketTombstoneRepository extends JpaRepository<TicketTombstone, Long> {
+
+    // A plain INSERT: save() would see the assigned ID and SELECT before inserting.
+    @Modifying
+    @Query("INSERT INTO TicketTombstone (ticketId, deletedAt) VALUES (:ticketId, :deletedAt)")
+    void insert(Long ticketId, LocalDateTime deletedAt);
+
+    // Oldest first, strictly after the (deletedAt, ticketId) cursor and before the settled bound.
+    @Query("SELECT tt FROM TicketTombstone tt WHERE (tt.deletedAt, tt.ticketId) > (:deletedAt, :ticketId) " +
+            "AND tt.deletedAt < :until ORDER BY tt.deletedAt, tt.ticketId")
+    List<TicketTombstone> findDeletedSince(LocalDateTime deletedAt, Long ticketId, LocalDateTime until, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM TicketTombstone tt WHERE tt.deletedAt < :before")
+    int deleteDeletedBefore(LocalDateTime before);
+}
@@ -0,0 +1,19 @@
+package com.anil.crm.repositories;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * What the typeahead index keeps of a customer or an agent. {@code detail} is the customer's phone number or the
+ * agent's department name.
+ */
+@Value
+@AllArgsConstructor
+public class TypeaheadEntry {
+
+    Long id;
+    String firstName;
+    String lastName;
+    String email;
+    String detail;
+}
@@ -1,11 +1,20 @@
 package com.anil.crm.security;
 
+import com.anil.crm.domain.Role;
+import com.anil.crm.domain.User;
 import com.anil.crm.services.JwtService;
+import com.anil.crm.services.TokenVersionService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,13 +24,38 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    static final String VERIFICATION_TIMER = "crm.jwt.verification";
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
+
+    // Build the principal from the verified claims instead of loading the user on every request.
+    @Value("${application.security.jwt.stateless:true}")
+    private boolean stateless;
+
+    // Web test slices have no meter registry; the timers then record into a private one.
+    @Autowired
+    public JwtAuthFilter(JwtService jwtService, UserDetailsService userDetailsService,
+                         TokenVersionService tokenVersionService, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(jwtService, userDetailsService, tokenVersionService, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    JwtAuthFilter(JwtService jwtService, UserDetailsService userDetailsService,
+                  TokenVersionService tokenVersionService, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.tokenVersionService = tokenVersionService;
+        this.validTokenTimer = verificationTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = verificationTimer(meterRegistry, "invalid");
+    }
 
     @Override
     protected void doFilterInternal(
@@ -31,7 +65,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
+        final Claims claims;
 
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -41,17 +75,24 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
 
+        Timer.Sample verification = Timer.start();
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // One signature check per request; every later step reads these claims.
+            claims = jwtService.validateToken(jwt);
+            verification.stop(validTokenTimer);
         } catch (Exception e) {
+            verification.stop(invalidTokenTimer);
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid JWT Token");
             return;
         }
 
+        final String userEmail = claims.getSubject();
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            UserDetails userDetails = stateless && hasPrincipalClaims(claims)
+                    ? principalFromClaims(claims)
+                    : this.userDetailsService.loadUserByUsername(userEmail);
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (userDetails != null && jwtService.isTokenValid(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -67,4 +108,40 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(VERIFICATION_TIMER)
+                .description("Signature and expiry check of the bearer token, including the verified-token cache")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // Tokens issued before token versions existed lack these claims and still go through the database.
+    private boolean hasPrincipalClaims(Claims claims) {
+        return claims.get(JwtService.CLAIM_USER_ID) != null
+                && claims.get(JwtService.CLAIM_TOKEN_VERSION) != null
+                && claims.get(JwtService.CLAIM_ROLES) instanceof List<?> roles && !roles.isEmpty();
+    }
+
+    /**
+     * Rebuilds the user from the token, or returns {@code null} if the token's version is no longer current
+     * (password or email changed, user deleted). The version lookup is served from memory.
+     */
+    private User principalFromClaims(Claims claims) {
+        Long userId = claims.get(JwtService.CLAIM_USER_ID, Long.class);
+        Long tokenVersion = claims.get(JwtService.CLAIM_TOKEN_VERSION, Long.class);
+        if (!tokenVersionService.getTokenVersion(userId).map(tokenVersion::equals).orElse(false)) {
+            return null;
+        }
+
+        List<?> roles = claims.get(JwtService.CLAIM_ROLES, List.class);
+        return User.builder()
+                .id(userId)
+                .email(claims.getSubject())
+                .firstName(claims.get(JwtService.CLAIM_FIRST_NAME, String.class))
+                .lastName(claims.get(JwtService.CLAIM_LAST_NAME, String.class))
+                .role(Role.valueOf(roles.get(0).toString()))
+                .tokenVersion(tokenVersion)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.Ticket;
+import com.anil.crm.domain.TicketPriority;
+import com.anil.crm.domain.TicketStatus;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * In-memory view of how loaded every agent is, so automatic assignment never has to count tickets in the database.
+ * An agent's load is the sum of the priority weights of its active (not closed or resolved) tickets.
+ */
+public interface AgentLoadService {
+
+    /**
+     * Statuses whose tickets count towards their agent's load and which new tickets get an agent for.
+     */
+    Set<TicketStatus> ACTIVE_STATUSES = Collections.unmodifiableSet(
+            EnumSet.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS, TicketStatus.ON_HOLD));
+
+    /**
+     * The least loaded agent of the department, or empty if the department has no agents.
+     */
+    Optional<Long> findLeastLoadedAgent(Long departmentId);
+
+    /**
+     * Moves the load of one ticket from its state before a change to its state after it; either side may be
+     * {@code null} for a created or deleted ticket. Applied at once so concurrent assignments see it, and undone if
+     * the surrounding transaction rolls back.
+     */
+    void ticketChanged(TicketLoad before, TicketLoad after);
+
+    /**
+     * Registers a new agent, or moves an existing one to another department, once the surrounding transaction commits.
+     */
+    void agentSaved(Long agentId, Long departmentId);
+
+    /**
+     * Forgets a deleted agent once the surrounding transaction commits.
+     */
+    void agentRemoved(Long agentId);
+
+    /**
+     * Reloads every agent's load with a single aggregate query over the tickets. Runs at startup and then periodically:
+     * changes made here, bulk ones included, are applied through {@link #ticketChanged} in between, while the periodic
+     * run picks up what only other instances saw (their new agents and the tickets they changed) and any drift.
+     */
+    void rebuild();
+
+    /**
+     * The part of a ticket that counts towards an agent's load.
+     */
+    record TicketLoad(Long agentId, TicketStatus status, TicketPriority priority) {
+
+        public static TicketLoad of(Ticket ticket) {
+            Long agentId = ticket.getAssignedAgent() != null ? ticket.getAssignedAgent().getId() : null;
+            return new TicketLoad(agentId, ticket.getStatus(), ticket.getPriority());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.TicketPriority;
+import com.anil.crm.repositories.AgentRepository;
+import com.anil.crm.repositories.AgentTicketLoad;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+
+@Service
+@RequiredArgsConstructor
+public class AgentLoadServiceImpl implements AgentLoadService {
+
+    private static final Logger log = LoggerFactory.getLogger(AgentLoadServiceImpl.class);
+
+    private static final Comparator<AgentLoad> LEAST_LOADED = Comparator
+            .comparingLong((AgentLoad agent) -> agent.load)
+            .thenComparingInt(agent -> agent.tickets)
+            .thenComparingLong(agent -> agent.agentId);
+
+    private final AgentRepository agentRepository;
+
+    // Guarded by this. Each department's set is ordered least loaded first; an agent is taken out of its set before
+    // its load changes and put back afterwards, so the set never holds a stale position.
+    private final Map<Long, AgentLoad> agents = new HashMap<>();
+    private final Map<Long, NavigableSet<AgentLoad>> departments = new HashMap<>();
+
+    static long weight(TicketPriority priority) {
+        return switch (priority) {
+            case LOW -> 1;
+            case MEDIUM -> 2;
+            case HIGH -> 4;
+            case URGENT -> 8;
+        };
+    }
+
+    @Override
+    public synchronized Optional<Long> findLeastLoadedAgent(Long departmentId) {
+        NavigableSet<AgentLoad> department = departments.get(departmentId);
+        return department == null || department.isEmpty() ? Optional.empty() : Optional.of(department.first().agentId);
+    }
+
+    @Override
+    public void ticketChanged(TicketLoad before, TicketLoad after) {
+        apply(before, after);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        apply(after, before);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public void agentSaved(Long agentId, Long departmentId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                AgentLoad agent = agents.get(agentId);
+                if (agent == null) {
+                    agent = new AgentLoad(agentId, departmentId);
+                    agents.put(agentId, agent);
+                } else if (!agent.departmentId.equals(departmentId)) {
+                    department(agent.departmentId).remove(agent);
+                    agent.departmentId = departmentId;
+                } else {
+                    return;
+                }
+                department(departmentId).add(agent);
+            }
+        });
+    }
+
+    @Override
+    public void agentRemoved(Long agentId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                AgentLoad agent = agents.remove(agentId);
+                if (agent != null) {
+                    department(agent.departmentId).remove(agent);
+                }
+            }
+        });
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${application.tickets.auto-assign.rebuild-interval:PT5M}",
+            fixedDelayString = "${application.tickets.auto-assign.rebuild-interval:PT5M}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<AgentTicketLoad> rows = agentRepository.findTicketLoads(ACTIVE_STATUSES);
+
+        Map<Long, AgentLoad> rebuiltAgents = new HashMap<>();
+        for (AgentTicketLoad row : rows) {
+            AgentLoad agent = rebuiltAgents.computeIfAbsent(row.getAgentId(), id -> new AgentLoad(id, row.getDepartmentId()));
+            if (row.getPriority() != null) {
+                agent.load += weight(row.getPriority()) * row.getTickets();
+                agent.tickets += (int) row.getTickets();
+            }
+        }
+
+        // Changes that land while the query runs may be counted twice or not at all until the next scheduled rebuild;
+        // the assignment only needs to be roughly balanced, not exact.
+        int departmentCount;
+        synchronized (this) {
+            agents.clear();
+            departments.clear();
+            agents.putAll(rebuiltAgents);
+            rebuiltAgents.values().forEach(agent -> department(agent.departmentId).add(agent));
+            departmentCount = departments.size();
+        }
+        log.info("Agent loads rebuilt for {} agents in {} departments in {} ms",
+                rebuiltAgents.size(), departmentCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private synchronized void apply(TicketLoad before, TicketLoad after) {
+        if (counts(before)) {
+            adjust(before.agentId(), -weight(before.priority()), -1);
+        }
+        if (counts(after)) {
+            adjust(after.agentId(), weight(after.priority()), 1);
+        }
+    }
+
+    private static boolean counts(TicketLoad ticket) {
+        return ticket != null && ticket.agentId() != null && ticket.priority() != null
+                && ACTIVE_STATUSES.contains(ticket.status());
+    }
+
+    private void adjust(Long agentId, long load, int tickets) {
+        AgentLoad agent = agents.get(agentId);
+        if (agent == null) {
+            // Not known yet (e.g. created by another instance); picked up by the next scheduled rebuild.
+            return;
+        }
+        NavigableSet<AgentLoad> department = department(agent.departmentId);
+        department.remove(agent);
+        agent.load += load;
+        agent.tickets += tickets;
+        department.add(agent);
+    }
+
+    private NavigableSet<AgentLoad> department(Long departmentId) {
+        return departments.computeIfAbsent(departmentId, id -> new TreeSet<>(LEAST_LOADED));
+    }
+
+    private static final class AgentLoad {
+
+        final Long agentId;
+        Long departmentId;
+        long load;
+        int tickets;
+
+        AgentLoad(Long agentId, Long departmentId) {
+            this.agentId = agentId;
+            this.departmentId = departmentId;
+        }
+    }
+}
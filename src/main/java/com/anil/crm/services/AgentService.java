@@ -1,6 +1,7 @@
 package com.anil.crm.services;
 
 import com.anil.crm.web.models.AgentDto;
+import com.anil.crm.web.models.FieldSet;
 
 import java.util.List;
 
@@ -9,7 +10,11 @@ public interface AgentService {
 
     AgentDto getAgentById(Long id);
 
-    List<AgentDto> findAgents(String name, String department);
+    /**
+     * Agents filtered by name and department name. A sparse {@code fields} set is pushed into the query, so
+     * unrequested columns and joins are never read.
+     */
+    List<AgentDto> findAgents(String name, String department, FieldSet fields);
 
     AgentDto createAgent(AgentDto agentDto);
 
@@ -13,6 +13,7 @@ import com.anil.crm.repositories.TicketRepository;
 import com.anil.crm.repositories.UserRepository;
 import com.anil.crm.web.mappers.AgentMapper;
 import com.anil.crm.web.models.AgentDto;
+import com.anil.crm.web.models.FieldSet;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +36,9 @@ public class AgentServiceImpl implements AgentService {
     private final PasswordEncoder passwordEncoder;
     private final AgentMapper agentMapper;
     private final TicketRepository ticketRepository;
+    private final TokenVersionService tokenVersionService;
+    private final AgentLoadService agentLoadService;
+    private final TypeaheadService typeaheadService;
 
 
     @Override
@@ -48,13 +52,18 @@ public class AgentServiceImpl implements AgentService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<AgentDto> findAgents(String name, String departmentName) {
-        log.debug("Finding agents with name like '{}' and department like '{}'", name, departmentName);
+    public List<AgentDto> findAgents(String name, String departmentName, FieldSet fields) {
+        log.debug("Finding agents with name like '{}' and department like '{}', fields {}", name, departmentName, fields);
         List<Agent> agents;
 
         boolean hasNameFilter = name != null && !name.trim().isEmpty();
         boolean hasDepartmentFilter = departmentName != null && !departmentName.trim().isEmpty();
 
+        if (!fields.isAll()) {
+            return agentRepository.findSparse(hasNameFilter ? name : null,
+                    hasDepartmentFilter ? departmentName : null, fields);
+        }
+
         if (hasNameFilter && hasDepartmentFilter) {
             log.debug("Filtering by both department name containing and user name containing");
             agents = agentRepository.findByDepartmentNameContainingAndUserNameContaining(departmentName, name);
@@ -105,6 +114,8 @@ public class AgentServiceImpl implements AgentService {
                 .build();
 
         Agent savedAgent = agentRepository.save(agent);
+        agentLoadService.agentSaved(savedAgent.getId(), department.getId());
+        typeaheadService.agentSaved(savedAgent);
         log.info("Agent created with id: {} and user id: {}", savedAgent.getId(), savedAgent.getUser().getId());
 
         return agentMapper.agentToAgentDto(savedAgent);
@@ -135,6 +146,7 @@ public class AgentServiceImpl implements AgentService {
                     });
 
             existingAgent.setDepartment(newDepartment);
+            agentLoadService.agentSaved(id, newDepartment.getId());
             log.info("Agent {} department updated to {}", id, newDepartment.getName());
         }
 
@@ -147,14 +159,17 @@ public class AgentServiceImpl implements AgentService {
                 throw new EmailAlreadyExistsException("Email already in use: " + agentDto.getEmail());
             }
             existingUser.setEmail(agentDto.getEmail());
+            tokenVersionService.revokeTokens(existingUser);
         }
 
         if (agentDto.getPassword() != null && !agentDto.getPassword().isEmpty()) {
             existingUser.setPassword(passwordEncoder.encode(agentDto.getPassword()));
+            tokenVersionService.revokeTokens(existingUser);
             log.info("Agent password updated for user id: {}", existingUser.getId());
         }
 
         Agent updatedAgent = agentRepository.save(existingAgent);
+        typeaheadService.agentSaved(updatedAgent);
         log.info("Agent profile updated successfully for id: {}", id);
 
         return agentMapper.agentToAgentDto(updatedAgent);
@@ -175,7 +190,10 @@ public class AgentServiceImpl implements AgentService {
             throw new ResourceInUseException("Cannot delete agent. Agents are still assigned to it.");
         }
 
+        agentRepository.findById(id).ifPresent(agent -> tokenVersionService.evict(agent.getUser().getId()));
         agentRepository.deleteById(id);
+        agentLoadService.agentRemoved(id);
+        typeaheadService.agentRemoved(id);
         log.info("Agent deleted successfully with id: {}", id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.anil.crm.services;
+
+import com.anil.crm.web.models.CacheRegionStatisticsDto;
+
+import java.util.List;
+
+public interface CacheStatisticsService {
+
+    /**
+     * Hit, miss and put counts of every Hibernate second-level cache region since startup.
+     */
+    List<CacheRegionStatisticsDto> getCacheStatistics();
+}
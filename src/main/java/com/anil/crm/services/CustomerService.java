@@ -1,13 +1,18 @@
 package com.anil.crm.services;
 
 import com.anil.crm.web.models.CustomerDto;
+import com.anil.crm.web.models.FieldSet;
 
 import java.util.List;
 
 
 public interface CustomerService {
 
-    List<CustomerDto> getAllCustomers();
+    /**
+     * Every customer. A sparse {@code fields} set is pushed into the query, so unrequested columns and the user join
+     * are never read.
+     */
+    List<CustomerDto> getAllCustomers(FieldSet fields);
 
 
     CustomerDto getCustomerById(Long id);
@@ -16,7 +21,7 @@ public interface CustomerService {
     CustomerDto getCustomerByEmail(String email);
 
 
-    List<CustomerDto> getCustomersByUserName(String name);
+    List<CustomerDto> getCustomersByUserName(String name, FieldSet fields);
 
 
     CustomerDto createCustomer(CustomerDto customerDto);
@@ -11,6 +11,7 @@ import com.anil.crm.repositories.TicketRepository;
 import com.anil.crm.repositories.UserRepository;
 import com.anil.crm.web.mappers.CustomerMapper;
 import com.anil.crm.web.models.CustomerDto;
+import com.anil.crm.web.models.FieldSet;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,11 +34,16 @@ public class CustomerServiceImpl implements CustomerService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final CustomerMapper customerMapper;
+    private final TokenVersionService tokenVersionService;
+    private final TypeaheadService typeaheadService;
 
     @Override
     @Transactional(readOnly = true)
-    public List<CustomerDto> getAllCustomers() {
-        log.debug("Fetching all customers");
+    public List<CustomerDto> getAllCustomers(FieldSet fields) {
+        log.debug("Fetching all customers with fields {}", fields);
+        if (!fields.isAll()) {
+            return customerRepository.findSparse(null, fields);
+        }
         return customerRepository
                 .findAll()
                 .stream()
@@ -67,8 +73,11 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<CustomerDto> getCustomersByUserName(String name) {
-        log.debug("Searching customers by name: {}", name);
+    public List<CustomerDto> getCustomersByUserName(String name, FieldSet fields) {
+        log.debug("Searching customers by name: {} with fields {}", name, fields);
+        if (!fields.isAll()) {
+            return customerRepository.findSparse(name, fields);
+        }
         return customerRepository
                 .findCustomersByUserFirstNameContainingOrUserLastNameContaining(name, name)
                 .stream()
@@ -100,6 +109,7 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setUser(user);
 
         Customer savedCustomer = customerRepository.save(customer);
+        typeaheadService.customerSaved(savedCustomer);
 
         log.info("Customer created with id: {} and user id: {}", savedCustomer.getId(), savedCustomer.getUser().getId());
 
@@ -129,8 +139,10 @@ public class CustomerServiceImpl implements CustomerService {
                 throw new EmailAlreadyExistsException("Email already in use: " + customerDto.getEmail());
             }
             existingUser.setEmail(customerDto.getEmail());
+            tokenVersionService.revokeTokens(existingUser);
         }
         Customer updatedCustomer = customerRepository.save(existingCustomer);
+        typeaheadService.customerSaved(updatedCustomer);
 
         return customerMapper.customerToCustomerDto(updatedCustomer);
     }
@@ -150,7 +162,9 @@ public class CustomerServiceImpl implements CustomerService {
             throw new ResourceInUseException("Bu müşteri silinemez. Müşteriye ait aktif biletler bulunmaktadır.");
         }
 
+        customerRepository.findById(id).ifPresent(customer -> tokenVersionService.evict(customer.getUser().getId()));
         customerRepository.deleteById(id);
+        typeaheadService.customerRemoved(id);
         log.info("Customer deleted successfully with id: {}", id);
     }
 }
\ No newline at end of file
@@ -28,6 +28,7 @@ public class DepartmentServiceImpl implements DepartmentService {
     private final AgentRepository agentRepository;
     private final DepartmentMapper departmentMapper;
     private final TicketRepository ticketRepository;
+    private final TypeaheadService typeaheadService;
 
 
     @Override
@@ -85,6 +86,7 @@ public class DepartmentServiceImpl implements DepartmentService {
                 throw new DepartmentNameExistsException("Department name already in use: " + departmentDto.getName());
             }
             existingDepartment.setName(departmentDto.getName());
+            typeaheadService.departmentRenamed();
         }
 
         existingDepartment.setDescription(departmentDto.getDescription());
@@ -0,0 +1,37 @@
+package com.anil.crm.services;
+
+import com.anil.crm.web.models.TicketEvent;
+
+import java.util.Collection;
+
+/**
+ * Transactional outbox for ticket events. Events are written in the transaction of the change they describe, so they
+ * exist exactly when the change committed, and a background relay later hands them to every {@link TicketEventHandler}.
+ * The request only pays for one INSERT; whatever the handlers do happens asynchronously and survives restarts.
+ * Without any handler nothing would ever take the events out again, so none are written.
+ */
+public interface OutboxService {
+
+    /**
+     * Adds the event to the outbox in the surrounding transaction.
+     */
+    void append(TicketEvent event);
+
+    /**
+     * Adds all the events in the surrounding transaction; they are inserted as JDBC batches.
+     */
+    void appendAll(Collection<TicketEvent> events);
+
+    /**
+     * Adds one {@code type} event per ticket with a single statement, reading each ticket's current department,
+     * agent and status. For bulk changes, whose tickets are never loaded.
+     */
+    void appendForTickets(TicketEvent.Type type, Collection<Long> ticketIds);
+
+    /**
+     * Delivers one batch of due events in its own transaction.
+     *
+     * @return the number of events taken from the outbox, delivered or not
+     */
+    int relayBatch();
+}
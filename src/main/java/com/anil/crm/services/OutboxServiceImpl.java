@@ -0,0 +1,216 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.OutboxEvent;
+import com.anil.crm.repositories.OutboxRepository;
+import com.anil.crm.web.models.TicketEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class OutboxServiceImpl implements OutboxService, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxServiceImpl.class);
+
+    private final OutboxRepository outboxRepository;
+    private final List<TicketEventHandler> handlers;
+    private final TransactionTemplate relayTransaction;
+    private final TransactionTemplate handlerTransaction;
+
+    // One relay thread per instance; further instances share the outbox through SKIP LOCKED.
+    private final ScheduledThreadPoolExecutor relay =
+            new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("outbox-relay-"));
+
+    // Commits that land while a wake-up is already queued share it instead of queueing one each.
+    private final AtomicBoolean wakeUpQueued = new AtomicBoolean();
+
+    @Value("${application.outbox.relay.enabled:true}")
+    private boolean relayEnabled = true;
+
+    @Value("${application.outbox.relay.batch-size:100}")
+    private int batchSize = 100;
+
+    // Catches up on retries and on events a stopped instance left behind; new events wake the relay on commit.
+    @Value("${application.outbox.relay.poll-interval-ms:1000}")
+    private long pollIntervalMillis = 1000;
+
+    private volatile boolean started;
+
+    public OutboxServiceImpl(OutboxRepository outboxRepository,
+                             List<TicketEventHandler> handlers,
+                             PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.handlers = handlers;
+        this.relayTransaction = new TransactionTemplate(transactionManager);
+        // A handler that joined the relay's transaction and failed would leave it rollback-only: the batch could then
+        // never commit, and its events would be retaken at once without their attempts ever being counted.
+        this.handlerTransaction = new TransactionTemplate(transactionManager);
+        this.handlerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!relayEnabled) {
+            log.info("Outbox relay is disabled");
+            return;
+        }
+        if (handlers.isEmpty()) {
+            log.info("Outbox relay not started: there are no ticket event handlers, so no events are recorded");
+            return;
+        }
+        started = true;
+        relay.scheduleWithFixedDelay(this::drain, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Outbox relay started with {} handlers", handlers.size());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(TicketEvent event) {
+        if (handlers.isEmpty()) {
+            return;
+        }
+        outboxRepository.save(toRow(event));
+        AfterCommit.run(this::wakeUp);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(Collection<TicketEvent> events) {
+        if (events.isEmpty() || handlers.isEmpty()) {
+            return;
+        }
+        outboxRepository.saveAll(events.stream().map(OutboxServiceImpl::toRow).toList());
+        AfterCommit.run(this::wakeUp);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendForTickets(TicketEvent.Type type, Collection<Long> ticketIds) {
+        if (ticketIds.isEmpty() || handlers.isEmpty()) {
+            return;
+        }
+        int appended = outboxRepository.appendForTickets(ticketIds.toArray(Long[]::new), type.name(), LocalDateTime.now());
+        log.debug("Appended {} {} events to the outbox", appended, type);
+        AfterCommit.run(this::wakeUp);
+    }
+
+    @Override
+    public int relayBatch() {
+        Integer taken = relayTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> batch = outboxRepository.lockNextBatch(now, batchSize);
+            List<Long> delivered = new ArrayList<>(batch.size());
+            List<Long> failed = new ArrayList<>();
+            List<String> errors = new ArrayList<>();
+
+            for (OutboxEvent row : batch) {
+                try {
+                    TicketEvent event = toTicketEvent(row);
+                    for (TicketEventHandler handler : handlers) {
+                        handlerTransaction.executeWithoutResult(handlerStatus -> handler.handle(event));
+                    }
+                    delivered.add(row.getId());
+                } catch (RuntimeException e) {
+                    log.warn("Outbox event {} ({} of ticket {}) failed on attempt {}: {}",
+                            row.getId(), row.getEventType(), row.getTicketId(), row.getAttempts() + 1, e.toString());
+                    failed.add(row.getId());
+                    errors.add(e.toString());
+                }
+            }
+
+            // The rows stay locked until commit, so no other relay can take them between delivery and these writes.
+            if (!delivered.isEmpty()) {
+                outboxRepository.deleteByIds(delivered.toArray(Long[]::new));
+            }
+            if (!failed.isEmpty()) {
+                outboxRepository.retryLater(failed.toArray(Long[]::new), errors.toArray(String[]::new), now);
+            }
+            return batch.size();
+        });
+        return taken != null ? taken : 0;
+    }
+
+    // Keeps taking batches while they come back full, so a backlog drains without waiting out the poll interval.
+    private void drain() {
+        try {
+            while (relayBatch() == batchSize) {
+                log.debug("Outbox relay took a full batch of {}, continuing", batchSize);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, retrying in {} ms: {}", pollIntervalMillis, e.getMessage());
+        }
+    }
+
+    private void wakeUp() {
+        if (!started || !wakeUpQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            relay.execute(() -> {
+                wakeUpQueued.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            wakeUpQueued.set(false);
+        }
+    }
+
+    private static OutboxEvent toRow(TicketEvent event) {
+        LocalDateTime occurredAt = event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now();
+        return OutboxEvent.builder()
+                .eventType(event.getType().name())
+                .ticketId(event.getTicketId())
+                .departmentId(event.getDepartmentId())
+                .assignedAgentId(event.getAssignedAgentId())
+                .status(event.getStatus())
+                .previousStatus(event.getPreviousStatus())
+                .previousAgentId(event.getPreviousAgentId())
+                .commentId(event.getCommentId())
+                .occurredAt(occurredAt)
+                .nextAttemptAt(occurredAt)
+                .build();
+    }
+
+    private static TicketEvent toTicketEvent(OutboxEvent row) {
+        return TicketEvent.builder()
+                .type(TicketEvent.Type.valueOf(row.getEventType()))
+                .ticketId(row.getTicketId())
+                .departmentId(row.getDepartmentId())
+                .assignedAgentId(row.getAssignedAgentId())
+                .status(row.getStatus())
+                .previousStatus(row.getPreviousStatus())
+                .previousAgentId(row.getPreviousAgentId())
+                .commentId(row.getCommentId())
+                .occurredAt(row.getOccurredAt())
+                .build();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        started = false;
+        relay.shutdown();
+        // Lets a running batch commit; anything it does not finish stays in the outbox for the next start.
+        if (!relay.awaitTermination(5, TimeUnit.SECONDS)) {
+            relay.shutdownNow();
+        }
+    }
+}
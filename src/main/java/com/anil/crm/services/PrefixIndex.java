@@ -0,0 +1,373 @@
+package com.anil.crm.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Maps keys to owners (an id and a display label) and finds the owners with a key starting with a prefix.
+ * <p>
+ * Built once from all owners into sorted primitive arrays: every key lives UTF-8 encoded in one {@code byte[]},
+ * found by binary search, and points at its owner by array position, so there is no object per key or per owner
+ * (folded keys are nearly all ASCII, one byte a character). Owners saved or removed afterwards go to a small sorted
+ * overlay, and the arrays skip the owners they replace; {@link #compact()} folds the overlay back into fresh arrays.
+ * Keys are matched exactly as given; callers normalize them. Not thread-safe.
+ */
+final class PrefixIndex {
+
+    record Match(long id, String key, String label) {
+    }
+
+    private static final Comparator<Match> BY_KEY = Comparator.comparing(Match::key).thenComparingLong(Match::id);
+
+    // Arrays: ids ascending; owner o's label is labels[labelStart[o], labelStart[o + 1]), key k is
+    // keys[keyStart[k], keyStart[k + 1]), keys sorted, and keyOwner[k] is the owner's position in ids.
+    private final long[] ids;
+    private final byte[] labels;
+    private final int[] labelStart;
+    private final byte[] keys;
+    private final int[] keyStart;
+    private final int[] keyOwner;
+    private final BitSet replaced;
+    private int replacedCount;
+
+    // Overlay: owners saved since the arrays were built, by id, and their keys in key order.
+    private final Map<Long, Owner> added = new TreeMap<>();
+    private final NavigableSet<OverlayKey> addedKeys = new TreeSet<>();
+
+    private PrefixIndex(long[] ids, byte[] labels, int[] labelStart, byte[] keys, int[] keyStart, int[] keyOwner) {
+        this.ids = ids;
+        this.labels = labels;
+        this.labelStart = labelStart;
+        this.keys = keys;
+        this.keyStart = keyStart;
+        this.keyOwner = keyOwner;
+        this.replaced = new BitSet(ids.length);
+    }
+
+    static PrefixIndex empty() {
+        return new Builder().build();
+    }
+
+    /**
+     * An independent index over the same arrays; only the overlay and the replaced owners are copied.
+     */
+    PrefixIndex copy() {
+        PrefixIndex copy = new PrefixIndex(ids, labels, labelStart, keys, keyStart, keyOwner);
+        copy.replaced.or(replaced);
+        copy.replacedCount = replacedCount;
+        copy.added.putAll(added);
+        copy.addedKeys.addAll(addedKeys);
+        return copy;
+    }
+
+    /**
+     * Adds the owner, or replaces all its keys and its label.
+     */
+    void put(long id, String label, Collection<String> ownerKeys) {
+        remove(id);
+        Owner owner = new Owner(label, List.copyOf(new LinkedHashSet<>(ownerKeys)));
+        added.put(id, owner);
+        owner.keys().forEach(key -> addedKeys.add(new OverlayKey(key, id)));
+    }
+
+    void remove(long id) {
+        Owner owner = added.remove(id);
+        if (owner != null) {
+            owner.keys().forEach(key -> addedKeys.remove(new OverlayKey(key, id)));
+        }
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0 && !replaced.get(position)) {
+            replaced.set(position);
+            replacedCount++;
+        }
+    }
+
+    /**
+     * Up to {@code limit} owners with a key starting with {@code prefix}, ordered by their first such key.
+     */
+    List<Match> search(String prefix, int limit) {
+        List<Match> matches = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        byte[] encoded = prefix.getBytes(StandardCharsets.UTF_8);
+        for (int key = firstKeyNotBefore(encoded); key < keyOwner.length && matches.size() < limit
+                && keyStartsWith(key, encoded); key++) {
+            int owner = keyOwner[key];
+            if (!replaced.get(owner) && seen.add(ids[owner])) {
+                matches.add(new Match(ids[owner], key(key), label(owner)));
+            }
+        }
+
+        int fromArrays = matches.size();
+        for (OverlayKey key : addedKeys.tailSet(new OverlayKey(prefix, Long.MIN_VALUE), true)) {
+            if (!key.key().startsWith(prefix) || matches.size() == fromArrays + limit) {
+                break;
+            }
+            if (seen.add(key.id())) {
+                matches.add(new Match(key.id(), key.key(), added.get(key.id()).label()));
+            }
+        }
+        if (matches.size() > fromArrays) {
+            matches.sort(BY_KEY);
+            return matches.size() > limit ? matches.subList(0, limit) : matches;
+        }
+        return matches;
+    }
+
+    int size() {
+        return ids.length - replacedCount + added.size();
+    }
+
+    int keyCount() {
+        return keyOwner.length - replacedKeyCount() + addedKeys.size();
+    }
+
+    /**
+     * Owners saved or removed since the arrays were built; searches get slower and memory grows with it.
+     */
+    int pendingChanges() {
+        return replacedCount + added.size();
+    }
+
+    /**
+     * Approximate heap size in bytes (64-bit JVM, compressed references); the overlay is estimated per entry.
+     */
+    long estimatedBytes() {
+        long bytes = array(ids.length, 8) + array(labels.length, 1) + array(labelStart.length, 4)
+                + array(keys.length, 1) + array(keyStart.length, 4) + array(keyOwner.length, 4)
+                + array(replaced.size() / 64, 8);
+        for (Owner owner : added.values()) {
+            // TreeMap entry and Long, Owner, label String, key list
+            bytes += 40 + 16 + 16 + string(owner.label()) + array(owner.keys().size(), 4);
+        }
+        for (OverlayKey key : addedKeys) {
+            // TreeSet (TreeMap) entry, OverlayKey, key String; the key string is shared with the owner's list
+            bytes += 40 + 24 + string(key.key());
+        }
+        return bytes;
+    }
+
+    /**
+     * A new index with the overlay folded into the arrays.
+     */
+    PrefixIndex compact() {
+        // Each owner's keys, grouped by owner position: ownerKeys[ownerKeyStart[o], ownerKeyStart[o + 1])
+        int[] ownerKeyStart = new int[ids.length + 1];
+        for (int owner : keyOwner) {
+            ownerKeyStart[owner + 1]++;
+        }
+        for (int owner = 0; owner < ids.length; owner++) {
+            ownerKeyStart[owner + 1] += ownerKeyStart[owner];
+        }
+        int[] ownerKeys = new int[keyOwner.length];
+        int[] next = Arrays.copyOf(ownerKeyStart, ids.length);
+        for (int key = 0; key < keyOwner.length; key++) {
+            ownerKeys[next[keyOwner[key]]++] = key;
+        }
+
+        Builder builder = new Builder();
+        Iterator<Map.Entry<Long, Owner>> overlay = added.entrySet().iterator();
+        Map.Entry<Long, Owner> pending = overlay.hasNext() ? overlay.next() : null;
+        for (int owner = 0; owner <= ids.length; owner++) {
+            long id = owner < ids.length ? ids[owner] : Long.MAX_VALUE;
+            while (pending != null && (pending.getKey() < id || owner == ids.length)) {
+                builder.add(pending.getKey(), pending.getValue().label(), pending.getValue().keys());
+                pending = overlay.hasNext() ? overlay.next() : null;
+            }
+            if (owner < ids.length && !replaced.get(owner)) {
+                List<String> keysOfOwner = new ArrayList<>();
+                for (int i = ownerKeyStart[owner]; i < ownerKeyStart[owner + 1]; i++) {
+                    keysOfOwner.add(key(ownerKeys[i]));
+                }
+                builder.add(id, label(owner), keysOfOwner);
+            }
+        }
+        return builder.build();
+    }
+
+    private int replacedKeyCount() {
+        if (replacedCount == 0) {
+            return 0;
+        }
+        int count = 0;
+        for (int owner : keyOwner) {
+            if (replaced.get(owner)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int firstKeyNotBefore(byte[] prefix) {
+        int low = 0;
+        int high = keyOwner.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareKey(middle, prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compareKey(int key, byte[] value) {
+        int start = keyStart[key];
+        return Arrays.compareUnsigned(keys, start, keyStart[key + 1], value, 0, value.length);
+    }
+
+    private boolean keyStartsWith(int key, byte[] prefix) {
+        int start = keyStart[key];
+        return keyStart[key + 1] - start >= prefix.length
+                && Arrays.equals(keys, start, start + prefix.length, prefix, 0, prefix.length);
+    }
+
+    private String key(int key) {
+        return new String(keys, keyStart[key], keyStart[key + 1] - keyStart[key], StandardCharsets.UTF_8);
+    }
+
+    private String label(int owner) {
+        return new String(labels, labelStart[owner], labelStart[owner + 1] - labelStart[owner], StandardCharsets.UTF_8);
+    }
+
+    private static long array(long length, int elementBytes) {
+        return (16 + length * elementBytes + 7) / 8 * 8;
+    }
+
+    private static long string(String value) {
+        return 24 + array(value.length(), 2);
+    }
+
+    private record Owner(String label, List<String> keys) {
+    }
+
+    private record OverlayKey(String key, long id) implements Comparable<OverlayKey> {
+
+        @Override
+        public int compareTo(OverlayKey other) {
+            int byKey = key.compareTo(other.key);
+            return byKey != 0 ? byKey : Long.compare(id, other.id);
+        }
+    }
+
+    /**
+     * Collects owners in ascending id order, then sorts their keys once.
+     */
+    static final class Builder {
+
+        private long[] ids = new long[16];
+        private int owners;
+        private byte[] labels = new byte[256];
+        private int[] labelStart = new int[17];
+        private byte[] keys = new byte[256];
+        private int[] keyStart = new int[33];
+        private int[] keyOwner = new int[32];
+        private int keyCount;
+
+        Builder add(long id, String label, Collection<String> ownerKeys) {
+            if (owners > 0 && id <= ids[owners - 1]) {
+                throw new IllegalArgumentException("Ids must be added in ascending order: " + id + " after " + ids[owners - 1]);
+            }
+            ids = ensure(ids, owners + 1);
+            ids[owners] = id;
+            labelStart = ensure(labelStart, owners + 2);
+            byte[] encodedLabel = label.getBytes(StandardCharsets.UTF_8);
+            labels = append(labels, labelStart[owners], encodedLabel);
+            labelStart[owners + 1] = labelStart[owners] + encodedLabel.length;
+
+            for (String key : new LinkedHashSet<>(ownerKeys)) {
+                keyOwner = ensure(keyOwner, keyCount + 1);
+                keyOwner[keyCount] = owners;
+                keyStart = ensure(keyStart, keyCount + 2);
+                byte[] encodedKey = key.getBytes(StandardCharsets.UTF_8);
+                keys = append(keys, keyStart[keyCount], encodedKey);
+                keyStart[keyCount + 1] = keyStart[keyCount] + encodedKey.length;
+                keyCount++;
+            }
+            owners++;
+            return this;
+        }
+
+        PrefixIndex build() {
+            int[] order = new int[keyCount];
+            for (int key = 0; key < keyCount; key++) {
+                order[key] = key;
+            }
+            sort(order);
+
+            byte[] sortedKeys = new byte[keyStart[keyCount]];
+            int[] sortedStart = new int[keyCount + 1];
+            int[] sortedOwner = new int[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                int key = order[i];
+                int length = keyStart[key + 1] - keyStart[key];
+                System.arraycopy(keys, keyStart[key], sortedKeys, sortedStart[i], length);
+                sortedStart[i + 1] = sortedStart[i] + length;
+                sortedOwner[i] = keyOwner[key];
+            }
+            return new PrefixIndex(Arrays.copyOf(ids, owners), Arrays.copyOf(labels, labelStart[owners]),
+                    Arrays.copyOf(labelStart, owners + 1), sortedKeys, sortedStart, sortedOwner);
+        }
+
+        // Bottom-up merge sort of key numbers; stable, so equal keys stay in id order.
+        private void sort(int[] order) {
+            int[] from = order;
+            int[] to = new int[order.length];
+            for (int width = 1; width < order.length; width *= 2) {
+                for (int low = 0; low < order.length; low += 2 * width) {
+                    int middle = Math.min(low + width, order.length);
+                    int high = Math.min(low + 2 * width, order.length);
+                    int left = low;
+                    int right = middle;
+                    for (int i = low; i < high; i++) {
+                        if (left < middle && (right == high || compare(from[left], from[right]) <= 0)) {
+                            to[i] = from[left++];
+                        } else {
+                            to[i] = from[right++];
+                        }
+                    }
+                }
+                int[] swap = from;
+                from = to;
+                to = swap;
+            }
+            if (from != order) {
+                System.arraycopy(from, 0, order, 0, order.length);
+            }
+        }
+
+        private int compare(int a, int b) {
+            return Arrays.compareUnsigned(keys, keyStart[a], keyStart[a + 1], keys, keyStart[b], keyStart[b + 1]);
+        }
+
+        private static byte[] append(byte[] target, int at, byte[] value) {
+            byte[] result = target;
+            if (at + value.length > target.length) {
+                result = Arrays.copyOf(target, Math.max(target.length * 2, at + value.length));
+            }
+            System.arraycopy(value, 0, result, at, value.length);
+            return result;
+        }
+
+        private static long[] ensure(long[] array, int length) {
+            return length <= array.length ? array : Arrays.copyOf(array, Math.max(array.length * 2, length));
+        }
+
+        private static int[] ensure(int[] array, int length) {
+            return length <= array.length ? array : Arrays.copyOf(array, Math.max(array.length * 2, length));
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package com.anil.crm.services;
 
 import com.anil.crm.domain.User;
+import com.anil.crm.web.models.CursorPage;
 import com.anil.crm.web.models.TicketCommentDto;
 
-import java.util.List;
-
 public interface TicketCommentService {
 
 
-    List<TicketCommentDto> getCommentsByTicketId(Long ticketId);
+    /**
+     * One page of a ticket's comments, oldest first, starting after {@code cursor} (from the start when empty).
+     */
+    CursorPage<TicketCommentDto> getCommentsByTicketId(Long ticketId, String cursor, Integer size);
 
-    List<TicketCommentDto> getCommentsByAuthorId(Long authorId);
+    /**
+     * One page of an author's comments, newest first, starting after {@code cursor} (from the newest when empty).
+     */
+    CursorPage<TicketCommentDto> getCommentsByAuthorId(Long authorId, String cursor, Integer size);
 
     TicketCommentDto addComment(TicketCommentDto commentDto, User author);
 
@@ -5,17 +5,22 @@ import com.anil.crm.domain.TicketComment;
 import com.anil.crm.domain.User;
 import com.anil.crm.exceptions.ResourceNotFoundException;
 import com.anil.crm.repositories.TicketCommentRepository;
+import com.anil.crm.repositories.TicketCommentView;
 import com.anil.crm.repositories.TicketRepository;
 import com.anil.crm.web.mappers.TicketCommentMapper;
+import com.anil.crm.web.models.CursorPage;
+import com.anil.crm.web.models.KeysetCursor;
 import com.anil.crm.web.models.TicketCommentDto;
+import com.anil.crm.web.models.TicketEvent;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,27 +31,32 @@ public class TicketCommentServiceImpl implements TicketCommentService {
     private final TicketCommentRepository ticketCommentRepository;
     private final TicketRepository ticketRepository;
     private final TicketCommentMapper ticketCommentMapper;
+    private final TicketEventService ticketEventService;
+    private final OutboxService outboxService;
 
     @Override
     @Transactional(readOnly = true)
-    public List<TicketCommentDto> getCommentsByTicketId(Long ticketId) {
-        log.debug("Fetching comments for ticketId: {}", ticketId);
-
-        return ticketCommentRepository.findByTicketIdOrderByCreatedAtAsc(ticketId)
-                .stream()
-                .map(ticketCommentMapper::ticketCommentToTicketCommentDto)
-                .collect(Collectors.toList());
+    public CursorPage<TicketCommentDto> getCommentsByTicketId(Long ticketId, String cursor, Integer size) {
+        log.debug("Fetching comments for ticketId: {} after cursor: {}", ticketId, cursor);
+        KeysetCursor after = KeysetCursor.decode(cursor, KeysetCursor.FIRST_ASCENDING);
+        int pageSize = CursorPage.resolveSize(size);
+        return toPage(ticketCommentRepository.findThreadPage(ticketId, after.getCreatedAt(), after.getId(),
+                Limit.of(pageSize + 1)), pageSize);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TicketCommentDto> getCommentsByAuthorId(Long authorId) {
-        log.debug("Fetching comments for authorId: {}", authorId);
+    public CursorPage<TicketCommentDto> getCommentsByAuthorId(Long authorId, String cursor, Integer size) {
+        log.debug("Fetching comments for authorId: {} after cursor: {}", authorId, cursor);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.resolveSize(size);
+        return toPage(ticketCommentRepository.findAuthorFeedPage(authorId, after.getCreatedAt(), after.getId(),
+                Limit.of(pageSize + 1)), pageSize);
+    }
 
-        return ticketCommentRepository.findByAuthorIdOrderByCreatedAtDesc(authorId)
-                .stream()
-                .map(ticketCommentMapper::ticketCommentToTicketCommentDto)
-                .collect(Collectors.toList());
+    private CursorPage<TicketCommentDto> toPage(List<TicketCommentView> rows, int pageSize) {
+        return CursorPage.of(rows, pageSize, ticketCommentMapper::ticketCommentViewToTicketCommentDto,
+                row -> new KeysetCursor(row.getCreatedAt(), row.getId()));
     }
 
     @Override
@@ -64,7 +74,17 @@ public class TicketCommentServiceImpl implements TicketCommentService {
 
         TicketComment savedComment = ticketCommentRepository.save(newComment);
         log.info("Comment created with id: {}", savedComment.getId());
-
+        TicketEvent event = TicketEvent.builder()
+                .type(TicketEvent.Type.COMMENT_ADDED)
+                .ticketId(ticket.getId())
+                .departmentId(ticket.getDepartment() != null ? ticket.getDepartment().getId() : null)
+                .assignedAgentId(ticket.getAssignedAgent() != null ? ticket.getAssignedAgent().getId() : null)
+                .status(ticket.getStatus())
+                .commentId(savedComment.getId())
+                .occurredAt(LocalDateTime.now())
+                .build();
+        outboxService.append(event);
+        ticketEventService.publish(event);
 
         return ticketCommentMapper.ticketCommentToTicketCommentDto(savedComment);
     }
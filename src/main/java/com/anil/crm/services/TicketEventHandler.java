@@ -0,0 +1,18 @@
+package com.anil.crm.services;
+
+import com.anil.crm.web.models.TicketEvent;
+
+/**
+ * Reacts to ticket events relayed from the outbox, after and outside the request that changed the ticket. Every bean
+ * of this type receives every event.
+ * <p>
+ * Delivery is at least once: when any handler throws, the event is handed to every handler again on the next attempt,
+ * and a relay that dies mid-batch leaves its events to be relayed again. Handlers must therefore be idempotent.
+ * <p>
+ * Each call runs in a transaction of its own, separate from the relay's, which holds the batch's row locks. A handler
+ * that throws rolls back only its own writes; the relay records the failure and retries the event later.
+ */
+public interface TicketEventHandler {
+
+    void handle(TicketEvent event);
+}
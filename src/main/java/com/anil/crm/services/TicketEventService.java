@@ -0,0 +1,29 @@
+package com.anil.crm.services;
+
+import com.anil.crm.web.models.TicketEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes ticket changes to dashboards over Server-Sent Events, so they no longer have to poll the ticket lists.
+ * Every subscriber has its own bounded buffer; publishing only offers to those buffers and never waits on a client.
+ * A subscriber whose buffer is full is disconnected and expected to reconnect and reload its list.
+ */
+public interface TicketEventService {
+
+    /**
+     * Opens a stream of the events of one department and/or one agent's tickets (the agent's previous tickets
+     * included, for reassignments). With neither given, every event is sent.
+     */
+    SseEmitter subscribe(Long departmentId, Long agentId);
+
+    /**
+     * Sends the event to every matching subscriber once the surrounding transaction commits; nothing is sent if it
+     * rolls back.
+     */
+    void publish(TicketEvent event);
+
+    /**
+     * Whether anyone is listening, so callers can skip the queries that would only build events.
+     */
+    boolean hasSubscribers();
+}
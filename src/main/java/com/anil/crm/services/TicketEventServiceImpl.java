@@ -0,0 +1,236 @@
+package com.anil.crm.services;
+
+import com.anil.crm.exceptions.TicketEventsBusyException;
+import com.anil.crm.web.models.TicketEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class TicketEventServiceImpl implements TicketEventService, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketEventServiceImpl.class);
+
+    // Queued like an event, so a client that went away or stopped reading is found even when no ticket changes.
+    private static final TicketEvent HEARTBEAT = new TicketEvent();
+
+    // Writes happen on this pool, never on the thread that published. A write blocks while the client's socket is full,
+    // so the pool grows instead of queueing: a client that stopped reading holds only its own thread, until the
+    // container's write timeout fails the write. A subscriber has at most one drain task, and subscriptions beyond
+    // maxSubscribers are refused, so the pool is capped at that many threads. A dropped client still stuck in a write
+    // can briefly hold a thread its replacement needs; that drain is rejected and retried on the next event or heartbeat.
+    private final Executor executor;
+    // Only queues heartbeats, never writes, so a stalled client cannot hold it up.
+    private final ScheduledExecutorService heartbeats;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final int maxSubscribers;
+
+    // Read on every publish, changed only when a dashboard connects or leaves.
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public TicketEventServiceImpl(@Value("${application.tickets.events.buffer-size:256}") int bufferSize,
+                                  @Value("${application.tickets.events.timeout-minutes:30}") long timeoutMinutes,
+                                  @Value("${application.tickets.events.heartbeat-seconds:20}") long heartbeatSeconds,
+                                  @Value("${application.tickets.events.max-subscribers:500}") int maxSubscribers) {
+        this(sendExecutor(maxSubscribers), Executors.newSingleThreadScheduledExecutor(
+                        new CustomizableThreadFactory("ticket-events-heartbeat-")),
+                bufferSize, TimeUnit.MINUTES.toMillis(timeoutMinutes), maxSubscribers);
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    TicketEventServiceImpl(Executor executor, int bufferSize, long timeoutMillis, int maxSubscribers) {
+        this(executor, null, bufferSize, timeoutMillis, maxSubscribers);
+    }
+
+    private TicketEventServiceImpl(Executor executor, ScheduledExecutorService heartbeats, int bufferSize,
+                                   long timeoutMillis, int maxSubscribers) {
+        this.executor = executor;
+        this.heartbeats = heartbeats;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    static ExecutorService sendExecutor(int maxThreads) {
+        return new ThreadPoolExecutor(0, maxThreads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new CustomizableThreadFactory("ticket-events-"));
+    }
+
+    @Override
+    public SseEmitter subscribe(Long departmentId, Long agentId) {
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(emitter, departmentId, agentId, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        emitter.onTimeout(() -> {
+            remove(subscriber);
+            emitter.complete();
+        });
+        synchronized (subscribers) {
+            if (subscribers.size() >= maxSubscribers) {
+                throw new TicketEventsBusyException(
+                        "Canlı bilet olayları için abone sınırına ulaşıldı, lütfen daha sonra tekrar deneyin.");
+            }
+            subscribers.add(subscriber);
+        }
+        log.debug("Ticket event subscriber added for department {} / agent {}; {} subscribers",
+                departmentId, agentId, subscribers.size());
+
+        // Sends the response headers at once instead of with the first ticket change.
+        offer(subscriber, HEARTBEAT);
+        return emitter;
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @Override
+    public void publish(TicketEvent event) {
+        AfterCommit.run(() -> {
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.matches(event)) {
+                    offer(subscriber, event);
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, HEARTBEAT);
+        }
+    }
+
+    private void offer(Subscriber subscriber, TicketEvent event) {
+        if (subscriber.buffer.offer(event)) {
+            schedule(subscriber);
+            return;
+        }
+        // A full buffer means the client reads slower than tickets change; waiting for it would stall every writer. If its
+        // drain is stuck in a write, the emitter is completed as soon as the write times out instead of being retried.
+        log.info("Disconnecting slow ticket event subscriber for department {} / agent {}: {} events unsent",
+                subscriber.departmentId, subscriber.agentId, subscriber.buffer.size());
+        remove(subscriber);
+        subscriber.buffer.clear();
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            TicketEvent event;
+            while (!subscriber.closed && (event = subscriber.buffer.poll()) != null) {
+                if (!send(subscriber, event)) {
+                    return;
+                }
+            }
+            if (subscriber.closed) {
+                subscriber.emitter.complete();
+                return;
+            }
+            subscriber.draining.set(false);
+            // Something offered or closed after the last poll found the task still draining, so it is ours to handle.
+        } while ((!subscriber.buffer.isEmpty() || subscriber.closed) && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private boolean send(Subscriber subscriber, TicketEvent event) {
+        try {
+            if (event == HEARTBEAT) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                subscriber.emitter.send(SseEmitter.event()
+                        .name(event.getType().name())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Ticket event subscriber for department {} / agent {} went away: {}",
+                    subscriber.departmentId, subscriber.agentId, e.getMessage());
+            remove(subscriber);
+            return false;
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (subscribers.remove(subscriber)) {
+            log.debug("Ticket event subscriber removed for department {} / agent {}; {} subscribers",
+                    subscriber.departmentId, subscriber.agentId, subscribers.size());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+        }
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        for (Subscriber subscriber : subscribers) {
+            remove(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final Long departmentId;
+        final Long agentId;
+        final BlockingQueue<TicketEvent> buffer;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Long departmentId, Long agentId, BlockingQueue<TicketEvent> buffer) {
+            this.emitter = emitter;
+            this.departmentId = departmentId;
+            this.agentId = agentId;
+            this.buffer = buffer;
+        }
+
+        boolean matches(TicketEvent event) {
+            return (departmentId == null || departmentId.equals(event.getDepartmentId()))
+                    && (agentId == null || agentId.equals(event.getAssignedAgentId())
+                    || agentId.equals(event.getPreviousAgentId()));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.anil.crm.services;
+
+import com.anil.crm.web.models.TicketExportFormat;
+import com.anil.crm.web.models.TicketSearchCriteria;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TicketExportService {
+
+    /**
+     * Writes every ticket matching {@code criteria} to {@code out}, newest first, and returns the number of rows written.
+     */
+    long exportTickets(TicketSearchCriteria criteria, TicketExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,108 @@
+package com.anil.crm.services;
+
+import com.anil.crm.repositories.TicketRepository;
+import com.anil.crm.repositories.TicketSpecifications;
+import com.anil.crm.repositories.TicketSummary;
+import com.anil.crm.web.mappers.TicketMapper;
+import com.anil.crm.web.models.TicketExportFormat;
+import com.anil.crm.web.models.TicketSearchCriteria;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class TicketExportServiceImpl implements TicketExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketExportServiceImpl.class);
+
+    // Rows pulled from the database cursor per round trip; also the most rows ever held in memory at once.
+    static final int FETCH_SIZE = 1000;
+
+    static final String CSV_HEADER = "id,createdAt,updatedAt,status,priority,subject,description," +
+            "customerId,customerName,customerEmail,departmentId,departmentName," +
+            "assignedAgentId,assignedAgentName,assignedAgentEmail";
+
+    private final TicketRepository ticketRepository;
+    private final TicketMapper ticketMapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTickets(TicketSearchCriteria criteria, TicketExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting tickets as {} with criteria: {}", format, criteria);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == TicketExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<TicketSummary> rows = ticketRepository.streamSummaries(TicketSpecifications.matching(criteria), FETCH_SIZE)) {
+            Iterator<TicketSummary> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TicketSummary row = iterator.next();
+                if (format == TicketExportFormat.CSV) {
+                    writeCsvRow(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(ticketMapper.ticketSummaryToTicketDto(row)));
+                }
+                writer.write('\n');
+                count++;
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} tickets as {}", count, format);
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, TicketSummary row) throws IOException {
+        writer.write(String.join(",",
+                csv(row.getId()),
+                csv(row.getCreatedAt()),
+                csv(row.getUpdatedAt()),
+                csv(row.getStatus()),
+                csv(row.getPriority()),
+                csv(row.getSubject()),
+                csv(row.getDescription()),
+                csv(row.getCustomerId()),
+                csv(fullName(row.getCustomerFirstName(), row.getCustomerLastName())),
+                csv(row.getCustomerEmail()),
+                csv(row.getDepartmentId()),
+                csv(row.getDepartmentName()),
+                csv(row.getAssignedAgentId()),
+                csv(fullName(row.getAssignedAgentFirstName(), row.getAssignedAgentLastName())),
+                csv(row.getAssignedAgentEmail())));
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        if (firstName == null && lastName == null) {
+            return null;
+        }
+        return ((firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName)).trim();
+    }
+
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
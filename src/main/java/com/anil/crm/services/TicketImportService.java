@@ -0,0 +1,16 @@
+package com.anil.crm.services;
+
+import com.anil.crm.web.models.TicketImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface TicketImportService {
+
+    /**
+     * Reads a JSON array of tickets from {@code in} one element at a time and inserts them in chunked transactions.
+     * Rows that fail validation or reference a missing customer, department or agent are reported and skipped;
+     * they never abort the rest of the import.
+     */
+    TicketImportResult importTickets(InputStream in) throws IOException;
+}
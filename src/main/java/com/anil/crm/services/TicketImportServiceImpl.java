@@ -0,0 +1,273 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.Ticket;
+import com.anil.crm.exceptions.InvalidImportException;
+import com.anil.crm.repositories.AgentRepository;
+import com.anil.crm.repositories.CustomerRepository;
+import com.anil.crm.repositories.DepartmentRepository;
+import com.anil.crm.repositories.TicketRepository;
+import com.anil.crm.web.mappers.TicketMapper;
+import com.anil.crm.web.models.AgentDto;
+import com.anil.crm.web.models.CustomerDto;
+import com.anil.crm.web.models.DepartmentDto;
+import com.anil.crm.web.models.TicketDto;
+import com.anil.crm.web.models.TicketEvent;
+import com.anil.crm.web.models.TicketImportError;
+import com.anil.crm.web.models.TicketImportResult;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class TicketImportServiceImpl implements TicketImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketImportServiceImpl.class);
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final TicketRepository ticketRepository;
+    private final CustomerRepository customerRepository;
+    private final DepartmentRepository departmentRepository;
+    private final AgentRepository agentRepository;
+    private final TicketMapper ticketMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final AgentLoadService agentLoadService;
+    private final OutboxService outboxService;
+    private final TicketEventService ticketEventService;
+    private final int chunkSize;
+
+    public TicketImportServiceImpl(
+            TicketRepository ticketRepository,
+            CustomerRepository customerRepository,
+            DepartmentRepository departmentRepository,
+            AgentRepository agentRepository,
+            TicketMapper ticketMapper,
+            ObjectMapper objectMapper,
+            Validator validator,
+            PlatformTransactionManager transactionManager,
+            AgentLoadService agentLoadService,
+            OutboxService outboxService,
+            TicketEventService ticketEventService,
+            @Value("${application.tickets.import.chunk-size:1000}") int chunkSize) {
+        this.ticketRepository = ticketRepository;
+        this.customerRepository = customerRepository;
+        this.departmentRepository = departmentRepository;
+        this.agentRepository = agentRepository;
+        this.ticketMapper = ticketMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.agentLoadService = agentLoadService;
+        this.outboxService = outboxService;
+        this.ticketEventService = ticketEventService;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public TicketImportResult importTickets(InputStream in) throws IOException {
+        log.info("Starting bulk ticket import with chunk size {}", chunkSize);
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidImportException("İçe aktarılacak biletler bir JSON dizisi olarak gönderilmelidir");
+            }
+            try {
+                // Only the current element is ever materialized; the array itself is never buffered.
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    JsonNode node = parser.readValueAsTree();
+                    Row row = readRow(progress.total++, node, progress);
+                    if (row != null) {
+                        chunk.add(row);
+                    }
+                    if (chunk.size() == chunkSize) {
+                        writeChunk(chunk, progress);
+                        chunk.clear();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                // Nothing after a syntax error can be trusted; keep what was read so far and stop there.
+                log.warn("Bulk ticket import stopped at row {}: {}", progress.total, e.getOriginalMessage());
+                progress.fail(progress.total, "Geçersiz JSON, içe aktarma bu satırda durdu: " + e.getOriginalMessage());
+                progress.total++;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, progress);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = elapsedNanos == 0 ? 0 : progress.imported * 1_000_000_000d / elapsedNanos;
+        log.info("Bulk ticket import finished: {} rows, {} imported, {} failed, {} rows/s",
+                progress.total, progress.imported, progress.failed, Math.round(rowsPerSecond));
+
+        progress.errors.sort(Comparator.comparingLong(TicketImportError::getIndex));
+
+        return TicketImportResult.builder()
+                .total(progress.total)
+                .imported(progress.imported)
+                .failed(progress.failed)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(Math.round(rowsPerSecond * 10) / 10d)
+                .errors(progress.errors)
+                .errorsTruncated(progress.failed > progress.errors.size())
+                .build();
+    }
+
+    /** Maps and validates one array element, or records why it was rejected and returns {@code null}. */
+    private Row readRow(long index, JsonNode node, Progress progress) {
+        TicketDto ticketDto;
+        try {
+            ticketDto = objectMapper.treeToValue(node, TicketDto.class);
+        } catch (JsonProcessingException e) {
+            progress.fail(index, "Geçersiz bilet verisi: " + e.getOriginalMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<TicketDto>> violations = validator.validate(ticketDto);
+        if (!violations.isEmpty()) {
+            progress.fail(index, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        if (ticketDto.getCustomer().getId() == null) {
+            progress.fail(index, "Müşteri bilgisi (ID) boş olamaz");
+            return null;
+        }
+        if (ticketDto.getDepartment().getId() == null) {
+            progress.fail(index, "Departman bilgisi (ID) boş olamaz");
+            return null;
+        }
+        return new Row(index, ticketDto);
+    }
+
+    private void writeChunk(List<Row> chunk, Progress progress) {
+        try {
+            ChunkResult result = transactionTemplate.execute(status -> insertChunk(chunk));
+            progress.imported += result.imported();
+            result.rejected().forEach(error -> progress.fail(error.getIndex(), error.getMessage()));
+        } catch (DataAccessException e) {
+            log.warn("Bulk ticket import chunk starting at row {} rolled back", chunk.get(0).index(), e);
+            String message = "Bu satırın bulunduğu parti yazılamadı: " + e.getMostSpecificCause().getMessage();
+            chunk.forEach(row -> progress.fail(row.index(), message));
+        }
+    }
+
+    /**
+     * Checks every customer, department and agent the chunk references with one {@code IN} query per table, then
+     * inserts the valid rows; with sequence IDs Hibernate sends them as JDBC batches.
+     */
+    private ChunkResult insertChunk(List<Row> chunk) {
+        Set<Long> customerIds = customerRepository.findExistingIds(referencedIds(chunk, TicketDto::getCustomer, CustomerDto::getId));
+        Set<Long> departmentIds = departmentRepository.findExistingIds(referencedIds(chunk, TicketDto::getDepartment, DepartmentDto::getId));
+        Set<Long> agentIdsInChunk = referencedIds(chunk, TicketDto::getAssignedAgent, AgentDto::getId);
+        Set<Long> agentIds = agentIdsInChunk.isEmpty() ? Set.of() : agentRepository.findExistingIds(agentIdsInChunk);
+
+        List<Ticket> tickets = new ArrayList<>(chunk.size());
+        List<TicketImportError> rejected = new ArrayList<>();
+        for (Row row : chunk) {
+            TicketDto ticketDto = row.ticket();
+            Long customerId = ticketDto.getCustomer().getId();
+            Long departmentId = ticketDto.getDepartment().getId();
+            Long agentId = ticketDto.getAssignedAgent() != null ? ticketDto.getAssignedAgent().getId() : null;
+
+            if (!customerIds.contains(customerId)) {
+                rejected.add(new TicketImportError(row.index(), "Customer not found with id: " + customerId));
+            } else if (!departmentIds.contains(departmentId)) {
+                rejected.add(new TicketImportError(row.index(), "Department not found with id: " + departmentId));
+            } else if (agentId != null && !agentIds.contains(agentId)) {
+                rejected.add(new TicketImportError(row.index(), "Assigned agent not found with id: " + agentId));
+            } else {
+                Ticket ticket = ticketMapper.ticketDtoToTicket(ticketDto);
+                ticket.setCustomer(customerRepository.getReferenceById(customerId));
+                ticket.setDepartment(departmentRepository.getReferenceById(departmentId));
+                ticket.setAssignedAgent(agentId != null ? agentRepository.getReferenceById(agentId) : null);
+                tickets.add(ticket);
+            }
+        }
+
+        ticketRepository.saveAll(tickets);
+        // Imported rows keep the agent they were exported with; undone with the chunk if it rolls back.
+        tickets.forEach(ticket -> agentLoadService.ticketChanged(null, AgentLoadService.TicketLoad.of(ticket)));
+
+        // Imported tickets are announced like created ones; the events commit or roll back with the chunk.
+        List<TicketEvent> events = tickets.stream().map(TicketImportServiceImpl::created).toList();
+        outboxService.appendAll(events);
+        if (ticketEventService.hasSubscribers()) {
+            events.forEach(ticketEventService::publish);
+        }
+        return new ChunkResult(tickets.size(), rejected);
+    }
+
+    private static TicketEvent created(Ticket ticket) {
+        return TicketEvent.builder()
+                .type(TicketEvent.Type.TICKET_CREATED)
+                .ticketId(ticket.getId())
+                .departmentId(ticket.getDepartment().getId())
+                .assignedAgentId(ticket.getAssignedAgent() != null ? ticket.getAssignedAgent().getId() : null)
+                .status(ticket.getStatus())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static <T> Set<Long> referencedIds(List<Row> chunk, Function<TicketDto, T> reference, Function<T, Long> id) {
+        Set<Long> ids = new HashSet<>();
+        for (Row row : chunk) {
+            T referenced = reference.apply(row.ticket());
+            if (referenced != null) {
+                ids.add(id.apply(referenced));
+            }
+        }
+        ids.remove(null);
+        return ids;
+    }
+
+    private record Row(long index, TicketDto ticket) {
+    }
+
+    private record ChunkResult(int imported, List<TicketImportError> rejected) {
+    }
+
+    private static final class Progress {
+
+        long total;
+        long imported;
+        long failed;
+        final List<TicketImportError> errors = new ArrayList<>();
+
+        void fail(long index, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new TicketImportError(index, message));
+            }
+        }
+    }
+}
@@ -2,25 +2,69 @@ package com.anil.crm.services;
 
 import com.anil.crm.domain.TicketPriority;
 import com.anil.crm.domain.TicketStatus;
+import com.anil.crm.web.models.BulkTicketAssignRequest;
+import com.anil.crm.web.models.BulkTicketStatusUpdateRequest;
+import com.anil.crm.web.models.BulkTicketUpdateResult;
+import com.anil.crm.web.models.CompactTicketPage;
+import com.anil.crm.web.models.CursorPage;
+import com.anil.crm.web.models.FieldSet;
+import com.anil.crm.web.models.TicketChanges;
 import com.anil.crm.web.models.TicketDto;
+import com.anil.crm.web.models.TicketSearchCriteria;
+import com.anil.crm.web.models.TicketSearchHitPage;
 
-import java.util.List;
+import java.util.Optional;
 
 public interface TicketService {
 
     TicketDto getTicketById(Long id);
 
-    List<TicketDto> getAllTickets();
+    /**
+     * A page of tickets, newest first. A sparse {@code fields} set is pushed into the query, so columns and joins
+     * nobody asked for are never read; the same holds for the other listings below.
+     */
+    CursorPage<TicketDto> getAllTickets(String cursor, Integer size, FieldSet fields);
 
-    List<TicketDto> getTicketsByCustomerId(Long customerId);
+    CursorPage<TicketDto> getTicketsByCustomerId(Long customerId, String cursor, Integer size, FieldSet fields);
 
-    List<TicketDto> getTicketsByAssignedAgentId(Long agentId);
+    CursorPage<TicketDto> getTicketsByAssignedAgentId(Long agentId, String cursor, Integer size, FieldSet fields);
 
-    List<TicketDto> getTicketsByDepartmentId(Long departmentId);
+    CursorPage<TicketDto> getTicketsByDepartmentId(Long departmentId, String cursor, Integer size, FieldSet fields);
 
-    List<TicketDto> getTicketsByStatus(TicketStatus status);
+    CursorPage<TicketDto> getTicketsByStatus(TicketStatus status, String cursor, Integer size, FieldSet fields);
 
-    List<TicketDto> getTicketsByPriority(TicketPriority priority);
+    CursorPage<TicketDto> getTicketsByPriority(TicketPriority priority, String cursor, Integer size, FieldSet fields);
+
+    CursorPage<TicketDto> searchTickets(TicketSearchCriteria criteria, String cursor, Integer size, FieldSet fields);
+
+    /**
+     * Same filters and paging as {@link #searchTickets}, in compact form: tickets reference their customer, department
+     * and agent by ID, and the page includes each of them once, loaded with one IN query per kind.
+     */
+    CompactTicketPage searchTicketsCompact(TicketSearchCriteria criteria, String cursor, Integer size);
+
+    /**
+     * Full-text search over ticket subjects, descriptions and comments, most relevant first, with highlighted
+     * fragments. Paged by a (rank, id) cursor; a very broad query ranks only its newest matches and is marked
+     * approximate.
+     */
+    TicketSearchHitPage searchTicketText(String query, String cursor, Integer size);
+
+    /**
+     * Tickets created, updated or deleted after the {@code since} cursor, oldest change first, so a client that keeps
+     * its own copy of the list syncs in proportion to what changed. Without a cursor the feed starts from the
+     * beginning. Changes younger than a few seconds are held back until their transactions have surely committed.
+     * Deletions are only kept for a fixed retention period (see {@link #pruneTombstones()}); a client whose last sync
+     * is older than that must sync again from the beginning.
+     */
+    TicketChanges getChanges(String since, Integer size);
+
+    /**
+     * Drops the deletion records that are older than the change feed's retention period; runs periodically.
+     *
+     * @return number of records dropped
+     */
+    int pruneTombstones();
 
     TicketDto createTicket(TicketDto ticketDto);
 
@@ -31,4 +75,22 @@ public interface TicketService {
     TicketDto updateTicketStatus(Long ticketId, TicketStatus status);
 
     TicketDto assignAgentToTicket(Long id, Long agentId);
+
+    /**
+     * Sets one status on many tickets with set-based UPDATEs, in chunks that each commit on their own.
+     * Missing tickets and tickets whose version no longer matches are reported per ID instead of failing the request.
+     */
+    BulkTicketUpdateResult updateTicketStatuses(BulkTicketStatusUpdateRequest request);
+
+    /**
+     * Bulk counterpart of {@link #assignAgentToTicket}, with the same chunking and per-ID results as
+     * {@link #updateTicketStatuses}.
+     */
+    BulkTicketUpdateResult assignAgentToTickets(BulkTicketAssignRequest request);
+
+    /**
+     * Assigns the next unassigned OPEN ticket of the department (the agent's own when {@code departmentId} is null)
+     * to the agent with {@code agentEmail}, or returns empty when the queue is empty.
+     */
+    Optional<TicketDto> claimNextTicket(String agentEmail, Long departmentId);
 }
\ No newline at end of file
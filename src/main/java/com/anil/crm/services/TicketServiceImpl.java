@@ -4,15 +4,52 @@ package com.anil.crm.services;
 import com.anil.crm.domain.*;
 import com.anil.crm.exceptions.ResourceNotFoundException;
 import com.anil.crm.repositories.*;
+import com.anil.crm.repositories.TicketBulkUpdateRepository.UpdatedTicket;
+import com.anil.crm.web.mappers.AgentMapper;
+import com.anil.crm.web.mappers.CustomerMapper;
+import com.anil.crm.web.mappers.DepartmentMapper;
 import com.anil.crm.web.mappers.TicketMapper;
+import com.anil.crm.web.models.BulkTicketAssignRequest;
+import com.anil.crm.web.models.BulkTicketStatusUpdateRequest;
+import com.anil.crm.web.models.BulkTicketUpdateItem;
+import com.anil.crm.web.models.BulkTicketUpdateResult;
+import com.anil.crm.web.models.CompactTicketDto;
+import com.anil.crm.web.models.CompactTicketPage;
+import com.anil.crm.web.models.CursorPage;
+import com.anil.crm.web.models.FieldSet;
+import com.anil.crm.web.models.KeysetCursor;
+import com.anil.crm.web.models.TicketChanges;
 import com.anil.crm.web.models.TicketDto;
+import com.anil.crm.web.models.TicketEvent;
+import com.anil.crm.web.models.TicketIncludes;
+import com.anil.crm.web.models.RankCursor;
+import com.anil.crm.web.models.TicketSearchCriteria;
+import com.anil.crm.web.models.TicketSearchHit;
+import com.anil.crm.web.models.TicketSearchHitPage;
+import com.anil.crm.web.models.TicketVersionRef;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.HtmlUtils;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,29 +58,63 @@ public class TicketServiceImpl implements TicketService {
 
     private static final Logger log = LoggerFactory.getLogger(TicketServiceImpl.class);
 
+    // Compact pages read the ticket columns and the foreign keys only; the related rows are side-loaded.
+    private static final FieldSet COMPACT_FIELDS = FieldSet.of("id", "version", "createdAt", "updatedAt", "subject",
+            "description", "status", "priority", "customer.id", "department.id", "assignedAgent.id");
+
+    private static final Comparator<KeysetCursor> CHANGE_ORDER =
+            Comparator.comparing(KeysetCursor::getCreatedAt).thenComparing(KeysetCursor::getId);
+
     private final TicketRepository ticketRepository;
     private final CustomerRepository customerRepository;
     private final DepartmentRepository departmentRepository;
     private final AgentRepository agentRepository;
     private final UserRepository userRepository;
     private final TicketMapper ticketMapper;
+    private final CustomerMapper customerMapper;
+    private final AgentMapper agentMapper;
+    private final DepartmentMapper departmentMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final AgentLoadService agentLoadService;
+    private final TicketEventService ticketEventService;
+    private final OutboxService outboxService;
+    private final TicketTombstoneRepository ticketTombstoneRepository;
+
+    // IDs per bulk UPDATE; every chunk commits on its own, so a huge request never holds all of its row locks at once.
+    @Value("${application.tickets.bulk-update.chunk-size:1000}")
+    private int bulkUpdateChunkSize = 1000;
+
+    // updated_at is stamped before commit, so a change can become visible after younger ones were already synced.
+    // The change feed only hands out changes older than this, by when their transactions have committed.
+    @Value("${application.tickets.changes.settle-seconds:5}")
+    private long changesSettleSeconds = 5;
+
+    // Deletions are reported this long; a client that has not synced for longer may miss some and must resync fully.
+    @Value("${application.tickets.changes.tombstone-retention-days:30}")
+    private long tombstoneRetentionDays = 30;
+
+    // New active tickets without an agent go to the least loaded agent of their department; off leaves them to claim-next.
+    @Value("${application.tickets.auto-assign.enabled:true}")
+    private boolean autoAssign = true;
 
     @Override
     @Transactional(readOnly = true)
-    public List<TicketDto> getAllTickets() {
-        log.debug("Fetching all tickets");
-        return ticketRepository.findAll()
-                .stream()
-                .map(ticketMapper::ticketToTicketDto)
-                .collect(Collectors.toList());
+    public CursorPage<TicketDto> getAllTickets(String cursor, Integer size, FieldSet fields) {
+        log.debug("Fetching tickets page after cursor: {}", cursor);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.resolveSize(size);
+        if (!fields.isAll()) {
+            return toSparsePage(Specification.allOf(), after, pageSize, fields);
+        }
+        return toPage(ticketRepository.findAllTickets(after.getCreatedAt(), after.getId(), Limit.of(pageSize + 1)), pageSize);
     }
 
     @Override
     @Transactional(readOnly = true)
     public TicketDto getTicketById(Long id) {
         log.debug("Fetching ticket by id: {}", id);
-        return ticketRepository.findById(id)
-                .map(ticketMapper::ticketToTicketDto)
+        return ticketRepository.findSummaryById(id)
+                .map(ticketMapper::ticketSummaryToTicketDto)
                 .orElseThrow(() -> {
                     log.warn("Ticket not found with id: {}", id);
                     return new ResourceNotFoundException("Ticket not found with id: " + id);
@@ -52,52 +123,214 @@ public class TicketServiceImpl implements TicketService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<TicketDto> getTicketsByCustomerId(Long customerId) {
-        log.debug("Fetching tickets for customerId: {}", customerId);
-        return ticketRepository.findTicketsByCustomerId(customerId)
-                .stream()
-                .map(ticketMapper::ticketToTicketDto)
-                .collect(Collectors.toList());
+    public CursorPage<TicketDto> getTicketsByCustomerId(Long customerId, String cursor, Integer size, FieldSet fields) {
+        log.debug("Fetching tickets for customerId: {} after cursor: {}", customerId, cursor);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.resolveSize(size);
+        if (!fields.isAll()) {
+            return toSparsePage(TicketSpecifications.ofCustomer(customerId), after, pageSize, fields);
+        }
+        return toPage(ticketRepository.findTicketsByCustomerId(customerId, after.getCreatedAt(), after.getId(), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TicketDto> getTicketsByAssignedAgentId(Long agentId, String cursor, Integer size, FieldSet fields) {
+        log.debug("Fetching tickets assigned to agentId: {} after cursor: {}", agentId, cursor);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.resolveSize(size);
+        if (!fields.isAll()) {
+            return toSparsePage(TicketSpecifications.assignedTo(agentId), after, pageSize, fields);
+        }
+        return toPage(ticketRepository.findTicketsByAssignedAgentId(agentId, after.getCreatedAt(), after.getId(), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TicketDto> getTicketsByDepartmentId(Long departmentId, String cursor, Integer size, FieldSet fields) {
+        log.debug("Fetching tickets for departmentId: {} after cursor: {}", departmentId, cursor);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.resolveSize(size);
+        if (!fields.isAll()) {
+            return toSparsePage(TicketSpecifications.inDepartment(departmentId), after, pageSize, fields);
+        }
+        return toPage(ticketRepository.findTicketsByDepartmentId(departmentId, after.getCreatedAt(), after.getId(), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TicketDto> getTicketsByStatus(TicketStatus status, String cursor, Integer size, FieldSet fields) {
+        log.debug("Fetching tickets by status: {} after cursor: {}", status, cursor);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.resolveSize(size);
+        if (!fields.isAll()) {
+            return toSparsePage(TicketSpecifications.hasStatus(status), after, pageSize, fields);
+        }
+        return toPage(ticketRepository.findTicketsByStatus(status, after.getCreatedAt(), after.getId(), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TicketDto> getTicketsByPriority(TicketPriority priority, String cursor, Integer size, FieldSet fields) {
+        log.debug("Fetching tickets by priority: {} after cursor: {}", priority, cursor);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.resolveSize(size);
+        if (!fields.isAll()) {
+            return toSparsePage(TicketSpecifications.hasPriority(priority), after, pageSize, fields);
+        }
+        return toPage(ticketRepository.getTicketsByPriority(priority, after.getCreatedAt(), after.getId(), Limit.of(pageSize + 1)), pageSize);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TicketDto> getTicketsByAssignedAgentId(Long agentId) {
-        log.debug("Fetching tickets assigned to agentId: {}", agentId);
-        return ticketRepository.findTicketsByAssignedAgentId(agentId)
-                .stream()
-                .map(ticketMapper::ticketToTicketDto)
-                .collect(Collectors.toList());
+    public CursorPage<TicketDto> searchTickets(TicketSearchCriteria criteria, String cursor, Integer size, FieldSet fields) {
+        log.debug("Searching tickets with criteria: {} after cursor: {}", criteria, cursor);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.resolveSize(size);
+
+        Specification<Ticket> spec = TicketSpecifications.matching(criteria)
+                .and(TicketSpecifications.after(after.getCreatedAt(), after.getId()));
+
+        return toPage(ticketRepository.findSummaries(spec, fields, Limit.of(pageSize + 1)), pageSize);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TicketDto> getTicketsByDepartmentId(Long departmentId) {
-        log.debug("Fetching tickets for departmentId: {}", departmentId);
-        return ticketRepository.findTicketsByDepartmentId(departmentId)
-                .stream()
-                .map(ticketMapper::ticketToTicketDto)
-                .collect(Collectors.toList());
+    public CompactTicketPage searchTicketsCompact(TicketSearchCriteria criteria, String cursor, Integer size) {
+        log.debug("Searching compact tickets with criteria: {} after cursor: {}", criteria, cursor);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPage.resolveSize(size);
+
+        Specification<Ticket> spec = TicketSpecifications.matching(criteria)
+                .and(TicketSpecifications.after(after.getCreatedAt(), after.getId()));
+
+        CursorPage<CompactTicketDto> page = CursorPage.of(
+                ticketRepository.findSummaries(spec, COMPACT_FIELDS, Limit.of(pageSize + 1)), pageSize,
+                ticketMapper::ticketSummaryToCompactTicketDto, row -> new KeysetCursor(row.getCreatedAt(), row.getId()));
+
+        return CompactTicketPage.builder()
+                .items(page.getItems())
+                .size(page.getSize())
+                .hasNext(page.isHasNext())
+                .nextCursor(page.getNextCursor())
+                .included(loadIncludes(page.getItems()))
+                .build();
+    }
+
+    // One IN query per kind of related resource, however many tickets share it.
+    private TicketIncludes loadIncludes(List<CompactTicketDto> tickets) {
+        Set<Long> customerIds = collectIds(tickets, CompactTicketDto::getCustomerId);
+        Set<Long> agentIds = collectIds(tickets, CompactTicketDto::getAssignedAgentId);
+        Set<Long> departmentIds = collectIds(tickets, CompactTicketDto::getDepartmentId);
+
+        return TicketIncludes.builder()
+                .customers(customerIds.isEmpty() ? Map.of() : customerRepository.findAllWithUserByIdIn(customerIds).stream()
+                        .collect(Collectors.toMap(Customer::getId, customerMapper::customerToCustomerDto)))
+                .agents(agentIds.isEmpty() ? Map.of() : agentRepository.findAllWithUserByIdIn(agentIds).stream()
+                        .collect(Collectors.toMap(Agent::getId, agentMapper::agentToAgentDto)))
+                .departments(departmentIds.isEmpty() ? Map.of() : departmentRepository.findAllById(departmentIds).stream()
+                        .collect(Collectors.toMap(Department::getId, departmentMapper::departmentToDepartmentDto)))
+                .build();
+    }
+
+    private static Set<Long> collectIds(List<CompactTicketDto> tickets, Function<CompactTicketDto, Long> id) {
+        return tickets.stream()
+                .map(id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TicketDto> getTicketsByStatus(TicketStatus status) {
-        log.debug("Fetching tickets by status: {}", status);
-        return ticketRepository.findTicketsByStatus(status)
-                .stream()
-                .map(ticketMapper::ticketToTicketDto)
-                .collect(Collectors.toList());
+    public TicketSearchHitPage searchTicketText(String query, String cursor, Integer size) {
+        log.debug("Full-text searching tickets for '{}' after cursor: {}", query, cursor);
+        RankCursor after = RankCursor.decode(cursor);
+        int pageSize = CursorPage.resolveSize(size);
+        if (query == null || query.isBlank()) {
+            return new TicketSearchHitPage(List.of(), 0, false, null, false);
+        }
+
+        TicketTextMatches result = ticketRepository.searchText(query.trim(), after.getRank(), after.getId(), pageSize + 1);
+        List<TicketTextMatch> matches = result.matches();
+        boolean hasNext = matches.size() > pageSize;
+        List<TicketTextMatch> page = hasNext ? matches.subList(0, pageSize) : matches;
+
+        // One IN query for the page's tickets instead of a lookup per hit.
+        List<Long> ids = page.stream().map(TicketTextMatch::ticketId).toList();
+        Map<Long, TicketSummary> tickets = ids.isEmpty() ? Map.of() : ticketRepository
+                .findSummaries(TicketSpecifications.idIn(ids), Limit.of(ids.size())).stream()
+                .collect(Collectors.toMap(TicketSummary::getId, Function.identity()));
+
+        List<TicketSearchHit> hits = page.stream()
+                .filter(match -> tickets.containsKey(match.ticketId()))
+                .map(match -> TicketSearchHit.builder()
+                        .ticket(ticketMapper.ticketSummaryToTicketDto(tickets.get(match.ticketId())))
+                        .rank(match.rank())
+                        .subjectHighlight(highlight(match.subject()))
+                        .snippet(highlight(match.snippet()))
+                        .build())
+                .toList();
+
+        TicketTextMatch last = hasNext ? page.get(page.size() - 1) : null;
+        return new TicketSearchHitPage(hits, hits.size(), hasNext,
+                last != null ? new RankCursor(last.rank(), last.ticketId()).encode() : null, result.approximate());
+    }
+
+    // Ticket text is stored as typed; escape it first so only the highlight markers become markup.
+    private static String highlight(String fragment) {
+        if (fragment == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(fragment, "UTF-8")
+                .replace(TicketFullTextSearchRepository.MATCH_START, "<mark>")
+                .replace(TicketFullTextSearchRepository.MATCH_END, "</mark>");
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TicketDto> getTicketsByPriority(TicketPriority priority) {
-        log.debug("Fetching tickets by priority: {}", priority);
-        return ticketRepository.getTicketsByPriority(priority)
-                .stream()
-                .map(ticketMapper::ticketToTicketDto)
-                .collect(Collectors.toList());
+    public TicketChanges getChanges(String since, Integer size) {
+        log.debug("Fetching ticket changes after cursor: {}", since);
+        KeysetCursor after = KeysetCursor.decode(since, KeysetCursor.FIRST_ASCENDING);
+        int pageSize = CursorPage.resolveSize(size);
+        LocalDateTime until = LocalDateTime.now().minusSeconds(changesSettleSeconds);
+
+        List<TicketSummary> changed = ticketRepository.findChangedSince(
+                after.getCreatedAt(), after.getId(), until, Limit.of(pageSize + 1));
+        List<TicketTombstone> deleted = ticketTombstoneRepository.findDeletedSince(
+                after.getCreatedAt(), after.getId(), until, Limit.of(pageSize + 1));
+
+        // Both lists run in (time, ticket id) order; merge them so the page ends at a position the cursor can resume.
+        List<TicketDto> changedPage = new ArrayList<>();
+        List<Long> deletedPage = new ArrayList<>();
+        KeysetCursor position = after;
+        int c = 0;
+        int d = 0;
+        while (c + d < pageSize && (c < changed.size() || d < deleted.size())) {
+            KeysetCursor nextChange = c < changed.size()
+                    ? new KeysetCursor(changed.get(c).getUpdatedAt(), changed.get(c).getId()) : null;
+            KeysetCursor nextDeletion = d < deleted.size()
+                    ? new KeysetCursor(deleted.get(d).getDeletedAt(), deleted.get(d).getTicketId()) : null;
+            if (nextDeletion == null || nextChange != null && CHANGE_ORDER.compare(nextChange, nextDeletion) < 0) {
+                changedPage.add(ticketMapper.ticketSummaryToTicketDto(changed.get(c++)));
+                position = nextChange;
+            } else {
+                deletedPage.add(deleted.get(d++).getTicketId());
+                position = nextDeletion;
+            }
+        }
+        boolean hasMore = c < changed.size() || d < deleted.size();
+        return new TicketChanges(changedPage, deletedPage, hasMore, position.encode());
+    }
+
+    // The fixed JPQL listings read every column; a sparse page goes through the criteria query built from the fields.
+    private CursorPage<TicketDto> toSparsePage(Specification<Ticket> filter, KeysetCursor after, int pageSize, FieldSet fields) {
+        Specification<Ticket> spec = filter.and(TicketSpecifications.after(after.getCreatedAt(), after.getId()));
+        return toPage(ticketRepository.findSummaries(spec, fields, Limit.of(pageSize + 1)), pageSize);
+    }
+
+    private CursorPage<TicketDto> toPage(List<TicketSummary> rows, int pageSize) {
+        return CursorPage.of(rows, pageSize, ticketMapper::ticketSummaryToTicketDto,
+                row -> new KeysetCursor(row.getCreatedAt(), row.getId()));
     }
 
 
@@ -122,13 +355,33 @@ public class TicketServiceImpl implements TicketService {
         ticket.setId(null);
         ticket.setCustomer(customer);
         ticket.setDepartment(department);
+        if (assignedAgent == null && autoAssign && AgentLoadService.ACTIVE_STATUSES.contains(ticket.getStatus())) {
+            assignedAgent = leastLoadedAgent(department.getId());
+        }
         ticket.setAssignedAgent(assignedAgent);
         Ticket savedTicket = ticketRepository.save(ticket);
+        agentLoadService.ticketChanged(null, AgentLoadService.TicketLoad.of(savedTicket));
+        publish(event(TicketEvent.Type.TICKET_CREATED, savedTicket).build());
         log.info("New ticket created with id: {}", savedTicket.getId());
 
         return ticketMapper.ticketToTicketDto(savedTicket);
     }
 
+    private Agent leastLoadedAgent(Long departmentId) {
+        Optional<Long> agentId = agentLoadService.findLeastLoadedAgent(departmentId);
+        if (agentId.isEmpty()) {
+            log.debug("No agent to auto-assign in department {}", departmentId);
+            return null;
+        }
+        Optional<Agent> agent = agentRepository.findById(agentId.get());
+        if (agent.isEmpty()) {
+            agentLoadService.agentRemoved(agentId.get());
+            return null;
+        }
+        log.info("Auto-assigning new ticket to least loaded agent {} of department {}", agentId.get(), departmentId);
+        return agent.get();
+    }
+
     @Override
     @Transactional
     public TicketDto updateTicket(Long id, TicketDto ticketDto) {
@@ -139,6 +392,7 @@ public class TicketServiceImpl implements TicketService {
                     log.warn("Failed to update. Ticket not found with id: {}", id);
                     return new ResourceNotFoundException("Ticket not found with id: " + id);
                 });
+        AgentLoadService.TicketLoad loadBefore = AgentLoadService.TicketLoad.of(existingTicket);
 
         ticketMapper.updateTicketFromDto(ticketDto, existingTicket);
 
@@ -165,6 +419,8 @@ public class TicketServiceImpl implements TicketService {
         }
 
         Ticket updatedTicket = ticketRepository.save(existingTicket);
+        agentLoadService.ticketChanged(loadBefore, AgentLoadService.TicketLoad.of(updatedTicket));
+        publishChanges(loadBefore, updatedTicket);
         log.info("Ticket updated with id: {}", updatedTicket.getId());
 
         return ticketMapper.ticketToTicketDto(updatedTicket);
@@ -181,9 +437,12 @@ public class TicketServiceImpl implements TicketService {
                 });
 
         log.info("Updating status for ticket id: {} from {} to {}", ticketId, ticket.getStatus(), status);
+        AgentLoadService.TicketLoad loadBefore = AgentLoadService.TicketLoad.of(ticket);
         ticket.setStatus(status);
 
         Ticket updatedTicket = ticketRepository.save(ticket);
+        agentLoadService.ticketChanged(loadBefore, AgentLoadService.TicketLoad.of(updatedTicket));
+        publishChanges(loadBefore, updatedTicket);
         log.info("Ticket status updated successfully for id: {}", updatedTicket.getId());
         return ticketMapper.ticketToTicketDto(updatedTicket);
     }
@@ -200,25 +459,201 @@ public class TicketServiceImpl implements TicketService {
                 .orElseThrow(() -> new ResourceNotFoundException("id with agent " + agentId + "doesnt exist"));
 
 
+        AgentLoadService.TicketLoad loadBefore = AgentLoadService.TicketLoad.of(ticket);
         ticket.setAssignedAgent(agent);
         Ticket updatedTicket = ticketRepository.save(ticket);
+        agentLoadService.ticketChanged(loadBefore, AgentLoadService.TicketLoad.of(updatedTicket));
+        publishChanges(loadBefore, updatedTicket);
 
         return ticketMapper.ticketToTicketDto(updatedTicket);
     }
 
+    // One event per change a dashboard list shows: the status and the assigned agent.
+    private void publishChanges(AgentLoadService.TicketLoad before, Ticket ticket) {
+        if (before.status() != ticket.getStatus()) {
+            publish(event(TicketEvent.Type.STATUS_CHANGED, ticket)
+                    .previousStatus(before.status())
+                    .build());
+        }
+        Long agentId = ticket.getAssignedAgent() != null ? ticket.getAssignedAgent().getId() : null;
+        if (!Objects.equals(before.agentId(), agentId)) {
+            publish(event(TicketEvent.Type.ASSIGNED, ticket)
+                    .previousAgentId(before.agentId())
+                    .build());
+        }
+    }
+
+    // The outbox row commits with the change; the dashboards get the same event straight away.
+    private void publish(TicketEvent event) {
+        outboxService.append(event);
+        ticketEventService.publish(event);
+    }
+
+    private static TicketEvent.TicketEventBuilder event(TicketEvent.Type type, Ticket ticket) {
+        return TicketEvent.builder()
+                .type(type)
+                .ticketId(ticket.getId())
+                .departmentId(ticket.getDepartment() != null ? ticket.getDepartment().getId() : null)
+                .assignedAgentId(ticket.getAssignedAgent() != null ? ticket.getAssignedAgent().getId() : null)
+                .status(ticket.getStatus())
+                .occurredAt(LocalDateTime.now());
+    }
+
+    private static TicketEvent event(TicketEvent.Type type, TicketSummary ticket) {
+        return TicketEvent.builder()
+                .type(type)
+                .ticketId(ticket.getId())
+                .departmentId(ticket.getDepartmentId())
+                .assignedAgentId(ticket.getAssignedAgentId())
+                .status(ticket.getStatus())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+
+    @Override
+    public BulkTicketUpdateResult updateTicketStatuses(BulkTicketStatusUpdateRequest request) {
+        log.info("Bulk updating status to {} for {} tickets", request.getStatus(), request.getTickets().size());
+        return bulkUpdate(request.getTickets(), TicketEvent.Type.STATUS_CHANGED,
+                (ids, versions) -> ticketRepository.updateStatus(ids, versions, request.getStatus(), LocalDateTime.now()));
+    }
+
+    @Override
+    public BulkTicketUpdateResult assignAgentToTickets(BulkTicketAssignRequest request) {
+        log.info("Bulk assigning agent {} to {} tickets", request.getAgentId(), request.getTickets().size());
+        if (!agentRepository.existsById(request.getAgentId())) {
+            throw new ResourceNotFoundException("Assigned agent not found with id: " + request.getAgentId());
+        }
+        return bulkUpdate(request.getTickets(), TicketEvent.Type.ASSIGNED,
+                (ids, versions) -> ticketRepository.assignAgent(ids, versions, request.getAgentId(), LocalDateTime.now()));
+    }
+
+    // update runs once per chunk inside the chunk's transaction and stamps updated_at then: chunks commit one after
+    // another, and a time taken once for the whole request would fall behind the change feed's settle window.
+    private BulkTicketUpdateResult bulkUpdate(List<TicketVersionRef> tickets, TicketEvent.Type eventType,
+                                              BiFunction<Long[], Long[], Map<Long, UpdatedTicket>> update) {
+        // A repeated ID keeps the expected version it was first sent with.
+        Map<Long, Long> expectedVersions = new LinkedHashMap<>();
+        for (TicketVersionRef ticket : tickets) {
+            if (!expectedVersions.containsKey(ticket.getId())) {
+                expectedVersions.put(ticket.getId(), ticket.getVersion());
+            }
+        }
+        List<Long> ids = new ArrayList<>(expectedVersions.keySet());
+
+        List<BulkTicketUpdateItem> results = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += bulkUpdateChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + bulkUpdateChunkSize, ids.size()));
+            results.addAll(transactionTemplate.execute(status -> updateChunk(chunk, expectedVersions, eventType, update)));
+        }
+
+        BulkTicketUpdateResult result = BulkTicketUpdateResult.builder()
+                .requested(ids.size())
+                .updated(count(results, BulkTicketUpdateItem.Outcome.UPDATED))
+                .notFound(count(results, BulkTicketUpdateItem.Outcome.NOT_FOUND))
+                .versionConflicts(count(results, BulkTicketUpdateItem.Outcome.VERSION_CONFLICT))
+                .results(results)
+                .build();
+        log.info("Bulk update finished: {} updated, {} not found, {} version conflicts",
+                result.getUpdated(), result.getNotFound(), result.getVersionConflicts());
+        return result;
+    }
+
+    private List<BulkTicketUpdateItem> updateChunk(List<Long> chunk, Map<Long, Long> expectedVersions,
+                                                   TicketEvent.Type eventType,
+                                                   BiFunction<Long[], Long[], Map<Long, UpdatedTicket>> update) {
+        Long[] ids = chunk.toArray(Long[]::new);
+        Long[] versions = chunk.stream().map(expectedVersions::get).toArray(Long[]::new);
+        Map<Long, UpdatedTicket> updated = update.apply(ids, versions);
+
+        // The UPDATE returns each row's agent and status before and after, which is all the agent loads need.
+        updated.values().forEach(ticket -> agentLoadService.ticketChanged(
+                new AgentLoadService.TicketLoad(ticket.previousAgentId(), ticket.previousStatus(), ticket.priority()),
+                new AgentLoadService.TicketLoad(ticket.agentId(), ticket.status(), ticket.priority())));
+
+        // The UPDATE returns no department to route events by. The outbox copies it from the tickets in one
+        // INSERT ... SELECT; the dashboards need it in memory, so one IN query reads it, and only when someone is
+        // listening.
+        if (!updated.isEmpty()) {
+            outboxService.appendForTickets(eventType, updated.keySet());
+        }
+        if (!updated.isEmpty() && ticketEventService.hasSubscribers()) {
+            ticketRepository.findSummaries(TicketSpecifications.idIn(updated.keySet()), Limit.of(updated.size()))
+                    .forEach(ticket -> ticketEventService.publish(event(eventType, ticket)));
+        }
+
+        // A row the UPDATE skipped either does not exist or changed since the client read it.
+        List<Long> skipped = chunk.stream().filter(id -> !updated.containsKey(id)).toList();
+        Set<Long> existing = skipped.isEmpty() ? Set.of() : ticketRepository.findExistingIds(skipped);
+
+        List<BulkTicketUpdateItem> results = new ArrayList<>(chunk.size());
+        for (Long id : chunk) {
+            if (updated.containsKey(id)) {
+                results.add(new BulkTicketUpdateItem(id, BulkTicketUpdateItem.Outcome.UPDATED, updated.get(id).version()));
+            } else if (existing.contains(id)) {
+                results.add(new BulkTicketUpdateItem(id, BulkTicketUpdateItem.Outcome.VERSION_CONFLICT, null));
+            } else {
+                results.add(new BulkTicketUpdateItem(id, BulkTicketUpdateItem.Outcome.NOT_FOUND, null));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public Optional<TicketDto> claimNextTicket(String agentEmail, Long departmentId) {
+        Agent agent = agentRepository.findAgentByUserEmail(agentEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Agent not found with email: " + agentEmail));
+        Long queueDepartmentId = departmentId != null ? departmentId : agent.getDepartment().getId();
+
+        Optional<Long> claimedId = ticketRepository.claimNext(queueDepartmentId, agent.getId(), LocalDateTime.now());
+        if (claimedId.isEmpty()) {
+            log.debug("No unassigned open ticket to claim in department {}", queueDepartmentId);
+            return Optional.empty();
+        }
+        log.info("Agent {} claimed ticket {} from department {}", agent.getId(), claimedId.get(), queueDepartmentId);
+        Optional<TicketSummary> claimed = ticketRepository.findSummaryById(claimedId.get());
+        claimed.ifPresent(ticket -> {
+            agentLoadService.ticketChanged(
+                    new AgentLoadService.TicketLoad(null, ticket.getStatus(), ticket.getPriority()),
+                    new AgentLoadService.TicketLoad(agent.getId(), ticket.getStatus(), ticket.getPriority()));
+            publish(event(TicketEvent.Type.ASSIGNED, ticket));
+        });
+        return claimed.map(ticketMapper::ticketSummaryToTicketDto);
+    }
+
+    private static int count(List<BulkTicketUpdateItem> results, BulkTicketUpdateItem.Outcome outcome) {
+        return (int) results.stream().filter(item -> item.getOutcome() == outcome).count();
+    }
+
 
     @Override
     @Transactional
     public void deleteTicketById(Long id) {
         log.info("Attempting to delete ticket with id: {}", id);
-        if (!ticketRepository.existsById(id)) {
-            log.warn("Failed to delete. Ticket not found with id: {}", id);
-            throw new ResourceNotFoundException("Ticket not found with id: " + id);
-        }
+        Ticket ticket = ticketRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Failed to delete. Ticket not found with id: {}", id);
+                    return new ResourceNotFoundException("Ticket not found with id: " + id);
+                });
 
-        ticketRepository.deleteById(id);
+        ticketRepository.delete(ticket);
+        ticketTombstoneRepository.insert(id, LocalDateTime.now());
+        agentLoadService.ticketChanged(AgentLoadService.TicketLoad.of(ticket), null);
         log.info("Ticket deleted successfully with id: {}", id);
     }
 
+    @Override
+    @Transactional
+    @Scheduled(initialDelayString = "${application.tickets.changes.tombstone-prune-interval:PT1H}",
+            fixedDelayString = "${application.tickets.changes.tombstone-prune-interval:PT1H}")
+    public int pruneTombstones() {
+        int pruned = ticketTombstoneRepository.deleteDeletedBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (pruned > 0) {
+            log.info("Pruned {} ticket tombstones older than {} days", pruned, tombstoneRetentionDays);
+        }
+        return pruned;
+    }
+
 
 }
\ No newline at end of file
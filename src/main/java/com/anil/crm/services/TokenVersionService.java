@@ -0,0 +1,25 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.User;
+
+import java.util.Optional;
+
+public interface TokenVersionService {
+
+    /**
+     * Current token version of the user, served from memory after the first lookup. Empty if the user no longer
+     * exists.
+     */
+    Optional<Long> getTokenVersion(Long userId);
+
+    /**
+     * Invalidates every token issued to {@code user} so far by bumping its version. The cached version is dropped
+     * once the surrounding transaction commits.
+     */
+    void revokeTokens(User user);
+
+    /**
+     * Drops the cached version of a user that is being deleted, once the surrounding transaction commits.
+     */
+    void evict(Long userId);
+}
@@ -0,0 +1,48 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.User;
+import com.anil.crm.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+public class TokenVersionServiceImpl implements TokenVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenVersionServiceImpl.class);
+
+    private final UserRepository userRepository;
+
+    // Only changed through this service, so entries never expire on their own; size is the only bound.
+    private final Cache<Long, Long> tokenVersions;
+
+    public TokenVersionServiceImpl(UserRepository userRepository,
+                                   @Value("${application.security.jwt.token-version-cache-size:10000}") long cacheSize) {
+        this.userRepository = userRepository;
+        this.tokenVersions = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    @Override
+    public Optional<Long> getTokenVersion(Long userId) {
+        // A missing user maps to null, which Caffeine does not cache.
+        return Optional.ofNullable(tokenVersions.get(userId, id -> userRepository.findTokenVersionById(id).orElse(null)));
+    }
+
+    @Override
+    public void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        log.info("Tokens revoked for user id: {} (token version {})", user.getId(), user.getTokenVersion());
+        evict(user.getId());
+    }
+
+    @Override
+    public void evict(Long userId) {
+        // Evicting before commit would let a concurrent request cache the old version again.
+        AfterCommit.run(() -> tokenVersions.invalidate(userId));
+    }
+}
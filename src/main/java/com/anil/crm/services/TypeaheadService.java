@@ -0,0 +1,55 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.Agent;
+import com.anil.crm.domain.Customer;
+import com.anil.crm.web.models.TypeaheadHit;
+import com.anil.crm.web.models.TypeaheadStatisticsDto;
+
+import java.util.List;
+
+/**
+ * In-memory prefix index of customers and agents for lookup-as-you-type, answered without touching the database.
+ * Names, e-mail addresses and customer phone numbers are matched by prefix; every word of a name starts a key, and
+ * text is folded the way the database's {@code crm_fold} folds it, so "isik" finds "Işık".
+ */
+public interface TypeaheadService {
+
+    /**
+     * Up to {@code limit} (default 10, at most 50) customers and agents with a name, e-mail or phone number starting
+     * with the query, in key order. A query of digits and phone punctuation is matched against phone numbers with or
+     * without the 90 or 0 prefix.
+     */
+    List<TypeaheadHit> search(String query, Integer limit);
+
+    /**
+     * Indexes a new customer, or reindexes a changed one, once the surrounding transaction commits.
+     */
+    void customerSaved(Customer customer);
+
+    /**
+     * Forgets a deleted customer once the surrounding transaction commits.
+     */
+    void customerRemoved(Long customerId);
+
+    /**
+     * Indexes a new agent, or reindexes a changed one, once the surrounding transaction commits.
+     */
+    void agentSaved(Agent agent);
+
+    /**
+     * Forgets a deleted agent once the surrounding transaction commits.
+     */
+    void agentRemoved(Long agentId);
+
+    /**
+     * Reloads the agents, whose hits carry their department's name, once the surrounding transaction commits.
+     */
+    void departmentRenamed();
+
+    /**
+     * Reloads both indexes from the database. Used at startup.
+     */
+    void rebuild();
+
+    TypeaheadStatisticsDto getStatistics();
+}
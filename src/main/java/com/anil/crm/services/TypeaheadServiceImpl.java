@@ -0,0 +1,389 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.Agent;
+import com.anil.crm.domain.Customer;
+import com.anil.crm.domain.Role;
+import com.anil.crm.repositories.AgentRepository;
+import com.anil.crm.repositories.CustomerRepository;
+import com.anil.crm.repositories.TypeaheadEntry;
+import com.anil.crm.web.models.TypeaheadHit;
+import com.anil.crm.web.models.TypeaheadStatisticsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Service
+public class TypeaheadServiceImpl implements TypeaheadService {
+
+    private static final Logger log = LoggerFactory.getLogger(TypeaheadServiceImpl.class);
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 50;
+
+    // The arrays are rebuilt once the overlay holds this many changes, or an eighth of the index if that is more.
+    static final int COMPACT_AFTER = 1024;
+
+    private static final String SEPARATOR = "\u001f";
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final Pattern PHONE_QUERY = Pattern.compile("[\\d\\s+()-]*\\d[\\d\\s+()-]*");
+
+    private static final Comparator<Hit> BY_KEY = Comparator
+            .comparing((Hit hit) -> hit.match().key())
+            .thenComparing(Hit::type)
+            .thenComparingLong(hit -> hit.match().id());
+
+    private final CustomerRepository customerRepository;
+    private final AgentRepository agentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Guarded by this. While a rebuild reads the database, changes go to the current indexes and are also queued,
+    // then replayed onto the rebuilt ones; puts and removes by id are idempotent, so replaying a change the rebuild
+    // already read is harmless.
+    private PrefixIndex customers = PrefixIndex.empty();
+    private PrefixIndex agents = PrefixIndex.empty();
+    private List<Change> queued;
+    private long lastBuildMillis;
+
+    // Guarded by this. The changes made to an index while a snapshot of it is compacted off-lock, by type; they are
+    // replayed onto the compacted index when it is swapped in. A rebuild clears this and the compaction is dropped.
+    private final EnumMap<Role, List<Change>> compacting = new EnumMap<>(Role.class);
+
+    private final Object rebuildLock = new Object();
+
+    public TypeaheadServiceImpl(
+            CustomerRepository customerRepository,
+            AgentRepository agentRepository,
+            PlatformTransactionManager transactionManager) {
+        this.customerRepository = customerRepository;
+        this.agentRepository = agentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public List<TypeaheadHit> search(String query, Integer requestedLimit) {
+        String key = searchKey(query);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        int limit = requestedLimit == null || requestedLimit < 1 ? DEFAULT_LIMIT : Math.min(requestedLimit, MAX_LIMIT);
+
+        List<Hit> hits = new ArrayList<>();
+        synchronized (this) {
+            customers.search(key, limit).forEach(match -> hits.add(new Hit(Role.CUSTOMER, match)));
+            agents.search(key, limit).forEach(match -> hits.add(new Hit(Role.AGENT, match)));
+        }
+        return hits.stream()
+                .sorted(BY_KEY)
+                .limit(limit)
+                .map(TypeaheadServiceImpl::toHit)
+                .toList();
+    }
+
+    @Override
+    public void customerSaved(Customer customer) {
+        TypeaheadEntry entry = new TypeaheadEntry(customer.getId(), customer.getUser().getFirstName(),
+                customer.getUser().getLastName(), customer.getUser().getEmail(), customer.getPhone());
+        AfterCommit.run(() -> change(new Change(Role.CUSTOMER, index -> put(index, entry, Role.CUSTOMER))));
+    }
+
+    @Override
+    public void customerRemoved(Long customerId) {
+        AfterCommit.run(() -> change(new Change(Role.CUSTOMER, index -> index.remove(customerId))));
+    }
+
+    @Override
+    public void agentSaved(Agent agent) {
+        TypeaheadEntry entry = new TypeaheadEntry(agent.getId(), agent.getUser().getFirstName(),
+                agent.getUser().getLastName(), agent.getUser().getEmail(),
+                agent.getDepartment() != null ? agent.getDepartment().getName() : null);
+        AfterCommit.run(() -> change(new Change(Role.AGENT, index -> put(index, entry, Role.AGENT))));
+    }
+
+    @Override
+    public void agentRemoved(Long agentId) {
+        AfterCommit.run(() -> change(new Change(Role.AGENT, index -> index.remove(agentId))));
+    }
+
+    @Override
+    public void departmentRenamed() {
+        AfterCommit.run(() -> reload(false));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reload(true);
+    }
+
+    @Override
+    public synchronized TypeaheadStatisticsDto getStatistics() {
+        return TypeaheadStatisticsDto.builder()
+                .customers(customers.size())
+                .agents(agents.size())
+                .keys(customers.keyCount() + agents.keyCount())
+                .pendingChanges(customers.pendingChanges() + agents.pendingChanges())
+                .estimatedBytes(customers.estimatedBytes() + agents.estimatedBytes())
+                .lastBuildMillis(lastBuildMillis)
+                .build();
+    }
+
+    private void reload(boolean withCustomers) {
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            synchronized (this) {
+                queued = new ArrayList<>();
+            }
+            try {
+                PrefixIndex rebuiltCustomers = withCustomers
+                        ? load(customerRepository::streamTypeaheadEntries, Role.CUSTOMER) : null;
+                PrefixIndex rebuiltAgents = load(agentRepository::streamTypeaheadEntries, Role.AGENT);
+
+                TypeaheadStatisticsDto statistics;
+                synchronized (this) {
+                    if (rebuiltCustomers != null) {
+                        customers = rebuiltCustomers;
+                    }
+                    agents = rebuiltAgents;
+                    compacting.clear();
+                    for (Change change : queued) {
+                        if (change.type() == Role.AGENT || rebuiltCustomers != null) {
+                            apply(change);
+                        }
+                    }
+                    lastBuildMillis = (System.nanoTime() - start) / 1_000_000;
+                    statistics = getStatistics();
+                }
+                log.info("Typeahead index rebuilt for {} customers and {} agents ({} keys, ~{} KB) in {} ms",
+                        statistics.getCustomers(), statistics.getAgents(), statistics.getKeys(),
+                        statistics.getEstimatedBytes() / 1024, statistics.getLastBuildMillis());
+            } finally {
+                synchronized (this) {
+                    queued = null;
+                }
+            }
+        }
+    }
+
+    private PrefixIndex load(Supplier<Stream<TypeaheadEntry>> entries, Role type) {
+        return readOnlyTransaction.execute(status -> {
+            PrefixIndex.Builder builder = new PrefixIndex.Builder();
+            try (Stream<TypeaheadEntry> stream = entries.get()) {
+                stream.forEach(entry -> builder.add(entry.getId(), label(entry), keys(entry, type)));
+            }
+            return builder.build();
+        });
+    }
+
+    private void change(Change change) {
+        Role type = change.type();
+        PrefixIndex snapshot = null;
+        List<Change> changesSince = null;
+        synchronized (this) {
+            apply(change);
+            if (queued != null) {
+                queued.add(change);
+            }
+            PrefixIndex index = index(type);
+            if (!compacting.containsKey(type) && index.pendingChanges() > Math.max(COMPACT_AFTER, index.size() / 8)) {
+                // Searches and changes go on against a copy that shares the arrays; only this thread reads the snapshot
+                snapshot = index;
+                setIndex(type, index.copy());
+                changesSince = new ArrayList<>();
+                compacting.put(type, changesSince);
+            }
+        }
+        if (snapshot != null) {
+            compact(type, snapshot, changesSince);
+        }
+    }
+
+    private void compact(Role type, PrefixIndex snapshot, List<Change> changesSince) {
+        long start = System.nanoTime();
+        PrefixIndex compacted = null;
+        try {
+            compacted = compacted(snapshot);
+        } finally {
+            synchronized (this) {
+                if (compacting.get(type) == changesSince) {
+                    compacting.remove(type);
+                    if (compacted != null) {
+                        for (Change change : changesSince) {
+                            change.action().accept(compacted);
+                        }
+                        setIndex(type, compacted);
+                    }
+                }
+            }
+        }
+        log.debug("Typeahead {} index compacted to {} entries in {} ms",
+                type, compacted.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Seam for tests that change the index while a compaction runs.
+    PrefixIndex compacted(PrefixIndex snapshot) {
+        return snapshot.compact();
+    }
+
+    private void apply(Change change) {
+        change.action().accept(index(change.type()));
+        List<Change> changesSince = compacting.get(change.type());
+        if (changesSince != null) {
+            changesSince.add(change);
+        }
+    }
+
+    private PrefixIndex index(Role type) {
+        return type == Role.CUSTOMER ? customers : agents;
+    }
+
+    private void setIndex(Role type, PrefixIndex index) {
+        if (type == Role.CUSTOMER) {
+            customers = index;
+        } else {
+            agents = index;
+        }
+    }
+
+    private static void put(PrefixIndex index, TypeaheadEntry entry, Role type) {
+        index.put(entry.getId(), label(entry), keys(entry, type));
+    }
+
+    /**
+     * Every word start of the full name, the e-mail address and, for customers, the phone number as digits and,
+     * for a Turkish number, as the ten-digit national number with the 0 trunk prefix, the 90 country code or neither.
+     */
+    static List<String> keys(TypeaheadEntry entry, Role type) {
+        List<String> keys = new ArrayList<>();
+        String name = fold(join(" ", entry.getFirstName(), entry.getLastName()));
+        for (int start = 0; start < name.length(); start = name.indexOf(' ', start) + 1) {
+            keys.add(name.substring(start));
+            if (name.indexOf(' ', start) < 0) {
+                break;
+            }
+        }
+        if (entry.getEmail() != null) {
+            keys.add(fold(entry.getEmail()));
+        }
+        if (type == Role.CUSTOMER && entry.getDetail() != null) {
+            String digits = NON_DIGITS.matcher(entry.getDetail()).replaceAll("");
+            if (!digits.isEmpty()) {
+                keys.add(digits);
+                String national = digits.length() == 12 && digits.startsWith("90") ? digits.substring(2)
+                        : digits.length() == 11 && digits.startsWith("0") ? digits.substring(1)
+                        : digits.length() == 10 ? digits : null;
+                if (national != null) {
+                    keys.add(national);
+                    keys.add("0" + national);
+                    keys.add("90" + national);
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Same folding as the database's {@code crm_fold}: lower case, accents dropped, and İ, I and ı all become "i",
+     * whatever the JVM's default locale. Runs of whitespace collapse to one space.
+     */
+    static String fold(String value) {
+        // One pass for ASCII and Turkish letters, the bulk of names and e-mail addresses; anything else is decomposed
+        StringBuilder folded = new StringBuilder(value.length());
+        boolean space = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = !folded.isEmpty();
+                continue;
+            }
+            char foldedChar = foldChar(c);
+            if (foldedChar == 0) {
+                return foldDecomposed(value);
+            }
+            if (space) {
+                folded.append(' ');
+                space = false;
+            }
+            folded.append(foldedChar);
+        }
+        return folded.toString();
+    }
+
+    private static char foldChar(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return switch (c) {
+            case 'ç', 'Ç' -> 'c';
+            case 'ğ', 'Ğ' -> 'g';
+            case 'ı', 'İ', 'î', 'Î' -> 'i';
+            case 'ö', 'Ö' -> 'o';
+            case 'ş', 'Ş' -> 's';
+            case 'ü', 'Ü', 'û', 'Û' -> 'u';
+            case 'â', 'Â' -> 'a';
+            default -> 0;
+        };
+    }
+
+    private static String foldDecomposed(String value) {
+        String lower = Normalizer.normalize(value.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        String folded = MARKS.matcher(lower).replaceAll("").replace('ı', 'i');
+        return SPACES.matcher(folded).replaceAll(" ").strip();
+    }
+
+    static String searchKey(String query) {
+        if (query == null) {
+            return "";
+        }
+        if (PHONE_QUERY.matcher(query).matches()) {
+            return NON_DIGITS.matcher(query).replaceAll("");
+        }
+        return fold(query);
+    }
+
+    private static String label(TypeaheadEntry entry) {
+        return join(" ", entry.getFirstName(), entry.getLastName()).strip() + SEPARATOR
+                + (entry.getEmail() != null ? entry.getEmail() : "") + SEPARATOR
+                + (entry.getDetail() != null ? entry.getDetail() : "");
+    }
+
+    private static TypeaheadHit toHit(Hit hit) {
+        String[] label = hit.match().label().split(SEPARATOR, -1);
+        String detail = label[2].isEmpty() ? null : label[2];
+        return TypeaheadHit.builder()
+                .type(hit.type())
+                .id(hit.match().id())
+                .name(label[0])
+                .email(label[1])
+                .phone(hit.type() == Role.CUSTOMER ? detail : null)
+                .departmentName(hit.type() == Role.AGENT ? detail : null)
+                .build();
+    }
+
+    private static String join(String separator, String first, String second) {
+        return (first != null ? first : "") + separator + (second != null ? second : "");
+    }
+
+    private record Change(Role type, Consumer<PrefixIndex> action) {
+    }
+
+    private record Hit(Role type, PrefixIndex.Match match) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.anil.crm.services;
+
+import com.anil.crm.web.models.TicketEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * Posts every relayed ticket event as JSON to the configured URL, for integrations outside the application (chat
+ * notifications, reporting, another system's queue). Any error or non-2xx answer fails the event, so the relay retries
+ * it; an event may thus arrive more than once, and receivers can drop repeats by type, ticket and occurredAt.
+ */
+@Service
+@ConditionalOnProperty(name = "application.outbox.webhook.url")
+public class WebhookTicketEventHandler implements TicketEventHandler {
+
+    private final RestClient restClient;
+
+    @Autowired
+    public WebhookTicketEventHandler(RestClient.Builder builder,
+                                     @Value("${application.outbox.webhook.url}") String url,
+                                     @Value("${application.outbox.webhook.timeout:PT5S}") Duration timeout) {
+        this(builder.requestFactory(requestFactory(timeout)), url);
+    }
+
+    WebhookTicketEventHandler(RestClient.Builder builder, String url) {
+        this.restClient = builder.baseUrl(url).build();
+    }
+
+    // The relay thread waits on the call while it holds the batch's row locks, so a dead receiver must time out.
+    private static SimpleClientHttpRequestFactory requestFactory(Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        return requestFactory;
+    }
+
+    @Override
+    public void handle(TicketEvent event) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(event)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -2,6 +2,7 @@ package com.anil.crm.web.controllers;
 
 import com.anil.crm.services.AgentService;
 import com.anil.crm.web.models.AgentDto;
+import com.anil.crm.web.models.FieldSet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -48,15 +49,19 @@ public class AgentsController {
                     "query parametreleri ile filtreleme yapılabilir. Her iki parametre de verilirse, belirtilen departmandaki isimle eşleşenler getirilir.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ajanlar başarıyla listelendi/filtrelendi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz alan (fields)", content = @Content),
             @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
     })
     public ResponseEntity<List<AgentDto>> findAgents(
             @Parameter(description = "Filtrelemek için ad veya soyad parçası (opsiyonel)")
             @RequestParam(required = false) String name,
             @Parameter(description = "Filtrelemek için tam departman adı (opsiyonel)")
-            @RequestParam(required = false) String department
+            @RequestParam(required = false) String department,
+            @Parameter(description = "Yanıtta istenen alanlar, virgülle ayrılmış (örn: id,firstName,departmentName). " +
+                    "Verilmezse tüm alanlar döner.")
+            @RequestParam(required = false) String fields
     ) {
-        List<AgentDto> agents = agentService.findAgents(name, department);
+        List<AgentDto> agents = agentService.findAgents(name, department, FieldSet.parse(fields, AgentDto.class));
         return ResponseEntity.ok(agents);
     }
 
@@ -8,9 +8,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -26,7 +26,6 @@ import java.util.stream.Collectors;
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
     private final JwtService jwtService;
 
 
@@ -34,27 +33,29 @@ public class AuthController {
     public ResponseEntity<AuthenticationResponse> login(
             @RequestBody AuthenticationRequest request
     ) {
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getEmail(),
                         request.getPassword())
         );
 
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(request.getEmail());
+        // The provider already loaded this user to check the password; no second lookup.
+        final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 
         Map<String, Object> extraClaims = new HashMap<>();
 
 
         if (userDetails instanceof User user) {
-            extraClaims.put("userId", user.getId());
-            extraClaims.put("firstName", user.getFirstName());
-            extraClaims.put("lastName", user.getLastName());
+            extraClaims.put(JwtService.CLAIM_USER_ID, user.getId());
+            extraClaims.put(JwtService.CLAIM_FIRST_NAME, user.getFirstName());
+            extraClaims.put(JwtService.CLAIM_LAST_NAME, user.getLastName());
+            extraClaims.put(JwtService.CLAIM_TOKEN_VERSION, user.getTokenVersion());
 
             var roles = user.getAuthorities()
                     .stream()
                     .map(GrantedAuthority::getAuthority)
                     .collect(Collectors.toList());
-            extraClaims.put("roles", roles);
+            extraClaims.put(JwtService.CLAIM_ROLES, roles);
         }
 
         final String jwt = jwtService.generateToken(extraClaims, userDetails);
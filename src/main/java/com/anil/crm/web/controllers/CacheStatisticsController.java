@@ -0,0 +1,41 @@
+package com.anil.crm.web.controllers;
+
+import com.anil.crm.services.CacheStatisticsService;
+import com.anil.crm.web.models.CacheRegionStatisticsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Cache Statistics", description = "İkinci seviye önbellek istatistikleri")
+@RestController
+@RequestMapping("/api/admin/cache-statistics")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @Operation(summary = "Önbellek bölgelerinin isabet/ıska sayılarını getir (Sadece Admin)",
+            description = "Department, Agent, Customer ve departman adı (natural-id) önbelleklerinin uygulama " +
+                    "açıldığından beri isabet, ıska ve yazma sayılarını döner. Bölge boyutlarını ayarlamak için kullanılır.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "İstatistikler getirildi"),
+            @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
+    })
+    @GetMapping
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<CacheRegionStatisticsDto>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getCacheStatistics());
+    }
+}
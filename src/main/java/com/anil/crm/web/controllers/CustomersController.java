@@ -3,6 +3,7 @@ package com.anil.crm.web.controllers;
 import com.anil.crm.exceptions.ResourceNotFoundException;
 import com.anil.crm.services.CustomerService;
 import com.anil.crm.web.models.CustomerDto;
+import com.anil.crm.web.models.FieldSet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -42,6 +43,7 @@ public class CustomersController {
                     "query parametreleri ile filtreleme yapılabilir. 'email' parametresi önceliklidir.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Müşteriler başarıyla listelendi/filtrelendi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz alan (fields)", content = @Content),
             @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
     })
     @GetMapping
@@ -50,11 +52,17 @@ public class CustomersController {
             @RequestParam(required = false) String email,
 
             @Parameter(description = "Filtrelemek için ad veya soyad parçası (opsiyonel)")
-            @RequestParam(required = false) String name
+            @RequestParam(required = false) String name,
+
+            @Parameter(description = "Yanıtta istenen alanlar, virgülle ayrılmış (örn: id,firstName,lastName). " +
+                    "Verilmezse tüm alanlar döner.")
+            @RequestParam(required = false) String fields
     ) {
+        FieldSet fieldSet = FieldSet.parse(fields, CustomerDto.class);
         List<CustomerDto> result;
 
         if (email != null && !email.trim().isEmpty()) {
+            // A unique lookup of at most one row; here the fieldset only trims the response body.
             try {
                 CustomerDto customer = customerService.getCustomerByEmail(email);
                 result = List.of(customer);
@@ -62,9 +70,9 @@ public class CustomersController {
                 result = Collections.emptyList();
             }
         } else if (name != null && !name.trim().isEmpty()) {
-            result = customerService.getCustomersByUserName(name);
+            result = customerService.getCustomersByUserName(name, fieldSet);
         } else {
-            result = customerService.getAllCustomers();
+            result = customerService.getAllCustomers(fieldSet);
         }
         return ResponseEntity.ok(result);
     }
@@ -0,0 +1,63 @@
+package com.anil.crm.web.controllers;
+
+import com.anil.crm.services.TypeaheadService;
+import com.anil.crm.web.models.TypeaheadHit;
+import com.anil.crm.web.models.TypeaheadStatisticsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Lookup", description = "Yazarken arama (typeahead) için müşteri ve ajan önerileri")
+@RestController
+@RequestMapping("/api/lookup")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class LookupController {
+
+    private final TypeaheadService typeaheadService;
+
+    @Operation(summary = "Müşteri ve ajanları önek ile ara (Sadece Admin/Ajan)",
+            description = "Ad, soyad, e-posta veya müşteri telefonu yazılan metinle başlayan müşteri ve ajanları " +
+                    "döner. Veritabanına gitmez; bellekteki indeksten mikrosaniyeler içinde yanıtlanır. Büyük/küçük " +
+                    "harf ve Türkçe karakter farkı gözetmez (\"isik\" \"Işık\" ile eşleşir). Telefon numarası " +
+                    "+90, 0 ile veya bunlar olmadan yazılabilir.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Öneriler listelendi"),
+            @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
+    })
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'AGENT')")
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<TypeaheadHit>> typeahead(
+            @Parameter(description = "Aranan önek (örn: ayş, ali.veli@, 0555 123); boşsa liste boş döner")
+            @RequestParam(value = "q", defaultValue = "") String query,
+            @Parameter(description = "En fazla öneri sayısı (varsayılan 10, en fazla 50)")
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(typeaheadService.search(query, limit));
+    }
+
+    @Operation(summary = "Typeahead indeksinin boyutunu getir (Sadece Admin)",
+            description = "İndeksteki müşteri, ajan ve anahtar sayısını, henüz sıkıştırılmamış değişiklikleri ve " +
+                    "indeksin bellekte kapladığı yaklaşık alanı (byte) döner.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "İstatistikler getirildi"),
+            @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
+    })
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/typeahead/statistics")
+    public ResponseEntity<TypeaheadStatisticsDto> getStatistics() {
+        return ResponseEntity.ok(typeaheadService.getStatistics());
+    }
+}
@@ -0,0 +1,42 @@
+package com.anil.crm.web.controllers;
+
+import com.anil.crm.web.models.FieldSet;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Arrays;
+
+/**
+ * Prunes the JSON of endpoints that take a {@code fields} parameter down to the requested fields. The controller has
+ * already validated the parameter and narrowed the query with it; this only keeps the unread fields out of the body.
+ */
+@RestControllerAdvice
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return super.supports(returnType, converterType) && returnType.getMethod() != null
+                && Arrays.stream(returnType.getMethod().getParameters())
+                .anyMatch(parameter -> parameter.isAnnotationPresent(RequestParam.class)
+                        && FieldSet.PARAM.equals(parameter.getName()));
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        String fields = ((ServletServerHttpRequest) request).getServletRequest().getParameter(FieldSet.PARAM);
+        FieldSet fieldSet = FieldSet.parse(fields);
+        if (!fieldSet.isAll()) {
+            bodyContainer.setFilters(fieldSet.filters());
+        }
+    }
+}
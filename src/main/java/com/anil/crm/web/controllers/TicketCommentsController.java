@@ -2,11 +2,11 @@ package com.anil.crm.web.controllers;
 
 import com.anil.crm.domain.User;
 import com.anil.crm.services.TicketCommentService;
+import com.anil.crm.web.models.CursorPage;
 import com.anil.crm.web.models.TicketCommentDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
-import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -20,7 +20,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/ticket-comments")
@@ -33,36 +32,45 @@ public class TicketCommentsController {
 
 
 
-    @Operation(summary = "Bir bilete ait tüm yorumları getir",
-            description = "Bir biletin (ticket) ID'sini kullanarak ona ait tüm yorumları listeler. " +
+    @Operation(summary = "Bir bilete ait yorumları sayfa sayfa getir",
+            description = "Bir biletin (ticket) ID'sini kullanarak ona ait yorumları eskiden yeniye listeler. " +
+                    "Sonraki sayfa için yanıttaki nextCursor değeri cursor parametresi olarak gönderilir. " +
                     "CUSTOMER rolü sadece kendi biletinin yorumlarını görmelidir (Servis katmanında kontrol edilmeli).")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Yorumlar başarıyla bulundu",
-                    content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = TicketCommentDto.class))),
-            @ApiResponse(responseCode = "404", description = "Bilet (Ticket) bulunamadı", content = @Content),
+            @ApiResponse(responseCode = "200", description = "Yorumlar başarıyla bulundu"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz imleç (cursor)", content = @Content),
             @ApiResponse(responseCode = "403", description = "Bu kaynağa erişim yetkiniz yok", content = @Content)
     })
     @GetMapping("/ticket/{ticketId}")
-    public ResponseEntity<List<TicketCommentDto>> getCommentsByTicket(
+    public ResponseEntity<CursorPage<TicketCommentDto>> getCommentsByTicket(
             @Parameter(description = "Yorumları listelenecek biletin ID'si")
-            @PathVariable Long ticketId) {
+            @PathVariable Long ticketId,
+            @Parameter(description = "Önceki sayfadan dönen nextCursor değeri (ilk sayfa için boş bırakın)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)")
+            @RequestParam(required = false) Integer size) {
 
-        return ResponseEntity.ok(ticketCommentService.getCommentsByTicketId(ticketId));
+        return ResponseEntity.ok(ticketCommentService.getCommentsByTicketId(ticketId, cursor, size));
     }
 
-    @Operation(summary = "Bir yazara (kullanıcıya) ait tüm yorumları getir",
-            description = "Bir yazarın (User ID) sistemdeki tüm yorumlarını listeler. Sadece ADMIN ve AGENT erişebilir.")
+    @Operation(summary = "Bir yazara (kullanıcıya) ait yorumları sayfa sayfa getir",
+            description = "Bir yazarın (User ID) sistemdeki yorumlarını yeniden eskiye listeler. Sonraki sayfa için " +
+                    "yanıttaki nextCursor değeri cursor parametresi olarak gönderilir. Sadece ADMIN ve AGENT erişebilir.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Yorumlar başarıyla bulundu"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz imleç (cursor)", content = @Content),
             @ApiResponse(responseCode = "403", description = "Bu kaynağa erişim yetkiniz yok", content = @Content)
     })
     @GetMapping("/author/{authorId}")
-    public ResponseEntity<List<TicketCommentDto>> getCommentsByAuthor(
+    public ResponseEntity<CursorPage<TicketCommentDto>> getCommentsByAuthor(
             @Parameter(description = "Yorumları listelenecek yazarın (User) ID'si")
-            @PathVariable Long authorId) {
+            @PathVariable Long authorId,
+            @Parameter(description = "Önceki sayfadan dönen nextCursor değeri (ilk sayfa için boş bırakın)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)")
+            @RequestParam(required = false) Integer size) {
 
-        return ResponseEntity.ok(ticketCommentService.getCommentsByAuthorId(authorId));
+        return ResponseEntity.ok(ticketCommentService.getCommentsByAuthorId(authorId, cursor, size));
     }
 
     @Operation(summary = "Bir bilete yeni bir yorum ekle",
@@ -2,24 +2,49 @@ package com.anil.crm.web.controllers;
 
 import com.anil.crm.domain.TicketPriority;
 import com.anil.crm.domain.TicketStatus;
+import com.anil.crm.domain.User;
+import com.anil.crm.services.TicketEventService;
+import com.anil.crm.services.TicketExportService;
+import com.anil.crm.services.TicketImportService;
 import com.anil.crm.services.TicketService;
+import com.anil.crm.web.models.BulkTicketAssignRequest;
+import com.anil.crm.web.models.BulkTicketStatusUpdateRequest;
+import com.anil.crm.web.models.BulkTicketUpdateResult;
+import com.anil.crm.web.models.CompactTicketPage;
+import com.anil.crm.web.models.CursorPage;
+import com.anil.crm.web.models.FieldSet;
+import com.anil.crm.web.models.TicketChanges;
 import com.anil.crm.web.models.TicketDto;
+import com.anil.crm.web.models.TicketExportFormat;
+import com.anil.crm.web.models.TicketImportResult;
+import com.anil.crm.web.models.TicketSearchCriteria;
+import com.anil.crm.web.models.TicketSearchHitPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-import java.util.List;
 
 @Tag(name = "Tickets API", description = "Bilet (Ticket) yönetimi için endpointler")
 @RestController
@@ -29,6 +54,9 @@ import java.util.List;
 public class TicketsController {
 
     private final TicketService ticketService;
+    private final TicketExportService ticketExportService;
+    private final TicketImportService ticketImportService;
+    private final TicketEventService ticketEventService;
 
     @Operation(summary = "Bir bileti ID ile getir")
     @ApiResponses(value = {
@@ -43,57 +71,238 @@ public class TicketsController {
         return ResponseEntity.ok(ticketService.getTicketById(id));
     }
 
-    @Operation(summary = "Tüm biletleri listele (Sadece Admin/Ajan)")
+    @Operation(summary = "Tüm biletleri listele (Sadece Admin/Ajan)",
+            description = "Biletleri en yeniden eskiye doğru (createdAt, id) imleci ile sayfalı olarak listeler. " +
+                    "Sonraki sayfa için yanıttaki nextCursor değeri cursor parametresi olarak gönderilir.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Biletler listelendi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz imleç (cursor) veya alan (fields)", content = @Content),
             @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
     })
     @GetMapping
-    public ResponseEntity<List<TicketDto>> getAllTickets() {
-        return ResponseEntity.ok(ticketService.getAllTickets());
+    public ResponseEntity<CursorPage<TicketDto>> getAllTickets(
+            @Parameter(description = "Önceki sayfadan dönen nextCursor değeri (ilk sayfa için boş bırakın)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Yanıtta istenen alanlar, virgülle ayrılmış (örn: id,subject,status,priority,assignedAgent.id). " +
+                    "Verilmezse tüm alanlar döner; istenmeyen kolonlar veritabanından hiç okunmaz.")
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(ticketService.getAllTickets(cursor, size, FieldSet.parse(fields, TicketDto.class)));
     }
 
     @Operation(summary = "Bir müşteriye ait biletleri getir (Sadece Admin/Ajan)")
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<TicketDto>> getTicketsByCustomer(
+    public ResponseEntity<CursorPage<TicketDto>> getTicketsByCustomer(
             @Parameter(description = "Müşteri ID'si")
-            @PathVariable Long customerId) {
-        return ResponseEntity.ok(ticketService.getTicketsByCustomerId(customerId));
+            @PathVariable Long customerId,
+            @Parameter(description = "Önceki sayfadan dönen nextCursor değeri (ilk sayfa için boş bırakın)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Yanıtta istenen alanlar, virgülle ayrılmış (örn: id,subject,status,priority,assignedAgent.id). " +
+                    "Verilmezse tüm alanlar döner; istenmeyen kolonlar veritabanından hiç okunmaz.")
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(ticketService.getTicketsByCustomerId(customerId, cursor, size, FieldSet.parse(fields, TicketDto.class)));
     }
 
     @Operation(summary = "Bir ajana atanmış biletleri getir (Sadece Admin/Ajan)",
             description = "Belirli bir ajana atanmış (assigned) biletleri listeler.")
     @GetMapping("/assigned-agent/{agentId}")
-    public ResponseEntity<List<TicketDto>> getTicketsByAssignedAgent(
-                                                                      @Parameter(description = "Atanmış ajanın ID'si")
-                                                                      @PathVariable Long agentId) {
-        return ResponseEntity.ok(ticketService.getTicketsByAssignedAgentId(agentId));
+    public ResponseEntity<CursorPage<TicketDto>> getTicketsByAssignedAgent(
+            @Parameter(description = "Atanmış ajanın ID'si")
+            @PathVariable Long agentId,
+            @Parameter(description = "Önceki sayfadan dönen nextCursor değeri (ilk sayfa için boş bırakın)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Yanıtta istenen alanlar, virgülle ayrılmış (örn: id,subject,status,priority,assignedAgent.id). " +
+                    "Verilmezse tüm alanlar döner; istenmeyen kolonlar veritabanından hiç okunmaz.")
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(ticketService.getTicketsByAssignedAgentId(agentId, cursor, size, FieldSet.parse(fields, TicketDto.class)));
     }
 
 
     @Operation(summary = "Bir departmana ait biletleri getir (Sadece Admin/Ajan)", description = "Belirli bir departmana ait tüm biletleri listeler.")
     @GetMapping("/department/{departmentId}")
-    public ResponseEntity<List<TicketDto>> getTicketsByDepartment(
+    public ResponseEntity<CursorPage<TicketDto>> getTicketsByDepartment(
             @Parameter(description = "Departman ID'si")
-            @PathVariable Long departmentId) {
-        return ResponseEntity.ok(ticketService.getTicketsByDepartmentId(departmentId));
+            @PathVariable Long departmentId,
+            @Parameter(description = "Önceki sayfadan dönen nextCursor değeri (ilk sayfa için boş bırakın)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Yanıtta istenen alanlar, virgülle ayrılmış (örn: id,subject,status,priority,assignedAgent.id). " +
+                    "Verilmezse tüm alanlar döner; istenmeyen kolonlar veritabanından hiç okunmaz.")
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(ticketService.getTicketsByDepartmentId(departmentId, cursor, size, FieldSet.parse(fields, TicketDto.class)));
     }
 
 
     @Operation(summary = "Duruma (status) göre biletleri getir (Sadece Admin/Ajan)")
     @GetMapping("/status")
-    public ResponseEntity<List<TicketDto>> getTicketsByStatus(
+    public ResponseEntity<CursorPage<TicketDto>> getTicketsByStatus(
             @Parameter(description = "Durum (örn: OPEN, CLOSED)")
-            @RequestParam TicketStatus status) {
-        return ResponseEntity.ok(ticketService.getTicketsByStatus(status));
+            @RequestParam TicketStatus status,
+            @Parameter(description = "Önceki sayfadan dönen nextCursor değeri (ilk sayfa için boş bırakın)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Yanıtta istenen alanlar, virgülle ayrılmış (örn: id,subject,status,priority,assignedAgent.id). " +
+                    "Verilmezse tüm alanlar döner; istenmeyen kolonlar veritabanından hiç okunmaz.")
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(ticketService.getTicketsByStatus(status, cursor, size, FieldSet.parse(fields, TicketDto.class)));
     }
 
     @Operation(summary = "Önceliğe (priority) göre biletleri getir (Sadece Admin/Ajan)")
     @GetMapping("/priority")
-    public ResponseEntity<List<TicketDto>> getTicketsByPriority(
+    public ResponseEntity<CursorPage<TicketDto>> getTicketsByPriority(
             @Parameter(description = "Öncelik (örn: HIGH, LOW)")
-            @RequestParam TicketPriority priority) {
-        return ResponseEntity.ok(ticketService.getTicketsByPriority(priority));
+            @RequestParam TicketPriority priority,
+            @Parameter(description = "Önceki sayfadan dönen nextCursor değeri (ilk sayfa için boş bırakın)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Yanıtta istenen alanlar, virgülle ayrılmış (örn: id,subject,status,priority,assignedAgent.id). " +
+                    "Verilmezse tüm alanlar döner; istenmeyen kolonlar veritabanından hiç okunmaz.")
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(ticketService.getTicketsByPriority(priority, cursor, size, FieldSet.parse(fields, TicketDto.class)));
+    }
+
+    @Operation(summary = "Biletleri birden fazla kritere göre ara (Sadece Admin/Ajan)",
+            description = "Müşteri, durum, öncelik, departman, atanmış ajan ve oluşturulma tarihi aralığı filtrelerinin " +
+                    "herhangi bir kombinasyonunu kabul eder. Tüm filtreler veritabanı sorgusunda uygulanır; " +
+                    "sonuçlar diğer listeler gibi (createdAt, id) imleci ile sayfalanır.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Biletler listelendi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz filtre veya imleç (cursor)", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
+    })
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'AGENT')")
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<TicketDto>> searchTickets(
+            @ParameterObject TicketSearchCriteria criteria,
+            @Parameter(description = "Önceki sayfadan dönen nextCursor değeri (ilk sayfa için boş bırakın)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Yanıtta istenen alanlar, virgülle ayrılmış (örn: id,subject,status,priority,assignedAgent.id). " +
+                    "Verilmezse tüm alanlar döner; istenmeyen kolonlar veritabanından hiç okunmaz.")
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(ticketService.searchTickets(criteria, cursor, size, FieldSet.parse(fields, TicketDto.class)));
+    }
+
+    @Operation(summary = "Biletleri kompakt biçimde ara (Sadece Admin/Ajan)",
+            description = "Arama ile aynı filtreleri ve imleci kabul eder. Biletler müşteri, departman ve atanmış ajanı " +
+                    "yalnızca ID ile (customerId, departmentId, assignedAgentId) taşır; sayfadaki her müşteri, ajan ve " +
+                    "departman included altında ID'ye göre bir kez döner. Büyük sayfalarda yanıt boyutunu küçültür.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Biletler listelendi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz filtre veya imleç (cursor)", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
+    })
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'AGENT')")
+    @GetMapping("/compact")
+    public ResponseEntity<CompactTicketPage> searchTicketsCompact(
+            @ParameterObject TicketSearchCriteria criteria,
+            @Parameter(description = "Önceki sayfadan dönen nextCursor değeri (ilk sayfa için boş bırakın)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)")
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ticketService.searchTicketsCompact(criteria, cursor, size));
+    }
+
+    @Operation(summary = "Bilet içeriğinde tam metin arama (Sadece Admin/Ajan)",
+            description = "Konu, açıklama ve yorumlarda Türkçe köklere göre arar; büyük/küçük harf ve Türkçe karakter " +
+                    "farkı gözetmez (\"sifre\" \"Şifre\" ile eşleşir). Tırnaklı ifade, \"or\" ve \"-kelime\" " +
+                    "desteklenir. Sonuçlar en alakalıdan başlayarak sıralanır ve eşleşen kelimeler <mark> ile " +
+                    "işaretlenmiş parçalarla döner. nextCursor ile sayfalanır. Çok sayıda bilet veya yorumla eşleşen " +
+                    "aramalarda yalnızca en yeni eşleşmeler sıralanır ve yanıtta approximate=true döner.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arama sonuçları listelendi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz imleç (cursor) veya alan (fields)", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
+    })
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'AGENT')")
+    @GetMapping("/fulltext")
+    public ResponseEntity<TicketSearchHitPage> searchTicketText(
+            @Parameter(description = "Aranacak metin (örn: fatura iade, \"şifre sıfırlama\")")
+            @RequestParam("q") String query,
+            @Parameter(description = "Önceki sayfadan dönen nextCursor değeri (ilk sayfa için boş bırakın)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)")
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ticketService.searchTicketText(query, cursor, size));
+    }
+
+    @Operation(summary = "Bilet değişikliklerini canlı izle (SSE) (Sadece Admin/Ajan)",
+            description = "Server-Sent Events akışı açar; departman ve/veya atanmış ajan filtresine uyan biletler için " +
+                    "TICKET_CREATED, STATUS_CHANGED, ASSIGNED ve COMMENT_ADDED olayları commit sonrasında gönderilir. " +
+                    "Filtre verilmezse tüm olaylar gelir. Olaylar yalnızca ID ve değişen alanları taşır. " +
+                    "Okumada geride kalan istemcinin bağlantısı kapatılır; kaçırılan olaylar tekrar gönderilmez, " +
+                    "istemci yeniden bağlanıp listesini bir kez yeniden yüklemelidir.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Olay akışı açıldı"),
+            @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Abone sınırına ulaşıldı", content = @Content)
+    })
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'AGENT')")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTicketEvents(
+            @Parameter(description = "Yalnızca bu departmanın biletleri")
+            @RequestParam(required = false) Long departmentId,
+            @Parameter(description = "Yalnızca bu ajana atanmış (veya bu ajandan alınmış) biletler")
+            @RequestParam(required = false) Long agentId) {
+        return ticketEventService.subscribe(departmentId, agentId);
+    }
+
+    @Operation(summary = "Son eşitlemeden beri değişen biletler (Sadece Admin/Ajan)",
+            description = "İmleçten (since) sonra oluşturulan veya güncellenen biletleri (changed) ve silinen biletlerin " +
+                    "ID'lerini (deleted) en eski değişiklikten başlayarak döndürür. Yanıttaki nextCursor her zaman " +
+                    "doludur; istemci onu saklayıp bir sonraki eşitlemede since olarak gönderir. hasMore true ise " +
+                    "hemen tekrar istenmelidir. İmleç verilmezse tüm biletler baştan gelir. Son birkaç saniyedeki " +
+                    "değişiklikler, işlemleri kesin olarak tamamlanana kadar bir sonraki eşitlemeye bırakılır. " +
+                    "Silmeler 30 gün tutulur; bundan uzun süre eşitleme yapmayan istemci imleci atıp baştan eşitlemelidir.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Değişiklikler listelendi"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz imleç (since)", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
+    })
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'AGENT')")
+    @GetMapping("/changes")
+    public ResponseEntity<TicketChanges> getTicketChanges(
+            @Parameter(description = "Önceki eşitlemeden dönen nextCursor değeri (ilk eşitleme için boş bırakın)")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Sayfa boyutu (varsayılan 50, en fazla 200)")
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ticketService.getChanges(since, size));
+    }
+
+    @Operation(summary = "Biletleri dışa aktar (NDJSON/CSV) (Sadece Admin/Ajan)",
+            description = "Arama ile aynı filtreleri kabul eder ve eşleşen tüm biletleri sayfalamadan, " +
+                    "veritabanı imleci üzerinden okunduğu sırada akış (stream) olarak yazar. " +
+                    "Bellek kullanımı dışa aktarılan bilet sayısından bağımsızdır.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dışa aktarma akışı başladı"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz filtre veya format", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
+    })
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'AGENT')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTickets(
+            @ParameterObject TicketSearchCriteria criteria,
+            @Parameter(description = "Çıktı formatı: NDJSON (varsayılan) veya CSV")
+            @RequestParam(defaultValue = "NDJSON") TicketExportFormat format) {
+
+        StreamingResponseBody body = out -> ticketExportService.exportTickets(criteria, format, out);
+
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tickets." + format.getFileExtension())
+                        .build()
+                        .toString())
+                .body(body);
     }
 
     @Operation(summary = "Yeni bir bilet oluştur (Sadece Müşteri)")
@@ -119,6 +328,25 @@ public class TicketsController {
     }
 
 
+    @Operation(summary = "Biletleri toplu içe aktar (Sadece Admin)",
+            description = "Gövde, POST /api/tickets ile aynı biçimdeki biletlerin JSON dizisidir. Dizi tamamı belleğe " +
+                    "alınmadan eleman eleman okunur; müşteri, departman ve ajan ID'leri parti başına tek sorguyla " +
+                    "doğrulanır ve biletler parti parti ayrı transaction'larda toplu (batch) olarak yazılır. " +
+                    "Hatalı satırlar sıra numarası (index) ile raporlanır ve içe aktarmayı durdurmaz. " +
+                    "Yanıt, saniyedeki satır sayısını (rowsPerSecond) da içerir.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "İçe aktarma tamamlandı (satır hataları yanıtta)"),
+            @ApiResponse(responseCode = "400", description = "Gövde bir JSON dizisi değil", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
+    })
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "İçe aktarılacak biletlerin JSON dizisi",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = TicketDto.class))))
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TicketImportResult> importTickets(InputStream body) throws IOException {
+        return ResponseEntity.ok(ticketImportService.importTickets(body));
+    }
+
     @Operation(summary = "Mevcut bir bileti güncelle (Sadece Admin/Ajan)",
             description = "Biletin konu, açıklama, durum, öncelik gibi temel bilgilerini günceller. " +
                     "Departman veya atanan ajan değişikliği genellikle ayrı endpoint'lerle yapılır.")
@@ -173,6 +401,61 @@ public class TicketsController {
         return ResponseEntity.ok(updatedTicket);
     }
 
+    @Operation(summary = "Birden fazla biletin durumunu güncelle (Sadece Admin/Ajan)",
+            description = "Biletler tek tek yüklenmeden, parti başına tek bir UPDATE ile güncellenir ve sürümleri (version) " +
+                    "artırılır. Bir bilet için version gönderilirse yalnızca sürüm hâlâ aynıysa güncellenir. " +
+                    "Sonuç her ID için UPDATED, NOT_FOUND veya VERSION_CONFLICT döner.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Toplu güncelleme tamamlandı (ID bazında sonuçlar yanıtta)"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz istek", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
+    })
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'AGENT')")
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<BulkTicketUpdateResult> updateTicketStatuses(
+            @Valid @RequestBody BulkTicketStatusUpdateRequest request) {
+        return ResponseEntity.ok(ticketService.updateTicketStatuses(request));
+    }
+
+    @Operation(summary = "Birden fazla bilete ajan ata (Sadece Admin/Ajan)",
+            description = "Durum güncellemesiyle aynı şekilde çalışır: parti başına tek UPDATE, sürüm kontrolü ve ID bazında sonuç.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Toplu atama tamamlandı (ID bazında sonuçlar yanıtta)"),
+            @ApiResponse(responseCode = "400", description = "Geçersiz istek", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Ajan bulunamadı", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
+    })
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'AGENT')")
+    @PatchMapping("/bulk/assign-agent")
+    public ResponseEntity<BulkTicketUpdateResult> assignAgentToTickets(
+            @Valid @RequestBody BulkTicketAssignRequest request) {
+        return ResponseEntity.ok(ticketService.assignAgentToTickets(request));
+    }
+
+    @Operation(summary = "Kuyruktaki sıradaki bileti üstlen (Sadece Ajan)",
+            description = "Departmandaki atanmamış OPEN biletler arasından en yüksek öncelikli ve en eski olanı giriş " +
+                    "yapmış ajana atar. Başka bir ajanın o an üstlendiği satırlar kilitlenip beklenmez, atlanır " +
+                    "(FOR UPDATE SKIP LOCKED); aynı bilet iki ajana verilmez. departmentId verilmezse ajanın kendi " +
+                    "departmanı kullanılır.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bilet üstlenildi"),
+            @ApiResponse(responseCode = "204", description = "Kuyrukta üstlenilecek bilet yok", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Giriş yapan kullanıcıya ait ajan bulunamadı", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Yetkisiz erişim", content = @Content)
+    })
+    @PreAuthorize("hasAuthority('AGENT')")
+    @PostMapping("/claim-next")
+    public ResponseEntity<TicketDto> claimNextTicket(
+            @Parameter(description = "Kuyruğu kullanılacak departmanın ID'si (varsayılan: ajanın departmanı)")
+            @RequestParam(required = false) Long departmentId,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal User agentUser) {
+
+        return ticketService.claimNextTicket(agentUser.getEmail(), departmentId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
     @Operation(summary = "Bir bileti ID ile sil (Sadece Admin/Ajan)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Bilet başarıyla silindi", content = @Content),
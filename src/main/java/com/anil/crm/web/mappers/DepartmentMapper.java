@@ -3,12 +3,13 @@ package com.anil.crm.web.mappers;
 import com.anil.crm.domain.Department;
 import com.anil.crm.web.models.DepartmentDto;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 
 @Mapper
 public interface DepartmentMapper {
 
-
+    @Mapping(target = "searchName", ignore = true)
     Department departmentDtoToDepartment(DepartmentDto departmentDto);
 
     DepartmentDto departmentToDepartmentDto(Department savedDepartment);
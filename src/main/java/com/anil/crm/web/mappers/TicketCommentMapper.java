@@ -1,6 +1,7 @@
 package com.anil.crm.web.mappers;
 
 import com.anil.crm.domain.TicketComment;
+import com.anil.crm.repositories.TicketCommentView;
 import com.anil.crm.web.models.TicketCommentDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -16,6 +17,8 @@ public interface TicketCommentMapper {
     @Mapping(target = "ticketId", source = "ticket.id")
     TicketCommentDto ticketCommentToTicketCommentDto(TicketComment ticketComment);
 
+    TicketCommentDto ticketCommentViewToTicketCommentDto(TicketCommentView ticketCommentView);
+
 
     @Mapping(target = "ticket", ignore = true)
     @Mapping(target = "author", ignore = true)
@@ -1,6 +1,11 @@
 package com.anil.crm.web.mappers;
 
 import com.anil.crm.domain.Ticket;
+import com.anil.crm.repositories.TicketSummary;
+import com.anil.crm.web.models.AgentDto;
+import com.anil.crm.web.models.CompactTicketDto;
+import com.anil.crm.web.models.CustomerDto;
+import com.anil.crm.web.models.DepartmentDto;
 import com.anil.crm.web.models.TicketDto;
 import org.mapstruct.*;
 
@@ -37,4 +42,74 @@ public interface TicketMapper {
     @Mapping(target = "department", ignore = true)
     @Mapping(target = "assignedAgent", ignore = true)
     void updateTicketFromDto(TicketDto ticketDto, @MappingTarget Ticket existingTicket);
-}
\ No newline at end of file
+
+
+    default TicketDto ticketSummaryToTicketDto(TicketSummary summary) {
+        if (summary == null) {
+            return null;
+        }
+
+        CustomerDto customer = CustomerDto.builder()
+                .id(summary.getCustomerId())
+                .createdAt(summary.getCustomerCreatedAt())
+                .updatedAt(summary.getCustomerUpdatedAt())
+                .firstName(summary.getCustomerFirstName())
+                .lastName(summary.getCustomerLastName())
+                .email(summary.getCustomerEmail())
+                .phone(summary.getCustomerPhone())
+                .build();
+
+        DepartmentDto department = DepartmentDto.builder()
+                .id(summary.getDepartmentId())
+                .name(summary.getDepartmentName())
+                .description(summary.getDepartmentDescription())
+                .build();
+
+        AgentDto assignedAgent = null;
+        if (summary.getAssignedAgentId() != null) {
+            assignedAgent = AgentDto.builder()
+                    .id(summary.getAssignedAgentId())
+                    .createdAt(summary.getAssignedAgentCreatedAt())
+                    .updatedAt(summary.getAssignedAgentUpdatedAt())
+                    .firstName(summary.getAssignedAgentFirstName())
+                    .lastName(summary.getAssignedAgentLastName())
+                    .email(summary.getAssignedAgentEmail())
+                    .departmentName(summary.getAssignedAgentDepartmentName())
+                    .build();
+        }
+
+        return TicketDto.builder()
+                .id(summary.getId())
+                .version(summary.getVersion())
+                .createdAt(summary.getCreatedAt())
+                .updatedAt(summary.getUpdatedAt())
+                .subject(summary.getSubject())
+                .description(summary.getDescription())
+                .status(summary.getStatus())
+                .priority(summary.getPriority())
+                .customer(customer)
+                .department(department)
+                .assignedAgent(assignedAgent)
+                .build();
+    }
+
+    default CompactTicketDto ticketSummaryToCompactTicketDto(TicketSummary summary) {
+        if (summary == null) {
+            return null;
+        }
+
+        return CompactTicketDto.builder()
+                .id(summary.getId())
+                .version(summary.getVersion())
+                .createdAt(summary.getCreatedAt())
+                .updatedAt(summary.getUpdatedAt())
+                .subject(summary.getSubject())
+                .description(summary.getDescription())
+                .status(summary.getStatus())
+                .priority(summary.getPriority())
+                .customerId(summary.getCustomerId())
+                .departmentId(summary.getDepartmentId())
+                .assignedAgentId(summary.getAssignedAgentId())
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.anil.crm.web.models;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTicketAssignRequest {
+
+    @NotNull(message = "Ajan ID'si boş olamaz")
+    private Long agentId;
+
+    @NotEmpty(message = "En az bir bilet gönderilmelidir")
+    @Size(max = BulkTicketUpdateResult.MAX_TICKETS, message = "Tek istekte en fazla 100000 bilet güncellenebilir")
+    private List<@Valid @NotNull TicketVersionRef> tickets;
+}
@@ -0,0 +1,23 @@
+package com.anil.crm.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTicketUpdateItem {
+
+    public enum Outcome {
+        UPDATED, NOT_FOUND, VERSION_CONFLICT
+    }
+
+    private Long id;
+    private Outcome outcome;
+
+    // The ticket's new version when UPDATED, otherwise null.
+    private Long version;
+}
@@ -0,0 +1,25 @@
+package com.anil.crm.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTicketUpdateResult {
+
+    public static final int MAX_TICKETS = 100_000;
+
+    private int requested;
+    private int updated;
+    private int notFound;
+    private int versionConflicts;
+
+    // One entry per distinct requested ID, in request order.
+    private List<BulkTicketUpdateItem> results;
+}
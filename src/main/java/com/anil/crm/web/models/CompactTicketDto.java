@@ -0,0 +1,37 @@
+package com.anil.crm.web.models;
+
+import com.anil.crm.domain.TicketPriority;
+import com.anil.crm.domain.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A ticket of {@link CompactTicketPage}: the customer, department and agent are referenced by ID and looked up in
+ * the page's {@link TicketIncludes}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompactTicketDto {
+
+    private Long id;
+    private Long version;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private String subject;
+    private String description;
+    private TicketStatus status;
+    private TicketPriority priority;
+
+    private Long customerId;
+    private Long departmentId;
+
+    // null while the ticket is unassigned.
+    private Long assignedAgentId;
+}
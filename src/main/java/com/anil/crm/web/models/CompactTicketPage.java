@@ -0,0 +1,29 @@
+package com.anil.crm.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A {@link CursorPage} of tickets whose related resources are side-loaded: tickets carry only their
+ * customer, department and agent IDs, and {@code included} carries each of those resources once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompactTicketPage {
+
+    private List<CompactTicketDto> items;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private String nextCursor;
+
+    private TicketIncludes included;
+}
@@ -0,0 +1,168 @@
+package com.anil.crm.web.models;
+
+import com.anil.crm.exceptions.InvalidFieldsException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import lombok.EqualsAndHashCode;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sparse fieldset from a {@code ?fields=id,subject,assignedAgent.id} parameter. A nested object is included when it
+ * or any of its fields is requested; requesting the object itself includes all of its fields.
+ * {@link #ALL} stands for an absent parameter and includes everything.
+ */
+@EqualsAndHashCode
+public final class FieldSet {
+
+    public static final String PARAM = "fields";
+
+    // Jackson filter ID of the DTOs a fieldset can prune; see SparseFieldsModule.
+    public static final String FILTER = "fieldSet";
+
+    // DTOs that are written field by field and may nest inside each other (a ticket's customer, department, agent).
+    public static final Set<Class<?>> FILTERED_TYPES = Set.of(TicketDto.class, CustomerDto.class, AgentDto.class, DepartmentDto.class);
+
+    public static final FieldSet ALL = new FieldSet(null);
+
+    private static final Map<Class<?>, Set<String>> KNOWN_PATHS = new ConcurrentHashMap<>();
+
+    // null for ALL; otherwise the requested paths exactly as given.
+    private final Set<String> requested;
+
+    // Every parent of a requested path ("assignedAgent" for "assignedAgent.id"), so the object around it is written.
+    @EqualsAndHashCode.Exclude
+    private final Set<String> containers;
+
+    private FieldSet(Set<String> requested) {
+        this.requested = requested;
+        this.containers = new HashSet<>();
+        if (requested != null) {
+            for (String path : requested) {
+                for (int dot = path.indexOf('.'); dot > 0; dot = path.indexOf('.', dot + 1)) {
+                    containers.add(path.substring(0, dot));
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses a comma separated list of field paths of {@code type}; blank means {@link #ALL}.
+     *
+     * @throws InvalidFieldsException if a path is not a field of {@code type} or of a DTO nested in it
+     */
+    public static FieldSet parse(String fields, Class<?> type) {
+        FieldSet fieldSet = parse(fields);
+        if (!fieldSet.isAll()) {
+            Set<String> known = KNOWN_PATHS.computeIfAbsent(type, FieldSet::pathsOf);
+            for (String path : fieldSet.requested) {
+                if (!known.contains(path)) {
+                    throw new InvalidFieldsException("Unknown field: " + path);
+                }
+            }
+        }
+        return fieldSet;
+    }
+
+    /**
+     * Same as {@link #parse(String, Class)} without validation; unknown paths simply match nothing.
+     */
+    public static FieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                requested.add(field.trim());
+            }
+        }
+        return requested.isEmpty() ? ALL : new FieldSet(Set.copyOf(requested));
+    }
+
+    public static FieldSet of(String... paths) {
+        return new FieldSet(Set.of(paths));
+    }
+
+    public boolean isAll() {
+        return requested == null;
+    }
+
+    public boolean includes(String path) {
+        if (requested == null || requested.contains(path) || containers.contains(path)) {
+            return true;
+        }
+        for (int dot = path.lastIndexOf('.'); dot > 0; dot = path.lastIndexOf('.', dot - 1)) {
+            if (requested.contains(path.substring(0, dot))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean includesAny(String... paths) {
+        return Arrays.stream(paths).anyMatch(this::includes);
+    }
+
+    /**
+     * Jackson filters that write only the included fields of {@link #FILTERED_TYPES}.
+     */
+    public FilterProvider filters() {
+        return new SimpleFilterProvider().addFilter(FILTER,
+                requested == null ? SimpleBeanPropertyFilter.serializeAll() : new PathFilter());
+    }
+
+    @Override
+    public String toString() {
+        return requested == null ? "ALL" : String.join(",", requested);
+    }
+
+    private static Set<String> pathsOf(Class<?> type) {
+        Set<String> paths = new HashSet<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            paths.add(field.getName());
+            if (FILTERED_TYPES.contains(field.getType())) {
+                pathsOf(field.getType()).forEach(nested -> paths.add(field.getName() + "." + nested));
+            }
+        }
+        return Set.copyOf(paths);
+    }
+
+    private final class PathFilter extends SimpleBeanPropertyFilter {
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer)
+                throws Exception {
+            if (includes(pathOf(gen, writer.getName()))) {
+                writer.serializeAsField(pojo, gen, provider);
+            }
+        }
+
+        // A nested DTO is reached through its parent's property name, which the enclosing JSON object still holds.
+        private static String pathOf(JsonGenerator gen, String name) {
+            String path = name;
+            JsonStreamContext context = gen.getOutputContext().getParent();
+            while (context != null && context.inObject() && context.getCurrentValue() != null
+                    && FILTERED_TYPES.contains(context.getCurrentValue().getClass())) {
+                path = context.getCurrentName() + "." + path;
+                context = context.getParent();
+            }
+            return path;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.anil.crm.web.models;
+
+import com.anil.crm.exceptions.InvalidCursorException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque (created_at, id) position used for keyset pagination; the change feed stores (updated_at, id) in it.
+ * Clients only ever see the Base64 token produced by {@link #encode()}.
+ */
+@Value
+public class KeysetCursor {
+
+    /**
+     * Position before the newest possible row, used when no cursor is supplied.
+     */
+    public static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    /**
+     * Position before the oldest possible row, for lists read oldest first.
+     */
+    public static final KeysetCursor FIRST_ASCENDING = new KeysetCursor(LocalDateTime.of(1, 1, 1, 0, 0), Long.MIN_VALUE);
+
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime createdAt;
+    Long id;
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        return decode(token, FIRST);
+    }
+
+    /**
+     * Like {@link #decode(String)}, starting at {@code first} when no cursor is supplied.
+     */
+    public static KeysetCursor decode(String token, KeysetCursor first) {
+        if (token == null || token.isBlank()) {
+            return first;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Geçersiz sayfa imleci (cursor): " + token);
+            }
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Geçersiz sayfa imleci (cursor): " + token);
+        }
+    }
+}
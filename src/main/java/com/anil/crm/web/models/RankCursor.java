@@ -0,0 +1,49 @@
+package com.anil.crm.web.models;
+
+import com.anil.crm.exceptions.InvalidCursorException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque (rank, id) position used to page full-text results, which are ordered by relevance rather than by
+ * creation time. Clients only ever see the Base64 token produced by {@link #encode()}.
+ */
+@Value
+public class RankCursor {
+
+    /**
+     * Position before the best possible match, used when no cursor is supplied.
+     */
+    public static final RankCursor FIRST = new RankCursor(Float.MAX_VALUE, Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "|";
+
+    // The exact real the database returned; Float.toString round-trips, so the next page starts right after it.
+    float rank;
+    Long id;
+
+    public String encode() {
+        String raw = rank + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RankCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Geçersiz sayfa imleci (cursor): " + token);
+            }
+            return new RankCursor(
+                    Float.parseFloat(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Geçersiz sayfa imleci (cursor): " + token);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.anil.crm.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of {@code /api/tickets/changes}: the tickets created or updated and the IDs of the tickets deleted after
+ * the {@code since} cursor. A ticket changed several times appears once, as it is now.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketChanges {
+
+    private List<TicketDto> changed;
+    private List<Long> deleted;
+
+    // More changes are ready; fetch again right away with nextCursor.
+    private boolean hasMore;
+
+    // Always set, also on an empty page: the client stores it and sends it as since on its next sync.
+    private String nextCursor;
+}
@@ -19,6 +19,10 @@ import java.time.LocalDateTime;
 public class TicketDto {
 
     private Long id;
+
+    // Read-only; bulk updates take it back as the expected version, and sync clients keep the newest copy.
+    private Long version;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
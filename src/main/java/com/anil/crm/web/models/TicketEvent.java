@@ -0,0 +1,41 @@
+package com.anil.crm.web.models;
+
+import com.anil.crm.domain.TicketStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change to a ticket, as sent on {@code /api/tickets/events}. Carries only IDs and the changed values;
+ * a dashboard that needs the full ticket fetches it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TicketEvent {
+
+    public enum Type {
+        TICKET_CREATED, STATUS_CHANGED, ASSIGNED, COMMENT_ADDED
+    }
+
+    private Type type;
+    private Long ticketId;
+    private Long departmentId;
+    private Long assignedAgentId;
+    private TicketStatus status;
+
+    // Set when known: the status before a STATUS_CHANGED and the agent before an ASSIGNED.
+    private TicketStatus previousStatus;
+    private Long previousAgentId;
+
+    // The new comment of a COMMENT_ADDED.
+    private Long commentId;
+
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,19 @@
+package com.anil.crm.web.models;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum TicketExportFormat {
+
+    /** One TicketDto JSON document per line. */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+
+    /** Flat, comma separated rows with a header line (RFC 4180 quoting). */
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+}
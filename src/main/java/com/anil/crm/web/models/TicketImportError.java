@@ -0,0 +1,17 @@
+package com.anil.crm.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketImportError {
+
+    /** Zero-based position of the row in the request array. */
+    private long index;
+    private String message;
+}
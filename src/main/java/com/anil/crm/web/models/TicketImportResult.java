@@ -0,0 +1,25 @@
+package com.anil.crm.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketImportResult {
+
+    private long total;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    // Capped at TicketImportServiceImpl.MAX_REPORTED_ERRORS so a bad file cannot blow up the response.
+    private List<TicketImportError> errors;
+    private boolean errorsTruncated;
+}
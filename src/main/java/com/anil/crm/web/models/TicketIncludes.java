@@ -0,0 +1,22 @@
+package com.anil.crm.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * The customers, agents and departments referenced by a page of tickets, each once, keyed by ID.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketIncludes {
+
+    private Map<Long, CustomerDto> customers;
+    private Map<Long, AgentDto> agents;
+    private Map<Long, DepartmentDto> departments;
+}
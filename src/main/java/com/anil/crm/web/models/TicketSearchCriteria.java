@@ -0,0 +1,42 @@
+package com.anil.crm.web.models;
+
+import com.anil.crm.domain.TicketPriority;
+import com.anil.crm.domain.TicketStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TicketSearchCriteria {
+
+    @Schema(description = "Müşteri ID'si")
+    private Long customerId;
+
+    @Schema(description = "Durum (örn: OPEN)")
+    private TicketStatus status;
+
+    @Schema(description = "Öncelik (örn: HIGH)")
+    private TicketPriority priority;
+
+    @Schema(description = "Departman ID'si")
+    private Long departmentId;
+
+    @Schema(description = "Atanmış ajanın ID'si")
+    private Long assignedAgentId;
+
+    @Schema(description = "Bu tarihte veya sonrasında oluşturulanlar (ISO-8601, örn: 2025-01-01T00:00:00)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @Schema(description = "Bu tarihten önce oluşturulanlar (ISO-8601)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+}
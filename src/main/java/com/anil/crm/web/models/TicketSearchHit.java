@@ -0,0 +1,23 @@
+package com.anil.crm.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketSearchHit {
+
+    private TicketDto ticket;
+
+    private float rank;
+
+    // HTML-escaped text; matched words are wrapped in <mark>...</mark>.
+    private String subjectHighlight;
+
+    // Best matching fragments of the description, or of a comment when only the comments matched.
+    private String snippet;
+}
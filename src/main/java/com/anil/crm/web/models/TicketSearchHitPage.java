@@ -0,0 +1,29 @@
+package com.anil.crm.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A {@link CursorPage} of full-text hits. {@code approximate} is set when the query matched too many tickets or
+ * comments for all of them to be ranked; only the newest were, and a narrower query finds the rest.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketSearchHitPage {
+
+    private List<TicketSearchHit> items;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private String nextCursor;
+
+    private boolean approximate;
+}
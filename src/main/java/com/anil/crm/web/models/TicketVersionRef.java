@@ -0,0 +1,20 @@
+package com.anil.crm.web.models;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketVersionRef {
+
+    @NotNull(message = "Bilet ID'si boş olamaz")
+    private Long id;
+
+    // Version the client last saw; when given, the ticket is only updated if it has not changed since.
+    private Long version;
+}
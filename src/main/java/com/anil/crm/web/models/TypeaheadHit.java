@@ -0,0 +1,26 @@
+package com.anil.crm.web.models;
+
+import com.anil.crm.domain.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TypeaheadHit {
+
+    // CUSTOMER or AGENT; id is the customer or agent id.
+    private Role type;
+    private Long id;
+    private String name;
+    private String email;
+
+    // Customers only.
+    private String phone;
+
+    // Agents only.
+    private String departmentName;
+}
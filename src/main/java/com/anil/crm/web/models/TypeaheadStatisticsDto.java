@@ -0,0 +1,25 @@
+package com.anil.crm.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TypeaheadStatisticsDto {
+
+    private int customers;
+    private int agents;
+    private int keys;
+
+    // Saves and deletes not yet folded into the sorted arrays.
+    private int pendingChanges;
+
+    // Approximate heap footprint of both indexes.
+    private long estimatedBytes;
+
+    private long lastBuildMillis;
+}
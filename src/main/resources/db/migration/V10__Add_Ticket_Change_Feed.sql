@@ -0,0 +1,17 @@
+-- Değişiklik akışı (GET /api/tickets/changes): istemciler listelerini baştan indirmek yerine son imleçten (updated_at, id)
+-- sonra değişen biletleri alır. Her güncelleme updated_at'i zaten yazdığından tarama bu indeks üzerinden yapılır.
+-- Not: updated_at artık indeksli olduğundan bilet güncellemeleri HOT güncelleme olamaz; status, öncelik ve ajan
+-- kolonları zaten indeksli olduğu için pratikte yeni bir maliyet değildir.
+-- updated_at boş kalmış eski satırlar akışta hiç görünmezdi; oluşturulma zamanıyla doldurulur.
+UPDATE tickets SET updated_at = COALESCE(created_at, now()) WHERE updated_at IS NULL;
+
+CREATE INDEX idx_tickets_updated_at_id ON tickets (updated_at, id);
+
+-- Silinen biletlerin izi (tombstone). Bilet satırı silindiği için istemcilere silme bilgisi buradan verilir.
+-- Bilet ID'leri yeniden kullanılmaz; silinen biletin ID'si birincil anahtardır. Yabancı anahtar yok: bilet artık yok.
+CREATE TABLE ticket_tombstones (
+    ticket_id  BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_ticket_tombstones_deleted_at ON ticket_tombstones (deleted_at, ticket_id);
@@ -0,0 +1,19 @@
+-- Listeler (created_at, id) üzerinden en yeniden eskiye keyset sayfalama yapar; her filtre indeksi bu anahtarla biter
+-- ve geriye doğru taranarak hem filtreyi hem sıralamayı karşılar.
+CREATE INDEX idx_tickets_created_at_id ON tickets (created_at, id);
+CREATE INDEX idx_tickets_customer_created_at ON tickets (customer_id, created_at, id);
+CREATE INDEX idx_tickets_department_created_at ON tickets (department_id, created_at, id);
+CREATE INDEX idx_tickets_assigned_agent_created_at ON tickets (assigned_agent_id, created_at, id);
+CREATE INDEX idx_tickets_status_created_at ON tickets (status, created_at, id);
+CREATE INDEX idx_tickets_priority_created_at ON tickets (priority, created_at, id);
+CREATE INDEX idx_tickets_status_priority_created_at ON tickets (status, priority, created_at, id);
+
+-- Departman kuyrukları yalnızca açık biletlerle ilgilenir; kapalı biletler indekse hiç girmez.
+CREATE INDEX idx_tickets_open_department_created_at ON tickets (department_id, created_at, id) WHERE status = 'OPEN';
+
+-- Yorum akışları: bilete göre eskiden yeniye, yazara göre yeniden eskiye.
+CREATE INDEX idx_ticket_comments_ticket_created_at ON ticket_comments (ticket_id, created_at);
+CREATE INDEX idx_ticket_comments_author_created_at ON ticket_comments (author_user_id, created_at DESC);
+
+-- Departman silme kontrolü (existsByDepartmentId) ve departmana göre ajan listeleri.
+CREATE INDEX idx_agents_department ON agents (department_id);
@@ -0,0 +1,2 @@
+-- Kullanıcının e-postası veya şifresi değiştiğinde artar; token'daki sürüm bununla eşleşmezse token geçersiz sayılır.
+ALTER TABLE _user ADD COLUMN token_version BIGINT NOT NULL DEFAULT 0;
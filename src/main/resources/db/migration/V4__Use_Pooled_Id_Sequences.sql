@@ -0,0 +1,21 @@
+-- Hibernate ID'leri dizilerden 50'lik bloklar halinde alır (pooled): nextval'in döndürdüğü v için (v-49 .. v)
+-- aralığını kullanır. Bu sayede ID INSERT'ten önce bilinir ve eklemeler JDBC batch olarak gönderilebilir.
+-- Mevcut ID'ler değişmez; her dizi en büyük ID'nin 50 üstüne alınır ki ilk blok mevcut satırlarla çakışmasın.
+-- Kolonların DEFAULT nextval(...) tanımı yerinde kalır; elle yazılan INSERT'ler de çakışmayan bir ID alır.
+ALTER SEQUENCE _user_id_seq INCREMENT BY 50;
+SELECT setval('_user_id_seq', (SELECT COALESCE(MAX(id), 0) FROM _user) + 50);
+
+ALTER SEQUENCE departments_id_seq INCREMENT BY 50;
+SELECT setval('departments_id_seq', (SELECT COALESCE(MAX(id), 0) FROM departments) + 50);
+
+ALTER SEQUENCE agents_id_seq INCREMENT BY 50;
+SELECT setval('agents_id_seq', (SELECT COALESCE(MAX(id), 0) FROM agents) + 50);
+
+ALTER SEQUENCE customers_id_seq INCREMENT BY 50;
+SELECT setval('customers_id_seq', (SELECT COALESCE(MAX(id), 0) FROM customers) + 50);
+
+ALTER SEQUENCE tickets_id_seq INCREMENT BY 50;
+SELECT setval('tickets_id_seq', (SELECT COALESCE(MAX(id), 0) FROM tickets) + 50);
+
+ALTER SEQUENCE ticket_comments_id_seq INCREMENT BY 50;
+SELECT setval('ticket_comments_id_seq', (SELECT COALESCE(MAX(id), 0) FROM ticket_comments) + 50);
@@ -0,0 +1,9 @@
+-- claim-next kuyruğu: departmandaki atanmamış açık biletler, önce öncelik (URGENT -> LOW) sonra en eski.
+-- Sıralama ifadesi TicketClaimRepositoryImpl.PRIORITY_RANK ile birebir aynı olmalı; yoksa sorgu bu indeksi kullanamaz.
+-- Atanan bilet indeksten düşer, böylece kuyruğun başı her zaman alınabilecek bir bilettir.
+CREATE INDEX idx_tickets_claim_queue ON tickets (
+    department_id,
+    (CASE priority WHEN 'URGENT' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 ELSE 3 END),
+    created_at,
+    id
+) WHERE status = 'OPEN' AND assigned_agent_id IS NULL;
@@ -0,0 +1,25 @@
+-- Tam metin arama: konu, açıklama ve yorumlar.
+-- crm_turkish, PostgreSQL'in turkish yapılandırmasının kopyasıdır; kelimeler Türkçe kökleyiciden (turkish_stem) önce
+-- unaccent'ten geçer. Böylece "İade", "iade" ve "IADE" aynı köke iner ve Türkçe karakter girmeden yazılan aramalar
+-- ("sifre", "musteri") da eşleşir. Aynı yapılandırma hem belgelerde hem sorguda kullanılmalıdır.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE TEXT SEARCH CONFIGURATION crm_turkish (COPY = pg_catalog.turkish);
+ALTER TEXT SEARCH CONFIGURATION crm_turkish
+    ALTER MAPPING FOR hword, hword_part, word WITH unaccent, turkish_stem;
+
+-- Üretilmiş (STORED) sütunlar satır yazılırken hesaplanır; uygulamanın ayrıca güncellemesi gerekmez.
+-- Konu eşleşmeleri açıklamadakilerden daha yüksek sıralanır (ağırlık A > B).
+-- Not: sütunu eklemek mevcut tabloyu yeniden yazar; büyük tablolarda bakım penceresinde çalıştırın.
+ALTER TABLE tickets ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('crm_turkish', coalesce(subject, '')), 'A') ||
+    setweight(to_tsvector('crm_turkish', coalesce(description, '')), 'B')
+) STORED;
+
+-- Üretilmiş sütun başka bir tabloya bakamaz; yorumlar kendi vektörünü ve indeksini taşır.
+ALTER TABLE ticket_comments ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    to_tsvector('crm_turkish', coalesce(comment, ''))
+) STORED;
+
+CREATE INDEX idx_tickets_search_vector ON tickets USING GIN (search_vector);
+CREATE INDEX idx_ticket_comments_search_vector ON ticket_comments USING GIN (search_vector);
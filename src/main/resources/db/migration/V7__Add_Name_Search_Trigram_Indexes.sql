@@ -0,0 +1,19 @@
+-- İsim araması: "içeren" (LIKE '%q%') aramaları B-tree indeksi kullanamaz; pg_trgm GIN indeksi kullanabilir.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Arama için katlama: aksanlar atılır ve küçük harfe çevrilir. İ, I ve ı hepsi "i" olur; böylece sonuç veritabanının
+-- collation ayarına (tr_TR'de lower('I') = 'ı') bağlı kalmaz ve "isik", "IŞIK" ile "Işık" birbirini bulur.
+-- Hem saklanan sütunlar hem sorgudaki arama terimi bu fonksiyondan geçmelidir.
+CREATE FUNCTION crm_fold(value text) RETURNS text
+    LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+AS $$ SELECT translate(lower(public.unaccent('public.unaccent'::regdictionary, value)), 'ı', 'i') $$;
+
+-- Ad ve soyad tek sütunda: "Ali Veli" gibi tam isimle yapılan aramalar da eşleşir.
+ALTER TABLE _user ADD COLUMN search_name text GENERATED ALWAYS AS (
+    crm_fold(coalesce(first_name, '') || ' ' || coalesce(last_name, ''))
+) STORED;
+
+CREATE INDEX idx_user_search_name_trgm ON _user USING GIN (search_name gin_trgm_ops);
+
+-- Departman tablosu küçüktür, indeks gerekmez; sütun yalnızca aynı katlamayla aranabilmesi içindir.
+ALTER TABLE departments ADD COLUMN search_name text GENERATED ALWAYS AS (crm_fold(name)) STORED;
@@ -0,0 +1,9 @@
+-- Yorum akışları artık (created_at, id) üzerinden keyset sayfalanır. V2'deki indeksler id ile bitmediği için aynı
+-- anda oluşturulan yorumlarda sıralamayı ve imleç koşulunu tam karşılamıyordu; id eklenmiş halleriyle değiştirilir.
+DROP INDEX idx_ticket_comments_ticket_created_at;
+DROP INDEX idx_ticket_comments_author_created_at;
+
+-- Bilete göre eskiden yeniye.
+CREATE INDEX idx_ticket_comments_ticket_created_at ON ticket_comments (ticket_id, created_at, id);
+-- Yazara göre yeniden eskiye.
+CREATE INDEX idx_ticket_comments_author_created_at ON ticket_comments (author_user_id, created_at DESC, id DESC);
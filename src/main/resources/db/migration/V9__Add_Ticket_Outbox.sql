@@ -0,0 +1,29 @@
+-- Transactional outbox: bilet ve yorum değişikliklerinin olayları, değişikliği yapan transaction içinde buraya yazılır.
+-- OutboxServiceImpl'deki relay satırları id sırasıyla partiler halinde (FOR UPDATE SKIP LOCKED) okur, uygulama içi
+-- handler'lara dağıtır ve başarılı olanları tek DELETE ile siler; hata alanlar geri çekilmeli (backoff) olarak bekler.
+-- Bilet silinse de olayı kalsın diye ticket_id'de yabancı anahtar yok.
+CREATE SEQUENCE outbox_events_id_seq INCREMENT BY 50;
+
+CREATE TABLE outbox_events (
+    id                BIGINT PRIMARY KEY DEFAULT nextval('outbox_events_id_seq'),
+    event_type        VARCHAR(50)  NOT NULL,
+    ticket_id         BIGINT       NOT NULL,
+    department_id     BIGINT,
+    assigned_agent_id BIGINT,
+    status            VARCHAR(50),
+    previous_status   VARCHAR(50),
+    previous_agent_id BIGINT,
+    comment_id        BIGINT,
+    occurred_at       TIMESTAMP(6) NOT NULL,
+    attempts          INT          NOT NULL DEFAULT 0,
+    next_attempt_at   TIMESTAMP(6) NOT NULL,
+    last_error        VARCHAR(1000)
+);
+
+ALTER SEQUENCE outbox_events_id_seq OWNED BY outbox_events.id;
+
+-- Ayrı indeks yok: tablo normalde neredeyse boştur ve satırların hemen hepsi işlenmeye hazırdır, relay birincil anahtarı
+-- id sırasıyla okuyup next_attempt_at'i filtre olarak uygular.
+-- Sürekli ekleyip silinen bir kuyruk tablosu: ölü satırlar birikip taramayı yavaşlatmasın diye autovacuum oran yerine
+-- sabit eşikle tetiklenir.
+ALTER TABLE outbox_events SET (autovacuum_vacuum_scale_factor = 0, autovacuum_vacuum_threshold = 1000);
@@ -0,0 +1,119 @@
+package com.anil.crm.benchmarks;
+
+import com.anil.crm.repositories.CustomerRepository;
+import com.anil.crm.repositories.TestPostgres;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Customer name search over 1M customers: the trigram-indexed search_name column against the SQL the previous
+ * {@code LOWER(first_name) LIKE ... OR LOWER(last_name) LIKE ...} query produced, which scans every user. Each
+ * search is warmed up, then timed over several runs. Needs PostgreSQL. Run with {@code mvn test -Pbenchmark} as a
+ * non-root user.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CustomerNameSearchBenchmark {
+
+    static final int CUSTOMERS = 1_000_000;
+    static final int RUNS = 10;
+
+    static final String LOWER_LIKE = "SELECT count(*) FROM customers c JOIN _user u ON u.id = c.user_id " +
+            "WHERE lower(u.first_name) LIKE lower('%' || ? || '%') OR lower(u.last_name) LIKE lower('%' || ? || '%')";
+
+    static EmbeddedPostgres postgres;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = TestPostgres.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        TestPostgres.stop(postgres);
+    }
+
+    @BeforeAll
+    void seed() {
+        // 16 first names x 16 surnames, each surname numbered 0..996: "Ayşe Kaya420" is shared by about 4 customers,
+        // "kaya42" (kaya42, kaya420..kaya429) by about 690, "Işıl" by 62,500.
+        jdbcTemplate.update("INSERT INTO _user (id, email, first_name, last_name, password, role) " +
+                "SELECT i, 'user' || i || '@test.com', " +
+                "(ARRAY['Ayşe','Mehmet','İsmail','Fatma','Ali','Zeynep','Mustafa','Emine','Hüseyin','Hatice','Ahmet'," +
+                "'Elif','Işıl','Can','Gül','Ömer'])[i % 16 + 1], " +
+                "(ARRAY['Yılmaz','Kaya','Demir','Şahin','Çelik','Yıldız','Yıldırım','Öztürk','Aydın','Özdemir','Arslan'," +
+                "'Doğan','Kılıç','Aslan','Çetin','Kara'])[(i / 16) % 16 + 1] || (i % 997), 'x', 'CUSTOMER' " +
+                "FROM generate_series(1, ?) i", CUSTOMERS);
+        jdbcTemplate.update("INSERT INTO customers (id, user_id, phone, version, created_at, updated_at) " +
+                "SELECT i, i, '+90555' || i, 0, now(), now() FROM generate_series(1, ?) i", CUSTOMERS);
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ayşe kaya420", "kaya42"})
+    void trigramIndexBeatsLowerLike(String name) {
+        long lowerLike = median(() -> jdbcTemplate.queryForObject(LOWER_LIKE, Integer.class, name, name));
+        long trigram = median(() -> customerRepository
+                .findCustomersByUserFirstNameContainingOrUserLastNameContaining(name, name).size());
+
+        System.out.printf("'%s': LOWER LIKE (count only) %,d ms / trigram index (entities) %,d ms%n",
+                name, lowerLike / 1_000_000, trigram / 1_000_000);
+        assertTrue(trigram < lowerLike, "Trigram search was not faster: " + trigram + " vs " + lowerLike + " ns");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"IŞIL", "işil", "ISIL"})
+    void turkishCaseFolding(String name) {
+        Integer lowerLike = jdbcTemplate.queryForObject(LOWER_LIKE, Integer.class, name, name);
+        int trigram = customerRepository.findCustomersByUserFirstNameContainingOrUserLastNameContaining(name, name).size();
+        entityManager.clear();
+
+        System.out.printf("'%s': LOWER LIKE finds %,d / search_name finds %,d%n", name, lowerLike, trigram);
+        assertEquals(CUSTOMERS / 16, trigram);
+    }
+
+    private long median(IntSupplier search) {
+        search.getAsInt();
+        entityManager.clear();
+        long[] nanos = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            search.getAsInt();
+            nanos[run] = System.nanoTime() - start;
+            entityManager.clear();
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2];
+    }
+}
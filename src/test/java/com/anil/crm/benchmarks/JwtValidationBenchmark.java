@@ -0,0 +1,103 @@
+package com.anil.crm.benchmarks;
+
+import com.anil.crm.domain.Role;
+import com.anil.crm.domain.User;
+import com.anil.crm.services.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JMH benchmark of the token work {@code JwtAuthFilter} does per request:
+ * <ul>
+ *     <li>{@code perRequestBefore} - the previous flow: {@code extractUsername}, then {@code isTokenValid} calling
+ *     {@code extractUsername} and {@code extractExpiration}, each decoding the key and building a parser.</li>
+ *     <li>{@code validateOnceUncached} - one {@link JwtService#validateToken} with the verified-token cache off.</li>
+ *     <li>{@code validateOnceCached} - the same token seen again, served from the verified-token cache.</li>
+ * </ul>
+ * Run with {@code mvn test -Pbenchmark -Dtest=JwtValidationBenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    static final String SECRET_KEY = "bXktc3VwZXItc2VjcmV0LWtleS1mb3ItdGVzdGluZy1vbmx5LTEyMzQ1Njc4OTA=";
+
+    JwtService cached;
+    JwtService uncached;
+    User user;
+    String token;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtService(SECRET_KEY, 3_600_000, 10_000);
+        uncached = new JwtService(SECRET_KEY, 3_600_000, 0);
+        user = User.builder().id(1L).email("ayse@test.com").password("x").role(Role.AGENT).build();
+        token = cached.generateToken(Map.of("userId", 1L, "roles", List.of("AGENT")), user);
+    }
+
+    @Benchmark
+    public boolean perRequestBefore() {
+        String username = legacyClaims(token).getSubject();
+        return legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean validateOnceUncached() {
+        return uncached.isTokenValid(uncached.validateToken(token), user);
+    }
+
+    @Benchmark
+    public boolean validateOnceCached() {
+        return cached.isTokenValid(cached.validateToken(token), user);
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    @Test
+    void run() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getName())
+                .build()).run();
+
+        double before = score(results, "perRequestBefore");
+        assertTrue(score(results, "validateOnceUncached") < before, "One validation should beat three full parses");
+        assertTrue(score(results, "validateOnceCached") < score(results, "validateOnceUncached"),
+                "A cached token should be cheaper than verifying it again");
+    }
+
+    private static double score(Collection<RunResult> results, String benchmark) {
+        return results.stream()
+                .filter(result -> result.getParams().getBenchmark().endsWith("." + benchmark))
+                .findFirst()
+                .orElseThrow()
+                .getPrimaryResult()
+                .getScore();
+    }
+}
@@ -0,0 +1,137 @@
+package com.anil.crm.benchmarks;
+
+import com.anil.crm.repositories.TestPostgres;
+import com.anil.crm.services.TicketExportService;
+import com.anil.crm.services.TicketExportServiceImpl;
+import com.anil.crm.web.mappers.AgentMapperImpl;
+import com.anil.crm.web.mappers.CustomerMapperImpl;
+import com.anil.crm.web.mappers.DepartmentMapperImpl;
+import com.anil.crm.web.mappers.TicketMapperImpl;
+import com.anil.crm.web.models.TicketExportFormat;
+import com.anil.crm.web.models.TicketSearchCriteria;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports 100k and then 1M tickets (one customer vs. all) through the streaming export and samples live heap
+ * (after a GC) while rows are being written. Both runs should peak at about the same heap. Needs PostgreSQL, since
+ * only a real server-side cursor shows whether rows are fetched incrementally. Run with {@code mvn test -Pbenchmark}
+ * as a non-root user.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({TicketExportServiceImpl.class, TicketMapperImpl.class, CustomerMapperImpl.class,
+        DepartmentMapperImpl.class, AgentMapperImpl.class})
+class TicketExportBenchmark {
+
+    static final int SMALL = 100_000;
+    static final int LARGE = 1_000_000;
+    static final int SAMPLE_EVERY = 50_000;
+
+    static EmbeddedPostgres postgres;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TicketExportService ticketExportService;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = TestPostgres.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        TestPostgres.stop(postgres);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TicketExportFormat.class)
+    void heapStaysFlatAsExportGrows(TicketExportFormat format) throws IOException {
+        long firstCustomerId = seed(LARGE);
+
+        Run small = export(format, TicketSearchCriteria.builder().customerId(firstCustomerId).build());
+        Run large = export(format, new TicketSearchCriteria());
+
+        System.out.printf("%s export: %,d rows peak %,d KB live heap / %,d rows peak %,d KB live heap%n",
+                format, small.rows, small.peakHeap / 1024, large.rows, large.peakHeap / 1024);
+        assertEquals(SMALL, small.rows);
+        assertEquals(LARGE, large.rows);
+        assertTrue(large.peakHeap < small.peakHeap + 32 * 1024 * 1024,
+                "Peak heap grew with export size: " + small.peakHeap + " -> " + large.peakHeap);
+    }
+
+    /** Seeds {@code tickets} rows spread over ten customers and returns the first customer's ID. */
+    private long seed(int tickets) {
+        jdbcTemplate.update("INSERT INTO departments (name) VALUES ('Teknik Destek')");
+        jdbcTemplate.update("INSERT INTO _user (email, first_name, last_name, password, role) " +
+                "SELECT 'user' || i || '@test.com', 'Ad' || i, 'Soyad' || i, 'x', 'CUSTOMER' FROM generate_series(1, 10) i");
+        jdbcTemplate.update("INSERT INTO customers (user_id, phone, version, created_at, updated_at) " +
+                "SELECT id, '+90555' || id, 0, now(), now() FROM _user");
+        long firstCustomerId = jdbcTemplate.queryForObject("SELECT min(id) FROM customers", Long.class);
+        // every customer owns every tenth ticket, so filtering on one exports SMALL rows
+        jdbcTemplate.update("INSERT INTO tickets (customer_id, department_id, subject, description, status, priority, " +
+                "version, created_at, updated_at) " +
+                "SELECT c.id, (SELECT id FROM departments), 'Bilet ' || i, repeat('Açıklama ', 20), 'OPEN', 'LOW', 0, " +
+                "timestamp '2024-01-01' + i * interval '1 second', timestamp '2024-01-01' + i * interval '1 second' " +
+                "FROM generate_series(1, ?) i " +
+                "JOIN (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM customers) c ON c.n = i % 10", tickets);
+        jdbcTemplate.execute("ANALYZE tickets");
+        return firstCustomerId;
+    }
+
+    private Run export(TicketExportFormat format, TicketSearchCriteria criteria) throws IOException {
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+        long rows = ticketExportService.exportTickets(criteria, format, out);
+        return new Run(rows, out.peakHeap);
+    }
+
+    record Run(long rows, long peakHeap) {
+    }
+
+    /** Discards the export, counting lines and sampling live heap every {@link #SAMPLE_EVERY} of them. */
+    static class HeapSamplingOutputStream extends OutputStream {
+
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long lines;
+        long peakHeap;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % SAMPLE_EVERY == 0) {
+                System.gc();
+                peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.anil.crm.benchmarks;
+
+import com.anil.crm.repositories.TestPostgres;
+import com.anil.crm.repositories.TicketRepository;
+import com.anil.crm.repositories.TicketTextMatch;
+import com.anil.crm.repositories.TicketTextMatches;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Full-text searches over 5M tickets (and 5M comments) whose text mixes a few very common words, words shared by
+ * a few thousand tickets and words unique to one ticket. Each query is warmed up, then timed over several runs
+ * for its first page of 50. Queries made of common words alone rank only their newest matches; queries that AND a
+ * common word with a selective one must still find every match. Needs PostgreSQL. Run with {@code mvn test -Pbenchmark} as a non-root user; seeding
+ * and indexing take several minutes.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TicketFullTextSearchBenchmark {
+
+    static final int TICKETS = 5_000_000;
+    static final int PAGE = 50;
+    static final int RUNS = 20;
+
+    static final String VOCABULARY = "(SELECT ARRAY['müşteri','ürün','teslimat','gecikme','hata','ekran','uygulama'," +
+            "'telefon','hesap','kart','banka','havale','kampanya','indirim','kupon','adres','şube','kurye','paket'," +
+            "'hasarlı','değişim','garanti','servis','cihaz','şarj','internet','modem','hız','kesinti','fatura','tutar'," +
+            "'yanlış','çift','ücret','iptal','üyelik','yenileme','şifre','doğrulama','kod'] AS w) v";
+
+    static EmbeddedPostgres postgres;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TicketRepository ticketRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = TestPostgres.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        TestPostgres.stop(postgres);
+    }
+
+    @BeforeAll
+    void seed() {
+        long start = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO departments (id, name) VALUES (1, 'Teknik Destek')");
+        jdbcTemplate.update("INSERT INTO _user (id, email, first_name, last_name, password, role) " +
+                "VALUES (1, 'ali@test.com', 'Ali', 'Veli', 'x', 'CUSTOMER')");
+        jdbcTemplate.update("INSERT INTO customers (id, user_id, phone, version, created_at, updated_at) " +
+                "VALUES (1, 1, '+905555555555', 0, now(), now())");
+        // subject: one of 8 common words (625k tickets each), a model code shared by 5k tickets, an order number
+        // unique to the ticket; description: 12 words drawn from the vocabulary; comment: 2 of them and a unique note
+        jdbcTemplate.update("INSERT INTO tickets (id, customer_id, department_id, subject, description, status, priority, " +
+                "version, created_at, updated_at) " +
+                "SELECT i, 1, 1, " +
+                "(ARRAY['Fatura','İade','Şifre','Kargo','Ödeme','Bağlantı','Giriş','Abonelik'])[i % 8 + 1] || ' sorunu model' || (i % 1000) || ' sipariş' || i, " +
+                "(SELECT string_agg(w[(i::bigint * k * 7919 + k) % 40 + 1], ' ') FROM generate_series(1, 12) k), " +
+                "'OPEN', 'LOW', 0, timestamp '2020-01-01' + i * interval '1 minute', timestamp '2020-01-01' + i * interval '1 minute' " +
+                "FROM generate_series(1, ?) i, " + VOCABULARY, TICKETS);
+        jdbcTemplate.update("INSERT INTO ticket_comments (id, ticket_id, author_user_id, comment, version, created_at) " +
+                "SELECT i, i, 1, 'Müşteri ' || w[i % 40 + 1] || ' ' || w[(i / 40) % 40 + 1] || ' için tekrar aradı, not' || i, 0, now() " +
+                "FROM generate_series(1, ?) i, " + VOCABULARY, TICKETS);
+        jdbcTemplate.execute("VACUUM ANALYZE");
+        System.out.printf("Seeded %,d tickets and comments in %,d s%n", TICKETS, (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"sipariş4242424", "not4242424", "model42", "model42 şifre", "\"fatura sorunu\" model8",
+            "kargo", "hasarlı", "kargo or iade"})
+    void firstPage(String query) {
+        TicketTextMatches result = ticketRepository.searchText(query, Float.MAX_VALUE, Long.MAX_VALUE, PAGE);
+        List<TicketTextMatch> page = result.matches();
+        assertFalse(page.isEmpty(), "No match for " + query);
+        if (query.startsWith("model") || query.startsWith("\"")) {
+            // every ticket of model 42 is about Şifre and of model 8 about Fatura, so each query has 5,000 matches
+            assertEquals(PAGE, page.size(), "'" + query + "' lost matches");
+        }
+
+        long[] nanos = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            ticketRepository.searchText(query, Float.MAX_VALUE, Long.MAX_VALUE, PAGE);
+            nanos[run] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("'%s': %d hits on the first page%s, median %,d ms, max %,d ms%n",
+                query, page.size(), result.approximate() ? " (approximate)" : "",
+                nanos[RUNS / 2] / 1_000_000, nanos[RUNS - 1] / 1_000_000);
+    }
+}
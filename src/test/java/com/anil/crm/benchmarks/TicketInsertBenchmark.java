@@ -0,0 +1,112 @@
+package com.anil.crm.benchmarks;
+
+import com.anil.crm.domain.Customer;
+import com.anil.crm.domain.Department;
+import com.anil.crm.domain.Role;
+import com.anil.crm.domain.Ticket;
+import com.anil.crm.domain.TicketPriority;
+import com.anil.crm.domain.TicketStatus;
+import com.anil.crm.domain.User;
+import com.anil.crm.repositories.TestPostgres;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Inserts 10k tickets twice: once with a JDBC batch size of 1, i.e. one round trip per row as IDENTITY keys forced,
+ * and once with the configured batching (pooled sequence IDs, {@code reWriteBatchedInserts}). Each mode is warmed up
+ * before it is timed. Needs PostgreSQL, since round trips are what is being measured. Run with
+ * {@code mvn test -Pbenchmark} as a non-root user.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TicketInsertBenchmark {
+
+    static final int TICKETS = 10_000;
+    static final int BATCH_SIZE = 50;
+
+    static EmbeddedPostgres postgres;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = TestPostgres.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        TestPostgres.stop(postgres);
+    }
+
+    @Test
+    void batchedInsertsBeatRowByRow() {
+        Department department = Department.builder().name("Teknik Destek").build();
+        Customer customer = Customer.builder()
+                .phone("+905555555555")
+                .user(User.builder().firstName("Ali").lastName("Veli").email("ali@test.com").password("x").role(Role.CUSTOMER).build())
+                .build();
+        entityManager.persist(department);
+        entityManager.persist(customer);
+        entityManager.flush();
+
+        insert(department, customer, 1);
+        long rowByRow = insert(department, customer, 1);
+        insert(department, customer, BATCH_SIZE);
+        long batched = insert(department, customer, BATCH_SIZE);
+
+        System.out.printf("%,d ticket inserts: row by row %,d ms (%,d rows/s) / batched %,d ms (%,d rows/s)%n",
+                TICKETS, rowByRow / 1_000_000, rowsPerSecond(rowByRow), batched / 1_000_000, rowsPerSecond(batched));
+        assertEquals(4L * TICKETS, jdbcTemplate.queryForObject("SELECT count(*) FROM tickets", Long.class));
+        assertTrue(batched < rowByRow, "Batched inserts were not faster: " + batched + " vs " + rowByRow + " ns");
+    }
+
+    /** Persists and flushes {@link #TICKETS} tickets with the given JDBC batch size, returning the elapsed nanos. */
+    private long insert(Department department, Customer customer, int jdbcBatchSize) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+        long start = System.nanoTime();
+        for (int i = 0; i < TICKETS; i++) {
+            entityManager.persist(Ticket.builder()
+                    .customer(customer)
+                    .department(department)
+                    .subject("Bilet " + i)
+                    .description("Açıklama " + i)
+                    .status(TicketStatus.OPEN)
+                    .priority(TicketPriority.LOW)
+                    .build());
+            if ((i + 1) % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                department = entityManager.getReference(Department.class, department.getId());
+                customer = entityManager.getReference(Customer.class, customer.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return System.nanoTime() - start;
+    }
+
+    private static long rowsPerSecond(long nanos) {
+        return TICKETS * 1_000_000_000L / nanos;
+    }
+}
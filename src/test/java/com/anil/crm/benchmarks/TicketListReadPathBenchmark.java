@@ -0,0 +1,163 @@
+package com.anil.crm.benchmarks;
+
+import com.anil.crm.domain.*;
+import com.anil.crm.repositories.TicketRepository;
+import com.anil.crm.web.mappers.AgentMapperImpl;
+import com.anil.crm.web.mappers.CustomerMapperImpl;
+import com.anil.crm.web.mappers.DepartmentMapperImpl;
+import com.anil.crm.web.mappers.TicketMapper;
+import com.anil.crm.web.mappers.TicketMapperImpl;
+import com.anil.crm.web.models.KeysetCursor;
+import com.anil.crm.web.models.TicketDto;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares one 200-row ticket page read through managed entities + {@link TicketMapper#ticketToTicketDto}
+ * against the {@code TicketSummary} projection. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("h2")
+@Import({TicketMapperImpl.class, CustomerMapperImpl.class, DepartmentMapperImpl.class, AgentMapperImpl.class})
+class TicketListReadPathBenchmark {
+
+    static final int TICKETS = 5_000;
+    static final int PAGE_SIZE = 200;
+    static final int WARMUP_ROUNDS = 50;
+    static final int MEASURED_ROUNDS = 200;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    TicketRepository ticketRepository;
+
+    @Autowired
+    TicketMapper ticketMapper;
+
+    @BeforeEach
+    void seed() {
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Department department = Department.builder().name("Departman " + i).description("Açıklama " + i).build();
+            entityManager.persist(department);
+            departments.add(department);
+        }
+
+        List<Agent> agents = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Agent agent = Agent.builder()
+                    .department(departments.get(i % departments.size()))
+                    .user(User.builder().firstName("Ajan").lastName("No" + i).email("agent" + i + "@test.com").password("x").role(Role.AGENT).build())
+                    .build();
+            entityManager.persist(agent);
+            agents.add(agent);
+        }
+
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Customer customer = Customer.builder()
+                    .phone("+90555" + String.format("%07d", i))
+                    .user(User.builder().firstName("Müşteri").lastName("No" + i).email("customer" + i + "@test.com").password("x").role(Role.CUSTOMER).build())
+                    .build();
+            entityManager.persist(customer);
+            customers.add(customer);
+        }
+
+        for (int i = 0; i < TICKETS; i++) {
+            entityManager.persist(Ticket.builder()
+                    .customer(customers.get(i % customers.size()))
+                    .department(departments.get(i % departments.size()))
+                    .assignedAgent(i % 3 == 0 ? null : agents.get(i % agents.size()))
+                    .subject("Bilet " + i)
+                    .description("Uzun açıklama metni ".repeat(10) + i)
+                    .status(TicketStatus.values()[i % TicketStatus.values().length])
+                    .priority(TicketPriority.values()[i % TicketPriority.values().length])
+                    .build());
+            if (i % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void compareEntityMapperAndProjection() {
+        Result entityPath = measure("entity + mapper", this::readWithEntityGraph);
+        Result projectionPath = measure("projection", this::readWithProjection);
+
+        System.out.printf("%n%-16s %14s %18s%n", "read path", "avg latency", "avg allocation");
+        System.out.println(entityPath);
+        System.out.println(projectionPath);
+        System.out.printf("projection allocates %.1f%% of the entity path%n%n",
+                100.0 * projectionPath.bytesPerRound / entityPath.bytesPerRound);
+
+        assertTrue(projectionPath.bytesPerRound < entityPath.bytesPerRound,
+                "projection read path should allocate less than the entity mapper path");
+    }
+
+    private List<TicketDto> readWithEntityGraph() {
+        List<TicketDto> page = entityManager
+                .createQuery("SELECT t FROM Ticket t ORDER BY t.createdAt DESC, t.id DESC", Ticket.class)
+                .setHint("jakarta.persistence.fetchgraph", entityManager.getEntityGraph(Ticket.SUMMARY_GRAPH))
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(ticketMapper::ticketToTicketDto)
+                .toList();
+        entityManager.clear();
+        return page;
+    }
+
+    private List<TicketDto> readWithProjection() {
+        List<TicketDto> page = ticketRepository
+                .findAllTickets(KeysetCursor.FIRST.getCreatedAt(), KeysetCursor.FIRST.getId(), Limit.of(PAGE_SIZE))
+                .stream()
+                .map(ticketMapper::ticketSummaryToTicketDto)
+                .toList();
+        entityManager.clear();
+        return page;
+    }
+
+    private Result measure(String name, Supplier<List<TicketDto>> readPage) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            assertEquals(PAGE_SIZE, readPage.get().size());
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            readPage.get();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+
+        return new Result(name, elapsed / MEASURED_ROUNDS, allocated / MEASURED_ROUNDS);
+    }
+
+    private record Result(String name, long nanosPerRound, long bytesPerRound) {
+        @Override
+        public String toString() {
+            return String.format("%-16s %11.3f ms %15.1f KB", name, nanosPerRound / 1_000_000.0, bytesPerRound / 1024.0);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.anil.crm.benchmarks;
+
+import com.anil.crm.repositories.AgentRepository;
+import com.anil.crm.repositories.CustomerRepository;
+import com.anil.crm.repositories.TypeaheadEntry;
+import com.anil.crm.services.TypeaheadServiceImpl;
+import com.anil.crm.web.models.TypeaheadHit;
+import com.anil.crm.web.models.TypeaheadStatisticsDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * JMH benchmark of {@code /api/lookup/typeahead} lookups over 1M customers and 1,000 agents:
+ * <ul>
+ *     <li>{@code indexSelective} / {@code indexBroad} - the in-memory prefix index, for a prefix shared by a few
+ *     customers ("ayse kaya42") and by 62,500 ("ay").</li>
+ *     <li>{@code scanSelective} - the same selective lookup as a scan over every customer's folded name, what an
+ *     in-memory list without an index would do.</li>
+ * </ul>
+ * The index's estimated footprint is printed after it is built. Run with
+ * {@code mvn test -Pbenchmark -Dtest=TypeaheadBenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TypeaheadBenchmark {
+
+    static final int CUSTOMERS = 1_000_000;
+    static final int AGENTS = 1_000;
+
+    static final String[] FIRST_NAMES = {"Ayşe", "Mehmet", "İsmail", "Fatma", "Ali", "Zeynep", "Mustafa", "Emine",
+            "Hüseyin", "Hatice", "Ahmet", "Elif", "Işıl", "Can", "Gül", "Ömer"};
+    static final String[] LAST_NAMES = {"Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Yıldırım", "Öztürk",
+            "Aydın", "Özdemir", "Arslan", "Doğan", "Kılıç", "Aslan", "Çetin", "Kara"};
+
+    TypeaheadServiceImpl typeaheadService;
+    List<String> foldedNames;
+
+    @Setup
+    public void setUp() {
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        AgentRepository agentRepository = mock(AgentRepository.class);
+        given(customerRepository.streamTypeaheadEntries()).willAnswer(invocation -> entries(CUSTOMERS, "+90555"));
+        given(agentRepository.streamTypeaheadEntries()).willAnswer(invocation -> entries(AGENTS, null));
+
+        typeaheadService = new TypeaheadServiceImpl(customerRepository, agentRepository,
+                mock(PlatformTransactionManager.class));
+        typeaheadService.rebuild();
+        TypeaheadStatisticsDto statistics = typeaheadService.getStatistics();
+        System.out.printf("%nIndexed %,d customers and %,d agents (%,d keys) in %,d ms: ~%,d MB, %d bytes per entry%n",
+                statistics.getCustomers(), statistics.getAgents(), statistics.getKeys(), statistics.getLastBuildMillis(),
+                statistics.getEstimatedBytes() >> 20,
+                statistics.getEstimatedBytes() / (statistics.getCustomers() + statistics.getAgents()));
+
+        foldedNames = new ArrayList<>(CUSTOMERS);
+        entries(CUSTOMERS, null).forEach(entry -> foldedNames.add(fold(entry.getFirstName() + " " + entry.getLastName())));
+    }
+
+    @Benchmark
+    public List<TypeaheadHit> indexSelective() {
+        return typeaheadService.search("Ayşe Kaya42", 10);
+    }
+
+    @Benchmark
+    public List<TypeaheadHit> indexBroad() {
+        return typeaheadService.search("ay", 10);
+    }
+
+    @Benchmark
+    public List<Integer> scanSelective() {
+        String prefix = fold("Ayşe Kaya42");
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < foldedNames.size() && matches.size() < 10; i++) {
+            if (foldedNames.get(i).startsWith(prefix)) {
+                matches.add(i);
+            }
+        }
+        return matches;
+    }
+
+    // "Ayşe Kaya420" is shared by about 4 customers, "Ayşe Kaya42" (also 420..429) by about 40.
+    private static Stream<TypeaheadEntry> entries(int count, String phonePrefix) {
+        return LongStream.rangeClosed(1, count).mapToObj(i -> new TypeaheadEntry(i,
+                FIRST_NAMES[(int) (i % 16)], LAST_NAMES[(int) (i / 16 % 16)] + (i % 997),
+                "user" + i + "@test.com", phonePrefix != null ? phonePrefix + i : "Teknik Destek"));
+    }
+
+    private static String fold(String value) {
+        String lower = Normalizer.normalize(value.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return lower.replaceAll("\\p{M}+", "").replace('ı', 'i');
+    }
+
+    @Test
+    void run() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(TypeaheadBenchmark.class.getName())
+                .build()).run();
+
+        assertTrue(score(results, "indexSelective") * 100 < score(results, "scanSelective"),
+                "The index should be at least 100x faster than a scan");
+        assertTrue(score(results, "indexBroad") * 100 < score(results, "scanSelective"),
+                "A prefix shared by many customers should cost about the same as a selective one");
+    }
+
+    @Test
+    void findsEveryMatch() {
+        setUp();
+        assertEquals(10, typeaheadService.search("Ayşe Kaya42", 10).size());
+        assertEquals(scanSelective().size(), typeaheadService.search("Ayşe Kaya42", 10).size());
+    }
+
+    private static double score(Collection<RunResult> results, String benchmark) {
+        return results.stream()
+                .filter(result -> result.getParams().getBenchmark().endsWith("." + benchmark))
+                .findFirst()
+                .orElseThrow()
+                .getPrimaryResult()
+                .getScore();
+    }
+}
@@ -0,0 +1,185 @@
+package com.anil.crm.config;
+
+import com.anil.crm.exceptions.GlobalExceptionHandler;
+import com.anil.crm.repositories.AgentRepository;
+import com.anil.crm.repositories.DepartmentRepository;
+import com.anil.crm.repositories.TicketRepository;
+import com.anil.crm.security.JwtAuthFilter;
+import com.anil.crm.services.DepartmentServiceImpl;
+import com.anil.crm.services.JwtService;
+import com.anil.crm.services.TokenVersionService;
+import com.anil.crm.services.TypeaheadService;
+import com.anil.crm.services.UserDetailsServiceImpl;
+import com.anil.crm.web.controllers.DepartmentsController;
+import com.anil.crm.web.mappers.DepartmentMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.endpoint.EndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.health.HealthEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.prometheus.PrometheusMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementContextAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.web.servlet.ServletManagementContextAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs real servers on random ports, as in production: which actuator endpoints are open depends on the port a request
+ * arrives on, and the actuator is only mapped on the management port.
+ */
+@SpringBootTest(classes = MetricsIntegrationTest.Application.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+@AutoConfigureObservability(tracing = false)
+class MetricsIntegrationTest {
+
+    private static final String ADMIN_TOKEN = "admin-token";
+    private static final String AGENT_TOKEN = "agent-token";
+
+    @LocalServerPort
+    int serverPort;
+
+    @LocalManagementPort
+    int managementPort;
+
+    @MockitoBean
+    DepartmentRepository departmentRepository;
+    @MockitoBean
+    AgentRepository agentRepository;
+    @MockitoBean
+    DepartmentMapper departmentMapper;
+    @MockitoBean
+    TicketRepository ticketRepository;
+    @MockitoBean
+    TypeaheadService typeaheadService;
+    @MockitoBean
+    JwtService jwtService;
+    @MockitoBean
+    TokenVersionService tokenVersionService;
+    @MockitoBean
+    UserDetailsServiceImpl userDetailsService;
+
+    final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        Claims admin = claims(1L, "admin@crm.com", "ADMIN");
+        Claims agent = claims(2L, "agent@crm.com", "AGENT");
+        when(jwtService.validateToken(ADMIN_TOKEN)).thenReturn(admin);
+        when(jwtService.validateToken(AGENT_TOKEN)).thenReturn(agent);
+        when(jwtService.isTokenValid(eq(admin), any())).thenReturn(true);
+        when(jwtService.isTokenValid(eq(agent), any())).thenReturn(true);
+        when(tokenVersionService.getTokenVersion(anyLong())).thenReturn(Optional.of(0L));
+    }
+
+    @Test
+    void prometheus_OnTheManagementPort_AnswersWithoutToken() throws Exception {
+        HttpResponse<String> response = get(managementPort, "/actuator/prometheus", null);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("crm_jwt_verification_seconds"), response.body());
+        assertTrue(response.body().contains("application=\"crm-api\""), response.body());
+    }
+
+    @Test
+    void health_OnTheManagementPort_AnswersWithoutToken() throws Exception {
+        assertEquals(200, get(managementPort, "/actuator/health", null).statusCode());
+    }
+
+    @Test
+    void prometheus_OnTheApiPort_NotServed() throws Exception {
+        assertEquals(401, get(serverPort, "/actuator/prometheus", null).statusCode());
+        assertEquals(404, get(serverPort, "/actuator/prometheus", ADMIN_TOKEN).statusCode());
+    }
+
+    @Test
+    void metrics_WithoutToken_Unauthorized() throws Exception {
+        assertEquals(401, get(managementPort, "/actuator/metrics", null).statusCode());
+    }
+
+    @Test
+    void metrics_AsAgent_Forbidden() throws Exception {
+        assertEquals(403, get(managementPort, "/actuator/metrics", AGENT_TOKEN).statusCode());
+    }
+
+    @Test
+    void serviceCall_IsTimedByClassMethodAndException() throws Exception {
+        // The repository mock finds nothing, so the service throws and the controller answers 404.
+        assertEquals(404, get(serverPort, "/api/departments/99", ADMIN_TOKEN).statusCode());
+
+        HttpResponse<String> names = get(managementPort, "/actuator/metrics", ADMIN_TOKEN);
+        assertEquals(200, names.statusCode());
+        assertTrue(names.body().contains("\"" + ServiceTimingAspect.TIMER + "\""), names.body());
+
+        HttpResponse<String> timer = get(managementPort, "/actuator/metrics/" + ServiceTimingAspect.TIMER
+                + "?tag=class:DepartmentServiceImpl&tag=method:getDepartmentById"
+                + "&tag=exception:ResourceNotFoundException", ADMIN_TOKEN);
+        assertEquals(200, timer.statusCode());
+        assertTrue(timer.body().contains("{\"statistic\":\"COUNT\",\"value\":1.0}"), timer.body());
+    }
+
+    private HttpResponse<String> get(int port, String path, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Claims claims(Long userId, String email, String role) {
+        Claims claims = Jwts.claims().setSubject(email).setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        claims.put(JwtService.CLAIM_USER_ID, userId);
+        claims.put(JwtService.CLAIM_TOKEN_VERSION, 0L);
+        claims.put(JwtService.CLAIM_ROLES, List.of(role));
+        return claims;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({PropertyPlaceholderAutoConfiguration.class, AopAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class, JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            SecurityAutoConfiguration.class, SecurityFilterAutoConfiguration.class,
+            MetricsAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class,
+            PrometheusMetricsExportAutoConfiguration.class, MetricsEndpointAutoConfiguration.class,
+            HealthEndpointAutoConfiguration.class, EndpointAutoConfiguration.class, WebEndpointAutoConfiguration.class,
+            ManagementContextAutoConfiguration.class, ServletManagementContextAutoConfiguration.class})
+    @Import({SecurityConfig.class, JwtAuthFilter.class, ServiceTimingAspect.class, GlobalExceptionHandler.class,
+            DepartmentsController.class, DepartmentServiceImpl.class})
+    static class Application {
+    }
+}
@@ -0,0 +1,139 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.*;
+import com.anil.crm.web.models.AgentDto;
+import com.anil.crm.web.models.CustomerDto;
+import com.anil.crm.web.models.FieldSet;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Name searches filter on the generated search_name columns and the crm_fold function from V7, so this runs against
+ * a real server.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class NameSearchRepositoryTest {
+
+    static EmbeddedPostgres postgres;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    AgentRepository agentRepository;
+
+    Customer ismail;
+    Customer ayse;
+    Agent ali;
+    Agent irem;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = TestPostgres.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        TestPostgres.stop(postgres);
+    }
+
+    @BeforeEach
+    void setUp() {
+        ismail = customer("İsmail", "Işık");
+        ayse = customer("Ayşe", "Kara");
+        Department support = entityManager.persist(Department.builder().name("Teknik Destek").build());
+        Department refunds = entityManager.persist(Department.builder().name("İade İşlemleri").build());
+        ali = agent("Ali", "Çelik", support);
+        irem = agent("İrem", "Çelik", refunds);
+        entityManager.flush();
+    }
+
+    @Test
+    void findCustomers_FoldsTurkishCaseAndCharacters() {
+        for (String name : List.of("ismail", "İSMAİL", "ISMAIL", "ışık", "IŞIK", "isik", "smail ış")) {
+            assertEquals(List.of(ismail), customerRepository
+                    .findCustomersByUserFirstNameContainingOrUserLastNameContaining(name, name), name);
+        }
+        assertEquals(List.of(ayse), customerRepository
+                .findCustomersByUserFirstNameContainingOrUserLastNameContaining("AYSE", "AYSE"));
+        assertEquals(List.of(), customerRepository
+                .findCustomersByUserFirstNameContainingOrUserLastNameContaining("veli", "veli"));
+    }
+
+    @Test
+    void findAgents_ByNameAndDepartment() {
+        assertEquals(2, agentRepository.findAgentsByUserFirstNameContainingOrUserLastNameContaining("celik", "celik").size());
+        assertEquals(List.of(irem), agentRepository.findByDepartmentNameContainingAndUserNameContaining("iade", "ÇELİK"));
+        assertEquals(List.of(ali), agentRepository.findByDepartmentNameContainingAndUserNameContaining("TEKNİK", "çelik"));
+        assertEquals(List.of(irem), agentRepository.findAgentsByDepartmentNameContainingIgnoreCase("işlem"));
+    }
+
+    @Test
+    void findSparse_ReadsOnlyTheRequestedFields() {
+        List<CustomerDto> customers = customerRepository.findSparse("ışık", FieldSet.of("firstName"));
+        assertEquals(List.of(CustomerDto.builder().id(ismail.getId()).firstName("İsmail").build()), customers);
+
+        assertEquals(List.of(ismail.getId(), ayse.getId()), customerRepository.findSparse(null, FieldSet.of("phone"))
+                .stream().map(CustomerDto::getId).toList());
+
+        List<AgentDto> agents = agentRepository.findSparse("ÇELİK", "iade", FieldSet.of("departmentName"));
+        assertEquals(List.of(AgentDto.builder().id(irem.getId()).departmentName("İade İşlemleri").build()), agents);
+
+        assertEquals(List.of(ali.getId(), irem.getId()), agentRepository.findSparse(null, null, FieldSet.of("id"))
+                .stream().map(AgentDto::getId).toList());
+    }
+
+    @Test
+    void streamTypeaheadEntries_InIdOrderWithPhoneOrDepartment() {
+        try (Stream<TypeaheadEntry> customers = customerRepository.streamTypeaheadEntries();
+             Stream<TypeaheadEntry> agents = agentRepository.streamTypeaheadEntries()) {
+            assertEquals(List.of(
+                    new TypeaheadEntry(ismail.getId(), "İsmail", "Işık", ismail.getUser().getEmail(), "+905555555555"),
+                    new TypeaheadEntry(ayse.getId(), "Ayşe", "Kara", ayse.getUser().getEmail(), "+905555555555")),
+                    customers.toList());
+            assertEquals(List.of(ali.getId(), irem.getId()), agents.map(TypeaheadEntry::getId).toList());
+        }
+    }
+
+    private Customer customer(String firstName, String lastName) {
+        return entityManager.persist(Customer.builder()
+                .phone("+905555555555")
+                .user(user(firstName, lastName, Role.CUSTOMER))
+                .build());
+    }
+
+    private Agent agent(String firstName, String lastName, Department department) {
+        return entityManager.persist(Agent.builder()
+                .user(user(firstName, lastName, Role.AGENT))
+                .department(department)
+                .build());
+    }
+
+    private static User user(String firstName, String lastName, Role role) {
+        return User.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(firstName.toLowerCase() + "." + lastName.toLowerCase() + "@test.com")
+                .password("x")
+                .role(role)
+                .build();
+    }
+}
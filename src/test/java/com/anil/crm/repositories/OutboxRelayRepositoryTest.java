@@ -0,0 +1,272 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.OutboxEvent;
+import com.anil.crm.domain.TicketStatus;
+import com.anil.crm.services.OutboxServiceImpl;
+import com.anil.crm.services.TicketEventHandler;
+import com.anil.crm.web.models.TicketEvent;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every step commits (no test-managed rollback): the relay only sees committed events, and its locks are only
+ * contended across transactions. The background relay is off; the tests run each batch themselves.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "application.outbox.relay.enabled=false",
+        "application.outbox.relay.batch-size=" + OutboxRelayRepositoryTest.BATCH_SIZE})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OutboxServiceImpl.class, OutboxRelayRepositoryTest.Handlers.class})
+class OutboxRelayRepositoryTest {
+
+    static final int BATCH_SIZE = 3;
+
+    static EmbeddedPostgres postgres;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    OutboxRepository outboxRepository;
+
+    @Autowired
+    OutboxServiceImpl outboxService;
+
+    @Autowired
+    RecordingHandler handler;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate transactionTemplate;
+
+    @TestConfiguration
+    static class Handlers {
+
+        @Bean
+        RecordingHandler recordingHandler(OutboxRepository outboxRepository) {
+            return new RecordingHandler(outboxRepository);
+        }
+    }
+
+    static class RecordingHandler implements TicketEventHandler {
+
+        final List<TicketEvent> events = new CopyOnWriteArrayList<>();
+        final OutboxRepository outboxRepository;
+        volatile Long failingTicketId;
+        volatile Long rollbackTicketId;
+
+        RecordingHandler(OutboxRepository outboxRepository) {
+            this.outboxRepository = outboxRepository;
+        }
+
+        @Override
+        public void handle(TicketEvent event) {
+            if (event.getTicketId().equals(failingTicketId)) {
+                throw new IllegalStateException("Downstream unavailable");
+            }
+            if (event.getTicketId().equals(rollbackTicketId)) {
+                // fails inside a transactional repository call, which marks the transaction it joined rollback-only
+                outboxRepository.findById(null);
+            }
+            events.add(event);
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = TestPostgres.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        TestPostgres.stop(postgres);
+    }
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        handler.events.clear();
+        handler.failingTicketId = null;
+        handler.rollbackTicketId = null;
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE outbox_events, tickets, agents, customers, _user, departments CASCADE");
+    }
+
+    @Test
+    void relayBatch_DeliversInOrderAndDeletes() {
+        for (long ticketId = 1; ticketId <= 5; ticketId++) {
+            append(ticketId);
+        }
+
+        assertEquals(BATCH_SIZE, outboxService.relayBatch());
+        assertEquals(2, outboxService.relayBatch());
+        assertEquals(0, outboxService.relayBatch());
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), handler.events.stream().map(TicketEvent::getTicketId).toList());
+        TicketEvent first = handler.events.get(0);
+        assertEquals(TicketEvent.Type.STATUS_CHANGED, first.getType());
+        assertEquals(TicketStatus.CLOSED, first.getStatus());
+        assertEquals(TicketStatus.OPEN, first.getPreviousStatus());
+        assertEquals(10L, first.getDepartmentId());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void relayBatch_BacksOffFailedEvents() {
+        append(1L);
+        append(2L);
+        handler.failingTicketId = 2L;
+
+        assertEquals(2, outboxService.relayBatch());
+
+        assertEquals(List.of(1L), handler.events.stream().map(TicketEvent::getTicketId).toList());
+        OutboxEvent failed = outboxRepository.findAll().get(0);
+        assertEquals(2L, failed.getTicketId());
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now()), "A failed event must wait before its retry");
+        assertTrue(failed.getLastError().contains("Downstream unavailable"));
+        assertEquals(0, outboxService.relayBatch(), "Nothing is due until the backoff runs out");
+
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = ?", LocalDateTime.now().minusSeconds(1));
+        handler.failingTicketId = null;
+        assertEquals(1, outboxService.relayBatch());
+        assertEquals(List.of(1L, 2L), handler.events.stream().map(TicketEvent::getTicketId).toList());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void relayBatch_HandlerRollbackDoesNotPoisonTheBatch() {
+        append(1L);
+        append(2L);
+        handler.rollbackTicketId = 2L;
+
+        assertEquals(2, outboxService.relayBatch());
+
+        assertEquals(List.of(1L), handler.events.stream().map(TicketEvent::getTicketId).toList());
+        OutboxEvent failed = outboxRepository.findAll().get(0);
+        assertEquals(2L, failed.getTicketId());
+        assertEquals(1, failed.getAttempts(), "The failure must be recorded, not lost with a rolled back batch");
+        assertEquals(0, outboxService.relayBatch());
+    }
+
+    @Test
+    void appendAll_WritesEveryEvent() {
+        transactionTemplate.executeWithoutResult(status -> outboxService.appendAll(List.of(event(1L), event(2L))));
+
+        assertEquals(2, outboxService.relayBatch());
+        assertEquals(List.of(1L, 2L), handler.events.stream().map(TicketEvent::getTicketId).toList());
+    }
+
+    @Test
+    void lockNextBatch_ConcurrentRelaysTakeDisjointRows() throws Exception {
+        for (long ticketId = 1; ticketId <= 5; ticketId++) {
+            append(ticketId);
+        }
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Set<Long>> first = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Set<Long> ids = lockedTicketIds(3);
+            locked.countDown();
+            await(release);
+            return ids;
+        }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+        Set<Long> second = transactionTemplate.execute(status -> lockedTicketIds(5));
+        release.countDown();
+
+        assertEquals(Set.of(1L, 2L, 3L), first.get(10, TimeUnit.SECONDS));
+        assertEquals(Set.of(4L, 5L), second, "Rows locked by the other relay must be skipped, not waited on");
+    }
+
+    @Test
+    void appendForTickets_WritesOneEventPerTicketFromItsCurrentRow() {
+        jdbcTemplate.update("INSERT INTO departments (id, name) VALUES (1, 'Teknik Destek')");
+        jdbcTemplate.update("INSERT INTO _user (id, email, first_name, last_name, password, role) VALUES " +
+                "(1, 'musteri@test.com', 'Ali', 'Veli', 'x', 'CUSTOMER'), (2, 'ajan@test.com', 'Ayşe', 'Demir', 'x', 'AGENT')");
+        jdbcTemplate.update("INSERT INTO customers (id, user_id, phone, version, created_at, updated_at) " +
+                "VALUES (1, 1, '+905555555555', 0, now(), now())");
+        jdbcTemplate.update("INSERT INTO agents (id, user_id, department_id, version, created_at, updated_at) " +
+                "VALUES (1, 2, 1, 0, now(), now())");
+        jdbcTemplate.update("INSERT INTO tickets (id, customer_id, department_id, assigned_agent_id, subject, description, " +
+                "status, priority, version, created_at, updated_at) " +
+                "SELECT i, 1, 1, 1, 'Bilet', 'Açıklama', 'IN_PROGRESS', 'HIGH', 0, now(), now() FROM generate_series(1, 4) i");
+
+        transactionTemplate.executeWithoutResult(status ->
+                outboxService.appendForTickets(TicketEvent.Type.ASSIGNED, List.of(2L, 3L, 99L)));
+
+        List<OutboxEvent> events = outboxRepository.findAll();
+        assertEquals(Set.of(2L, 3L), events.stream().map(OutboxEvent::getTicketId).collect(Collectors.toSet()));
+        assertTrue(events.stream().allMatch(event -> "ASSIGNED".equals(event.getEventType())
+                && event.getDepartmentId() == 1L && event.getAssignedAgentId() == 1L
+                && event.getStatus() == TicketStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void append_RequiresATransaction() {
+        assertThrows(RuntimeException.class, () -> outboxService.append(event(1L)));
+        assertEquals(0, outboxRepository.count());
+    }
+
+    private void append(Long ticketId) {
+        transactionTemplate.executeWithoutResult(status -> outboxService.append(event(ticketId)));
+    }
+
+    private Set<Long> lockedTicketIds(int limit) {
+        return outboxRepository.lockNextBatch(LocalDateTime.now(), limit).stream()
+                .map(OutboxEvent::getTicketId)
+                .collect(Collectors.toSet());
+    }
+
+    private static TicketEvent event(Long ticketId) {
+        return TicketEvent.builder()
+                .type(TicketEvent.Type.STATUS_CHANGED)
+                .ticketId(ticketId)
+                .departmentId(10L)
+                .status(TicketStatus.CLOSED)
+                .previousStatus(TicketStatus.OPEN)
+                .occurredAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.Ticket;
+import com.anil.crm.domain.TicketPriority;
+import com.anil.crm.domain.TicketStatus;
+import com.anil.crm.web.models.FieldSet;
+import com.anil.crm.web.models.KeysetCursor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static com.anil.crm.repositories.TicketSpecifications.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every repository query through EXPLAIN against a real PostgreSQL seeded with enough rows that the planner
+ * only picks a sequential scan when no usable index exists. The schema comes from the Flyway migrations, so a
+ * dropped or mismatched index fails the build here instead of showing up as a slow endpoint in production.
+ * <p>
+ * Plans are generic ({@code EXPLAIN (GENERIC_PLAN)}), i.e. the plan PostgreSQL settles on for a server-side
+ * prepared statement, which is how the JDBC driver ends up running these queries after a few executions.
+ */
+@DataJpaTest(showSql = false, properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.anil.crm.repositories.QueryPlanTest$SqlRecorder")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    static final Set<String> LARGE_TABLES = Set.of("tickets", "ticket_comments", "customers", "_user");
+
+    static final int DEPARTMENTS = 20;
+    static final int CUSTOMERS = 20_000;
+    static final int AGENTS = 200;
+    static final int TICKETS = 200_000;
+    static final int COMMENTS = 400_000;
+
+    static EmbeddedPostgres postgres;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TicketRepository ticketRepository;
+
+    @Autowired
+    TicketCommentRepository ticketCommentRepository;
+
+    @Autowired
+    AgentRepository agentRepository;
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    final LocalDateTime cursorCreatedAt = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = TestPostgres.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        TestPostgres.stop(postgres);
+    }
+
+    @BeforeAll
+    void seed() {
+        // Explicit IDs: the sequences hand out blocks of 50, so the foreign-key arithmetic below needs 1..N.
+        jdbcTemplate.update("INSERT INTO departments (id, name) SELECT i, 'Departman ' || i FROM generate_series(1, ?) i", DEPARTMENTS);
+        jdbcTemplate.update("INSERT INTO _user (id, email, first_name, last_name, password, role) " +
+                "SELECT i, 'user' || i || '@test.com', 'Ad' || i, 'Soyad' || i, 'x', " +
+                "CASE WHEN i <= ? THEN 'CUSTOMER' ELSE 'AGENT' END FROM generate_series(1, ?) i", CUSTOMERS, CUSTOMERS + AGENTS);
+        jdbcTemplate.update("INSERT INTO customers (id, user_id, phone, version, created_at, updated_at) " +
+                "SELECT i, i, '+90555' || i, 0, now(), now() FROM generate_series(1, ?) i", CUSTOMERS);
+        jdbcTemplate.update("INSERT INTO agents (id, user_id, department_id, version, created_at, updated_at) " +
+                "SELECT i, ? + i, i % ? + 1, 0, now(), now() FROM generate_series(1, ?) i", CUSTOMERS, DEPARTMENTS, AGENTS);
+        jdbcTemplate.update("INSERT INTO tickets (id, customer_id, department_id, assigned_agent_id, subject, description, " +
+                "status, priority, version, created_at, updated_at) " +
+                "SELECT i, i % ? + 1, i % ? + 1, CASE WHEN i % 5 = 0 THEN NULL ELSE i % ? + 1 END, 'Bilet ' || i, 'Açıklama ' || i, " +
+                "(ARRAY['OPEN','IN_PROGRESS','ON_HOLD','CLOSED','CLOSED','CLOSED','CLOSED','CLOSED','CLOSED','CLOSED'])[i % 10 + 1], " +
+                "(ARRAY['LOW','MEDIUM','HIGH','URGENT'])[i % 4 + 1], 0, " +
+                "timestamp '2024-01-01' + i * interval '1 minute', timestamp '2024-01-01' + i * interval '1 minute' " +
+                "FROM generate_series(1, ?) i", CUSTOMERS, DEPARTMENTS, AGENTS, TICKETS);
+        jdbcTemplate.update("INSERT INTO ticket_comments (id, ticket_id, author_user_id, comment, version, created_at) " +
+                "SELECT i, i % ? + 1, i % ? + 1, 'Yorum ' || i, 0, timestamp '2024-01-01' + i * interval '30 seconds' " +
+                "FROM generate_series(1, ?) i", TICKETS, CUSTOMERS + AGENTS, COMMENTS);
+        // Autovacuum keeps the visibility map current in production; without it index-only scans look far too expensive.
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+
+    Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("TicketRepository.findById", () -> ticketRepository.findById(42L)),
+                query("TicketRepository.findSummaryById", () -> ticketRepository.findSummaryById(42L)),
+                query("TicketRepository.findAllTickets",
+                        () -> ticketRepository.findAllTickets(cursorCreatedAt, 1L, Limit.of(51))),
+                query("TicketRepository.findTicketsByCustomerId",
+                        () -> ticketRepository.findTicketsByCustomerId(7L, cursorCreatedAt, 1L, Limit.of(51))),
+                query("TicketRepository.findTicketsByStatus",
+                        () -> ticketRepository.findTicketsByStatus(TicketStatus.OPEN, cursorCreatedAt, 1L, Limit.of(51))),
+                query("TicketRepository.getTicketsByPriority",
+                        () -> ticketRepository.getTicketsByPriority(TicketPriority.HIGH, cursorCreatedAt, 1L, Limit.of(51))),
+                query("TicketRepository.findTicketsByAssignedAgentId",
+                        () -> ticketRepository.findTicketsByAssignedAgentId(3L, cursorCreatedAt, 1L, Limit.of(51))),
+                query("TicketRepository.findTicketsByDepartmentId",
+                        () -> ticketRepository.findTicketsByDepartmentId(5L, cursorCreatedAt, 1L, Limit.of(51))),
+                query("TicketRepository.findChangedSince", () -> ticketRepository.findChangedSince(
+                        cursorCreatedAt, 1L, cursorCreatedAt.plusDays(1), Limit.of(51))),
+                query("TicketRepository.existsByCustomerId", () -> ticketRepository.existsByCustomerId(7L)),
+                query("TicketRepository.existsByAssignedAgentId", () -> ticketRepository.existsByAssignedAgentId(3L)),
+                query("TicketRepository.existsByDepartmentId", () -> ticketRepository.existsByDepartmentId(5L)),
+                query("TicketRepository.findExistingIds", () -> ticketRepository.findExistingIds(List.of(42L, 4242L))),
+                query("TicketRepository.updateStatus", () -> ticketRepository.updateStatus(
+                        new Long[]{42L, 4242L}, new Long[]{0L, null}, TicketStatus.CLOSED, cursorCreatedAt)),
+                query("TicketRepository.claimNext", () -> ticketRepository.claimNext(5L, 3L, cursorCreatedAt)),
+                query("TicketRepository.searchText",
+                        () -> ticketRepository.searchText("bilet 4242", Float.MAX_VALUE, Long.MAX_VALUE, 51)),
+                query("TicketRepository.findSummaries(open tickets of a department)",
+                        () -> search(hasStatus(TicketStatus.OPEN), inDepartment(5L))),
+                query("TicketRepository.findSummaries(status and priority)",
+                        () -> search(hasStatus(TicketStatus.ON_HOLD), hasPriority(TicketPriority.URGENT))),
+                query("TicketRepository.findSummaries(agent and created-at range)",
+                        () -> search(assignedTo(3L), createdFrom(cursorCreatedAt.minusDays(7)), createdBefore(cursorCreatedAt))),
+                query("TicketRepository.findSummaries(sparse fields of an agent's tickets)",
+                        () -> ticketRepository.findSummaries(Specification.allOf(assignedTo(3L), after(cursorCreatedAt, 1L)),
+                                FieldSet.of("id", "subject", "status", "priority", "assignedAgent.id"), Limit.of(51))),
+                query("TicketCommentRepository.findThreadPage", () -> ticketCommentRepository.findThreadPage(
+                        42L, KeysetCursor.FIRST_ASCENDING.getCreatedAt(), KeysetCursor.FIRST_ASCENDING.getId(), Limit.of(51))),
+                query("TicketCommentRepository.findAuthorFeedPage",
+                        () -> ticketCommentRepository.findAuthorFeedPage(42L, cursorCreatedAt, 1L, Limit.of(51))),
+                // Customer name search is not listed: a generic plan assumes any LIKE pattern matches 0.5% of users
+                // and hash-joins all customers. Custom plans, which PostgreSQL keeps using here since they are far
+                // cheaper, go through the trigram index; CustomerNameSearchBenchmark checks them at 1M customers.
+                query("AgentRepository.findAgentsByUserFirstNameContainingOrUserLastNameContaining",
+                        () -> agentRepository.findAgentsByUserFirstNameContainingOrUserLastNameContaining("ad20042", "ad20042")),
+                query("AgentRepository.findByDepartmentNameContainingAndUserNameContaining",
+                        () -> agentRepository.findByDepartmentNameContainingAndUserNameContaining("departman 3", "ad20042"))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void repositoryQueryDoesNotScanLargeTables(Runnable repositoryCall) {
+        SqlRecorder.STATEMENTS.clear();
+        repositoryCall.run();
+        List<String> statements = List.copyOf(SqlRecorder.STATEMENTS);
+
+        assertFalse(statements.isEmpty(), "Repository call did not run any SQL");
+        for (String sql : statements) {
+            List<String> seqScans = new ArrayList<>();
+            collectLargeTableSeqScans(explain(sql), seqScans);
+            assertTrue(seqScans.isEmpty(), () -> "Sequential scan on " + seqScans + " for: " + sql);
+        }
+    }
+
+    @SafeVarargs
+    private List<TicketSummary> search(Specification<Ticket> first,
+                                       Specification<Ticket>... rest) {
+        Specification<Ticket> spec = Specification.allOf(first, Specification.allOf(rest),
+                after(cursorCreatedAt, 1L));
+        return ticketRepository.findSummaries(spec, Limit.of(51));
+    }
+
+    private JsonNode explain(String sql) {
+        // Hibernate renders JDBC placeholders; GENERIC_PLAN wants numbered ones.
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        // The extended protocol would expect values for $n, so plans are fetched over a simple-protocol connection.
+        try (Connection connection = DriverManager.getConnection(
+                postgres.getJdbcUrl("postgres", "postgres") + "&preferQueryMode=simple");
+             Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numbered)) {
+            plan.next();
+            return objectMapper.readTree(plan.getString(1)).get(0).get("Plan");
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Could not explain: " + sql, e);
+        }
+    }
+
+    private void collectLargeTableSeqScans(JsonNode node, List<String> seqScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && LARGE_TABLES.contains(node.path("Relation Name").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectLargeTableSeqScans(child, seqScans);
+        }
+    }
+
+    private static Arguments query(String name, Runnable call) {
+        return Arguments.of(Named.of(name, call));
+    }
+
+    /** Keeps the SQL Hibernate sends so the test can EXPLAIN exactly what the repository runs. */
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The L2 cache only sees committed data, so every step runs in its own committed transaction. Sequence keys are known
+ * before the INSERT, so saved rows are cached on commit; the read tests still warm the cache once so they only measure
+ * the read path.
+ * <p>
+ * The JCache manager is shared by every test context in the JVM, so the regions are cleared before each test to
+ * drop entries other contexts cached against their own databases.
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    DepartmentRepository departmentRepository;
+
+    @Autowired
+    AgentRepository agentRepository;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    TransactionTemplate tx;
+    Statistics statistics;
+    Long agentId;
+    Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        tx.executeWithoutResult(status -> {
+            Department department = departmentRepository.save(Department.builder().name("Teknik Destek").build());
+            agentId = agentRepository.save(Agent.builder()
+                    .department(department)
+                    .user(User.builder().firstName("Ayşe").lastName("Demir").email("ayse@test.com").password("x").role(Role.AGENT).build())
+                    .build()).getId();
+            customerId = customerRepository.save(Customer.builder()
+                    .phone("+905555555555")
+                    .user(User.builder().firstName("Ali").lastName("Veli").email("ali@test.com").password("x").role(Role.CUSTOMER).build())
+                    .build()).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            agentRepository.deleteAll();
+            customerRepository.deleteAll();
+            departmentRepository.deleteAll();
+        });
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void findByName_ServedFromNaturalIdCache() {
+        tx.execute(status -> departmentRepository.findByName("Teknik Destek"));
+        statistics.clear();
+
+        Optional<Department> found = tx.execute(status -> departmentRepository.findByName("Teknik Destek"));
+
+        assertTrue(found.isPresent());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void findByName_FollowsRename() {
+        tx.executeWithoutResult(status ->
+                departmentRepository.findByName("Teknik Destek").orElseThrow().setName("Yazılım Destek"));
+
+        assertTrue(tx.execute(status -> departmentRepository.findByName("Teknik Destek")).isEmpty());
+        assertTrue(tx.execute(status -> departmentRepository.findByName("Yazılım Destek")).isPresent());
+    }
+
+    @Test
+    void findById_ReferenceDataServedFromEntityCache() {
+        loadAgentAndCustomer();
+        statistics.clear();
+
+        loadAgentAndCustomer();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getSecondLevelCacheMissCount());
+        assertEquals(5, statistics.getSecondLevelCacheHitCount(), "agent, agent user, department, customer, customer user");
+    }
+
+    @Test
+    void save_PopulatesEntityCache() {
+        statistics.clear();
+
+        loadAgentAndCustomer();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getSecondLevelCacheMissCount());
+    }
+
+    private void loadAgentAndCustomer() {
+        tx.executeWithoutResult(status -> {
+            Agent agent = agentRepository.findById(agentId).orElseThrow();
+            assertEquals("Ayşe", agent.getUser().getFirstName());
+            assertEquals("Teknik Destek", agent.getDepartment().getName());
+            assertEquals("Ali", customerRepository.findById(customerId).orElseThrow().getUser().getFirstName());
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package com.anil.crm.repositories;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+
+/**
+ * Embedded PostgreSQL for the tests and benchmarks whose queries are native or depend on the Flyway schema.
+ */
+public final class TestPostgres {
+
+    private TestPostgres() {
+    }
+
+    /**
+     * Starts a server and points the test's datasource at it.
+     *
+     * @throws IllegalStateException when run as root, which PostgreSQL refuses; failing here keeps such a build from
+     *                               passing without having run these tests
+     */
+    public static EmbeddedPostgres start(DynamicPropertyRegistry registry) throws IOException {
+        if ("root".equals(System.getProperty("user.name"))) {
+            throw new IllegalStateException("PostgreSQL refuses to start as root, so the tests that need it cannot run. "
+                    + "Run the build as a regular user (e.g. runuser -u <user> -- mvn test).");
+        }
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        return postgres;
+    }
+
+    public static void stop(EmbeddedPostgres postgres) throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+}
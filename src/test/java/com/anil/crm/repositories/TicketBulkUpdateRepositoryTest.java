@@ -0,0 +1,108 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.*;
+import com.anil.crm.repositories.TicketBulkUpdateRepository.UpdatedTicket;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The bulk UPDATEs are native PostgreSQL ({@code unnest}, {@code RETURNING}), so they run against a real server.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TicketBulkUpdateRepositoryTest {
+
+    static EmbeddedPostgres postgres;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    TicketRepository ticketRepository;
+
+    Agent agent;
+    Ticket open;
+    Ticket onHold;
+    LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = TestPostgres.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        TestPostgres.stop(postgres);
+    }
+
+    @BeforeEach
+    void setUp() {
+        Department department = entityManager.persist(Department.builder().name("Teknik Destek").build());
+        Customer customer = entityManager.persist(Customer.builder()
+                .phone("+905555555555")
+                .user(User.builder().firstName("Ali").lastName("Veli").email("ali@test.com").password("x").role(Role.CUSTOMER).build())
+                .build());
+        agent = entityManager.persist(Agent.builder()
+                .department(department)
+                .user(User.builder().firstName("Ayşe").lastName("Demir").email("ayse@test.com").password("x").role(Role.AGENT).build())
+                .build());
+        open = entityManager.persist(ticket(customer, department, TicketStatus.OPEN));
+        onHold = entityManager.persist(ticket(customer, department, TicketStatus.ON_HOLD));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void updateStatus_BumpsVersionOfMatchingRows() {
+        long missingId = onHold.getId() + 1_000;
+
+        Map<Long, UpdatedTicket> updated = ticketRepository.updateStatus(
+                new Long[]{open.getId(), onHold.getId(), missingId},
+                new Long[]{open.getVersion(), onHold.getVersion() + 1, null},
+                TicketStatus.CLOSED, now);
+
+        assertEquals(Map.of(open.getId(), new UpdatedTicket(open.getVersion() + 1, null, TicketStatus.OPEN,
+                null, TicketStatus.CLOSED, TicketPriority.LOW)), updated);
+        Ticket reloaded = entityManager.find(Ticket.class, open.getId());
+        assertEquals(TicketStatus.CLOSED, reloaded.getStatus());
+        assertEquals(now, reloaded.getUpdatedAt());
+        assertEquals(TicketStatus.ON_HOLD, entityManager.find(Ticket.class, onHold.getId()).getStatus(),
+                "Stale expected version must leave the row alone");
+    }
+
+    @Test
+    void assignAgent_WithoutExpectedVersions() {
+        Map<Long, UpdatedTicket> updated = ticketRepository.assignAgent(
+                new Long[]{open.getId(), onHold.getId()}, new Long[]{null, null}, agent.getId(), now);
+
+        assertEquals(2, updated.size());
+        assertEquals(new UpdatedTicket(onHold.getVersion() + 1, null, TicketStatus.ON_HOLD,
+                agent.getId(), TicketStatus.ON_HOLD, TicketPriority.LOW), updated.get(onHold.getId()));
+        assertEquals(agent.getId(), entityManager.find(Ticket.class, onHold.getId()).getAssignedAgent().getId());
+    }
+
+    private static Ticket ticket(Customer customer, Department department, TicketStatus status) {
+        return Ticket.builder()
+                .customer(customer)
+                .department(department)
+                .subject("Bilet")
+                .description("Açıklama")
+                .status(status)
+                .priority(TicketPriority.LOW)
+                .build();
+    }
+}
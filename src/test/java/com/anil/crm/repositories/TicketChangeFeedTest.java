@@ -0,0 +1,134 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.*;
+import com.anil.crm.services.AgentLoadServiceImpl;
+import com.anil.crm.services.OutboxService;
+import com.anil.crm.services.TicketEventService;
+import com.anil.crm.services.TicketServiceImpl;
+import com.anil.crm.web.mappers.AgentMapperImpl;
+import com.anil.crm.web.mappers.CustomerMapperImpl;
+import com.anil.crm.web.mappers.DepartmentMapperImpl;
+import com.anil.crm.web.mappers.TicketMapperImpl;
+import com.anil.crm.web.models.TicketChanges;
+import com.anil.crm.web.models.TicketDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Syncs the way a client does: a full first sync page by page, then changes, then one sync per change set.
+ * No settle window, so the changes made in the test are visible to the very next sync.
+ */
+@DataJpaTest(properties = "application.tickets.changes.settle-seconds=0")
+@ActiveProfiles("h2")
+@Import({TicketServiceImpl.class, AgentLoadServiceImpl.class, TicketMapperImpl.class, CustomerMapperImpl.class,
+        DepartmentMapperImpl.class, AgentMapperImpl.class})
+class TicketChangeFeedTest {
+
+    static final int TICKET_COUNT = 5;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    TicketServiceImpl ticketService;
+
+    @MockitoBean
+    TicketEventService ticketEventService;
+
+    @MockitoBean
+    OutboxService outboxService;
+
+    List<Long> ticketIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Department department = entityManager.persist(Department.builder().name("Teknik Destek").build());
+        Customer customer = entityManager.persist(Customer.builder()
+                .phone("+905555555555")
+                .user(User.builder().firstName("Ali").lastName("Veli").email("ali@test.com").password("x").role(Role.CUSTOMER).build())
+                .build());
+        for (int i = 0; i < TICKET_COUNT; i++) {
+            ticketIds.add(entityManager.persist(Ticket.builder()
+                    .customer(customer)
+                    .department(department)
+                    .subject("Bilet " + i)
+                    .description("Açıklama " + i)
+                    .status(TicketStatus.OPEN)
+                    .priority(TicketPriority.MEDIUM)
+                    .build()).getId());
+        }
+        entityManager.flush();
+        // The newest ticket was updated first, so change order differs from ID order.
+        for (int i = 0; i < TICKET_COUNT; i++) {
+            entityManager.getEntityManager().createQuery("UPDATE Ticket t SET t.updatedAt = :updatedAt WHERE t.id = :id")
+                    .setParameter("updatedAt", LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(TICKET_COUNT - i))
+                    .setParameter("id", ticketIds.get(i))
+                    .executeUpdate();
+        }
+        entityManager.clear();
+    }
+
+    @Test
+    void firstSync_PagesThroughEveryTicketInChangeOrder() {
+        List<Long> synced = new ArrayList<>();
+        String cursor = null;
+        TicketChanges page;
+        do {
+            page = ticketService.getChanges(cursor, 2);
+            page.getChanged().forEach(ticket -> synced.add(ticket.getId()));
+            assertNotNull(page.getNextCursor());
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        List<Long> newestFirst = new ArrayList<>(ticketIds);
+        Collections.reverse(newestFirst);
+        assertEquals(newestFirst, synced);
+        assertEquals(TicketChanges.builder().changed(List.of()).deleted(List.of()).hasMore(false).nextCursor(cursor).build(),
+                ticketService.getChanges(cursor, 2), "A caught-up client gets an empty page and keeps its cursor");
+    }
+
+    @Test
+    void nextSync_ReturnsOnlyUpdatedAndDeletedTickets() {
+        String cursor = ticketService.getChanges(null, null).getNextCursor();
+
+        ticketService.updateTicketStatus(ticketIds.get(1), TicketStatus.CLOSED);
+        ticketService.deleteTicketById(ticketIds.get(3));
+        entityManager.flush();
+
+        TicketChanges changes = ticketService.getChanges(cursor, null);
+
+        assertEquals(List.of(ticketIds.get(1)), changes.getChanged().stream().map(TicketDto::getId).toList());
+        assertEquals(TicketStatus.CLOSED, changes.getChanged().get(0).getStatus());
+        assertEquals(1L, changes.getChanged().get(0).getVersion());
+        assertEquals(List.of(ticketIds.get(3)), changes.getDeleted());
+        assertFalse(changes.isHasMore());
+
+        TicketChanges caughtUp = ticketService.getChanges(changes.getNextCursor(), null);
+        assertTrue(caughtUp.getChanged().isEmpty());
+        assertTrue(caughtUp.getDeleted().isEmpty());
+    }
+
+    @Test
+    void pruneTombstones_DropsDeletionsPastTheRetentionPeriod() {
+        entityManager.persist(new TicketTombstone(1_000L, LocalDateTime.now().minusDays(31)));
+        entityManager.persist(new TicketTombstone(1_001L, LocalDateTime.now().minusDays(29)));
+        entityManager.flush();
+
+        assertEquals(1, ticketService.pruneTombstones());
+
+        assertEquals(List.of(1_001L), ticketService.getChanges(null, null).getDeleted());
+    }
+}
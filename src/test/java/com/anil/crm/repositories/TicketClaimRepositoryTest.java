@@ -0,0 +1,158 @@
+package com.anil.crm.repositories;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Claims run in their own transactions here (no test-managed rollback), so concurrent agents really contend for the
+ * same rows the way they do behind the endpoint.
+ */
+@DataJpaTest(showSql = false, properties = "spring.datasource.hikari.maximum-pool-size=" + (TicketClaimRepositoryTest.AGENTS + 2))
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TicketClaimRepositoryTest {
+
+    static final int AGENTS = 50;
+    static final int TICKETS = 2_000;
+
+    static EmbeddedPostgres postgres;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TicketRepository ticketRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = TestPostgres.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        TestPostgres.stop(postgres);
+    }
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("INSERT INTO departments (id, name) VALUES (1, 'Teknik Destek'), (2, 'Fatura')");
+        jdbcTemplate.update("INSERT INTO _user (id, email, first_name, last_name, password, role) " +
+                "SELECT i, 'user' || i || '@test.com', 'Ad' || i, 'Soyad' || i, 'x', " +
+                "CASE WHEN i = 1 THEN 'CUSTOMER' ELSE 'AGENT' END FROM generate_series(1, ?) i", AGENTS + 1);
+        jdbcTemplate.update("INSERT INTO customers (id, user_id, phone, version, created_at, updated_at) " +
+                "VALUES (1, 1, '+905555555555', 0, now(), now())");
+        jdbcTemplate.update("INSERT INTO agents (id, user_id, department_id, version, created_at, updated_at) " +
+                "SELECT i, i + 1, 1, 0, now(), now() FROM generate_series(1, ?) i", AGENTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE tickets, agents, customers, _user, departments CASCADE");
+    }
+
+    @Test
+    void claimNext_TakesHighestPriorityThenOldest() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        insertTicket(1, 1, "LOW", "OPEN", null, base);
+        insertTicket(2, 1, "HIGH", "OPEN", null, base.plusMinutes(2));
+        insertTicket(3, 1, "HIGH", "OPEN", null, base.plusMinutes(1));
+        insertTicket(4, 1, "URGENT", "OPEN", 5L, base);
+        insertTicket(5, 1, "URGENT", "IN_PROGRESS", null, base);
+        insertTicket(6, 2, "URGENT", "OPEN", null, base);
+
+        List<Long> claimed = new ArrayList<>();
+        Optional<Long> next;
+        while ((next = claim(1L, 1L)).isPresent()) {
+            claimed.add(next.get());
+        }
+
+        assertEquals(List.of(3L, 2L, 1L), claimed);
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT assigned_agent_id FROM tickets WHERE id = 3", Long.class));
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT version FROM tickets WHERE id = 3", Long.class));
+    }
+
+    @Test
+    void claimNext_ConcurrentAgentsNeverShareATicket() throws Exception {
+        jdbcTemplate.update("INSERT INTO tickets (id, customer_id, department_id, subject, description, status, priority, " +
+                "version, created_at, updated_at) " +
+                "SELECT i, 1, 1, 'Bilet ' || i, 'Açıklama', 'OPEN', (ARRAY['LOW','MEDIUM','HIGH','URGENT'])[i % 4 + 1], 0, " +
+                "timestamp '2025-01-01' + i * interval '1 minute', timestamp '2025-01-01' FROM generate_series(1, ?) i", TICKETS);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(AGENTS);
+        List<Future<List<Long>>> agents = new ArrayList<>();
+        try {
+            for (long agentId = 1; agentId <= AGENTS; agentId++) {
+                long id = agentId;
+                agents.add(executor.submit((Callable<List<Long>>) () -> {
+                    start.await();
+                    List<Long> claimed = new ArrayList<>();
+                    Optional<Long> next;
+                    while ((next = claim(1L, id)).isPresent()) {
+                        claimed.add(next.get());
+                    }
+                    return claimed;
+                }));
+            }
+            start.countDown();
+
+            Map<Long, Integer> claimCounts = new HashMap<>();
+            for (Future<List<Long>> agent : agents) {
+                agent.get(60, TimeUnit.SECONDS).forEach(ticketId -> claimCounts.merge(ticketId, 1, Integer::sum));
+            }
+
+            assertEquals(TICKETS, claimCounts.size(), "Every ticket must be claimed");
+            assertTrue(claimCounts.values().stream().allMatch(count -> count == 1), "A ticket was claimed twice");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM tickets WHERE assigned_agent_id IS NULL OR version <> 1", Integer.class));
+    }
+
+    private Optional<Long> claim(Long departmentId, Long agentId) {
+        return transactionTemplate.execute(status ->
+                ticketRepository.claimNext(departmentId, agentId, LocalDateTime.of(2025, 6, 1, 12, 0)));
+    }
+
+    private void insertTicket(long id, long departmentId, String priority, String status, Long agentId, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO tickets (id, customer_id, department_id, assigned_agent_id, subject, description, " +
+                "status, priority, version, created_at, updated_at) VALUES (?, 1, ?, ?, 'Bilet', 'Açıklama', ?, ?, 0, ?, ?)",
+                id, departmentId, agentId, status, priority, createdAt, createdAt);
+    }
+}
@@ -0,0 +1,144 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.*;
+import com.anil.crm.services.TicketCommentServiceImpl;
+import com.anil.crm.services.OutboxService;
+import com.anil.crm.services.TicketEventService;
+import com.anil.crm.web.mappers.TicketCommentMapperImpl;
+import com.anil.crm.web.models.CursorPage;
+import com.anil.crm.web.models.TicketCommentDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@Import({TicketCommentServiceImpl.class, TicketCommentMapperImpl.class})
+class TicketCommentPagingTest {
+
+    static final int COMMENT_COUNT = 25;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TicketCommentServiceImpl ticketCommentService;
+
+    @MockitoBean
+    TicketEventService ticketEventService;
+
+    @MockitoBean
+    OutboxService outboxService;
+
+    Statistics statistics;
+    Ticket ticket;
+    User agentUser;
+    List<Long> threadIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Department department = entityManager.persist(Department.builder().name("Teknik Destek").build());
+        Customer customer = entityManager.persist(Customer.builder()
+                .phone("+905555555555")
+                .user(User.builder().firstName("Ali").lastName("Veli").email("ali@test.com").password("x").role(Role.CUSTOMER).build())
+                .build());
+        agentUser = entityManager.persist(User.builder()
+                .firstName("Ayşe").lastName("Demir").email("ayse@test.com").password("x").role(Role.AGENT).build());
+        ticket = entityManager.persist(Ticket.builder()
+                .customer(customer)
+                .department(department)
+                .subject("Bilet")
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.HIGH)
+                .build());
+        Ticket otherTicket = entityManager.persist(Ticket.builder()
+                .customer(customer)
+                .department(department)
+                .subject("Diğer bilet")
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.LOW)
+                .build());
+
+        for (int i = 0; i < COMMENT_COUNT; i++) {
+            TicketComment comment = entityManager.persist(TicketComment.builder()
+                    .ticket(i % 5 == 4 ? otherTicket : ticket)
+                    .author(i % 2 == 0 ? agentUser : customer.getUser())
+                    .comment("Yorum " + i)
+                    .build());
+            if (comment.getTicket() == ticket) {
+                threadIds.add(comment.getId());
+            }
+        }
+        entityManager.flush();
+        // Every comment shares one timestamp, so only the id orders them and pages must not skip or repeat any
+        entityManager.getEntityManager().createQuery("UPDATE TicketComment tc SET tc.createdAt = :createdAt")
+                .setParameter("createdAt", LocalDateTime.of(2024, 1, 1, 12, 0))
+                .executeUpdate();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getCommentsByTicketId_PagesOldestFirstThroughTies() {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<TicketCommentDto> page = ticketCommentService.getCommentsByTicketId(ticket.getId(), cursor, 7);
+            page.getItems().forEach(comment -> ids.add(comment.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(threadIds, ids);
+        assertEquals(3, pages);
+        assertEquals(pages, statistics.getPrepareStatementCount(), "One statement per page, nothing loaded lazily");
+    }
+
+    @Test
+    void getCommentsByTicketId_ReturnsAuthorNameAndRole() {
+        TicketCommentDto first = ticketCommentService.getCommentsByTicketId(ticket.getId(), null, null).getItems().get(0);
+
+        assertEquals("Ayşe", first.getAuthorFirstName());
+        assertEquals("Demir", first.getAuthorLastName());
+        assertEquals(Role.AGENT, first.getAuthorRole());
+        assertEquals(ticket.getId(), first.getTicketId());
+        assertEquals("Yorum 0", first.getComment());
+        assertEquals(0, statistics.getEntityLoadCount(), "No ticket or user entity should be loaded");
+    }
+
+    @Test
+    void getCommentsByAuthorId_PagesNewestFirst() {
+        CursorPage<TicketCommentDto> first = ticketCommentService.getCommentsByAuthorId(agentUser.getId(), null, 10);
+        CursorPage<TicketCommentDto> second = ticketCommentService.getCommentsByAuthorId(agentUser.getId(), first.getNextCursor(), 10);
+
+        List<Long> ids = new ArrayList<>();
+        first.getItems().forEach(comment -> ids.add(comment.getId()));
+        second.getItems().forEach(comment -> ids.add(comment.getId()));
+        assertEquals(13, ids.size());
+        assertNull(second.getNextCursor());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) > ids.get(i), "Feed must run newest first");
+        }
+        assertTrue(first.getItems().stream().allMatch(comment -> comment.getAuthorRole() == Role.AGENT));
+    }
+}
@@ -0,0 +1,179 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.*;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.anil.crm.repositories.TicketFullTextSearchRepository.MATCH_END;
+import static com.anil.crm.repositories.TicketFullTextSearchRepository.MATCH_START;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The search vectors are generated columns of the Flyway schema and the query is native PostgreSQL, so this runs
+ * against a real server with the crm_turkish configuration from V6.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TicketFullTextSearchRepositoryTest {
+
+    static EmbeddedPostgres postgres;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    TicketRepository ticketRepository;
+
+    Customer customer;
+    Department department;
+    User author;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = TestPostgres.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        TestPostgres.stop(postgres);
+    }
+
+    @BeforeEach
+    void setUp() {
+        department = entityManager.persist(Department.builder().name("Teknik Destek").build());
+        customer = entityManager.persist(Customer.builder()
+                .phone("+905555555555")
+                .user(User.builder().firstName("Ali").lastName("Veli").email("ali@test.com").password("x").role(Role.CUSTOMER).build())
+                .build());
+        author = customer.getUser();
+    }
+
+    @Test
+    void searchText_FoldsTurkishCaseAndCharacters() {
+        Ticket ticket = ticket("ŞİFRE SIFIRLAMA", "Şifremi unuttum, İstanbul şubesinden giriş yapamıyorum.");
+        ticket("Fatura", "Ödeme alındı.");
+        entityManager.flush();
+
+        for (String query : List.of("şifre", "sifre", "ŞİFREMİ", "istanbul", "İSTANBUL", "SUBESINDEN")) {
+            List<TicketTextMatch> matches = ticketRepository.searchText(query, Float.MAX_VALUE, Long.MAX_VALUE, 10).matches();
+            assertEquals(List.of(ticket.getId()), matches.stream().map(TicketTextMatch::ticketId).toList(), query);
+        }
+    }
+
+    @Test
+    void searchText_SubjectOutranksDescriptionAndComments() {
+        Ticket inComment = ticket("Giriş sorunu", "Sisteme giremiyorum.");
+        comment(inComment, "Müşteri iade talebini tekrarladı.");
+        Ticket inDescription = ticket("Ürün sorunu", "Ürünü iade etmek istiyorum.");
+        Ticket inSubject = ticket("İade talebi", "Kargo hasarlı geldi.");
+        entityManager.flush();
+
+        TicketTextMatches result = ticketRepository.searchText("iade", Float.MAX_VALUE, Long.MAX_VALUE, 10);
+        List<TicketTextMatch> matches = result.matches();
+
+        assertEquals(List.of(inSubject.getId(), inDescription.getId(), inComment.getId()),
+                matches.stream().map(TicketTextMatch::ticketId).toList());
+        assertEquals(MATCH_START + "İade" + MATCH_END + " talebi", matches.get(0).subject());
+        assertTrue(matches.get(1).snippet().contains(MATCH_START + "iade" + MATCH_END));
+        assertTrue(matches.get(2).snippet().startsWith("Müşteri " + MATCH_START + "iade" + MATCH_END + " talebini"),
+                "A comment-only match shows the comment");
+        assertFalse(result.approximate());
+    }
+
+    @Test
+    void searchText_WebSearchSyntax() {
+        Ticket refund = ticket("Fatura iadesi", "Faturadaki tutar yanlış.");
+        ticket("Fatura kopyası", "Faturanın bir kopyasını istiyorum.");
+        entityManager.flush();
+
+        assertEquals(List.of(refund.getId()), ticketRepository.searchText("fatura -kopyası", Float.MAX_VALUE, Long.MAX_VALUE, 10)
+                .matches().stream().map(TicketTextMatch::ticketId).toList());
+        assertTrue(ticketRepository.searchText("ve", Float.MAX_VALUE, Long.MAX_VALUE, 10).matches().isEmpty(),
+                "A stop-word-only query matches nothing");
+    }
+
+    @Test
+    void searchText_CursorPagesVisitEveryMatchOnce() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            expected.add(ticket("Bağlantı hatası " + i, i % 2 == 0 ? "Bağlantı kesiliyor, bağlantı yok." : "Yavaş.").getId());
+        }
+        entityManager.flush();
+
+        List<Long> seen = new ArrayList<>();
+        float rank = Float.MAX_VALUE;
+        long id = Long.MAX_VALUE;
+        List<TicketTextMatch> page;
+        do {
+            page = ticketRepository.searchText("bağlantı", rank, id, 3).matches();
+            page.forEach(match -> seen.add(match.ticketId()));
+            if (!page.isEmpty()) {
+                rank = page.get(page.size() - 1).rank();
+                id = page.get(page.size() - 1).ticketId();
+            }
+        } while (page.size() == 3);
+
+        assertEquals(expected.size(), seen.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(seen));
+    }
+
+    @Test
+    void searchText_BroadQueryRanksTheNewestMatchesOnly() {
+        // The oldest match is the best one, but falls outside the newest MAX_CANDIDATES.
+        Ticket oldest = ticket("Kargo kargo kargo", "Kargo gecikti, kargo hâlâ gelmedi.");
+        entityManager.flush();
+        entityManager.getEntityManager().createNativeQuery("INSERT INTO tickets (customer_id, department_id, subject, " +
+                        "description, status, priority, version, created_at, updated_at) " +
+                        "SELECT :customer, :department, 'Kargo ' || i, 'Teslimat', 'OPEN', 'LOW', 0, now(), now() " +
+                        "FROM generate_series(1, :rows) i")
+                .setParameter("customer", customer.getId())
+                .setParameter("department", department.getId())
+                .setParameter("rows", TicketFullTextSearchRepositoryImpl.MAX_CANDIDATES)
+                .executeUpdate();
+
+        TicketTextMatches first = ticketRepository.searchText("kargo", Float.MAX_VALUE, Long.MAX_VALUE, 20);
+
+        assertTrue(first.approximate());
+        assertEquals(20, first.matches().size());
+        assertFalse(first.matches().stream().anyMatch(match -> match.ticketId().equals(oldest.getId())));
+        assertEquals(first, ticketRepository.searchText("kargo", Float.MAX_VALUE, Long.MAX_VALUE, 20),
+                "The same query ranks the same candidates");
+
+        TicketTextMatch last = first.matches().get(19);
+        TicketTextMatches past = ticketRepository.searchText("kargo", last.rank(), last.ticketId(), 20_000);
+        assertEquals(TicketFullTextSearchRepositoryImpl.MAX_CANDIDATES - 20, past.matches().size());
+        assertTrue(past.approximate());
+
+        TicketTextMatches none = ticketRepository.searchText("kargo", -1, Long.MAX_VALUE, 20);
+        assertTrue(none.matches().isEmpty());
+        assertTrue(none.approximate(), "The flag survives an empty page");
+    }
+
+    private Ticket ticket(String subject, String description) {
+        return entityManager.persist(Ticket.builder()
+                .customer(customer)
+                .department(department)
+                .subject(subject)
+                .description(description)
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.LOW)
+                .build());
+    }
+
+    private void comment(Ticket ticket, String text) {
+        entityManager.persist(TicketComment.builder().ticket(ticket).author(author).comment(text).build());
+    }
+}
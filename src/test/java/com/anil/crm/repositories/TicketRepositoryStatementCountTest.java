@@ -0,0 +1,183 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.*;
+import com.anil.crm.services.AgentLoadServiceImpl;
+import com.anil.crm.services.OutboxService;
+import com.anil.crm.services.TicketEventService;
+import com.anil.crm.services.TicketServiceImpl;
+import com.anil.crm.web.mappers.AgentMapperImpl;
+import com.anil.crm.web.mappers.CustomerMapperImpl;
+import com.anil.crm.web.mappers.DepartmentMapperImpl;
+import com.anil.crm.web.mappers.TicketMapperImpl;
+import com.anil.crm.web.models.CompactTicketPage;
+import com.anil.crm.web.models.CursorPage;
+import com.anil.crm.web.models.FieldSet;
+import com.anil.crm.web.models.TicketDto;
+import com.anil.crm.web.models.TicketSearchCriteria;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@Import({TicketServiceImpl.class, AgentLoadServiceImpl.class, TicketMapperImpl.class, CustomerMapperImpl.class,
+        DepartmentMapperImpl.class, AgentMapperImpl.class})
+class TicketRepositoryStatementCountTest {
+
+    static final int TICKET_COUNT = 30;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TicketServiceImpl ticketService;
+
+    @MockitoBean
+    TicketEventService ticketEventService;
+
+    @MockitoBean
+    OutboxService outboxService;
+
+    Statistics statistics;
+    Customer customer;
+    Department department;
+    Agent agent;
+
+    @BeforeEach
+    void setUp() {
+        department = entityManager.persist(Department.builder().name("Teknik Destek").build());
+        Department otherDepartment = entityManager.persist(Department.builder().name("Müşteri Hizmetleri").build());
+
+        customer = entityManager.persist(Customer.builder()
+                .phone("+905555555555")
+                .user(User.builder().firstName("Ali").lastName("Veli").email("ali@test.com").password("x").role(Role.CUSTOMER).build())
+                .build());
+        Customer otherCustomer = entityManager.persist(Customer.builder()
+                .phone("+905554444444")
+                .user(User.builder().firstName("Ayşe").lastName("Kara").email("ayse@test.com").password("x").role(Role.CUSTOMER).build())
+                .build());
+
+        agent = entityManager.persist(Agent.builder()
+                .department(department)
+                .user(User.builder().firstName("Ajan").lastName("Bir").email("agent1@test.com").password("x").role(Role.AGENT).build())
+                .build());
+        Agent otherAgent = entityManager.persist(Agent.builder()
+                .department(otherDepartment)
+                .user(User.builder().firstName("Ajan").lastName("İki").email("agent2@test.com").password("x").role(Role.AGENT).build())
+                .build());
+
+        for (int i = 0; i < TICKET_COUNT; i++) {
+            entityManager.persist(Ticket.builder()
+                    .customer(i % 2 == 0 ? customer : otherCustomer)
+                    .department(i % 3 == 0 ? department : otherDepartment)
+                    .assignedAgent(i % 4 == 0 ? null : (i % 2 == 0 ? agent : otherAgent))
+                    .subject("Bilet " + i)
+                    .description("Açıklama " + i)
+                    .status(i % 2 == 0 ? TicketStatus.OPEN : TicketStatus.CLOSED)
+                    .priority(i % 2 == 0 ? TicketPriority.HIGH : TicketPriority.LOW)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllTickets_RunsSingleStatement() {
+        CursorPage<TicketDto> page = ticketService.getAllTickets(null, TICKET_COUNT, FieldSet.ALL);
+
+        assertEquals(TICKET_COUNT, page.getItems().size());
+        assertNotNull(page.getItems().get(0).getCustomer().getFirstName());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void getAllTickets_SparseFieldsReadOnlyTheRequestedColumns() {
+        CursorPage<TicketDto> page = ticketService.getAllTickets(null, TICKET_COUNT,
+                FieldSet.parse("id,subject,status,assignedAgent.id", TicketDto.class));
+
+        assertEquals(TICKET_COUNT, page.getItems().size());
+        TicketDto ticket = page.getItems().stream().filter(t -> t.getAssignedAgent() != null).findFirst().orElseThrow();
+        assertNotNull(ticket.getSubject());
+        assertNotNull(ticket.getAssignedAgent().getId());
+        assertNull(ticket.getAssignedAgent().getEmail());
+        assertNull(ticket.getDescription());
+        assertNull(ticket.getCustomer().getFirstName());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void getTicketsByCustomerId_RunsSingleStatement() {
+        CursorPage<TicketDto> page = ticketService.getTicketsByCustomerId(customer.getId(), null, null, FieldSet.ALL);
+
+        assertEquals(TICKET_COUNT / 2, page.getItems().size());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void getTicketsByAssignedAgentId_RunsSingleStatement() {
+        CursorPage<TicketDto> page = ticketService.getTicketsByAssignedAgentId(agent.getId(), null, null, FieldSet.ALL);
+
+        assertFalse(page.getItems().isEmpty());
+        assertEquals("Teknik Destek", page.getItems().get(0).getAssignedAgent().getDepartmentName());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void getTicketsByDepartmentId_RunsSingleStatement() {
+        CursorPage<TicketDto> page = ticketService.getTicketsByDepartmentId(department.getId(), null, null, FieldSet.ALL);
+
+        assertEquals(TICKET_COUNT / 3, page.getItems().size());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void getTicketsByStatus_RunsSingleStatement() {
+        CursorPage<TicketDto> page = ticketService.getTicketsByStatus(TicketStatus.OPEN, null, null, FieldSet.ALL);
+
+        assertEquals(TICKET_COUNT / 2, page.getItems().size());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void getTicketsByPriority_RunsSingleStatement() {
+        CursorPage<TicketDto> page = ticketService.getTicketsByPriority(TicketPriority.LOW, null, null, FieldSet.ALL);
+
+        assertEquals(TICKET_COUNT / 2, page.getItems().size());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void searchTicketsCompact_SideLoadsEachKindWithOneStatement() {
+        CompactTicketPage page = ticketService.searchTicketsCompact(new TicketSearchCriteria(), null, TICKET_COUNT);
+
+        assertEquals(TICKET_COUNT, page.getItems().size());
+        assertEquals(2, page.getIncluded().getCustomers().size());
+        assertEquals(2, page.getIncluded().getAgents().size());
+        assertEquals(2, page.getIncluded().getDepartments().size());
+        assertEquals("Ali", page.getIncluded().getCustomers().get(customer.getId()).getFirstName());
+        assertEquals("Teknik Destek", page.getIncluded().getAgents().get(agent.getId()).getDepartmentName());
+        // Tickets, customers, agents, departments.
+        assertStatementCount(4);
+    }
+
+    private void assertStatementCount(long expected) {
+        assertEquals(expected, statistics.getPrepareStatementCount(),
+                "Unexpected number of SQL statements for one list request");
+    }
+}
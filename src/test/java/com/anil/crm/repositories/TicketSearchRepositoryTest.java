@@ -0,0 +1,122 @@
+package com.anil.crm.repositories;
+
+import com.anil.crm.domain.*;
+import com.anil.crm.web.models.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.anil.crm.repositories.TicketSpecifications.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+class TicketSearchRepositoryTest {
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    TicketRepository ticketRepository;
+
+    Department techSupport;
+    Agent agent;
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @BeforeEach
+    void setUp() {
+        techSupport = entityManager.persist(Department.builder().name("Teknik Destek").build());
+        Department customerSupport = entityManager.persist(Department.builder().name("Müşteri Hizmetleri").build());
+        Customer customer = entityManager.persist(Customer.builder()
+                .phone("+905555555555")
+                .user(User.builder().firstName("Ali").lastName("Veli").email("ali@test.com").password("x").role(Role.CUSTOMER).build())
+                .build());
+        agent = entityManager.persist(Agent.builder()
+                .department(techSupport)
+                .user(User.builder().firstName("Ayşe").lastName("Demir").email("ayse@test.com").password("x").role(Role.AGENT).build())
+                .build());
+
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            tickets.add(entityManager.persist(Ticket.builder()
+                    .customer(customer)
+                    .department(i % 2 == 0 ? techSupport : customerSupport)
+                    .assignedAgent(i % 3 == 0 ? agent : null)
+                    .subject("Bilet " + i)
+                    .status(i % 4 == 0 ? TicketStatus.OPEN : TicketStatus.CLOSED)
+                    .priority(i < 6 ? TicketPriority.HIGH : TicketPriority.LOW)
+                    .build()));
+        }
+        entityManager.flush();
+
+        // @CreationTimestamp ignores builder values, so pin deterministic creation times afterwards.
+        for (int i = 0; i < tickets.size(); i++) {
+            entityManager.getEntityManager()
+                    .createQuery("UPDATE Ticket t SET t.createdAt = :createdAt WHERE t.id = :id")
+                    .setParameter("createdAt", start.plusHours(i / 2))
+                    .setParameter("id", tickets.get(i).getId())
+                    .executeUpdate();
+        }
+        entityManager.clear();
+    }
+
+    @Test
+    void findSummaries_CombinesAllFilters() {
+        Specification<Ticket> spec = Specification.allOf(
+                hasStatus(TicketStatus.OPEN),
+                hasPriority(TicketPriority.HIGH),
+                inDepartment(techSupport.getId()),
+                assignedTo(agent.getId()),
+                createdFrom(start),
+                createdBefore(start.plusDays(1)));
+
+        List<TicketSummary> result = ticketRepository.findSummaries(spec, Limit.of(50));
+
+        // i = 0 is the only ticket that is OPEN, HIGH, in tech support and assigned (i % 12 == 0, i < 6)
+        assertEquals(1, result.size());
+        assertEquals("Bilet 0", result.get(0).getSubject());
+        assertEquals("Ayşe", result.get(0).getAssignedAgentFirstName());
+        assertEquals("Teknik Destek", result.get(0).getAssignedAgentDepartmentName());
+    }
+
+    @Test
+    void findSummaries_IgnoresMissingFilters() {
+        Specification<Ticket> spec = Specification.allOf(
+                hasStatus(null), hasPriority(TicketPriority.LOW), inDepartment(null), assignedTo(null));
+
+        List<TicketSummary> result = ticketRepository.findSummaries(spec, Limit.of(50));
+
+        assertEquals(6, result.size());
+        assertTrue(result.stream().allMatch(row -> row.getPriority() == TicketPriority.LOW));
+        assertNull(result.stream().filter(row -> row.getSubject().equals("Bilet 7")).findFirst().orElseThrow().getAssignedAgentId());
+    }
+
+    @Test
+    void findSummaries_KeysetPagesVisitEveryRowOnce() {
+        List<Long> visited = new ArrayList<>();
+        KeysetCursor cursor = KeysetCursor.FIRST;
+
+        while (true) {
+            List<TicketSummary> page = ticketRepository.findSummaries(
+                    after(cursor.getCreatedAt(), cursor.getId()), Limit.of(5));
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(row -> visited.add(row.getId()));
+            TicketSummary last = page.get(page.size() - 1);
+            cursor = new KeysetCursor(last.getCreatedAt(), last.getId());
+        }
+
+        assertEquals(12, visited.size());
+        assertEquals(12, visited.stream().distinct().count());
+    }
+}
@@ -0,0 +1,89 @@
+package com.anil.crm.security;
+
+import com.anil.crm.exceptions.PasswordHashingBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void encodeAndMatches() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, 1);
+
+        String hash = encoder.encode("123456");
+
+        assertTrue(encoder.matches("123456", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void saturated_RejectsWithRetryAfter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(release), 1, 1, 3);
+
+        // One call runs on the single thread, one waits in the single queue slot.
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        awaitPool(1, 0);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        awaitPool(1, 1);
+
+        PasswordHashingBusyException busy = assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+        assertEquals(3, busy.getRetryAfterSeconds());
+
+        release.countDown();
+        assertEquals("hash-a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash-b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void delegateFailurePropagates() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode(null));
+    }
+
+    private void awaitPool(int active, int queued) throws InterruptedException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(encoder, "executor");
+        for (int i = 0; i < 500 && (executor.getActiveCount() != active || executor.getQueue().size() != queued); i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(active, executor.getActiveCount());
+        assertEquals(queued, executor.getQueue().size());
+    }
+
+    /** Stands in for a slow BCrypt: every call blocks until released. */
+    record BlockingEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash-" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.anil.crm.security;
+
+import com.anil.crm.domain.Role;
+import com.anil.crm.domain.User;
+import com.anil.crm.services.JwtService;
+import com.anil.crm.services.TokenVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthFilterTest {
+
+    static final String SECRET_KEY = "bXktc3VwZXItc2VjcmV0LWtleS1mb3ItdGVzdGluZy1vbmx5LTEyMzQ1Njc4OTA=";
+
+    @Mock
+    UserDetailsService userDetailsService;
+    @Mock
+    TokenVersionService tokenVersionService;
+
+    JwtService jwtService;
+    SimpleMeterRegistry meterRegistry;
+    JwtAuthFilter jwtAuthFilter;
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET_KEY, 60_000, 100);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtAuthFilter = new JwtAuthFilter(jwtService, userDetailsService, tokenVersionService, meterRegistry);
+        ReflectionTestUtils.setField(jwtAuthFilter, "stateless", true);
+        user = User.builder()
+                .id(7L)
+                .email("ayse@test.com")
+                .password("hashedPassword")
+                .firstName("Ayşe")
+                .lastName("Demir")
+                .role(Role.AGENT)
+                .tokenVersion(2)
+                .build();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void stateless_BuildsPrincipalFromClaims() throws Exception {
+        given(tokenVersionService.getTokenVersion(7L)).willReturn(Optional.of(2L));
+
+        Authentication authentication = filter(loginToken());
+
+        assertNotNull(authentication);
+        User principal = (User) authentication.getPrincipal();
+        assertEquals(7L, principal.getId());
+        assertEquals("ayse@test.com", principal.getEmail());
+        assertEquals("Ayşe", principal.getFirstName());
+        assertEquals(Role.AGENT, principal.getRole());
+        assertEquals("AGENT", authentication.getAuthorities().iterator().next().getAuthority());
+        then(userDetailsService).shouldHaveNoInteractions();
+        assertEquals(1, verifications("valid"));
+    }
+
+    @Test
+    void stateless_RevokedTokenVersion() throws Exception {
+        given(tokenVersionService.getTokenVersion(7L)).willReturn(Optional.of(3L));
+
+        assertNull(filter(loginToken()));
+        then(userDetailsService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void stateless_DeletedUser() throws Exception {
+        given(tokenVersionService.getTokenVersion(7L)).willReturn(Optional.empty());
+
+        assertNull(filter(loginToken()));
+    }
+
+    @Test
+    void stateless_TokenWithoutVersionLoadsUser() throws Exception {
+        given(userDetailsService.loadUserByUsername("ayse@test.com")).willReturn(user);
+
+        Authentication authentication = filter(jwtService.generateToken(user));
+
+        assertSame(user, authentication.getPrincipal());
+        then(tokenVersionService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void statelessDisabled_LoadsUser() throws Exception {
+        ReflectionTestUtils.setField(jwtAuthFilter, "stateless", false);
+        given(userDetailsService.loadUserByUsername("ayse@test.com")).willReturn(user);
+
+        Authentication authentication = filter(loginToken());
+
+        assertSame(user, authentication.getPrincipal());
+        then(tokenVersionService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void invalidToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer not-a-jwt");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtAuthFilter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, verifications("invalid"));
+        assertEquals(0, verifications("valid"));
+    }
+
+    // Same claims AuthController#login puts into the token.
+    private String loginToken() {
+        return jwtService.generateToken(Map.of(
+                JwtService.CLAIM_USER_ID, user.getId(),
+                JwtService.CLAIM_FIRST_NAME, user.getFirstName(),
+                JwtService.CLAIM_LAST_NAME, user.getLastName(),
+                JwtService.CLAIM_TOKEN_VERSION, user.getTokenVersion(),
+                JwtService.CLAIM_ROLES, List.of("AGENT")), user);
+    }
+
+    private long verifications(String outcome) {
+        return meterRegistry.get(JwtAuthFilter.VERIFICATION_TIMER).tag("outcome", outcome).timer().count();
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
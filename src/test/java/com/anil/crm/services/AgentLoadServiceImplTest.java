@@ -0,0 +1,128 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.TicketPriority;
+import com.anil.crm.domain.TicketStatus;
+import com.anil.crm.repositories.AgentRepository;
+import com.anil.crm.repositories.AgentTicketLoad;
+import com.anil.crm.services.AgentLoadService.TicketLoad;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AgentLoadServiceImplTest {
+
+    @Mock
+    AgentRepository agentRepository;
+
+    @InjectMocks
+    AgentLoadServiceImpl agentLoadService;
+
+    @BeforeEach
+    void setUp() {
+        // Department 1: agent 1 holds one URGENT ticket (8), agent 2 three LOW ones (3), agent 3 nothing.
+        given(agentRepository.findTicketLoads(any())).willReturn(List.of(
+                new AgentTicketLoad(1L, 1L, TicketPriority.URGENT, 1),
+                new AgentTicketLoad(2L, 1L, TicketPriority.LOW, 3),
+                new AgentTicketLoad(3L, 1L, null, 0),
+                new AgentTicketLoad(4L, 2L, TicketPriority.MEDIUM, 1)));
+        agentLoadService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findLeastLoadedAgent() {
+        assertEquals(Optional.of(3L), agentLoadService.findLeastLoadedAgent(1L));
+        assertEquals(Optional.of(4L), agentLoadService.findLeastLoadedAgent(2L));
+        assertEquals(Optional.empty(), agentLoadService.findLeastLoadedAgent(99L));
+    }
+
+    @Test
+    void ticketChanged_WeighsByPriority() {
+        agentLoadService.ticketChanged(null, open(3L, TicketPriority.HIGH));
+        agentLoadService.ticketChanged(null, open(3L, TicketPriority.LOW));
+
+        // agent 3 now carries 5 against agent 2's 3
+        assertEquals(Optional.of(2L), agentLoadService.findLeastLoadedAgent(1L));
+    }
+
+    @Test
+    void ticketChanged_ClosingReleasesLoad() {
+        TicketLoad urgent = open(1L, TicketPriority.URGENT);
+        agentLoadService.ticketChanged(null, open(3L, TicketPriority.URGENT));
+        agentLoadService.ticketChanged(null, open(2L, TicketPriority.URGENT));
+
+        agentLoadService.ticketChanged(urgent, new TicketLoad(1L, TicketStatus.CLOSED, TicketPriority.URGENT));
+
+        assertEquals(Optional.of(1L), agentLoadService.findLeastLoadedAgent(1L));
+    }
+
+    @Test
+    void ticketChanged_RolledBackIsUndone() {
+        TransactionSynchronizationManager.initSynchronization();
+        agentLoadService.ticketChanged(null, open(3L, TicketPriority.URGENT));
+        assertEquals(Optional.of(2L), agentLoadService.findLeastLoadedAgent(1L));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(Optional.of(3L), agentLoadService.findLeastLoadedAgent(1L));
+    }
+
+    @Test
+    void agentSaved_AddsAndMovesAgents() {
+        agentLoadService.agentSaved(5L, 2L);
+        assertEquals(Optional.of(5L), agentLoadService.findLeastLoadedAgent(2L));
+
+        agentLoadService.agentSaved(3L, 2L);
+        assertEquals(Optional.of(2L), agentLoadService.findLeastLoadedAgent(1L));
+        assertEquals(Optional.of(3L), agentLoadService.findLeastLoadedAgent(2L));
+    }
+
+    @Test
+    void agentRemoved() {
+        agentLoadService.agentRemoved(3L);
+        agentLoadService.ticketChanged(null, open(3L, TicketPriority.LOW));
+
+        assertEquals(Optional.of(2L), agentLoadService.findLeastLoadedAgent(1L));
+    }
+
+    @Test
+    void rebuild_PicksUpWhatOnlyAnotherInstanceSaw() {
+        // Agent 5 was added, and agent 3 given an URGENT ticket, through another instance.
+        agentLoadService.ticketChanged(null, open(5L, TicketPriority.LOW));
+        assertEquals(Optional.of(3L), agentLoadService.findLeastLoadedAgent(1L));
+        given(agentRepository.findTicketLoads(any())).willReturn(List.of(
+                new AgentTicketLoad(1L, 1L, TicketPriority.URGENT, 1),
+                new AgentTicketLoad(2L, 1L, TicketPriority.LOW, 3),
+                new AgentTicketLoad(3L, 1L, TicketPriority.URGENT, 1),
+                new AgentTicketLoad(5L, 1L, TicketPriority.LOW, 1)));
+
+        agentLoadService.rebuild();
+
+        assertEquals(Optional.of(5L), agentLoadService.findLeastLoadedAgent(1L));
+    }
+
+    private static TicketLoad open(Long agentId, TicketPriority priority) {
+        return new TicketLoad(agentId, TicketStatus.OPEN, priority);
+    }
+}
@@ -13,6 +13,7 @@ import com.anil.crm.repositories.TicketRepository;
 import com.anil.crm.repositories.UserRepository;
 import com.anil.crm.web.mappers.AgentMapper;
 import com.anil.crm.web.models.AgentDto;
+import com.anil.crm.web.models.FieldSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -45,6 +46,12 @@ class AgentServiceImplTest {
     PasswordEncoder passwordEncoder;
     @Mock
     AgentMapper agentMapper;
+    @Mock
+    TokenVersionService tokenVersionService;
+    @Mock
+    AgentLoadService agentLoadService;
+    @Mock
+    TypeaheadService typeaheadService;
 
     @InjectMocks
     AgentServiceImpl agentService;
@@ -116,7 +123,7 @@ class AgentServiceImplTest {
         given(agentRepository.findAll()).willReturn(List.of(agent1));
         given(agentMapper.agentToAgentDto(agent1)).willReturn(agentDto1);
 
-        List<AgentDto> result = agentService.findAgents(null, null);
+        List<AgentDto> result = agentService.findAgents(null, null, FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -129,7 +136,7 @@ class AgentServiceImplTest {
         given(agentRepository.findAgentsByUserFirstNameContainingOrUserLastNameContaining(name, name)).willReturn(List.of(agent1));
         given(agentMapper.agentToAgentDto(agent1)).willReturn(agentDto1);
 
-        List<AgentDto> result = agentService.findAgents(name, null);
+        List<AgentDto> result = agentService.findAgents(name, null, FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -142,7 +149,7 @@ class AgentServiceImplTest {
         given(agentRepository.findAgentsByDepartmentNameContainingIgnoreCase(deptName)).willReturn(List.of(agent1));
         given(agentMapper.agentToAgentDto(agent1)).willReturn(agentDto1);
 
-        List<AgentDto> result = agentService.findAgents(null, deptName);
+        List<AgentDto> result = agentService.findAgents(null, deptName, FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -156,13 +163,25 @@ class AgentServiceImplTest {
         given(agentRepository.findByDepartmentNameContainingAndUserNameContaining(deptName, name)).willReturn(List.of(agent1));
         given(agentMapper.agentToAgentDto(agent1)).willReturn(agentDto1);
 
-        List<AgentDto> result = agentService.findAgents(name, deptName);
+        List<AgentDto> result = agentService.findAgents(name, deptName, FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         then(agentRepository).should().findByDepartmentNameContainingAndUserNameContaining(deptName, name);
     }
 
+    @Test
+    void findAgents_SparseFields_ReadsOnlyTheRequestedColumns() {
+        FieldSet fields = FieldSet.of("id", "departmentName");
+        given(agentRepository.findSparse(null, "Teknik", fields)).willReturn(List.of(agentDto1));
+
+        List<AgentDto> result = agentService.findAgents(" ", "Teknik", fields);
+
+        assertEquals(List.of(agentDto1), result);
+        then(agentRepository).should(never()).findAgentsByDepartmentNameContainingIgnoreCase(any());
+        then(agentMapper).should(never()).agentToAgentDto(any());
+    }
+
     @Test
     void createAgent_shouldSaveAndReturnAgent() {
         AgentDto dtoToSave = AgentDto.builder()
@@ -194,6 +213,7 @@ class AgentServiceImplTest {
         then(passwordEncoder).should().encode(dtoToSave.getPassword());
         then(agentRepository).should().save(any(Agent.class));
         then(agentMapper).should().agentToAgentDto(savedAgent);
+        then(typeaheadService).should().agentSaved(savedAgent);
     }
 
     @Test
@@ -246,12 +266,34 @@ class AgentServiceImplTest {
         ArgumentCaptor<Agent> agentCaptor = ArgumentCaptor.forClass(Agent.class);
         then(agentRepository).should().save(agentCaptor.capture());
         assertEquals("Updated", agentCaptor.getValue().getUser().getFirstName());
+        then(tokenVersionService).should(never()).revokeTokens(any());
+    }
+
+    @Test
+    void updateAgent_shouldRevokeTokens_whenPasswordChanges() {
+        AgentDto updatesDto = AgentDto.builder()
+                .firstName("Test")
+                .lastName("Agent")
+                .email(agentEmail)
+                .password("newPassword")
+                .build();
+
+        given(agentRepository.findById(agentId)).willReturn(Optional.of(agent1));
+        given(passwordEncoder.encode("newPassword")).willReturn("newHash");
+        given(agentRepository.save(agent1)).willReturn(agent1);
+        given(agentMapper.agentToAgentDto(agent1)).willReturn(agentDto1);
+
+        agentService.updateAgent(agentId, updatesDto);
+
+        assertEquals("newHash", agent1.getUser().getPassword());
+        then(tokenVersionService).should().revokeTokens(agent1.getUser());
     }
 
     @Test
     void deleteAgentById_shouldDelete_whenNoTickets() {
         given(agentRepository.existsById(agentId)).willReturn(true);
         given(ticketRepository.existsByAssignedAgentId(agentId)).willReturn(false);
+        given(agentRepository.findById(agentId)).willReturn(Optional.of(agent1));
         willDoNothing().given(agentRepository).deleteById(agentId);
 
         assertDoesNotThrow(() -> agentService.deleteAgentById(agentId));
@@ -259,6 +301,8 @@ class AgentServiceImplTest {
         then(agentRepository).should().existsById(agentId);
         then(ticketRepository).should().existsByAssignedAgentId(agentId);
         then(agentRepository).should().deleteById(agentId);
+        then(tokenVersionService).should().evict(agent1.getUser().getId());
+        then(typeaheadService).should().agentRemoved(agentId);
     }
 
     @Test
@@ -11,6 +11,7 @@ import com.anil.crm.repositories.TicketRepository;
 import com.anil.crm.repositories.UserRepository;
 import com.anil.crm.web.mappers.CustomerMapper;
 import com.anil.crm.web.models.CustomerDto;
+import com.anil.crm.web.models.FieldSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -42,6 +43,10 @@ class CustomerServiceImplTest {
     PasswordEncoder passwordEncoder;
     @Mock
     CustomerMapper customerMapper;
+    @Mock
+    TokenVersionService tokenVersionService;
+    @Mock
+    TypeaheadService typeaheadService;
 
     @InjectMocks
     CustomerServiceImpl customerService;
@@ -86,7 +91,7 @@ class CustomerServiceImplTest {
         given(customerRepository.findAll()).willReturn(List.of(customer));
         given(customerMapper.customerToCustomerDto(customer)).willReturn(customerDto);
 
-        List<CustomerDto> result = customerService.getAllCustomers();
+        List<CustomerDto> result = customerService.getAllCustomers(FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -154,7 +159,7 @@ class CustomerServiceImplTest {
                 .willReturn(List.of(customer));
         given(customerMapper.customerToCustomerDto(customer)).willReturn(customerDto);
 
-        List<CustomerDto> result = customerService.getCustomersByUserName(name);
+        List<CustomerDto> result = customerService.getCustomersByUserName(name, FieldSet.ALL);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -162,6 +167,19 @@ class CustomerServiceImplTest {
         then(customerMapper).should().customerToCustomerDto(customer);
     }
 
+    @Test
+    void getCustomersByUserName_SparseFields_ReadsOnlyTheRequestedColumns() {
+        String name = "Test";
+        FieldSet fields = FieldSet.of("id", "firstName");
+        given(customerRepository.findSparse(name, fields)).willReturn(List.of(customerDto));
+
+        List<CustomerDto> result = customerService.getCustomersByUserName(name, fields);
+
+        assertEquals(List.of(customerDto), result);
+        then(customerRepository).should(never()).findCustomersByUserFirstNameContainingOrUserLastNameContaining(any(), any());
+        then(customerMapper).should(never()).customerToCustomerDto(any());
+    }
+
     @Test
     void createCustomer() {
         CustomerDto dtoToSave = CustomerDto.builder()
@@ -211,6 +229,7 @@ class CustomerServiceImplTest {
         then(passwordEncoder).should().encode(dtoToSave.getPassword());
         then(customerRepository).should().save(any(Customer.class));
         then(customerMapper).should().customerToCustomerDto(any(Customer.class));
+        then(typeaheadService).should().customerSaved(any(Customer.class));
     }
 
     @Test
@@ -251,12 +270,33 @@ class CustomerServiceImplTest {
         assertEquals("UpdatedFirst", capturedCustomer.getUser().getFirstName());
         assertEquals("UpdatedLast", capturedCustomer.getUser().getLastName());
         assertEquals("1111111111", capturedCustomer.getPhone());
+        then(tokenVersionService).should(never()).revokeTokens(any());
+    }
+
+    @Test
+    void updateCustomer_EmailChanged_RevokesTokens() {
+        CustomerDto updatesDto = CustomerDto.builder()
+                .firstName("Test")
+                .lastName("Customer")
+                .email("new@customer.com")
+                .build();
+
+        given(customerRepository.findById(customerId)).willReturn(Optional.of(customer));
+        given(userRepository.findByEmail("new@customer.com")).willReturn(Optional.empty());
+        given(customerRepository.save(customer)).willReturn(customer);
+        given(customerMapper.customerToCustomerDto(customer)).willReturn(customerDto);
+
+        customerService.updateCustomer(customerId, updatesDto);
+
+        assertEquals("new@customer.com", customer.getUser().getEmail());
+        then(tokenVersionService).should().revokeTokens(customer.getUser());
     }
 
     @Test
     void deleteCustomerById() {
         given(customerRepository.existsById(customerId)).willReturn(true);
         given(ticketRepository.existsByCustomerId(customerId)).willReturn(false);
+        given(customerRepository.findById(customerId)).willReturn(Optional.of(customer));
         willDoNothing().given(customerRepository).deleteById(customerId);
 
         assertDoesNotThrow(() -> customerService.deleteCustomerById(customerId));
@@ -264,6 +304,8 @@ class CustomerServiceImplTest {
         then(customerRepository).should().existsById(customerId);
         then(ticketRepository).should().existsByCustomerId(customerId);
         then(customerRepository).should().deleteById(customerId);
+        then(tokenVersionService).should().evict(customer.getUser().getId());
+        then(typeaheadService).should().customerRemoved(customerId);
     }
 
     @Test
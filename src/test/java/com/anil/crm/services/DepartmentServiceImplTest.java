@@ -34,6 +34,8 @@ class DepartmentServiceImplTest {
     TicketRepository ticketRepository;
     @Mock
     DepartmentMapper departmentMapper;
+    @Mock
+    TypeaheadService typeaheadService;
 
     @InjectMocks
     DepartmentServiceImpl departmentService;
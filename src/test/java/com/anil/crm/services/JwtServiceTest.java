@@ -0,0 +1,98 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.Role;
+import com.anil.crm.domain.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    static final String SECRET_KEY = "bXktc3VwZXItc2VjcmV0LWtleS1mb3ItdGVzdGluZy1vbmx5LTEyMzQ1Njc4OTA=";
+    static final long EXPIRATION = 60_000;
+
+    JwtService jwtService;
+    User sampleUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET_KEY, EXPIRATION, 100);
+        sampleUser = User.builder()
+                .id(1L)
+                .email("test@user.com")
+                .password("hashedPassword")
+                .role(Role.CUSTOMER)
+                .build();
+    }
+
+    @Test
+    void validateToken() {
+        String token = jwtService.generateToken(Map.of("userId", 1L), sampleUser);
+
+        Claims claims = jwtService.validateToken(token);
+
+        assertEquals("test@user.com", claims.getSubject());
+        assertEquals(1, claims.get("userId", Integer.class));
+        assertTrue(jwtService.isTokenValid(claims, sampleUser));
+    }
+
+    @Test
+    void validateToken_ServesRepeatedTokenFromCache() {
+        String token = jwtService.generateToken(sampleUser);
+
+        assertSame(jwtService.validateToken(token), jwtService.validateToken(token));
+    }
+
+    @Test
+    void validateToken_CacheDisabled() {
+        JwtService uncached = new JwtService(SECRET_KEY, EXPIRATION, 0);
+        String token = uncached.generateToken(sampleUser);
+
+        Claims first = uncached.validateToken(token);
+        Claims second = uncached.validateToken(token);
+
+        assertNotSame(first, second);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void validateToken_Tampered() {
+        String token = jwtService.generateToken(sampleUser);
+        jwtService.validateToken(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(SignatureException.class, () -> jwtService.validateToken(tampered));
+    }
+
+    @Test
+    void validateToken_Expired() {
+        JwtService expiring = new JwtService(SECRET_KEY, -1_000, 100);
+        String token = expiring.generateToken(sampleUser);
+
+        assertThrows(ExpiredJwtException.class, () -> expiring.validateToken(token));
+    }
+
+    @Test
+    void isTokenValid_RevokedTokenVersion() {
+        Claims claims = jwtService.validateToken(
+                jwtService.generateToken(Map.of(JwtService.CLAIM_TOKEN_VERSION, 0L), sampleUser));
+
+        sampleUser.setTokenVersion(1);
+
+        assertFalse(jwtService.isTokenValid(claims, sampleUser));
+    }
+
+    @Test
+    void isTokenValid_OtherUser() {
+        Claims claims = jwtService.validateToken(jwtService.generateToken(sampleUser));
+        User otherUser = User.builder().email("other@user.com").password("x").role(Role.CUSTOMER).build();
+
+        assertFalse(jwtService.isTokenValid(claims, otherUser));
+    }
+}
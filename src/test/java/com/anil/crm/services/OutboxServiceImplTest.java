@@ -0,0 +1,45 @@
+package com.anil.crm.services;
+
+import com.anil.crm.repositories.OutboxRepository;
+import com.anil.crm.web.models.TicketEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceImplTest {
+
+    @Mock
+    OutboxRepository outboxRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    OutboxServiceImpl outboxService;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        outboxService.destroy();
+    }
+
+    @Test
+    void withoutHandlers_NothingIsRecordedOrRelayed() {
+        outboxService = new OutboxServiceImpl(outboxRepository, List.of(), transactionManager);
+        outboxService.start();
+
+        TicketEvent event = TicketEvent.builder().type(TicketEvent.Type.TICKET_CREATED).ticketId(1L).build();
+        outboxService.append(event);
+        outboxService.appendAll(List.of(event));
+        outboxService.appendForTickets(TicketEvent.Type.STATUS_CHANGED, List.of(1L, 2L));
+
+        then(outboxRepository).shouldHaveNoInteractions();
+        then(transactionManager).shouldHaveNoInteractions();
+    }
+}
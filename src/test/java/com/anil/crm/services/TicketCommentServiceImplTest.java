@@ -6,9 +6,13 @@ import com.anil.crm.domain.TicketComment;
 import com.anil.crm.domain.User;
 import com.anil.crm.exceptions.ResourceNotFoundException;
 import com.anil.crm.repositories.TicketCommentRepository;
+import com.anil.crm.repositories.TicketCommentView;
 import com.anil.crm.repositories.TicketRepository;
 import com.anil.crm.web.mappers.TicketCommentMapper;
+import com.anil.crm.web.models.CursorPage;
+import com.anil.crm.web.models.KeysetCursor;
 import com.anil.crm.web.models.TicketCommentDto;
+import com.anil.crm.web.models.TicketEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,6 +20,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,6 +29,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +41,10 @@ class TicketCommentServiceImplTest {
     TicketRepository ticketRepository;
     @Mock
     TicketCommentMapper ticketCommentMapper;
+    @Mock
+    TicketEventService ticketEventService;
+    @Mock
+    OutboxService outboxService;
 
     @InjectMocks
     TicketCommentServiceImpl ticketCommentService;
@@ -83,30 +93,56 @@ class TicketCommentServiceImplTest {
 
     @Test
     void getCommentsByTicketId() {
-        given(ticketCommentRepository.findByTicketIdOrderByCreatedAtAsc(ticketId)).willReturn(List.of(comment1));
-        given(ticketCommentMapper.ticketCommentToTicketCommentDto(comment1)).willReturn(commentDto1);
+        TicketCommentView view = view(commentId1, comment1.getCreatedAt());
+        given(ticketCommentRepository.findThreadPage(eq(ticketId), eq(KeysetCursor.FIRST_ASCENDING.getCreatedAt()),
+                eq(KeysetCursor.FIRST_ASCENDING.getId()), any(Limit.class))).willReturn(List.of(view));
+        given(ticketCommentMapper.ticketCommentViewToTicketCommentDto(view)).willReturn(commentDto1);
 
-        List<TicketCommentDto> result = ticketCommentService.getCommentsByTicketId(ticketId);
+        CursorPage<TicketCommentDto> result = ticketCommentService.getCommentsByTicketId(ticketId, null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(commentId1, result.get(0).getId());
-        then(ticketCommentRepository).should().findByTicketIdOrderByCreatedAtAsc(ticketId);
-        then(ticketCommentMapper).should().ticketCommentToTicketCommentDto(comment1);
+        assertEquals(1, result.getItems().size());
+        assertEquals(commentId1, result.getItems().get(0).getId());
+        assertNull(result.getNextCursor());
+        then(ticketCommentRepository).should().findThreadPage(ticketId, KeysetCursor.FIRST_ASCENDING.getCreatedAt(),
+                KeysetCursor.FIRST_ASCENDING.getId(), Limit.of(CursorPage.DEFAULT_SIZE + 1));
+    }
+
+    @Test
+    void getCommentsByTicketId_ReturnsNextCursorWhenMoreRowsExist() {
+        LocalDateTime createdAt = comment1.getCreatedAt();
+        TicketCommentView first = view(1L, createdAt);
+        TicketCommentView second = view(2L, createdAt);
+        TicketCommentView extra = view(3L, createdAt);
+        given(ticketCommentRepository.findThreadPage(eq(ticketId), any(), any(), eq(Limit.of(3))))
+                .willReturn(List.of(first, second, extra));
+        given(ticketCommentMapper.ticketCommentViewToTicketCommentDto(any(TicketCommentView.class))).willReturn(commentDto1);
+
+        CursorPage<TicketCommentDto> result = ticketCommentService.getCommentsByTicketId(ticketId, null, 2);
+
+        assertEquals(2, result.getItems().size());
+        assertEquals(new KeysetCursor(createdAt, 2L), KeysetCursor.decode(result.getNextCursor()));
+        then(ticketCommentMapper).should(never()).ticketCommentViewToTicketCommentDto(extra);
     }
 
     @Test
     void getCommentsByAuthorId() {
-        given(ticketCommentRepository.findByAuthorIdOrderByCreatedAtDesc(authorId)).willReturn(List.of(comment1));
-        given(ticketCommentMapper.ticketCommentToTicketCommentDto(comment1)).willReturn(commentDto1);
+        TicketCommentView view = view(commentId1, comment1.getCreatedAt());
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.now(), 10L);
+        given(ticketCommentRepository.findAuthorFeedPage(authorId, cursor.getCreatedAt(), cursor.getId(), Limit.of(CursorPage.DEFAULT_SIZE + 1)))
+                .willReturn(List.of(view));
+        given(ticketCommentMapper.ticketCommentViewToTicketCommentDto(view)).willReturn(commentDto1);
 
-        List<TicketCommentDto> result = ticketCommentService.getCommentsByAuthorId(authorId);
+        CursorPage<TicketCommentDto> result = ticketCommentService.getCommentsByAuthorId(authorId, cursor.encode(), null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(authorUser.getFirstName(), result.get(0).getAuthorFirstName());
-        then(ticketCommentRepository).should().findByAuthorIdOrderByCreatedAtDesc(authorId);
-        then(ticketCommentMapper).should().ticketCommentToTicketCommentDto(comment1);
+        assertEquals(1, result.getItems().size());
+        assertEquals(authorUser.getFirstName(), result.getItems().get(0).getAuthorFirstName());
+        assertNull(result.getNextCursor());
+    }
+
+    private TicketCommentView view(Long id, LocalDateTime createdAt) {
+        return new TicketCommentView(id, createdAt, ticketId, "This is a test comment", "Test", "Author", Role.CUSTOMER);
     }
 
     @Test
@@ -150,6 +186,9 @@ class TicketCommentServiceImplTest {
         assertEquals(ticket, commentCaptor.getValue().getTicket());
         assertEquals(authorUser, commentCaptor.getValue().getAuthor());
         assertEquals(dtoToSave.getComment(), commentCaptor.getValue().getComment());
+        then(ticketEventService).should().publish(argThat(event -> event.getType() == TicketEvent.Type.COMMENT_ADDED
+                && ticketId.equals(event.getTicketId()) && Long.valueOf(2L).equals(event.getCommentId())));
+        then(outboxService).should().append(argThat(event -> event.getType() == TicketEvent.Type.COMMENT_ADDED));
     }
 
     @Test
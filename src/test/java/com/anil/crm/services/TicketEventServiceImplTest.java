@@ -0,0 +1,238 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.TicketStatus;
+import com.anil.crm.exceptions.TicketEventsBusyException;
+import com.anil.crm.web.models.TicketEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketEventServiceImplTest {
+
+    ExecutorService pool;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void publish_RoutesByDepartmentAndAgent() {
+        TicketEventServiceImpl service = service(Runnable::run, 16);
+        RecordingEmitter department = subscribe(service, 1L, null);
+        RecordingEmitter agent = subscribe(service, null, 7L);
+        RecordingEmitter agentInDepartment = subscribe(service, 1L, 8L);
+        RecordingEmitter everything = subscribe(service, null, null);
+
+        TicketEvent reassigned = event(1L, 8L, 7L);
+        TicketEvent otherDepartment = event(2L, 9L, null);
+        service.publish(reassigned);
+        service.publish(otherDepartment);
+
+        assertEquals(List.of(reassigned), department.events);
+        assertEquals(List.of(reassigned), agent.events);
+        assertEquals(List.of(reassigned), agentInDepartment.events);
+        assertEquals(List.of(reassigned, otherDepartment), everything.events);
+    }
+
+    @Test
+    void publish_SendsOnlyAfterCommit() {
+        TicketEventServiceImpl service = service(Runnable::run, 16);
+        RecordingEmitter subscriber = subscribe(service, null, null);
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.publish(event(1L, null, null));
+        assertEquals(List.of(), subscriber.events);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, subscriber.events.size());
+    }
+
+    @Test
+    void slowSubscriber_IsDroppedWithoutBlockingThePublisher() throws InterruptedException {
+        pool = Executors.newFixedThreadPool(2);
+        TicketEventServiceImpl service = service(pool, 4);
+        RecordingEmitter slow = subscribe(service, null, null, new CountDownLatch(1));
+        RecordingEmitter fast = subscribe(service, null, null);
+
+        // The slow subscriber is stuck on its first write; its buffer of 4 overflows on the 5th event.
+        for (int i = 1; i <= 20; i++) {
+            service.publish(event(1L, null, null));
+            assertTrue(fast.awaitEvents(i));
+        }
+        slow.release.countDown();
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS), "The slow subscriber's stream should be closed");
+        assertTrue(slow.events.isEmpty());
+
+        service.publish(event(1L, null, null));
+        assertTrue(fast.awaitEvents(21));
+        assertEquals(List.of(), slow.events);
+        assertTrue(service.hasSubscribers());
+    }
+
+    @Test
+    void stalledSubscribers_DoNotHoldUpTheOthers() throws InterruptedException {
+        pool = TicketEventServiceImpl.sendExecutor(16);
+        TicketEventServiceImpl service = service(pool, 4);
+        CountDownLatch neverRead = new CountDownLatch(1);
+        RecordingEmitter stalled = subscribe(service, null, null, neverRead);
+        RecordingEmitter alsoStalled = subscribe(service, null, null, neverRead);
+        RecordingEmitter reading = subscribe(service, null, null);
+
+        // Both stalled clients are stuck in a write, more of them than a small fixed pool would have threads.
+        for (int i = 1; i <= 20; i++) {
+            service.publish(event(1L, null, null));
+            assertTrue(reading.awaitEvents(i));
+        }
+        assertEquals(List.of(), stalled.events);
+        assertEquals(List.of(), alsoStalled.events);
+
+        // Once their writes fail or return, the dropped streams are closed instead of written to.
+        neverRead.countDown();
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+        assertTrue(alsoStalled.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(), stalled.events);
+    }
+
+    @Test
+    void subscribe_BeyondTheLimitIsRejected() {
+        TicketEventServiceImpl service = service(Runnable::run, 16, 2);
+        RecordingEmitter first = subscribe(service, null, null);
+        subscribe(service, 1L, null);
+
+        assertThrows(TicketEventsBusyException.class, () -> service.subscribe(null, 7L));
+
+        // A subscriber that leaves frees its place.
+        first.failing = true;
+        service.heartbeat();
+        assertNotNull(subscribe(service, null, 7L));
+    }
+
+    @Test
+    void failedSend_RemovesTheSubscriber() {
+        TicketEventServiceImpl service = service(Runnable::run, 16);
+        RecordingEmitter gone = subscribe(service, null, null);
+        gone.failing = true;
+
+        service.publish(event(1L, null, null));
+
+        assertFalse(service.hasSubscribers());
+    }
+
+    @Test
+    void heartbeat_IsSentAsAComment() {
+        TicketEventServiceImpl service = service(Runnable::run, 16);
+        RecordingEmitter subscriber = subscribe(service, null, null);
+
+        service.heartbeat();
+
+        // One on subscribe, one from the heartbeat; neither is a ticket event.
+        assertEquals(2, subscriber.comments);
+        assertEquals(List.of(), subscriber.events);
+    }
+
+    private static TicketEventServiceImpl service(Executor executor, int bufferSize) {
+        return service(executor, bufferSize, 16);
+    }
+
+    private static TicketEventServiceImpl service(Executor executor, int bufferSize, int maxSubscribers) {
+        return new TicketEventServiceImpl(executor, bufferSize, 0, maxSubscribers) {
+            @Override
+            SseEmitter createEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    private static RecordingEmitter subscribe(TicketEventServiceImpl service, Long departmentId, Long agentId) {
+        return (RecordingEmitter) service.subscribe(departmentId, agentId);
+    }
+
+    // The latch is set before the first write, which is the heartbeat sent on subscribe.
+    private static RecordingEmitter subscribe(TicketEventServiceImpl service, Long departmentId, Long agentId,
+                                              CountDownLatch release) {
+        RecordingEmitter.nextRelease = release;
+        try {
+            return subscribe(service, departmentId, agentId);
+        } finally {
+            RecordingEmitter.nextRelease = null;
+        }
+    }
+
+    private static TicketEvent event(Long departmentId, Long agentId, Long previousAgentId) {
+        return TicketEvent.builder()
+                .type(TicketEvent.Type.ASSIGNED)
+                .ticketId(42L)
+                .departmentId(departmentId)
+                .assignedAgentId(agentId)
+                .previousAgentId(previousAgentId)
+                .status(TicketStatus.OPEN)
+                .build();
+    }
+
+    static class RecordingEmitter extends SseEmitter {
+
+        static volatile CountDownLatch nextRelease;
+
+        final List<TicketEvent> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch release = nextRelease;
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile int comments;
+        volatile boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            boolean ticketEvent = false;
+            for (var data : builder.build()) {
+                if (data.getData() instanceof TicketEvent event) {
+                    events.add(event);
+                    ticketEvent = true;
+                }
+            }
+            if (!ticketEvent) {
+                comments++;
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        boolean awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return events.size() == count;
+        }
+    }
+}
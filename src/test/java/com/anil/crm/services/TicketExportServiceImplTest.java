@@ -0,0 +1,99 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.TicketPriority;
+import com.anil.crm.domain.TicketStatus;
+import com.anil.crm.repositories.TicketRepository;
+import com.anil.crm.repositories.TicketSummary;
+import com.anil.crm.web.mappers.TicketMapper;
+import com.anil.crm.web.models.TicketDto;
+import com.anil.crm.web.models.TicketExportFormat;
+import com.anil.crm.web.models.TicketSearchCriteria;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketExportServiceImplTest {
+
+    @Mock
+    TicketRepository ticketRepository;
+    @Mock
+    TicketMapper ticketMapper;
+
+    ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    TicketExportServiceImpl ticketExportService;
+
+    TicketSummary plain;
+    TicketSummary unassigned;
+    AtomicBoolean streamClosed = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        ticketExportService = new TicketExportServiceImpl(ticketRepository, ticketMapper, objectMapper);
+
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 2, 10, 30);
+        plain = new TicketSummary(2L, 0L, createdAt, createdAt, "Giriş sorunu", "Şifre çalışmıyor",
+                TicketStatus.OPEN, TicketPriority.HIGH,
+                10L, createdAt, createdAt, "Ali", "Veli", "ali@test.com", "+905555555555",
+                3L, "Teknik Destek", null,
+                7L, createdAt, createdAt, "Ayşe", "Demir", "ayse@test.com", "Teknik Destek");
+        unassigned = new TicketSummary(1L, 0L, createdAt, createdAt, "Fatura, \"iade\"", "Satır 1\nSatır 2",
+                TicketStatus.CLOSED, TicketPriority.LOW,
+                10L, createdAt, createdAt, "Ali", "Veli", "ali@test.com", "+905555555555",
+                3L, "Teknik Destek", null,
+                null, null, null, null, null, null, null);
+
+        given(ticketRepository.streamSummaries(any(), eq(TicketExportServiceImpl.FETCH_SIZE)))
+                .willReturn(Stream.of(plain, unassigned).onClose(() -> streamClosed.set(true)));
+    }
+
+    @Test
+    void exportTickets_Csv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = ticketExportService.exportTickets(new TicketSearchCriteria(), TicketExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(2, count);
+        assertEquals(TicketExportServiceImpl.CSV_HEADER, lines[0]);
+        assertEquals("2,2025-01-02T10:30,2025-01-02T10:30,OPEN,HIGH,Giriş sorunu,Şifre çalışmıyor," +
+                "10,Ali Veli,ali@test.com,3,Teknik Destek,7,Ayşe Demir,ayse@test.com", lines[1]);
+        // Quoted fields may span lines, so the second row ends two lines further down.
+        assertEquals("1,2025-01-02T10:30,2025-01-02T10:30,CLOSED,LOW,\"Fatura, \"\"iade\"\"\",\"Satır 1", lines[2]);
+        assertEquals("Satır 2\",10,Ali Veli,ali@test.com,3,Teknik Destek,,,", lines[3]);
+        assertTrue(streamClosed.get());
+        then(ticketMapper).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void exportTickets_Ndjson() throws Exception {
+        given(ticketMapper.ticketSummaryToTicketDto(plain)).willReturn(TicketDto.builder().id(2L).subject("Giriş sorunu").build());
+        given(ticketMapper.ticketSummaryToTicketDto(unassigned)).willReturn(TicketDto.builder().id(1L).subject("Fatura").build());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = ticketExportService.exportTickets(new TicketSearchCriteria(), TicketExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertEquals(2L, objectMapper.readTree(lines[0]).get("id").asLong());
+        assertEquals("Fatura", objectMapper.readTree(lines[1]).get("subject").asText());
+        assertTrue(streamClosed.get());
+    }
+}
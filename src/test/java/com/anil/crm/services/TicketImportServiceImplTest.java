@@ -0,0 +1,166 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.Customer;
+import com.anil.crm.domain.Department;
+import com.anil.crm.domain.Ticket;
+import com.anil.crm.exceptions.InvalidImportException;
+import com.anil.crm.repositories.AgentRepository;
+import com.anil.crm.repositories.CustomerRepository;
+import com.anil.crm.repositories.DepartmentRepository;
+import com.anil.crm.repositories.TicketRepository;
+import com.anil.crm.web.mappers.TicketMapper;
+import com.anil.crm.web.models.TicketEvent;
+import com.anil.crm.web.models.TicketImportError;
+import com.anil.crm.web.models.TicketImportResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketImportServiceImplTest {
+
+    @Mock
+    TicketRepository ticketRepository;
+    @Mock
+    CustomerRepository customerRepository;
+    @Mock
+    DepartmentRepository departmentRepository;
+    @Mock
+    AgentRepository agentRepository;
+    @Mock
+    TicketMapper ticketMapper;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    AgentLoadService agentLoadService;
+    @Mock
+    OutboxService outboxService;
+    @Mock
+    TicketEventService ticketEventService;
+
+    ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    TicketImportServiceImpl ticketImportService;
+
+    @BeforeEach
+    void setUp() {
+        ticketImportService = new TicketImportServiceImpl(ticketRepository, customerRepository, departmentRepository,
+                agentRepository, ticketMapper, objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, agentLoadService,
+                outboxService, ticketEventService, 2);
+    }
+
+    @Test
+    void importTickets_ChunksAndReportsRowErrors() throws Exception {
+        given(customerRepository.findExistingIds(any())).willReturn(Set.of(1L));
+        given(departmentRepository.findExistingIds(any())).willReturn(Set.of(3L));
+        given(customerRepository.getReferenceById(1L)).willReturn(Customer.builder().id(1L).build());
+        given(departmentRepository.getReferenceById(3L)).willReturn(Department.builder().id(3L).build());
+        given(ticketMapper.ticketDtoToTicket(any())).willAnswer(invocation -> new Ticket());
+
+        TicketImportResult result = ticketImportService.importTickets(json(
+                row(1, 3, "OPEN", "Giriş sorunu"),
+                row(1, 3, "OPEN", ""),
+                row(99, 3, "OPEN", "Fatura"),
+                row(1, 3, "NOPE", "İade"),
+                row(1, 3, "CLOSED", "Şifre")));
+
+        assertEquals(5, result.getTotal());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertFalse(result.isErrorsTruncated());
+        assertEquals(List.of(1L, 2L, 3L), result.getErrors().stream().map(TicketImportError::getIndex).toList());
+        assertEquals("Konu boş olamaz", result.getErrors().get(0).getMessage());
+        assertEquals("Customer not found with id: 99", result.getErrors().get(1).getMessage());
+        assertTrue(result.getErrors().get(2).getMessage().startsWith("Geçersiz bilet verisi"));
+
+        // rows 0 and 2 form the first chunk, row 4 the second; each chunk is one transaction and one lookup per table
+        then(ticketRepository).should(times(2)).saveAll(anyList());
+        then(customerRepository).should(times(2)).findExistingIds(any());
+        then(agentRepository).should(never()).findExistingIds(any());
+        then(transactionManager).should(times(2)).commit(any());
+        // loads move by the imported rows alone, without recounting the tickets table
+        then(agentLoadService).should(times(2)).ticketChanged(isNull(), any());
+        then(agentLoadService).should(never()).rebuild();
+        // every imported ticket gets its outbox event in its chunk's transaction
+        then(outboxService).should(times(2)).appendAll(argThat(events -> events.size() == 1
+                && events.iterator().next().getType() == TicketEvent.Type.TICKET_CREATED
+                && events.iterator().next().getDepartmentId() == 3L));
+    }
+
+    @Test
+    void importTickets_KeepsRowsReadBeforeSyntaxError() throws Exception {
+        given(customerRepository.findExistingIds(any())).willReturn(Set.of(1L));
+        given(departmentRepository.findExistingIds(any())).willReturn(Set.of(3L));
+        given(departmentRepository.getReferenceById(3L)).willReturn(Department.builder().id(3L).build());
+        given(ticketMapper.ticketDtoToTicket(any())).willAnswer(invocation -> new Ticket());
+
+        TicketImportResult result = ticketImportService.importTickets(
+                stream("[" + row(1, 3, "OPEN", "Giriş sorunu") + ", {\"subject\": "));
+
+        assertEquals(2, result.getTotal());
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(1, result.getErrors().get(0).getIndex());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Geçersiz JSON"));
+    }
+
+    @Test
+    void importTickets_FailedChunkDoesNotAbortImport() throws Exception {
+        given(customerRepository.findExistingIds(any())).willReturn(Set.of(1L));
+        given(departmentRepository.findExistingIds(any())).willReturn(Set.of(3L));
+        given(departmentRepository.getReferenceById(3L)).willReturn(Department.builder().id(3L).build());
+        given(ticketMapper.ticketDtoToTicket(any())).willAnswer(invocation -> new Ticket());
+        given(ticketRepository.saveAll(anyList()))
+                .willThrow(new DataIntegrityViolationException("value too long"))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        TicketImportResult result = ticketImportService.importTickets(json(
+                row(1, 3, "OPEN", "A"), row(1, 3, "OPEN", "B"), row(1, 3, "OPEN", "C")));
+
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(0L, 1L), result.getErrors().stream().map(TicketImportError::getIndex).toList());
+        then(transactionManager).should().rollback(any());
+        then(transactionManager).should().commit(any());
+    }
+
+    @Test
+    void importTickets_NotAnArray() {
+        assertThrows(InvalidImportException.class,
+                () -> ticketImportService.importTickets(stream(row(1, 3, "OPEN", "Giriş sorunu"))));
+
+        then(ticketRepository).shouldHaveNoInteractions();
+    }
+
+    private static String row(long customerId, long departmentId, String status, String subject) {
+        return String.format("{\"customer\": {\"id\": %d}, \"department\": {\"id\": %d}, \"subject\": \"%s\", " +
+                "\"description\": \"Açıklama\", \"status\": \"%s\", \"priority\": \"LOW\"}", customerId, departmentId, subject, status);
+    }
+
+    private static InputStream json(String... rows) {
+        return stream("[" + String.join(",", rows) + "]");
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
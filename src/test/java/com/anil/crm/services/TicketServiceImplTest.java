@@ -1,16 +1,36 @@
 package com.anil.crm.services;
 
 import com.anil.crm.domain.*;
+import com.anil.crm.exceptions.InvalidCursorException;
 import com.anil.crm.exceptions.ResourceNotFoundException;
 import com.anil.crm.repositories.AgentRepository;
 import com.anil.crm.repositories.CustomerRepository;
 import com.anil.crm.repositories.DepartmentRepository;
+import com.anil.crm.repositories.TicketBulkUpdateRepository.UpdatedTicket;
 import com.anil.crm.repositories.TicketRepository;
+import com.anil.crm.repositories.TicketSummary;
+import com.anil.crm.repositories.TicketTextMatch;
+import com.anil.crm.repositories.TicketTextMatches;
+import com.anil.crm.repositories.TicketTombstoneRepository;
 import com.anil.crm.web.mappers.TicketMapper;
 import com.anil.crm.web.models.AgentDto;
+import com.anil.crm.web.models.BulkTicketAssignRequest;
+import com.anil.crm.web.models.BulkTicketStatusUpdateRequest;
+import com.anil.crm.web.models.BulkTicketUpdateItem;
+import com.anil.crm.web.models.BulkTicketUpdateResult;
+import com.anil.crm.web.models.CursorPage;
 import com.anil.crm.web.models.CustomerDto;
 import com.anil.crm.web.models.DepartmentDto;
+import com.anil.crm.web.models.FieldSet;
+import com.anil.crm.web.models.KeysetCursor;
+import com.anil.crm.web.models.RankCursor;
+import com.anil.crm.web.models.TicketChanges;
 import com.anil.crm.web.models.TicketDto;
+import com.anil.crm.web.models.TicketEvent;
+import com.anil.crm.web.models.TicketSearchCriteria;
+import com.anil.crm.web.models.TicketSearchHit;
+import com.anil.crm.web.models.TicketSearchHitPage;
+import com.anil.crm.web.models.TicketVersionRef;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,14 +38,21 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,12 +68,23 @@ class TicketServiceImplTest {
     DepartmentRepository departmentRepository;
     @Mock
     TicketMapper ticketMapper;
+    @Mock
+    TransactionTemplate transactionTemplate;
+    @Mock
+    AgentLoadService agentLoadService;
+    @Mock
+    TicketEventService ticketEventService;
+    @Mock
+    OutboxService outboxService;
+    @Mock
+    TicketTombstoneRepository ticketTombstoneRepository;
 
     @InjectMocks
     TicketServiceImpl ticketService;
 
     Ticket ticket1;
     TicketDto ticketDto1;
+    TicketSummary summary1;
     Customer customer;
     Agent agent;
     Department department;
@@ -86,110 +124,182 @@ class TicketServiceImplTest {
                 .createdAt(ticket1.getCreatedAt())
                 .updatedAt(ticket1.getUpdatedAt())
                 .build();
+
+        summary1 = summary(ticketId1, ticket1.getCreatedAt());
+    }
+
+    private TicketSummary summary(Long id, LocalDateTime createdAt) {
+        return new TicketSummary(id, 0L, createdAt, createdAt, "Test Ticket " + id, null, TicketStatus.OPEN, TicketPriority.MEDIUM,
+                customerId, null, null, null, null, "cust@test.com", null,
+                departmentId, "Teknik Destek", null,
+                agentId, null, null, null, null, "agent@test.com", "Teknik Destek");
     }
 
     @Test
     void getAllTickets() {
-        given(ticketRepository.findAll()).willReturn(List.of(ticket1));
-        given(ticketMapper.ticketToTicketDto(ticket1)).willReturn(ticketDto1);
+        given(ticketRepository.findAllTickets(KeysetCursor.FIRST.getCreatedAt(), KeysetCursor.FIRST.getId(), Limit.of(CursorPage.DEFAULT_SIZE + 1)))
+                .willReturn(List.of(summary1));
+        given(ticketMapper.ticketSummaryToTicketDto(summary1)).willReturn(ticketDto1);
 
-        List<TicketDto> result = ticketService.getAllTickets();
+        CursorPage<TicketDto> result = ticketService.getAllTickets(null, null, FieldSet.ALL);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(ticketId1, result.get(0).getId());
-        then(ticketRepository).should().findAll();
-        then(ticketMapper).should().ticketToTicketDto(ticket1);
+        assertEquals(1, result.getItems().size());
+        assertEquals(ticketId1, result.getItems().get(0).getId());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        then(ticketMapper).should().ticketSummaryToTicketDto(summary1);
+    }
+
+    @Test
+    void getAllTickets_HasNextPage() {
+        TicketSummary summary2 = summary(2L, ticket1.getCreatedAt().minusMinutes(5));
+        given(ticketRepository.findAllTickets(KeysetCursor.FIRST.getCreatedAt(), KeysetCursor.FIRST.getId(), Limit.of(2)))
+                .willReturn(List.of(summary1, summary2));
+        given(ticketMapper.ticketSummaryToTicketDto(summary1)).willReturn(ticketDto1);
+
+        CursorPage<TicketDto> result = ticketService.getAllTickets(null, 1, FieldSet.ALL);
+
+        assertEquals(1, result.getItems().size());
+        assertTrue(result.isHasNext());
+
+        KeysetCursor next = KeysetCursor.decode(result.getNextCursor());
+        assertEquals(ticket1.getCreatedAt(), next.getCreatedAt());
+        assertEquals(ticketId1, next.getId());
+        then(ticketMapper).should(never()).ticketSummaryToTicketDto(summary2);
+    }
+
+    @Test
+    void getAllTickets_WithCursor() {
+        KeysetCursor cursor = new KeysetCursor(ticket1.getCreatedAt(), ticketId1);
+        given(ticketRepository.findAllTickets(cursor.getCreatedAt(), cursor.getId(), Limit.of(CursorPage.MAX_SIZE + 1)))
+                .willReturn(List.of());
+
+        CursorPage<TicketDto> result = ticketService.getAllTickets(cursor.encode(), 10_000, FieldSet.ALL);
+
+        assertTrue(result.getItems().isEmpty());
+        assertFalse(result.isHasNext());
+        then(ticketRepository).should().findAllTickets(cursor.getCreatedAt(), cursor.getId(), Limit.of(CursorPage.MAX_SIZE + 1));
+    }
+
+    @Test
+    void getAllTickets_InvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> ticketService.getAllTickets("not-a-cursor", null, FieldSet.ALL));
+        then(ticketRepository).shouldHaveNoInteractions();
     }
 
     @Test
     void getTicketById() {
-        given(ticketRepository.findById(ticketId1)).willReturn(Optional.of(ticket1));
-        given(ticketMapper.ticketToTicketDto(ticket1)).willReturn(ticketDto1);
+        given(ticketRepository.findSummaryById(ticketId1)).willReturn(Optional.of(summary1));
+        given(ticketMapper.ticketSummaryToTicketDto(summary1)).willReturn(ticketDto1);
 
         TicketDto foundDto = ticketService.getTicketById(ticketId1);
 
         assertNotNull(foundDto);
         assertEquals(ticketId1, foundDto.getId());
-        then(ticketRepository).should().findById(ticketId1);
-        then(ticketMapper).should().ticketToTicketDto(ticket1);
+        then(ticketRepository).should().findSummaryById(ticketId1);
+        then(ticketMapper).should().ticketSummaryToTicketDto(summary1);
     }
 
     @Test
     void getTicketById_NotFound() {
         Long nonExistentId = 99L;
-        given(ticketRepository.findById(nonExistentId)).willReturn(Optional.empty());
+        given(ticketRepository.findSummaryById(nonExistentId)).willReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> ticketService.getTicketById(nonExistentId));
-        then(ticketRepository).should().findById(nonExistentId);
-        then(ticketMapper).should(never()).ticketToTicketDto(any());
+        then(ticketRepository).should().findSummaryById(nonExistentId);
+        then(ticketMapper).should(never()).ticketSummaryToTicketDto(any());
     }
 
     @Test
     void getTicketsByCustomerId() {
         // Given
-        given(ticketRepository.findTicketsByCustomerId(customerId)).willReturn(List.of(ticket1));
-        given(ticketMapper.ticketToTicketDto(ticket1)).willReturn(ticketDto1);
+        given(ticketRepository.findTicketsByCustomerId(eq(customerId), any(), any(), any())).willReturn(List.of(summary1));
+        given(ticketMapper.ticketSummaryToTicketDto(summary1)).willReturn(ticketDto1);
 
-        List<TicketDto> result = ticketService.getTicketsByCustomerId(customerId);
+        CursorPage<TicketDto> result = ticketService.getTicketsByCustomerId(customerId, null, null, FieldSet.ALL);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        then(ticketRepository).should().findTicketsByCustomerId(customerId);
+        assertEquals(1, result.getItems().size());
+        then(ticketRepository).should().findTicketsByCustomerId(customerId, KeysetCursor.FIRST.getCreatedAt(), KeysetCursor.FIRST.getId(), Limit.of(CursorPage.DEFAULT_SIZE + 1));
     }
 
     @Test
     void getTicketsByAssignedAgentId() {
-        given(ticketRepository.findTicketsByAssignedAgentId(agentId)).willReturn(List.of(ticket1));
-        given(ticketMapper.ticketToTicketDto(ticket1)).willReturn(ticketDto1);
+        given(ticketRepository.findTicketsByAssignedAgentId(eq(agentId), any(), any(), any())).willReturn(List.of(summary1));
+        given(ticketMapper.ticketSummaryToTicketDto(summary1)).willReturn(ticketDto1);
 
-        List<TicketDto> result = ticketService.getTicketsByAssignedAgentId(agentId);
+        CursorPage<TicketDto> result = ticketService.getTicketsByAssignedAgentId(agentId, null, null, FieldSet.ALL);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(agentId, result.get(0).getAssignedAgent().getId());
-        then(ticketRepository).should().findTicketsByAssignedAgentId(agentId);
+        assertEquals(1, result.getItems().size());
+        assertEquals(agentId, result.getItems().get(0).getAssignedAgent().getId());
+        then(ticketRepository).should().findTicketsByAssignedAgentId(agentId, KeysetCursor.FIRST.getCreatedAt(), KeysetCursor.FIRST.getId(), Limit.of(CursorPage.DEFAULT_SIZE + 1));
     }
 
     @Test
     void getTicketsByDepartmentId() {
-        given(ticketRepository.findTicketsByDepartmentId(departmentId)).willReturn(List.of(ticket1));
-        given(ticketMapper.ticketToTicketDto(ticket1)).willReturn(ticketDto1);
+        given(ticketRepository.findTicketsByDepartmentId(eq(departmentId), any(), any(), any())).willReturn(List.of(summary1));
+        given(ticketMapper.ticketSummaryToTicketDto(summary1)).willReturn(ticketDto1);
 
-        List<TicketDto> result = ticketService.getTicketsByDepartmentId(departmentId);
+        CursorPage<TicketDto> result = ticketService.getTicketsByDepartmentId(departmentId, null, null, FieldSet.ALL);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(departmentId, result.get(0).getDepartment().getId());
-        then(ticketRepository).should().findTicketsByDepartmentId(departmentId);
+        assertEquals(1, result.getItems().size());
+        assertEquals(departmentId, result.getItems().get(0).getDepartment().getId());
+        then(ticketRepository).should().findTicketsByDepartmentId(departmentId, KeysetCursor.FIRST.getCreatedAt(), KeysetCursor.FIRST.getId(), Limit.of(CursorPage.DEFAULT_SIZE + 1));
     }
 
     @Test
     void getTicketsByStatus() {
         TicketStatus status = TicketStatus.OPEN;
-        given(ticketRepository.findTicketsByStatus(status)).willReturn(List.of(ticket1));
-        given(ticketMapper.ticketToTicketDto(ticket1)).willReturn(ticketDto1);
+        given(ticketRepository.findTicketsByStatus(eq(status), any(), any(), any())).willReturn(List.of(summary1));
+        given(ticketMapper.ticketSummaryToTicketDto(summary1)).willReturn(ticketDto1);
 
-        List<TicketDto> result = ticketService.getTicketsByStatus(status);
+        CursorPage<TicketDto> result = ticketService.getTicketsByStatus(status, null, null, FieldSet.ALL);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(status, result.get(0).getStatus());
-        then(ticketRepository).should().findTicketsByStatus(status);
+        assertEquals(1, result.getItems().size());
+        assertEquals(status, result.getItems().get(0).getStatus());
+        then(ticketRepository).should().findTicketsByStatus(status, KeysetCursor.FIRST.getCreatedAt(), KeysetCursor.FIRST.getId(), Limit.of(CursorPage.DEFAULT_SIZE + 1));
     }
 
     @Test
     void getTicketsByPriority() {
         TicketPriority priority = TicketPriority.MEDIUM;
-        given(ticketRepository.getTicketsByPriority(priority)).willReturn(List.of(ticket1));
-        given(ticketMapper.ticketToTicketDto(ticket1)).willReturn(ticketDto1);
+        given(ticketRepository.getTicketsByPriority(eq(priority), any(), any(), any())).willReturn(List.of(summary1));
+        given(ticketMapper.ticketSummaryToTicketDto(summary1)).willReturn(ticketDto1);
 
-        List<TicketDto> result = ticketService.getTicketsByPriority(priority);
+        CursorPage<TicketDto> result = ticketService.getTicketsByPriority(priority, null, null, FieldSet.ALL);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(priority, result.get(0).getPriority());
-        then(ticketRepository).should().getTicketsByPriority(priority);
+        assertEquals(1, result.getItems().size());
+        assertEquals(priority, result.getItems().get(0).getPriority());
+        then(ticketRepository).should().getTicketsByPriority(priority, KeysetCursor.FIRST.getCreatedAt(), KeysetCursor.FIRST.getId(), Limit.of(CursorPage.DEFAULT_SIZE + 1));
+    }
+
+    @Test
+    void searchTickets() {
+        TicketSearchCriteria criteria = TicketSearchCriteria.builder()
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.MEDIUM)
+                .departmentId(departmentId)
+                .build();
+        given(ticketRepository.findSummaries(any(), eq(FieldSet.ALL), eq(Limit.of(11)))).willReturn(List.of(summary1));
+        given(ticketMapper.ticketSummaryToTicketDto(summary1)).willReturn(ticketDto1);
+
+        CursorPage<TicketDto> result = ticketService.searchTickets(criteria, null, 10, FieldSet.ALL);
+
+        assertEquals(1, result.getItems().size());
+        assertFalse(result.isHasNext());
+        then(ticketRepository).should().findSummaries(any(), eq(FieldSet.ALL), eq(Limit.of(11)));
+    }
+
+    @Test
+    void searchTickets_InvalidCursor() {
+        assertThrows(InvalidCursorException.class,
+                () -> ticketService.searchTickets(new TicketSearchCriteria(), "%%%", null, FieldSet.ALL));
+        then(ticketRepository).shouldHaveNoInteractions();
     }
 
     @Test
@@ -234,6 +344,49 @@ class TicketServiceImplTest {
         then(ticketRepository).should().save(transientTicket);
     }
 
+    @Test
+    void createTicket_AutoAssignsLeastLoadedAgent() {
+        TicketDto dtoToSave = TicketDto.builder()
+                .customer(CustomerDto.builder().id(customerId).build())
+                .department(DepartmentDto.builder().id(departmentId).build())
+                .build();
+        Ticket transientTicket = Ticket.builder().status(TicketStatus.OPEN).priority(TicketPriority.HIGH).build();
+
+        given(customerRepository.findById(customerId)).willReturn(Optional.of(customer));
+        given(departmentRepository.findById(departmentId)).willReturn(Optional.of(department));
+        given(agentLoadService.findLeastLoadedAgent(departmentId)).willReturn(Optional.of(agentId));
+        given(agentRepository.findById(agentId)).willReturn(Optional.of(agent));
+        given(ticketMapper.ticketDtoToTicket(dtoToSave)).willReturn(transientTicket);
+        given(ticketRepository.save(transientTicket)).willReturn(transientTicket);
+
+        ticketService.createTicket(dtoToSave);
+
+        assertEquals(agent, transientTicket.getAssignedAgent());
+        then(agentLoadService).should().ticketChanged(null,
+                new AgentLoadService.TicketLoad(agentId, TicketStatus.OPEN, TicketPriority.HIGH));
+        then(ticketEventService).should().publish(argThat(event -> event.getType() == TicketEvent.Type.TICKET_CREATED
+                && departmentId.equals(event.getDepartmentId()) && agentId.equals(event.getAssignedAgentId())));
+    }
+
+    @Test
+    void createTicket_ClosedTicketIsNotAutoAssigned() {
+        TicketDto dtoToSave = TicketDto.builder()
+                .customer(CustomerDto.builder().id(customerId).build())
+                .department(DepartmentDto.builder().id(departmentId).build())
+                .build();
+        Ticket transientTicket = Ticket.builder().status(TicketStatus.CLOSED).priority(TicketPriority.LOW).build();
+
+        given(customerRepository.findById(customerId)).willReturn(Optional.of(customer));
+        given(departmentRepository.findById(departmentId)).willReturn(Optional.of(department));
+        given(ticketMapper.ticketDtoToTicket(dtoToSave)).willReturn(transientTicket);
+        given(ticketRepository.save(transientTicket)).willReturn(transientTicket);
+
+        ticketService.createTicket(dtoToSave);
+
+        assertNull(transientTicket.getAssignedAgent());
+        then(agentLoadService).should(never()).findLeastLoadedAgent(any());
+    }
+
     @Test
     void createTicket_CustomerNotFound() {
         TicketDto dtoToSave = TicketDto.builder()
@@ -318,6 +471,18 @@ class TicketServiceImplTest {
         assertEquals(newStatus, ticketCaptor.getValue().getStatus());
 
         then(ticketRepository).should().findById(ticketId1);
+        then(agentLoadService).should().ticketChanged(
+                new AgentLoadService.TicketLoad(agentId, TicketStatus.OPEN, TicketPriority.MEDIUM),
+                new AgentLoadService.TicketLoad(agentId, TicketStatus.CLOSED, TicketPriority.MEDIUM));
+
+        ArgumentCaptor<TicketEvent> eventCaptor = ArgumentCaptor.forClass(TicketEvent.class);
+        then(ticketEventService).should().publish(eventCaptor.capture());
+        then(outboxService).should().append(eventCaptor.getValue());
+        assertEquals(TicketEvent.Type.STATUS_CHANGED, eventCaptor.getValue().getType());
+        assertEquals(TicketStatus.CLOSED, eventCaptor.getValue().getStatus());
+        assertEquals(TicketStatus.OPEN, eventCaptor.getValue().getPreviousStatus());
+        assertEquals(departmentId, eventCaptor.getValue().getDepartmentId());
+        assertEquals(agentId, eventCaptor.getValue().getAssignedAgentId());
     }
 
     @Test
@@ -330,25 +495,206 @@ class TicketServiceImplTest {
         then(ticketRepository).should(never()).save(any());
     }
 
+    @Test
+    void getChanges_MergesUpdatesAndDeletionsInChangeOrder() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        TicketSummary first = summary(5L, base);
+        TicketSummary third = summary(3L, base.plusMinutes(2));
+        KeysetCursor since = new KeysetCursor(base.minusMinutes(1), 9L);
+        given(ticketRepository.findChangedSince(eq(since.getCreatedAt()), eq(9L), any(), eq(Limit.of(3))))
+                .willReturn(List.of(first, third));
+        given(ticketTombstoneRepository.findDeletedSince(eq(since.getCreatedAt()), eq(9L), any(), eq(Limit.of(3))))
+                .willReturn(List.of(new TicketTombstone(4L, base.plusMinutes(1)), new TicketTombstone(8L, base.plusMinutes(3))));
+        given(ticketMapper.ticketSummaryToTicketDto(any())).willAnswer(invocation ->
+                TicketDto.builder().id(invocation.getArgument(0, TicketSummary.class).getId()).build());
+
+        TicketChanges changes = ticketService.getChanges(since.encode(), 2);
+
+        assertEquals(List.of(5L), changes.getChanged().stream().map(TicketDto::getId).toList());
+        assertEquals(List.of(4L), changes.getDeleted());
+        assertTrue(changes.isHasMore());
+        assertEquals(new KeysetCursor(base.plusMinutes(1), 4L), KeysetCursor.decode(changes.getNextCursor()));
+    }
+
+    @Test
+    void getChanges_EmptyPageKeepsTheCursor() {
+        KeysetCursor since = new KeysetCursor(LocalDateTime.of(2025, 1, 1, 9, 0), 5L);
+        given(ticketRepository.findChangedSince(any(), any(), any(), any())).willReturn(List.of());
+        given(ticketTombstoneRepository.findDeletedSince(any(), any(), any(), any())).willReturn(List.of());
+
+        TicketChanges changes = ticketService.getChanges(since.encode(), null);
+
+        assertEquals(List.of(), changes.getChanged());
+        assertEquals(List.of(), changes.getDeleted());
+        assertFalse(changes.isHasMore());
+        assertEquals(since.encode(), changes.getNextCursor());
+    }
+
     @Test
     void deleteTicketById() {
-        given(ticketRepository.existsById(ticketId1)).willReturn(true);
-        willDoNothing().given(ticketRepository).deleteById(ticketId1);
+        given(ticketRepository.findById(ticketId1)).willReturn(Optional.of(ticket1));
 
         assertDoesNotThrow(() -> ticketService.deleteTicketById(ticketId1));
 
-        then(ticketRepository).should().existsById(ticketId1);
-        then(ticketRepository).should().deleteById(ticketId1);
+        then(ticketRepository).should().delete(ticket1);
+        then(ticketTombstoneRepository).should().insert(eq(ticketId1), any());
+        then(agentLoadService).should().ticketChanged(
+                new AgentLoadService.TicketLoad(agentId, TicketStatus.OPEN, TicketPriority.MEDIUM), null);
     }
 
     @Test
     void deleteTicketById_NotFound() {
         Long nonExistentId = 99L;
-        given(ticketRepository.existsById(nonExistentId)).willReturn(false);
+        given(ticketRepository.findById(nonExistentId)).willReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> ticketService.deleteTicketById(nonExistentId));
 
-        then(ticketRepository).should().existsById(nonExistentId);
-        then(ticketRepository).should(never()).deleteById(anyLong());
+        then(ticketRepository).should(never()).delete(any());
+    }
+
+    @Test
+    void updateTicketStatuses_ChunksAndReportsPerId() {
+        ReflectionTestUtils.setField(ticketService, "bulkUpdateChunkSize", 2);
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        given(ticketRepository.updateStatus(any(), any(), eq(TicketStatus.CLOSED), any()))
+                .willReturn(Map.of(1L, new UpdatedTicket(4L, agentId, TicketStatus.OPEN, agentId, TicketStatus.CLOSED, TicketPriority.HIGH)))
+                .willReturn(Map.of());
+        given(ticketRepository.findExistingIds(List.of(2L))).willReturn(Set.of(2L));
+        given(ticketRepository.findExistingIds(List.of(3L))).willReturn(Set.of());
+
+        BulkTicketUpdateResult result = ticketService.updateTicketStatuses(BulkTicketStatusUpdateRequest.builder()
+                .status(TicketStatus.CLOSED)
+                .tickets(List.of(
+                        new TicketVersionRef(1L, null),
+                        new TicketVersionRef(2L, 7L),
+                        new TicketVersionRef(1L, 9L),
+                        new TicketVersionRef(3L, null)))
+                .build());
+
+        assertEquals(3, result.getRequested());
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getVersionConflicts());
+        assertEquals(1, result.getNotFound());
+        assertEquals(List.of(
+                new BulkTicketUpdateItem(1L, BulkTicketUpdateItem.Outcome.UPDATED, 4L),
+                new BulkTicketUpdateItem(2L, BulkTicketUpdateItem.Outcome.VERSION_CONFLICT, null),
+                new BulkTicketUpdateItem(3L, BulkTicketUpdateItem.Outcome.NOT_FOUND, null)), result.getResults());
+
+        // Duplicate ID 1 is sent once, with the version it was first listed with.
+        then(ticketRepository).should().updateStatus(eq(new Long[]{1L, 2L}), eq(new Long[]{null, 7L}), eq(TicketStatus.CLOSED), any());
+        then(ticketRepository).should().updateStatus(eq(new Long[]{3L}), eq(new Long[]{null}), eq(TicketStatus.CLOSED), any());
+        then(transactionTemplate).should(times(2)).execute(any());
+        then(ticketRepository).should(never()).findById(anyLong());
+        then(agentLoadService).should().ticketChanged(
+                new AgentLoadService.TicketLoad(agentId, TicketStatus.OPEN, TicketPriority.HIGH),
+                new AgentLoadService.TicketLoad(agentId, TicketStatus.CLOSED, TicketPriority.HIGH));
+        then(agentLoadService).should(never()).rebuild();
+    }
+
+    @Test
+    void assignAgentToTickets() {
+        given(agentRepository.existsById(agentId)).willReturn(true);
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        given(ticketRepository.assignAgent(eq(new Long[]{1L, 2L}), any(), eq(agentId), any()))
+                .willReturn(Map.of(
+                        1L, new UpdatedTicket(1L, null, TicketStatus.OPEN, agentId, TicketStatus.OPEN, TicketPriority.LOW),
+                        2L, new UpdatedTicket(3L, 8L, TicketStatus.CLOSED, agentId, TicketStatus.CLOSED, TicketPriority.LOW)));
+
+        BulkTicketUpdateResult result = ticketService.assignAgentToTickets(new BulkTicketAssignRequest(agentId,
+                List.of(new TicketVersionRef(1L, 0L), new TicketVersionRef(2L, 2L))));
+
+        assertEquals(2, result.getUpdated());
+        then(ticketRepository).should(never()).findExistingIds(any());
+        then(outboxService).should().appendForTickets(TicketEvent.Type.ASSIGNED, Set.of(1L, 2L));
+        then(ticketEventService).should(never()).publish(any());
+        then(agentLoadService).should().ticketChanged(
+                new AgentLoadService.TicketLoad(null, TicketStatus.OPEN, TicketPriority.LOW),
+                new AgentLoadService.TicketLoad(agentId, TicketStatus.OPEN, TicketPriority.LOW));
+    }
+
+    @Test
+    void assignAgentToTickets_PublishesEventsWhenSubscribed() {
+        given(agentRepository.existsById(agentId)).willReturn(true);
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        given(ticketRepository.assignAgent(eq(new Long[]{1L}), any(), eq(agentId), any())).willReturn(Map.of(
+                1L, new UpdatedTicket(1L, null, TicketStatus.OPEN, agentId, TicketStatus.OPEN, TicketPriority.LOW)));
+        given(ticketEventService.hasSubscribers()).willReturn(true);
+        given(ticketRepository.findSummaries(any(), eq(Limit.of(1)))).willReturn(List.of(summary1));
+
+        ticketService.assignAgentToTickets(new BulkTicketAssignRequest(agentId, List.of(new TicketVersionRef(1L, 0L))));
+
+        then(ticketEventService).should().publish(argThat(event -> event.getType() == TicketEvent.Type.ASSIGNED
+                && ticketId1.equals(event.getTicketId()) && departmentId.equals(event.getDepartmentId())
+                && agentId.equals(event.getAssignedAgentId())));
+    }
+
+    @Test
+    void assignAgentToTickets_AgentNotFound() {
+        given(agentRepository.existsById(99L)).willReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> ticketService.assignAgentToTickets(
+                new BulkTicketAssignRequest(99L, List.of(new TicketVersionRef(1L, null)))));
+
+        then(ticketRepository).should(never()).assignAgent(any(), any(), any(), any());
+    }
+
+    @Test
+    void claimNextTicket_DefaultsToAgentDepartment() {
+        given(agentRepository.findAgentByUserEmail("agent@test.com")).willReturn(Optional.of(agent));
+        given(ticketRepository.claimNext(eq(departmentId), eq(agentId), any())).willReturn(Optional.of(ticketId1));
+        given(ticketRepository.findSummaryById(ticketId1)).willReturn(Optional.of(summary1));
+        given(ticketMapper.ticketSummaryToTicketDto(summary1)).willReturn(ticketDto1);
+
+        Optional<TicketDto> claimed = ticketService.claimNextTicket("agent@test.com", null);
+
+        assertEquals(Optional.of(ticketDto1), claimed);
+    }
+
+    @Test
+    void claimNextTicket_EmptyQueue() {
+        given(agentRepository.findAgentByUserEmail("agent@test.com")).willReturn(Optional.of(agent));
+        given(ticketRepository.claimNext(eq(5L), eq(agentId), any())).willReturn(Optional.empty());
+
+        assertTrue(ticketService.claimNextTicket("agent@test.com", 5L).isEmpty());
+        then(ticketRepository).should(never()).findSummaryById(anyLong());
+    }
+
+    @Test
+    void claimNextTicket_NotAnAgent() {
+        given(agentRepository.findAgentByUserEmail("cust@test.com")).willReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> ticketService.claimNextTicket("cust@test.com", null));
+        then(ticketRepository).should(never()).claimNext(any(), any(), any());
+    }
+
+    @Test
+    void searchTicketText_EscapesTextAndMarksMatches() {
+        given(ticketRepository.searchText("iade", Float.MAX_VALUE, Long.MAX_VALUE, 2)).willReturn(new TicketTextMatches(List.of(
+                new TicketTextMatch(ticketId1, 0.6f, "\u0002İade\u0003 <b>acil</b>", "ürün \u0002iade\u0003 & değişim"),
+                new TicketTextMatch(2L, 0.3f, "Ürün", "ürünü \u0002iade\u0003")), true));
+        given(ticketRepository.findSummaries(any(), any())).willReturn(List.of(summary1));
+        given(ticketMapper.ticketSummaryToTicketDto(summary1)).willReturn(ticketDto1);
+
+        TicketSearchHitPage page = ticketService.searchTicketText(" iade ", null, 1);
+
+        assertEquals(1, page.getSize());
+        TicketSearchHit hit = page.getItems().get(0);
+        assertEquals(ticketDto1, hit.getTicket());
+        assertEquals("<mark>İade</mark> &lt;b&gt;acil&lt;/b&gt;", hit.getSubjectHighlight());
+        assertEquals("ürün <mark>iade</mark> &amp; değişim", hit.getSnippet());
+        assertTrue(page.isHasNext());
+        assertEquals(new RankCursor(0.6f, ticketId1), RankCursor.decode(page.getNextCursor()));
+        assertTrue(page.isApproximate());
+    }
+
+    @Test
+    void searchTicketText_BlankQuery() {
+        TicketSearchHitPage page = ticketService.searchTicketText("  ", null, null);
+
+        assertTrue(page.getItems().isEmpty());
+        then(ticketRepository).shouldHaveNoInteractions();
     }
 }
@@ -0,0 +1,87 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.Role;
+import com.anil.crm.domain.User;
+import com.anil.crm.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionServiceImplTest {
+
+    @Mock
+    UserRepository userRepository;
+
+    TokenVersionServiceImpl tokenVersionService;
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionService = new TokenVersionServiceImpl(userRepository, 100);
+        user = User.builder().id(1L).email("test@user.com").password("x").role(Role.CUSTOMER).tokenVersion(4).build();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getTokenVersion_LoadsOnce() {
+        given(userRepository.findTokenVersionById(1L)).willReturn(Optional.of(4L));
+
+        assertEquals(Optional.of(4L), tokenVersionService.getTokenVersion(1L));
+        assertEquals(Optional.of(4L), tokenVersionService.getTokenVersion(1L));
+
+        then(userRepository).should(times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void getTokenVersion_MissingUserIsNotCached() {
+        given(userRepository.findTokenVersionById(1L)).willReturn(Optional.empty());
+
+        assertTrue(tokenVersionService.getTokenVersion(1L).isEmpty());
+        assertTrue(tokenVersionService.getTokenVersion(1L).isEmpty());
+
+        then(userRepository).should(times(2)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void revokeTokens_RefreshesAfterCommit() {
+        given(userRepository.findTokenVersionById(1L)).willReturn(Optional.of(4L), Optional.of(5L));
+        tokenVersionService.getTokenVersion(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        tokenVersionService.revokeTokens(user);
+
+        assertEquals(5, user.getTokenVersion());
+        assertEquals(Optional.of(4L), tokenVersionService.getTokenVersion(1L), "Still the committed version");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(Optional.of(5L), tokenVersionService.getTokenVersion(1L));
+    }
+
+    @Test
+    void evict_WithoutTransaction() {
+        given(userRepository.findTokenVersionById(1L)).willReturn(Optional.of(4L), Optional.empty());
+        tokenVersionService.getTokenVersion(1L);
+
+        tokenVersionService.evict(1L);
+
+        assertTrue(tokenVersionService.getTokenVersion(1L).isEmpty());
+    }
+}
@@ -0,0 +1,222 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.Agent;
+import com.anil.crm.domain.Customer;
+import com.anil.crm.domain.Department;
+import com.anil.crm.domain.Role;
+import com.anil.crm.domain.User;
+import com.anil.crm.repositories.AgentRepository;
+import com.anil.crm.repositories.CustomerRepository;
+import com.anil.crm.repositories.TypeaheadEntry;
+import com.anil.crm.web.models.TypeaheadHit;
+import com.anil.crm.web.models.TypeaheadStatisticsDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TypeaheadServiceImplTest {
+
+    @Mock
+    CustomerRepository customerRepository;
+    @Mock
+    AgentRepository agentRepository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    TypeaheadServiceImpl typeaheadService;
+
+    @BeforeEach
+    void setUp() {
+        given(customerRepository.streamTypeaheadEntries()).willAnswer(invocation -> Stream.of(
+                new TypeaheadEntry(1L, "İsmail", "Işık", "ismail.isik@test.com", "+90 555 123 45 67"),
+                new TypeaheadEntry(2L, "Ayşe Nur", "Kara", "ayse.kara@test.com", "05321112233")));
+        given(agentRepository.streamTypeaheadEntries()).willAnswer(invocation -> Stream.of(
+                new TypeaheadEntry(1L, "Ayşe", "Demir", "ayse.demir@crm.com", "Müşteri Hizmetleri")));
+        typeaheadService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void search_FoldsTurkishCaseAndCharacters() {
+        for (String query : List.of("isik", "IŞIK", "ışı", "İSMAİL", "ismail ı")) {
+            assertEquals(List.of(1L), ids(typeaheadService.search(query, null)), query);
+        }
+    }
+
+    @Test
+    void search_MatchesEveryWordOfTheNameAndTheEmail() {
+        assertEquals(List.of(2L), ids(typeaheadService.search("nur k", null)));
+        assertEquals(List.of(2L), ids(typeaheadService.search("kara", null)));
+        assertEquals(List.of(2L), ids(typeaheadService.search("ayse.k", null)));
+        assertEquals(List.of(), ids(typeaheadService.search("smail", null)));
+        assertEquals(List.of(), ids(typeaheadService.search("  ", null)));
+    }
+
+    @Test
+    void search_MatchesPhoneNumbersWithOrWithoutPrefix() {
+        for (String query : List.of("+90 555 123", "0555 123", "555-123-45", "(555) 1234567")) {
+            assertEquals(List.of(1L), ids(typeaheadService.search(query, null)), query);
+        }
+        assertEquals(List.of(2L), ids(typeaheadService.search("90532", null)));
+    }
+
+    @Test
+    void search_MergesCustomersAndAgentsInKeyOrder() {
+        List<TypeaheadHit> hits = typeaheadService.search("ayse", null);
+
+        assertEquals(2, hits.size());
+        assertEquals(Role.AGENT, hits.get(0).getType());
+        assertEquals("Ayşe Demir", hits.get(0).getName());
+        assertEquals("Müşteri Hizmetleri", hits.get(0).getDepartmentName());
+        assertNull(hits.get(0).getPhone());
+        assertEquals(Role.CUSTOMER, hits.get(1).getType());
+        assertEquals("05321112233", hits.get(1).getPhone());
+
+        assertEquals(1, typeaheadService.search("ayse", 1).size());
+    }
+
+    @Test
+    void customerSaved_AppliesAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        typeaheadService.customerSaved(customer(3L, "Can", "Yücel", "05001112233"));
+        assertEquals(List.of(), ids(typeaheadService.search("yucel", null)));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(3L), ids(typeaheadService.search("yucel", null)));
+    }
+
+    @Test
+    void customerSaved_ReplacesOldKeys() {
+        typeaheadService.customerSaved(customer(1L, "İsmail", "Kaya", "05551234567"));
+
+        assertEquals(List.of(), ids(typeaheadService.search("isik", null)));
+        assertEquals(List.of(1L), ids(typeaheadService.search("kaya", null)));
+        assertEquals(List.of(1L), ids(typeaheadService.search("ismail", null)));
+        assertEquals(List.of(1L), ids(typeaheadService.search("0555", null)));
+    }
+
+    @Test
+    void removed_AreNotFound() {
+        typeaheadService.customerRemoved(2L);
+        typeaheadService.agentRemoved(1L);
+
+        assertEquals(List.of(), ids(typeaheadService.search("ayse", null)));
+        assertEquals(1, typeaheadService.getStatistics().getCustomers());
+        assertEquals(0, typeaheadService.getStatistics().getAgents());
+    }
+
+    @Test
+    void agentSaved_CarriesDepartmentName() {
+        Agent agent = Agent.builder()
+                .id(2L)
+                .department(Department.builder().id(1L).name("Teknik Destek").build())
+                .user(User.builder().firstName("Anıl").lastName("Öz").email("anil@crm.com").build())
+                .build();
+
+        typeaheadService.agentSaved(agent);
+
+        List<TypeaheadHit> hits = typeaheadService.search("anil", null);
+        assertEquals(1, hits.size());
+        assertEquals("Anıl Öz", hits.get(0).getName());
+        assertEquals("Teknik Destek", hits.get(0).getDepartmentName());
+    }
+
+    @Test
+    void manyChanges_AreCompactedIntoTheArrays() {
+        for (long id = 10; id < 10 + TypeaheadServiceImpl.COMPACT_AFTER + 1; id++) {
+            typeaheadService.customerSaved(customer(id, "Müşteri", "No" + id, "0500" + id));
+        }
+
+        TypeaheadStatisticsDto statistics = typeaheadService.getStatistics();
+        assertEquals(0, statistics.getPendingChanges());
+        assertEquals(2 + TypeaheadServiceImpl.COMPACT_AFTER + 1, statistics.getCustomers());
+        assertEquals(List.of(1L), ids(typeaheadService.search("isik", null)));
+        assertEquals(List.of(500L), ids(typeaheadService.search("no500", null)));
+        assertEquals(TypeaheadServiceImpl.MAX_LIMIT, typeaheadService.search("musteri", 1000).size());
+    }
+
+    @Test
+    void changesDuringCompaction_AreReplayedOntoTheCompactedIndex() {
+        TypeaheadServiceImpl service = new TypeaheadServiceImpl(customerRepository, agentRepository, transactionManager) {
+            @Override
+            PrefixIndex compacted(PrefixIndex snapshot) {
+                // runs without the lock: searches answer and changes land on the live copy meanwhile
+                assertEquals(List.of(1L), ids(search("isik", null)));
+                customerSaved(customer(3L, "Can", "Yücel", "05001112233"));
+                customerRemoved(1L);
+                return super.compacted(snapshot);
+            }
+        };
+        service.rebuild();
+
+        for (long id = 10; id < 10 + TypeaheadServiceImpl.COMPACT_AFTER + 1; id++) {
+            service.customerSaved(customer(id, "Müşteri", "No" + id, "0500" + id));
+        }
+
+        assertEquals(List.of(3L), ids(service.search("yucel", null)));
+        assertEquals(List.of(), ids(service.search("isik", null)));
+        assertEquals(List.of(500L), ids(service.search("no500", null)));
+        assertEquals(2, service.getStatistics().getPendingChanges());
+    }
+
+    @Test
+    void changesDuringRebuild_AreReplayed() {
+        given(customerRepository.streamTypeaheadEntries()).willAnswer(invocation -> {
+            // committed while the rebuild reads: the rows read may or may not include it
+            typeaheadService.customerSaved(customer(3L, "Can", "Yücel", "05001112233"));
+            typeaheadService.customerRemoved(1L);
+            return Stream.of(new TypeaheadEntry(1L, "İsmail", "Işık", "ismail.isik@test.com", null));
+        });
+
+        typeaheadService.rebuild();
+
+        assertEquals(List.of(3L), ids(typeaheadService.search("yucel", null)));
+        assertEquals(List.of(), ids(typeaheadService.search("isik", null)));
+    }
+
+    @Test
+    void getStatistics_ReportsSizeAndFootprint() {
+        TypeaheadStatisticsDto statistics = typeaheadService.getStatistics();
+
+        assertEquals(2, statistics.getCustomers());
+        assertEquals(1, statistics.getAgents());
+        // names (2 + 3 + 2 word starts), e-mails (3), phones (2 x 3)
+        assertEquals(16, statistics.getKeys());
+        assertEquals(0, statistics.getPendingChanges());
+        assertTrue(statistics.getEstimatedBytes() > 0);
+    }
+
+    private static Customer customer(Long id, String firstName, String lastName, String phone) {
+        return Customer.builder()
+                .id(id)
+                .phone(phone)
+                .user(User.builder().firstName(firstName).lastName(lastName).email(id + "@test.com").build())
+                .build();
+    }
+
+    private static List<Long> ids(List<TypeaheadHit> hits) {
+        return hits.stream().map(TypeaheadHit::getId).toList();
+    }
+}
@@ -0,0 +1,64 @@
+package com.anil.crm.services;
+
+import com.anil.crm.domain.TicketStatus;
+import com.anil.crm.web.models.TicketEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class WebhookTicketEventHandlerTest {
+
+    static final String URL = "https://hooks.test/crm-events";
+
+    MockRestServiceServer server;
+    WebhookTicketEventHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        handler = new WebhookTicketEventHandler(builder, URL);
+    }
+
+    @Test
+    void handle_PostsTheEventAsJson() {
+        server.expect(requestTo(URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.type").value("ASSIGNED"))
+                .andExpect(jsonPath("$.ticketId").value(42))
+                .andExpect(jsonPath("$.assignedAgentId").value(7))
+                .andRespond(withSuccess());
+
+        handler.handle(event());
+
+        server.verify();
+    }
+
+    @Test
+    void handle_ErrorAnswerFailsTheEvent() {
+        server.expect(requestTo(URL)).andRespond(withServerError());
+
+        // The relay sees the exception and retries the event later.
+        assertThrows(RestClientException.class, () -> handler.handle(event()));
+    }
+
+    private static TicketEvent event() {
+        return TicketEvent.builder()
+                .type(TicketEvent.Type.ASSIGNED)
+                .ticketId(42L)
+                .departmentId(1L)
+                .assignedAgentId(7L)
+                .status(TicketStatus.OPEN)
+                .build();
+    }
+}
@@ -3,8 +3,10 @@ package com.anil.crm.web.controllers;
 import com.anil.crm.exceptions.ResourceNotFoundException;
 import com.anil.crm.services.AgentService;
 import com.anil.crm.services.JwtService;
+import com.anil.crm.services.TokenVersionService;
 import com.anil.crm.services.UserDetailsServiceImpl;
 import com.anil.crm.web.models.AgentDto;
+import com.anil.crm.web.models.FieldSet;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -42,6 +44,8 @@ class AgentsControllerTest {
     @MockitoBean
     JwtService jwtService;
     @MockitoBean
+    TokenVersionService tokenVersionService;
+    @MockitoBean
     UserDetailsServiceImpl userDetailsService;
 
     AgentDto testAgentDto;
@@ -86,7 +90,7 @@ class AgentsControllerTest {
     @Test
     @WithMockUser
     void findAgents_listAll() throws Exception {
-        given(agentService.findAgents(null, null)).willReturn(List.of(testAgentDto));
+        given(agentService.findAgents(null, null, FieldSet.ALL)).willReturn(List.of(testAgentDto));
 
         mockMvc.perform(get("/api/agents")
                         .accept(MediaType.APPLICATION_JSON))
@@ -94,14 +98,30 @@ class AgentsControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(1)));
 
-        then(agentService).should().findAgents(null, null);
+        then(agentService).should().findAgents(null, null, FieldSet.ALL);
+    }
+
+    @Test
+    @DisplayName("GET /api/agents?fields=id,firstName - Sadece İstenen Alanlar")
+    @WithMockUser
+    void findAgents_sparseFields() throws Exception {
+        given(agentService.findAgents(null, null, FieldSet.of("id", "firstName"))).willReturn(List.of(testAgentDto));
+
+        mockMvc.perform(get("/api/agents")
+                        .param("fields", "id,firstName")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].firstName", is("Test")))
+                .andExpect(jsonPath("$[0].email").doesNotExist())
+                .andExpect(jsonPath("$[0].departmentName").doesNotExist());
     }
 
     @Test
     @DisplayName("GET /api/agents?name=Test - İsme Göre Filtrele")
     @WithMockUser
     void findAgents_filterByName() throws Exception {
-        given(agentService.findAgents("Test", null)).willReturn(List.of(testAgentDto));
+        given(agentService.findAgents("Test", null, FieldSet.ALL)).willReturn(List.of(testAgentDto));
 
         mockMvc.perform(get("/api/agents")
                         .param("name", "Test")
@@ -110,14 +130,14 @@ class AgentsControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].firstName", is("Test")));
 
-        then(agentService).should().findAgents("Test", null);
+        then(agentService).should().findAgents("Test", null, FieldSet.ALL);
     }
 
     @Test
     @DisplayName("GET /api/agents?department=Destek - Departmana Göre Filtrele")
     @WithMockUser
     void findAgents_filterByDepartment() throws Exception {
-        given(agentService.findAgents(null, "Destek")).willReturn(List.of(testAgentDto));
+        given(agentService.findAgents(null, "Destek", FieldSet.ALL)).willReturn(List.of(testAgentDto));
 
         mockMvc.perform(get("/api/agents")
                         .param("department", "Destek")
@@ -126,7 +146,7 @@ class AgentsControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].departmentName", is("Destek")));
 
-        then(agentService).should().findAgents(null, "Destek");
+        then(agentService).should().findAgents(null, "Destek", FieldSet.ALL);
     }
 
     @Test
@@ -3,7 +3,9 @@ package com.anil.crm.web.controllers;
 import com.anil.crm.config.SecurityConfig;
 import com.anil.crm.domain.Role;
 import com.anil.crm.domain.User;
+import com.anil.crm.exceptions.PasswordHashingBusyException;
 import com.anil.crm.services.JwtService;
+import com.anil.crm.services.TokenVersionService;
 import com.anil.crm.web.models.AuthenticationRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -47,6 +49,8 @@ class AuthControllerTest {
     UserDetailsService userDetailsService;
     @MockitoBean
     JwtService jwtService;
+    @MockitoBean
+    TokenVersionService tokenVersionService;
 
     User sampleUser;
     AuthenticationRequest validLoginRequest;
@@ -79,8 +83,7 @@ class AuthControllerTest {
     void login_Success() throws Exception {
         given(authenticationManager.authenticate(
                 any(UsernamePasswordAuthenticationToken.class)))
-                .willReturn(null);
-        given(userDetailsService.loadUserByUsername(validLoginRequest.getEmail())).willReturn(sampleUser);
+                .willReturn(new UsernamePasswordAuthenticationToken(sampleUser, null, sampleUser.getAuthorities()));
         given(jwtService.generateToken(any(Map.class), eq(sampleUser))).willReturn(sampleJwt);
 
         mockMvc.perform(post("/api/auth/login")
@@ -91,10 +94,27 @@ class AuthControllerTest {
                 .andExpect(status().isOk());
 
         then(authenticationManager).should(times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        then(userDetailsService).should(times(1)).loadUserByUsername(validLoginRequest.getEmail());
+        then(userDetailsService).should(never()).loadUserByUsername(anyString());
         then(jwtService).should(times(1)).generateToken(any(Map.class), eq(sampleUser));
     }
 
+    @Test
+    void login_PasswordHashingBusy() throws Exception {
+        given(authenticationManager.authenticate(
+                any(UsernamePasswordAuthenticationToken.class)))
+                .willThrow(new PasswordHashingBusyException("Sunucu meşgul", 1));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validLoginRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+
+        then(jwtService).should(never()).generateToken(any(Map.class), any(UserDetails.class));
+    }
+
     @Test
     void login_Failure_BadCredentials() throws Exception {
         given(authenticationManager.authenticate(
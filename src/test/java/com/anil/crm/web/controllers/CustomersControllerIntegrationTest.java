@@ -4,8 +4,10 @@ import com.anil.crm.exceptions.ResourceInUseException;
 import com.anil.crm.exceptions.ResourceNotFoundException;
 import com.anil.crm.services.CustomerService;
 import com.anil.crm.services.JwtService;
+import com.anil.crm.services.TokenVersionService;
 import com.anil.crm.services.UserDetailsServiceImpl;
 import com.anil.crm.web.models.CustomerDto;
+import com.anil.crm.web.models.FieldSet;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -43,6 +45,8 @@ class CustomersControllerIntegrationTest {
     @MockitoBean
     JwtService jwtService;
     @MockitoBean
+    TokenVersionService tokenVersionService;
+    @MockitoBean
     UserDetailsServiceImpl userDetailsService;
 
     CustomerDto testCustomerDto;
@@ -88,7 +92,7 @@ class CustomersControllerIntegrationTest {
     @Test
     @WithMockUser(authorities = "ADMIN")
     void findCustomers_listAll() throws Exception {
-        given(customerService.getAllCustomers()).willReturn(List.of(testCustomerDto));
+        given(customerService.getAllCustomers(FieldSet.ALL)).willReturn(List.of(testCustomerDto));
 
         mockMvc.perform(get("/api/customers")
                         .accept(MediaType.APPLICATION_JSON))
@@ -96,13 +100,13 @@ class CustomersControllerIntegrationTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(1)));
 
-        then(customerService).should().getAllCustomers();
+        then(customerService).should().getAllCustomers(FieldSet.ALL);
     }
 
     @Test
     @WithMockUser(authorities = "ADMIN")
     void findCustomers_filterByName() throws Exception {
-        given(customerService.getCustomersByUserName("Test")).willReturn(List.of(testCustomerDto));
+        given(customerService.getCustomersByUserName("Test", FieldSet.ALL)).willReturn(List.of(testCustomerDto));
 
         mockMvc.perform(get("/api/customers")
                         .param("name", "Test")
@@ -111,7 +115,7 @@ class CustomersControllerIntegrationTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].firstName", is("Test")));
 
-        then(customerService).should().getCustomersByUserName("Test");
+        then(customerService).should().getCustomersByUserName("Test", FieldSet.ALL);
     }
 
     @Test
@@ -5,6 +5,7 @@ import com.anil.crm.exceptions.ResourceInUseException;
 import com.anil.crm.exceptions.ResourceNotFoundException;
 import com.anil.crm.services.DepartmentService;
 import com.anil.crm.services.JwtService;
+import com.anil.crm.services.TokenVersionService;
 import com.anil.crm.services.UserDetailsServiceImpl;
 import com.anil.crm.web.models.DepartmentDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -43,6 +44,8 @@ class DepartmentsControllerIntegrationTest {
     @MockitoBean
     JwtService jwtService;
     @MockitoBean
+    TokenVersionService tokenVersionService;
+    @MockitoBean
     UserDetailsServiceImpl userDetailsService;
 
     DepartmentDto testDepartmentDto;
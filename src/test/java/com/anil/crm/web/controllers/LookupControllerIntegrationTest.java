@@ -0,0 +1,82 @@
+package com.anil.crm.web.controllers;
+
+import com.anil.crm.domain.Role;
+import com.anil.crm.services.JwtService;
+import com.anil.crm.services.TokenVersionService;
+import com.anil.crm.services.TypeaheadService;
+import com.anil.crm.services.UserDetailsServiceImpl;
+import com.anil.crm.web.models.TypeaheadHit;
+import com.anil.crm.web.models.TypeaheadStatisticsDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.BDDMockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = LookupController.class,
+        excludeAutoConfiguration = {UserDetailsServiceAutoConfiguration.class})
+class LookupControllerIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    TypeaheadService typeaheadService;
+    @MockitoBean
+    JwtService jwtService;
+    @MockitoBean
+    TokenVersionService tokenVersionService;
+    @MockitoBean
+    UserDetailsServiceImpl userDetailsService;
+
+    @Test
+    @WithMockUser(authorities = "AGENT")
+    void typeahead() throws Exception {
+        given(typeaheadService.search("ayş", 5)).willReturn(List.of(
+                TypeaheadHit.builder().type(Role.AGENT).id(1L).name("Ayşe Demir").email("ayse.demir@crm.com")
+                        .departmentName("Müşteri Hizmetleri").build(),
+                TypeaheadHit.builder().type(Role.CUSTOMER).id(2L).name("Ayşe Kara").email("ayse.kara@test.com")
+                        .phone("05321112233").build()));
+
+        mockMvc.perform(get("/api/lookup/typeahead").param("q", "ayş").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].type", is("AGENT")))
+                .andExpect(jsonPath("$[0].departmentName", is("Müşteri Hizmetleri")))
+                .andExpect(jsonPath("$[1].type", is("CUSTOMER")))
+                .andExpect(jsonPath("$[1].phone", is("05321112233")));
+
+        then(typeaheadService).should().search("ayş", 5);
+    }
+
+    @Test
+    @WithMockUser(authorities = "AGENT")
+    void typeahead_EmptyQuery() throws Exception {
+        given(typeaheadService.search("", null)).willReturn(List.of());
+
+        mockMvc.perform(get("/api/lookup/typeahead"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void getStatistics() throws Exception {
+        given(typeaheadService.getStatistics()).willReturn(TypeaheadStatisticsDto.builder()
+                .customers(2).agents(1).keys(16).estimatedBytes(4096).build());
+
+        mockMvc.perform(get("/api/lookup/typeahead/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customers", is(2)))
+                .andExpect(jsonPath("$.estimatedBytes", is(4096)));
+    }
+}
@@ -5,8 +5,10 @@ import com.anil.crm.domain.Role;
 import com.anil.crm.domain.User;
 import com.anil.crm.exceptions.ResourceNotFoundException;
 import com.anil.crm.services.JwtService;
+import com.anil.crm.services.TokenVersionService;
 import com.anil.crm.services.TicketCommentService;
 import com.anil.crm.services.UserDetailsServiceImpl;
+import com.anil.crm.web.models.CursorPage;
 import com.anil.crm.web.models.TicketCommentDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -48,6 +50,8 @@ class TicketCommentsControllerIntegrationTest {
     @MockitoBean
     JwtService jwtService;
     @MockitoBean
+    TokenVersionService tokenVersionService;
+    @MockitoBean
     UserDetailsServiceImpl userDetailsService;
 
     TicketCommentDto testCommentDto;
@@ -80,30 +84,36 @@ class TicketCommentsControllerIntegrationTest {
     @Test
     @WithMockUser(authorities = "CUSTOMER")
     void getCommentsByTicket() throws Exception {
-        given(ticketCommentService.getCommentsByTicketId(ticketId)).willReturn(List.of(testCommentDto));
+        given(ticketCommentService.getCommentsByTicketId(ticketId, null, null))
+                .willReturn(new CursorPage<>(List.of(testCommentDto), 1, true, "c2"));
 
         mockMvc.perform(get("/api/ticket-comments/ticket/{ticketId}", ticketId)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].id", is(commentId.intValue())));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(commentId.intValue())))
+                .andExpect(jsonPath("$.nextCursor", is("c2")));
 
-        then(ticketCommentService).should().getCommentsByTicketId(ticketId);
+        then(ticketCommentService).should().getCommentsByTicketId(ticketId, null, null);
     }
 
     @Test
     @WithMockUser(authorities = "AGENT")
     void getCommentsByAuthor() throws Exception {
-        given(ticketCommentService.getCommentsByAuthorId(authorId)).willReturn(List.of(testCommentDto));
+        given(ticketCommentService.getCommentsByAuthorId(authorId, "c1", 20))
+                .willReturn(new CursorPage<>(List.of(testCommentDto), 1, false, null));
 
         mockMvc.perform(get("/api/ticket-comments/author/{authorId}", authorId)
+                        .param("cursor", "c1")
+                        .param("size", "20")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].authorFirstName", is("Test")));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].authorFirstName", is("Test")))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
-        then(ticketCommentService).should().getCommentsByAuthorId(authorId);
+        then(ticketCommentService).should().getCommentsByAuthorId(authorId, "c1", 20);
     }
 
     @Test
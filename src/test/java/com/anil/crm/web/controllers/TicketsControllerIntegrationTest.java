@@ -1,14 +1,38 @@
 package com.anil.crm.web.controllers;
 
+import com.anil.crm.domain.Role;
 import com.anil.crm.domain.TicketPriority;
 import com.anil.crm.domain.TicketStatus;
+import com.anil.crm.domain.User;
+import com.anil.crm.exceptions.InvalidCursorException;
+import com.anil.crm.exceptions.TicketEventsBusyException;
 import com.anil.crm.services.JwtService;
+import com.anil.crm.services.TokenVersionService;
+import com.anil.crm.services.TicketEventService;
+import com.anil.crm.services.TicketExportService;
+import com.anil.crm.services.TicketImportService;
 import com.anil.crm.services.TicketService;
 import com.anil.crm.services.UserDetailsServiceImpl;
 import com.anil.crm.web.models.AgentDto;
+import com.anil.crm.web.models.BulkTicketStatusUpdateRequest;
+import com.anil.crm.web.models.BulkTicketUpdateItem;
+import com.anil.crm.web.models.BulkTicketUpdateResult;
+import com.anil.crm.web.models.CompactTicketDto;
+import com.anil.crm.web.models.CompactTicketPage;
+import com.anil.crm.web.models.CursorPage;
 import com.anil.crm.web.models.CustomerDto;
 import com.anil.crm.web.models.DepartmentDto;
+import com.anil.crm.web.models.FieldSet;
+import com.anil.crm.web.models.TicketChanges;
 import com.anil.crm.web.models.TicketDto;
+import com.anil.crm.web.models.TicketExportFormat;
+import com.anil.crm.web.models.TicketImportError;
+import com.anil.crm.web.models.TicketImportResult;
+import com.anil.crm.web.models.TicketIncludes;
+import com.anil.crm.web.models.TicketSearchCriteria;
+import com.anil.crm.web.models.TicketSearchHit;
+import com.anil.crm.web.models.TicketSearchHitPage;
+import com.anil.crm.web.models.TicketVersionRef;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,16 +42,25 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -45,8 +78,16 @@ class TicketsControllerIntegrationTest {
     @MockitoBean
     TicketService ticketService;
     @MockitoBean
+    TicketExportService ticketExportService;
+    @MockitoBean
+    TicketImportService ticketImportService;
+    @MockitoBean
+    TicketEventService ticketEventService;
+    @MockitoBean
     JwtService jwtService;
     @MockitoBean
+    TokenVersionService tokenVersionService;
+    @MockitoBean
     UserDetailsServiceImpl userDetailsService;
 
     TicketDto testTicketDto;
@@ -97,85 +138,319 @@ class TicketsControllerIntegrationTest {
     @Test
     @WithMockUser(authorities = "ADMIN")
     void getAllTickets() throws Exception {
-        given(ticketService.getAllTickets()).willReturn(List.of(testTicketDto));
+        given(ticketService.getAllTickets(null, null, FieldSet.ALL)).willReturn(page(testTicketDto));
 
         mockMvc.perform(get("/api/tickets")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].id", is(ticketId.intValue())));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(ticketId.intValue())));
 
-        then(ticketService).should().getAllTickets();
+        then(ticketService).should().getAllTickets(null, null, FieldSet.ALL);
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void getAllTickets_WithCursor() throws Exception {
+        CursorPage<TicketDto> nextPage = CursorPage.<TicketDto>builder()
+                .items(List.of(testTicketDto))
+                .size(1)
+                .hasNext(true)
+                .nextCursor("bmV4dA")
+                .build();
+        given(ticketService.getAllTickets("Y3Vyc29y", 1, FieldSet.ALL)).willReturn(nextPage);
+
+        mockMvc.perform(get("/api/tickets")
+                        .param("cursor", "Y3Vyc29y")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", is("bmV4dA")));
+
+        then(ticketService).should().getAllTickets("Y3Vyc29y", 1, FieldSet.ALL);
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void getAllTickets_SparseFields() throws Exception {
+        FieldSet fields = FieldSet.parse("id,subject,assignedAgent.id", TicketDto.class);
+        given(ticketService.getAllTickets(null, null, fields)).willReturn(page(testTicketDto));
+
+        mockMvc.perform(get("/api/tickets")
+                        .param("fields", "id,subject,assignedAgent.id")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext", is(false)))
+                .andExpect(jsonPath("$.items[0].id", is(ticketId.intValue())))
+                .andExpect(jsonPath("$.items[0].subject", is("Test Bilet Başlığı")))
+                .andExpect(jsonPath("$.items[0].assignedAgent.id", is(agentId.intValue())))
+                .andExpect(jsonPath("$.items[0].assignedAgent.firstName").doesNotExist())
+                .andExpect(jsonPath("$.items[0].status").doesNotExist())
+                .andExpect(jsonPath("$.items[0].customer").doesNotExist());
+
+        then(ticketService).should().getAllTickets(null, null, fields);
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void getAllTickets_UnknownField() throws Exception {
+        mockMvc.perform(get("/api/tickets")
+                        .param("fields", "id,password")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        then(ticketService).should(never()).getAllTickets(any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(authorities = "AGENT")
+    void getTicketChanges() throws Exception {
+        given(ticketService.getChanges("c2luY2U", 100)).willReturn(TicketChanges.builder()
+                .changed(List.of(testTicketDto))
+                .deleted(List.of(7L))
+                .hasMore(false)
+                .nextCursor("bmV4dA")
+                .build());
+
+        mockMvc.perform(get("/api/tickets/changes")
+                        .param("since", "c2luY2U")
+                        .param("size", "100")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[0].id", is(ticketId.intValue())))
+                .andExpect(jsonPath("$.deleted[0]", is(7)))
+                .andExpect(jsonPath("$.hasMore", is(false)))
+                .andExpect(jsonPath("$.nextCursor", is("bmV4dA")));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void getAllTickets_InvalidCursor() throws Exception {
+        given(ticketService.getAllTickets("bozuk", null, FieldSet.ALL)).willThrow(new InvalidCursorException("Geçersiz sayfa imleci (cursor): bozuk"));
+
+        mockMvc.perform(get("/api/tickets")
+                        .param("cursor", "bozuk")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
     @WithMockUser(authorities = "AGENT")
     void getTicketsByCustomer() throws Exception {
-        given(ticketService.getTicketsByCustomerId(customerId)).willReturn(List.of(testTicketDto));
+        given(ticketService.getTicketsByCustomerId(customerId, null, null, FieldSet.ALL)).willReturn(page(testTicketDto));
 
         mockMvc.perform(get("/api/tickets/customer/{id}", customerId)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].customer.id", is(customerId.intValue())));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].customer.id", is(customerId.intValue())));
 
-        then(ticketService).should().getTicketsByCustomerId(customerId);
+        then(ticketService).should().getTicketsByCustomerId(customerId, null, null, FieldSet.ALL);
     }
 
     @Test
     @WithMockUser(authorities = "ADMIN")
     void getTicketsByAssignedAgent() throws Exception {
-        given(ticketService.getTicketsByAssignedAgentId(agentId)).willReturn(List.of(testTicketDto));
+        given(ticketService.getTicketsByAssignedAgentId(agentId, null, null, FieldSet.ALL)).willReturn(page(testTicketDto));
 
         mockMvc.perform(get("/api/tickets/assigned-agent/{id}", agentId)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].assignedAgent.id", is(agentId.intValue())));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].assignedAgent.id", is(agentId.intValue())));
 
-        then(ticketService).should().getTicketsByAssignedAgentId(agentId);
+        then(ticketService).should().getTicketsByAssignedAgentId(agentId, null, null, FieldSet.ALL);
     }
 
     @Test
     @WithMockUser(authorities = "AGENT")
     void getTicketsByDepartment() throws Exception {
-        given(ticketService.getTicketsByDepartmentId(departmentId)).willReturn(List.of(testTicketDto));
+        given(ticketService.getTicketsByDepartmentId(departmentId, null, null, FieldSet.ALL)).willReturn(page(testTicketDto));
 
         mockMvc.perform(get("/api/tickets/department/{id}", departmentId)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].department.id", is(departmentId.intValue())));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].department.id", is(departmentId.intValue())));
 
-        then(ticketService).should().getTicketsByDepartmentId(departmentId);
+        then(ticketService).should().getTicketsByDepartmentId(departmentId, null, null, FieldSet.ALL);
     }
 
     @Test
     @WithMockUser(authorities = "AGENT")
     void getTicketsByStatus() throws Exception {
-        given(ticketService.getTicketsByStatus(TicketStatus.OPEN)).willReturn(List.of(testTicketDto));
+        given(ticketService.getTicketsByStatus(TicketStatus.OPEN, null, null, FieldSet.ALL)).willReturn(page(testTicketDto));
 
         mockMvc.perform(get("/api/tickets/status")
                         .param("status", "OPEN")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].status", is("OPEN")));
+                .andExpect(jsonPath("$.items[0].status", is("OPEN")));
 
-        then(ticketService).should().getTicketsByStatus(TicketStatus.OPEN);
+        then(ticketService).should().getTicketsByStatus(TicketStatus.OPEN, null, null, FieldSet.ALL);
     }
 
     @Test
     @WithMockUser(authorities = "AGENT")
     void getTicketsByPriority() throws Exception {
-        given(ticketService.getTicketsByPriority(TicketPriority.MEDIUM)).willReturn(List.of(testTicketDto));
+        given(ticketService.getTicketsByPriority(TicketPriority.MEDIUM, null, null, FieldSet.ALL)).willReturn(page(testTicketDto));
 
         mockMvc.perform(get("/api/tickets/priority")
                         .param("priority", "MEDIUM")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].priority", is("MEDIUM")));
+                .andExpect(jsonPath("$.items[0].priority", is("MEDIUM")));
+
+        then(ticketService).should().getTicketsByPriority(TicketPriority.MEDIUM, null, null, FieldSet.ALL);
+    }
+
+    @Test
+    @WithMockUser(authorities = "AGENT")
+    void searchTickets() throws Exception {
+        TicketSearchCriteria expected = TicketSearchCriteria.builder()
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.MEDIUM)
+                .departmentId(departmentId)
+                .assignedAgentId(agentId)
+                .createdFrom(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .createdTo(LocalDateTime.of(2025, 2, 1, 0, 0))
+                .build();
+        given(ticketService.searchTickets(expected, null, 20, FieldSet.ALL)).willReturn(page(testTicketDto));
+
+        mockMvc.perform(get("/api/tickets/search")
+                        .param("status", "OPEN")
+                        .param("priority", "MEDIUM")
+                        .param("departmentId", departmentId.toString())
+                        .param("assignedAgentId", agentId.toString())
+                        .param("createdFrom", "2025-01-01T00:00:00")
+                        .param("createdTo", "2025-02-01T00:00:00")
+                        .param("size", "20")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].status", is("OPEN")));
+
+        then(ticketService).should().searchTickets(expected, null, 20, FieldSet.ALL);
+    }
+
+    @Test
+    @WithMockUser(authorities = "AGENT")
+    void searchTicketsCompact() throws Exception {
+        TicketSearchCriteria expected = TicketSearchCriteria.builder().status(TicketStatus.OPEN).build();
+        CompactTicketDto first = CompactTicketDto.builder()
+                .id(1L).subject("Birinci").customerId(customerId).departmentId(departmentId).assignedAgentId(agentId).build();
+        CompactTicketDto second = CompactTicketDto.builder()
+                .id(2L).subject("İkinci").customerId(customerId).departmentId(departmentId).build();
+        given(ticketService.searchTicketsCompact(expected, null, null)).willReturn(CompactTicketPage.builder()
+                .items(List.of(first, second))
+                .size(2)
+                .included(TicketIncludes.builder()
+                        .customers(Map.of(customerId, testTicketDto.getCustomer()))
+                        .agents(Map.of(agentId, testTicketDto.getAssignedAgent()))
+                        .departments(Map.of(departmentId, testTicketDto.getDepartment()))
+                        .build())
+                .build());
+
+        mockMvc.perform(get("/api/tickets/compact")
+                        .param("status", "OPEN")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].customerId", is(customerId.intValue())))
+                .andExpect(jsonPath("$.items[0].customer").doesNotExist())
+                .andExpect(jsonPath("$.items[1].assignedAgentId").value(nullValue()))
+                .andExpect(jsonPath("$.included.customers.1.firstName", is("Test")))
+                .andExpect(jsonPath("$.included.agents.1.lastName", is("Agent")))
+                .andExpect(jsonPath("$.included.departments.1.name", is("Teknik Destek")));
+    }
+
+    @Test
+    @WithMockUser(authorities = "AGENT")
+    void searchTickets_InvalidStatus() throws Exception {
+        mockMvc.perform(get("/api/tickets/search")
+                        .param("status", "UNKNOWN")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        then(ticketService).should(never()).searchTickets(any(), any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(authorities = "AGENT")
+    void streamTicketEvents() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        given(ticketEventService.subscribe(3L, null)).willReturn(emitter);
+
+        MvcResult result = mockMvc.perform(get("/api/tickets/events").param("departmentId", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().name("STATUS_CHANGED").data("{}"));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("event:STATUS_CHANGED")));
+    }
+
+    @Test
+    @WithMockUser(authorities = "AGENT")
+    void streamTicketEvents_SubscriberLimitReached() throws Exception {
+        given(ticketEventService.subscribe(null, null)).willThrow(new TicketEventsBusyException("Abone sınırı"));
 
-        then(ticketService).should().getTicketsByPriority(TicketPriority.MEDIUM);
+        mockMvc.perform(get("/api/tickets/events"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void exportTickets_Csv() throws Exception {
+        TicketSearchCriteria expected = TicketSearchCriteria.builder()
+                .customerId(customerId)
+                .status(TicketStatus.OPEN)
+                .build();
+        given(ticketExportService.exportTickets(eq(expected), eq(TicketExportFormat.CSV), any())).willAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/tickets/export")
+                        .param("customerId", customerId.toString())
+                        .param("status", "OPEN")
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("tickets.csv")))
+                .andExpect(content().string("id\n1\n"));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void exportTickets_DefaultsToNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tickets/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"));
+
+        then(ticketExportService).should().exportTickets(eq(new TicketSearchCriteria()), eq(TicketExportFormat.NDJSON), any());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void exportTickets_InvalidFormat() throws Exception {
+        mockMvc.perform(get("/api/tickets/export").param("format", "XML"))
+                .andExpect(status().isBadRequest());
+
+        then(ticketExportService).shouldHaveNoInteractions();
     }
 
     @Test
@@ -207,6 +482,31 @@ class TicketsControllerIntegrationTest {
     }
 
 
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void importTickets() throws Exception {
+        TicketImportResult result = TicketImportResult.builder()
+                .total(2).imported(1).failed(1).elapsedMillis(12).rowsPerSecond(83.3)
+                .errors(List.of(new TicketImportError(1, "Customer not found with id: 99")))
+                .build();
+        given(ticketImportService.importTickets(any(InputStream.class))).willAnswer(invocation -> {
+            String body = new String(invocation.getArgument(0, InputStream.class).readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(body.startsWith("[{"), body);
+            return result;
+        });
+
+        mockMvc.perform(post("/api/tickets/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(testTicketDto, testTicketDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.rowsPerSecond", is(83.3)))
+                .andExpect(jsonPath("$.errors[0].index", is(1)))
+                .andExpect(jsonPath("$.errors[0].message", is("Customer not found with id: 99")));
+    }
+
 
     @Test
     @WithMockUser(authorities = "AGENT")
@@ -268,6 +568,83 @@ class TicketsControllerIntegrationTest {
 
 
 
+    @Test
+    @WithMockUser(authorities = "AGENT")
+    void updateTicketStatuses() throws Exception {
+        BulkTicketStatusUpdateRequest request = new BulkTicketStatusUpdateRequest(TicketStatus.CLOSED,
+                List.of(new TicketVersionRef(1L, 2L), new TicketVersionRef(5L, null)));
+        given(ticketService.updateTicketStatuses(request)).willReturn(BulkTicketUpdateResult.builder()
+                .requested(2).updated(1).notFound(1)
+                .results(List.of(
+                        new BulkTicketUpdateItem(1L, BulkTicketUpdateItem.Outcome.UPDATED, 3L),
+                        new BulkTicketUpdateItem(5L, BulkTicketUpdateItem.Outcome.NOT_FOUND, null)))
+                .build());
+
+        mockMvc.perform(patch("/api/tickets/bulk/status")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.results[0].version", is(3)))
+                .andExpect(jsonPath("$.results[1].outcome", is("NOT_FOUND")));
+    }
+
+    @Test
+    @WithMockUser(authorities = "AGENT")
+    void updateTicketStatuses_EmptyList() throws Exception {
+        mockMvc.perform(patch("/api/tickets/bulk/status")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"CLOSED\", \"tickets\": []}"))
+                .andExpect(status().isBadRequest());
+
+        then(ticketService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @WithMockUser(authorities = "AGENT")
+    void searchTicketText() throws Exception {
+        given(ticketService.searchTicketText("iade", null, null)).willReturn(TicketSearchHitPage.builder()
+                .items(List.of(TicketSearchHit.builder()
+                        .ticket(testTicketDto)
+                        .rank(0.6f)
+                        .subjectHighlight("<mark>İade</mark> talebi")
+                        .snippet("ürünü <mark>iade</mark> etmek")
+                        .build()))
+                .size(1)
+                .approximate(true)
+                .build());
+
+        mockMvc.perform(get("/api/tickets/fulltext").param("q", "iade"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].ticket.id", is(ticketId.intValue())))
+                .andExpect(jsonPath("$.items[0].subjectHighlight", is("<mark>İade</mark> talebi")))
+                .andExpect(jsonPath("$.approximate", is(true)));
+    }
+
+    @Test
+    void claimNextTicket() throws Exception {
+        given(ticketService.claimNextTicket("agent@test.com", 3L)).willReturn(Optional.of(testTicketDto));
+
+        mockMvc.perform(post("/api/tickets/claim-next")
+                        .param("departmentId", "3")
+                        .with(user(agentUser()))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(ticketId.intValue())));
+    }
+
+    @Test
+    void claimNextTicket_EmptyQueue() throws Exception {
+        given(ticketService.claimNextTicket("agent@test.com", null)).willReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/tickets/claim-next")
+                        .with(user(agentUser()))
+                        .with(csrf()))
+                .andExpect(status().isNoContent());
+    }
+
     @Test
     @WithMockUser(authorities = "ADMIN")
     void deleteTicket() throws Exception {
@@ -279,4 +656,16 @@ class TicketsControllerIntegrationTest {
 
         then(ticketService).should().deleteTicketById(ticketId);
     }
-}
+
+    private static User agentUser() {
+        return User.builder().id(7L).email("agent@test.com").password("x").role(Role.AGENT).build();
+    }
+
+    private CursorPage<TicketDto> page(TicketDto... tickets) {
+        return CursorPage.<TicketDto>builder()
+                .items(List.of(tickets))
+                .size(tickets.length)
+                .hasNext(false)
+                .build();
+    }
+}
\ No newline at end of file